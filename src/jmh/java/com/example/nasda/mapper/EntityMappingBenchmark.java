@@ -0,0 +1,128 @@
+package com.example.nasda.mapper;
+
+import com.example.nasda.domain.PostDecorationEntity;
+import com.example.nasda.domain.PostImageEntity;
+import com.example.nasda.domain.StickerCategoryEntity;
+import com.example.nasda.domain.StickerEntity;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.dto.sticker.StickerCategoryResponseDTO;
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 ModelMapper(리플렉션, STRICT, private field access) 설정과 MapStruct 생성 매퍼 비교.
+ * 스티커 카탈로그 크기(210개) 목록 변환 기준이며, 할당량은 gc 프로파일러(gc.alloc.rate.norm)로 확인합니다.
+ *
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EntityMappingBenchmark {
+
+    private static final int CATALOG_SIZE = 210;
+
+    private ModelMapper modelMapper;
+    private StickerMapper stickerMapper;
+    private PostDecorationMapper postDecorationMapper;
+
+    private List<StickerEntity> stickers;
+    private List<StickerCategoryEntity> categories;
+    private List<PostDecorationEntity> decorations;
+
+    @Setup
+    public void setUp() {
+        // 삭제 전 RootConfig.modelMapper() 와 같은 설정
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE)
+                .setFieldMatchingEnabled(true)
+                .setMatchingStrategy(MatchingStrategies.STRICT);
+
+        stickerMapper = Mappers.getMapper(StickerMapper.class);
+        postDecorationMapper = Mappers.getMapper(PostDecorationMapper.class);
+
+        categories = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            categories.add(StickerCategoryEntity.builder().stickerCategoryId(i).name("category-" + i).build());
+        }
+
+        stickers = new ArrayList<>();
+        decorations = new ArrayList<>();
+        PostImageEntity image = PostImageEntity.builder().imageId(1).build();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            StickerEntity sticker = StickerEntity.builder()
+                    .stickerId(i)
+                    .stickerCategory(categories.get(i % categories.size()))
+                    .stickerName("sticker-" + i)
+                    .stickerImageUrl("/images/stickers/" + i + ".png")
+                    .build();
+            stickers.add(sticker);
+            decorations.add(PostDecorationEntity.builder()
+                    .decorationId(i).postImage(image).sticker(sticker)
+                    .posX(0.5f).posY(0.5f).scale(0.43f).rotation(0f).zIndex(10)
+                    .build());
+        }
+
+        // 첫 호출 시 만들어지는 ModelMapper TypeMap 은 측정에서 제외
+        modelMapper.map(stickers.get(0), StickerResponseDTO.class);
+        modelMapper.map(categories.get(0), StickerCategoryResponseDTO.class);
+    }
+
+    @Benchmark
+    public void stickersModelMapper(Blackhole bh) {
+        for (StickerEntity s : stickers) bh.consume(modelMapper.map(s, StickerResponseDTO.class));
+    }
+
+    @Benchmark
+    public void stickersMapStruct(Blackhole bh) {
+        for (StickerEntity s : stickers) bh.consume(stickerMapper.toResponse(s));
+    }
+
+    @Benchmark
+    public void categoriesModelMapper(Blackhole bh) {
+        for (StickerCategoryEntity c : categories) bh.consume(modelMapper.map(c, StickerCategoryResponseDTO.class));
+    }
+
+    @Benchmark
+    public void categoriesMapStruct(Blackhole bh) {
+        for (StickerCategoryEntity c : categories) bh.consume(stickerMapper.toResponse(c));
+    }
+
+    // 장식은 원래 손으로 쓴 from() 이었으므로 같은 코드를 생성하는 MapStruct 와 비교
+    @Benchmark
+    public void decorationsHandWritten(Blackhole bh) {
+        for (PostDecorationEntity d : decorations) {
+            bh.consume(PostDecorationResponseDTO.builder()
+                    .decorationId(d.getDecorationId())
+                    .postImageId(d.getPostImage().getImageId())
+                    .stickerId(d.getSticker().getStickerId())
+                    .stickerImageUrl(d.getSticker().getStickerImageUrl())
+                    .posX(d.getPosX())
+                    .posY(d.getPosY())
+                    .scale(d.getScale())
+                    .rotation(d.getRotation())
+                    .zIndex(d.getZIndex())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void decorationsMapStruct(Blackhole bh) {
+        for (PostDecorationEntity d : decorations) bh.consume(postDecorationMapper.toResponse(d));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.nasda.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -27,8 +28,14 @@ public class SecurityConfig {
                         // 2. 게시글 관련 모든 경로 (/posts/create, /posts/view 등) 허용
                         .requestMatchers("/posts/**", "/post/**").permitAll()
                         // 3. 정적 리소스 허용
-                        .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
+                        .requestMatchers("/css/**", "/js/**", "/images/**", "/sticker-assets/**").permitAll()
                         .requestMatchers("/api/member/**").permitAll()
+                        // 4. 실시간 꾸미기 구경은 비로그인도 허용 (수정은 핸들러에서 로그인 확인)
+                        .requestMatchers("/ws/**").permitAll()
+                        // 5. 홈 카드의 장식 합성 이미지
+                        .requestMatchers(HttpMethod.GET, "/api/decorations/image/*/rendered/**").permitAll()
+                        // 6. 스티커 팔레트 스프라이트 아틀라스 (스티커 이미지와 같은 공개 정적 자원)
+                        .requestMatchers(HttpMethod.GET, "/api/sticker-atlas/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -0,0 +1,116 @@
+package com.example.nasda.config;
+
+import com.example.nasda.service.storage.ImageStorage;
+import com.example.nasda.service.storage.LocalImageStorage;
+import com.example.nasda.service.storage.PackImageStorage;
+import com.example.nasda.service.storage.ReplicatingImageStorage;
+import com.example.nasda.service.storage.S3ImageStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 이미지 저장소 구성.
+ *
+ * app.storage.backends : 읽기 순서 (local, pack, s3)
+ * app.storage.primary  : 동기로 쓰는 저장소. 나머지는 비동기 복제 대상
+ * app.storage.cache.revalidate-ms : primary 보다 앞쪽(캐시) 저장소의 사본이 primary 에 아직 있는지 다시 확인하는 주기
+ *
+ * 기본값(local 하나)이면 기존과 동일하게 app.upload.dir 만 사용합니다.
+ */
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    public ReplicatingImageStorage imageStorage(
+            @Value("${app.upload.dir}") String uploadDir,
+            @Value("${app.storage.backends:local}") String backendNames,
+            @Value("${app.storage.primary:local}") String primaryName,
+            @Value("${app.storage.s3.endpoint:}") String endpoint,
+            @Value("${app.storage.s3.region:us-east-1}") String region,
+            @Value("${app.storage.s3.bucket:}") String bucket,
+            @Value("${app.storage.s3.prefix:}") String prefix,
+            @Value("${app.storage.s3.access-key:}") String accessKey,
+            @Value("${app.storage.s3.secret-key:}") String secretKey,
+            @Value("${app.storage.s3.path-style:true}") boolean pathStyle,
+            @Value("${app.storage.pack.dir:${app.upload.dir}-pack}") String packDir,
+            @Value("${app.storage.pack.segment-bytes:268435456}") long packSegmentBytes,
+            @Value("${app.storage.pack.max-entry-bytes:262144}") int packMaxEntryBytes,
+            @Value("${app.storage.pack.compaction-threshold:0.5}") double packCompactionThreshold,
+            @Value("${app.storage.pack.compaction-interval-ms:600000}") long packCompactionIntervalMillis,
+            @Value("${app.storage.replication.threads:2}") int threads,
+            @Value("${app.storage.replication.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.storage.replication.max-attempts:5}") int maxAttempts,
+            @Value("${app.storage.replication.retry-backoff-ms:1000}") long retryBackoffMillis,
+            @Value("${app.storage.cache.revalidate-ms:60000}") long revalidateMillis,
+            @Value("${app.storage.cache.max-validated-keys:100000}") int maxValidatedKeys
+    ) throws IOException {
+        List<ImageStorage> backends = new ArrayList<>();
+        ImageStorage primary = null;
+
+        for (String name : Arrays.stream(backendNames.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList()) {
+            ImageStorage backend = switch (name) {
+                case "local" -> new LocalImageStorage(uploadDir);
+                // 작은 이미지는 세그먼트 파일에 모으고, 큰 이미지는 기존 업로드 디렉터리에 둠
+                case "pack" -> new PackImageStorage(packDir,
+                        Math.min(packSegmentBytes, Integer.MAX_VALUE), packMaxEntryBytes,
+                        packCompactionThreshold, packCompactionIntervalMillis, new LocalImageStorage(uploadDir));
+                case "s3" -> {
+                    if (!StringUtils.hasText(bucket)) {
+                        throw new IllegalStateException("app.storage.s3.bucket 설정이 필요합니다.");
+                    }
+                    yield new S3ImageStorage(
+                            s3Client(endpoint, region, accessKey, secretKey, pathStyle), bucket, prefix);
+                }
+                default -> throw new IllegalStateException("알 수 없는 저장소입니다: " + name);
+            };
+            backends.add(backend);
+            if (name.equals(primaryName)) primary = backend;
+        }
+
+        if (primary == null) {
+            throw new IllegalStateException("app.storage.primary 가 app.storage.backends 에 없습니다: " + primaryName);
+        }
+        return new ReplicatingImageStorage(primary, backends, threads, queueCapacity, maxAttempts, retryBackoffMillis,
+                revalidateMillis, maxValidatedKeys);
+    }
+
+    /**
+     * endpoint 를 지정하면 MinIO 등 S3 호환 스토리지로 접속합니다. (보통 path-style 필요)
+     * 키를 비워두면 기본 자격 증명 체인(환경변수, 인스턴스 프로파일 등)을 사용합니다.
+     */
+    public static S3Client s3Client(String endpoint, String region, String accessKey, String secretKey,
+                                    boolean pathStyle) {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(pathStyle)
+                        .chunkedEncodingEnabled(false)
+                        .build());
+
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        if (StringUtils.hasText(accessKey)) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(accessKey, secretKey)));
+        } else {
+            builder.credentialsProvider(DefaultCredentialsProvider.create());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.nasda.config;
+
+import com.example.nasda.service.upload.UploadAdmissionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 요청의 입장 제어 필터.
+ * - 멀티파트 업로드: POST /posts, POST /posts/{id}/edit
+ * - 분할 업로드 조각: PUT /api/uploads/{uploadId}/chunks/{index} (글쓰기 화면의 기본 업로드 경로)
+ *
+ * DispatcherServlet 이 multipart 본문을 읽기 전에 실행되어야 하므로 인터셉터가 아니라 필터로 둡니다.
+ * (기본 순서가 LOWEST_PRECEDENCE 라서 Spring Security 이후에 실행 → 로그인 유저 식별 가능)
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private static final Pattern UPLOAD_PATH = Pattern.compile("^/posts(/\\d+/edit)?$");
+    private static final Pattern CHUNK_PATH = Pattern.compile("^/api/uploads/[^/]+/chunks/\\d+$");
+
+    private final UploadAdmissionService uploadAdmissionService;
+
+    // Content-Length 가 없는(chunked) 요청은 최대 요청 크기로 간주
+    @Value("${app.upload.admission.unknown-length-bytes:52428800}")
+    private long unknownLengthBytes;
+
+    @Value("${app.upload.admission.retry-after-seconds:3}")
+    private int retryAfterSeconds;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("PUT".equalsIgnoreCase(request.getMethod())) return !CHUNK_PATH.matcher(path).matches();
+        if (!"POST".equalsIgnoreCase(request.getMethod())) return true;
+
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.toLowerCase().startsWith("multipart/")) return true;
+
+        return !UPLOAD_PATH.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        long length = request.getContentLengthLong();
+        long bytes = length < 0 ? unknownLengthBytes : length;
+
+        UploadAdmissionService.Permit permit;
+        try {
+            permit = uploadAdmissionService.acquire(userKey(request), bytes);
+        } catch (UploadAdmissionService.RejectedException e) {
+            log.warn("⛔ [업로드 거절] {} {} ({} bytes) - {}",
+                    request.getMethod(), request.getRequestURI(), bytes, e.getReason());
+            reject(response, e);
+            return;
+        }
+
+        try (permit) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private void reject(HttpServletResponse response, UploadAdmissionService.RejectedException e) throws IOException {
+        HttpStatus status = e.getReason() == UploadAdmissionService.Rejection.USER_CONCURRENCY
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.SERVICE_UNAVAILABLE;
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setHeader(HttpHeaders.CONNECTION, "close"); // 남은 본문을 읽지 않고 연결 종료
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getOutputStream().write(e.getMessage().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String userKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
+            return "user:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -19,6 +19,8 @@ public class WebConfig implements WebMvcConfigurer {
         Path path = Paths.get(uploadDir).toAbsolutePath().normalize();
         String location = path.toUri().toString(); // file:/C:/nasda-uploads/
 
+        // 단일 파일(/uploads/{filename})은 UploadController 가 캐시를 거쳐 먼저 처리하고,
+        // 그 외 하위 경로만 여기서 정적 리소스로 서빙됩니다.
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations(location);
     }
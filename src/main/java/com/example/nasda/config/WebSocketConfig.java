@@ -0,0 +1,22 @@
+package com.example.nasda.config;
+
+import com.example.nasda.controller.sticker.DecorationSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final DecorationSocketHandler decorationSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // 실시간 꾸미기: 이미지 한 장당 채널 하나 (/ws/decorations/{postImageId}), 같은 출처만 허용
+        registry.addHandler(decorationSocketHandler, "/ws/decorations/*");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.nasda.controller;
+
+import com.example.nasda.domain.PostImageEntity;
+import com.example.nasda.dto.post.NearDuplicateDto;
+import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.service.image.BkTree;
+import com.example.nasda.service.image.NearDuplicateIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 관리자용 이미지 조회 (/admin/** 은 ADMIN 권한 필요)
+ */
+@RestController
+@RequestMapping("/admin/api/images")
+@RequiredArgsConstructor
+public class AdminImageController {
+
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final PostImageRepository postImageRepository;
+
+    // ✅ 근사 중복 이미지 (재인코딩/리사이즈된 같은 이미지) 조회
+    @GetMapping("/{imageId}/near-duplicates")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<NearDuplicateDto>> nearDuplicates(@PathVariable Integer imageId,
+                                                                 @RequestParam(defaultValue = "6") int radius) {
+        Long hash = nearDuplicateIndex.hashOf(imageId);
+        if (hash == null) return ResponseEntity.notFound().build();
+
+        List<BkTree.Match> matches = nearDuplicateIndex.find(hash, Math.min(Math.max(radius, 0), 32)).stream()
+                .filter(m -> m.id() != imageId)
+                .toList();
+
+        Map<Integer, PostImageEntity> images = postImageRepository
+                .findLiveByIdIn(matches.stream().map(BkTree.Match::id).toList()).stream()
+                .collect(Collectors.toMap(PostImageEntity::getImageId, Function.identity()));
+
+        // 게시글 삭제 등으로 사라진 이미지는 인덱스에서도 정리
+        matches.stream().filter(m -> !images.containsKey(m.id())).forEach(m -> nearDuplicateIndex.remove(m.id()));
+
+        return ResponseEntity.ok(matches.stream()
+                .filter(m -> images.containsKey(m.id()))
+                .map(m -> {
+                    PostImageEntity img = images.get(m.id());
+                    return new NearDuplicateDto(img.getImageId(), img.getPost().getPostId(), img.getImageUrl(), m.distance());
+                })
+                .toList());
+    }
+}
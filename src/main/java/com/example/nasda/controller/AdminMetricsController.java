@@ -0,0 +1,152 @@
+package com.example.nasda.controller;
+
+import com.example.nasda.service.image.DecoratedImageRenderer;
+import com.example.nasda.service.image.HotImageCache;
+import com.example.nasda.service.PostPurgeService;
+import com.example.nasda.service.image.NearDuplicateIndex;
+import com.example.nasda.service.sticker.DecorationGridService;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import com.example.nasda.service.sticker.DecorationLiveService;
+import com.example.nasda.service.sticker.DecorationPositionBuffer;
+import com.example.nasda.service.sticker.DecorationRateLimiter;
+import com.example.nasda.service.sticker.DecorationWriteRetry;
+import com.example.nasda.service.sticker.RecentStickerService;
+import com.example.nasda.service.sticker.StickerAssetMirror;
+import com.example.nasda.service.sticker.StickerAtlasService;
+import com.example.nasda.service.sticker.StickerUsageCounter;
+import com.example.nasda.service.storage.PackImageStorage;
+import com.example.nasda.service.storage.ReplicatingImageStorage;
+import com.example.nasda.service.upload.UploadAdmissionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 관리자용 내부 지표 조회 (/admin/** 은 ADMIN 권한 필요)
+ */
+@RestController
+@RequestMapping("/admin/api/metrics")
+@RequiredArgsConstructor
+public class AdminMetricsController {
+
+    private final HotImageCache hotImageCache;
+    private final UploadAdmissionService uploadAdmissionService;
+    private final ReplicatingImageStorage imageStorage;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final DecorationLiveService decorationLiveService;
+    private final DecorationPositionBuffer decorationPositionBuffer;
+    private final DecorationLayoutService decorationLayoutService;
+    private final DecoratedImageRenderer decoratedImageRenderer;
+    private final StickerAssetMirror stickerAssetMirror;
+    private final StickerAtlasService stickerAtlasService;
+    private final StickerUsageCounter stickerUsageCounter;
+    private final RecentStickerService recentStickerService;
+    private final DecorationRateLimiter decorationRateLimiter;
+    private final DecorationGridService decorationGridService;
+    private final DecorationWriteRetry decorationWriteRetry;
+    private final PostPurgeService postPurgeService;
+
+    // ✅ 인기 이미지 캐시: 적중률 / 사용 바이트
+    @GetMapping("/image-cache")
+    public HotImageCache.Stats imageCache() {
+        return hotImageCache.stats();
+    }
+
+    // ✅ 근사 중복 인덱스: 등록 수 / 평균 조회 시간 / 근사 중복 업로드 수
+    @GetMapping("/near-duplicates")
+    public NearDuplicateIndex.Stats nearDuplicates() {
+        return nearDuplicateIndex.stats();
+    }
+
+    // ✅ 실시간 꾸미기: 방 / 접속자 / 합쳐진 변경 / DB 반영 횟수
+    @GetMapping("/decorations-live")
+    public DecorationLiveService.Stats decorationsLive() {
+        return decorationLiveService.stats();
+    }
+
+    // ✅ 장식 위치 쓰기 버퍼: 받은 요청 / 합쳐진 요청 / 실제 UPDATE 행
+    @GetMapping("/decoration-positions")
+    public DecorationPositionBuffer.Stats decorationPositions() {
+        return decorationPositionBuffer.stats();
+    }
+
+    // ✅ 이미지별 장식 레이아웃: 재생성 / 실패 횟수
+    @GetMapping("/decoration-layouts")
+    public DecorationLayoutService.Stats decorationLayouts() {
+        return decorationLayoutService.stats();
+    }
+
+    // ✅ 장식 합성 이미지: 캐시 적중 / 합성 / 풀 포화·지연으로 원본 대체
+    @GetMapping("/decorated-images")
+    public DecoratedImageRenderer.Stats decoratedImages() {
+        return decoratedImageRenderer.stats();
+    }
+
+    // ✅ 스티커 미러: 디스크 적중 / 원본에서 받은 수 / 실패
+    @GetMapping("/sticker-mirror")
+    public StickerAssetMirror.Stats stickerMirror() {
+        return stickerAssetMirror.stats();
+    }
+
+    // ✅ 스프라이트 아틀라스: 디스크 적중 / 생성 수 / 실패 / 평균 생성 시간
+    @GetMapping("/sticker-atlas")
+    public StickerAtlasService.Stats stickerAtlas() {
+        return stickerAtlasService.stats();
+    }
+
+    // ✅ 스티커 사용 집계: 기록 / 반영 대기 / 반영 횟수 / 인기 순위 길이
+    @GetMapping("/sticker-usage")
+    public StickerUsageCounter.Stats stickerUsage() {
+        return stickerUsageCounter.stats();
+    }
+
+    // ✅ 최근 스티커: 메모리 사용자 수 / 반영 대기 / 적중 / DB 로드
+    @GetMapping("/recent-stickers")
+    public RecentStickerService.Stats recentStickers() {
+        return recentStickerService.stats();
+    }
+
+    // ✅ 도배 방지: 허용 / 속도 초과 / 이미지당 개수 초과
+    @GetMapping("/decoration-rate")
+    public DecorationRateLimiter.Stats decorationRate() {
+        return decorationRateLimiter.stats();
+    }
+
+    // ✅ 장식 격자 색인: 캐시된 이미지 / 적중 / 생성 / 밀도 초과 거절
+    @GetMapping("/decoration-grid")
+    public DecorationGridService.Stats decorationGrid() {
+        return decorationGridService.stats();
+    }
+
+    // ✅ 장식 쓰기 경합: 재시도 / version 충돌 / 데드락·락 대기 초과 / 포기
+    @GetMapping("/decoration-contention")
+    public DecorationWriteRetry.Stats decorationContention() {
+        return decorationWriteRetry.stats();
+    }
+
+    // ✅ 삭제된 게시글 정리: 대기 / 정리된 게시글 / 삭제 행·파일 / 실패
+    @GetMapping("/post-purge")
+    public PostPurgeService.Stats postPurge() {
+        return postPurgeService.stats();
+    }
+
+    // ✅ 업로드 입장 제어: 처리 중 / 대기 / 거절 바이트
+    @GetMapping("/upload-admission")
+    public UploadAdmissionService.Stats uploadAdmission() {
+        return uploadAdmissionService.stats();
+    }
+
+    // ✅ 이미지 저장소: 복제 대기 / 실패, read-through 횟수
+    @GetMapping("/storage")
+    public ReplicatingImageStorage.Stats storage() {
+        return imageStorage.stats();
+    }
+
+    // ✅ 팩 파일 저장소: 세그먼트 / 살아있는·죽은 바이트 / 압축 (pack 미사용 시 404)
+    @GetMapping("/storage/pack")
+    public ResponseEntity<PackImageStorage.Stats> packStorage() {
+        return ResponseEntity.of(imageStorage.backend(PackImageStorage.class).map(PackImageStorage::stats));
+    }
+}
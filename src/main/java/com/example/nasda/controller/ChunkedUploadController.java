@@ -0,0 +1,95 @@
+package com.example.nasda.controller;
+
+import com.example.nasda.dto.upload.ChunkedUploadCreateRequestDto;
+import com.example.nasda.service.AuthUserService;
+import com.example.nasda.service.upload.ChunkedUploadService;
+import com.example.nasda.service.upload.ChunkedUploadService.UploadStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 이어받기 가능한 분할 업로드 API
+ *
+ * - POST   /api/uploads                          세션 생성 (fileName, contentType, totalSize)
+ * - GET    /api/uploads/{uploadId}               받은 조각 / 이어받을 offset 조회
+ * - PUT    /api/uploads/{uploadId}/chunks/{index} 조각 전송 (body = 원본 바이트)
+ * - POST   /api/uploads/{uploadId}/complete      모든 조각 수신 확인
+ * - DELETE /api/uploads/{uploadId}               업로드 취소
+ *
+ * 완료된 uploadId 는 POST /posts 의 uploadIds 파라미터로 넘기면 게시글 이미지로 등록됩니다.
+ */
+@Log4j2
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+    private final AuthUserService authUserService;
+
+    @PostMapping
+    public ResponseEntity<UploadStatus> create(@RequestBody ChunkedUploadCreateRequestDto requestDto) {
+        Integer userId = currentUserId();
+        return ResponseEntity.ok(chunkedUploadService.create(
+                userId, requestDto.fileName(), requestDto.contentType(), requestDto.totalSize()));
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<UploadStatus> status(@PathVariable String uploadId) {
+        return ResponseEntity.ok(chunkedUploadService.status(uploadId, currentUserId()));
+    }
+
+    @PutMapping("/{uploadId}/chunks/{index}")
+    public ResponseEntity<UploadStatus> writeChunk(
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            HttpServletRequest request
+    ) throws IOException {
+        return ResponseEntity.ok(chunkedUploadService.writeChunk(
+                uploadId, currentUserId(), index, request.getInputStream()));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<UploadStatus> complete(@PathVariable String uploadId) {
+        return ResponseEntity.ok(chunkedUploadService.complete(uploadId, currentUserId()));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abort(@PathVariable String uploadId) {
+        chunkedUploadService.abort(uploadId, currentUserId());
+        return ResponseEntity.noContent().build();
+    }
+
+    private Integer currentUserId() {
+        Integer userId = authUserService.getCurrentUserIdOrNull();
+        if (userId == null) throw new SecurityException("로그인이 필요합니다.");
+        return userId;
+    }
+
+    // 클라이언트가 재시도/재시작 여부를 판단할 수 있도록 상태 코드를 구분해서 내려줍니다.
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(ChunkedUploadService.QuotaExceededException.class)
+    public ResponseEntity<String> tooMany(ChunkedUploadService.QuotaExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> conflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(SecurityException.class)
+    public ResponseEntity<String> forbidden(SecurityException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+    }
+}
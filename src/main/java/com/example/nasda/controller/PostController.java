@@ -9,6 +9,8 @@ import com.example.nasda.service.CategoryService;
 import com.example.nasda.service.CommentService;
 import com.example.nasda.service.PostImageService;
 import com.example.nasda.service.PostService;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import com.example.nasda.service.sticker.StickerCatalog;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
@@ -29,6 +31,8 @@ public class PostController {
     private final CommentService commentService;
     private final PostImageService postImageService;
     private final AuthUserService authUserService;
+    private final StickerCatalog stickerCatalog;
+    private final DecorationLayoutService decorationLayoutService;
 
     @GetMapping("/posts")
     public String postsRedirect() {
@@ -104,6 +108,9 @@ public class PostController {
             model.addAttribute("post", post);
             model.addAttribute("comments", commentsPage.getContent());
             model.addAttribute("commentsPage", commentsPage);
+            model.addAttribute("stickerCatalogVersion", stickerCatalog.version()); // 스티커 카탈로그 버전 주소용
+            model.addAttribute("decorationLayoutVersions", decorationLayoutService.versions( // 이미지별 장식 레이아웃 버전 주소용
+                    imageItems.stream().map(PostViewDto.ImageDto::getId).toList()));
 
             String nickname = authUserService.getCurrentNicknameOrNull();
             model.addAttribute("username", nickname == null ? "게스트" : nickname);
@@ -118,7 +125,8 @@ public class PostController {
             @RequestParam String title,
             @RequestParam String category,
             @RequestParam(required = false) String description,
-            @RequestParam(required = false) List<MultipartFile> images
+            @RequestParam(required = false) List<MultipartFile> images,
+            @RequestParam(required = false) List<String> uploadIds // ✅ 분할 업로드로 올린 이미지
     ) {
         Integer userId = authUserService.getCurrentUserIdOrNull();
         if (userId == null) return "redirect:/user/login";
@@ -130,6 +138,8 @@ public class PostController {
             postImageService.addImages(post, images);
         }
 
+        postImageService.addUploadedImages(post, userId, uploadIds);
+
         return "redirect:/posts/" + post.getPostId();
     }
 
@@ -141,7 +151,7 @@ public class PostController {
         model.addAttribute("title", entity.getTitle());
         model.addAttribute("description", entity.getDescription());
         model.addAttribute("category", entity.getCategory().getCategoryName());
-        model.addAttribute("images", List.of());
+        model.addAttribute("images", postService.getImageItems(id));
         model.addAttribute("categories", categoryService.findAll());
 
         String nickname = authUserService.getCurrentNicknameOrNull();
@@ -195,7 +205,9 @@ public class PostController {
             @RequestParam String title,
             @RequestParam String category,
             @RequestParam(required = false) String description,
-            @RequestParam(required = false) List<MultipartFile> newImages
+            @RequestParam(required = false) List<MultipartFile> newImages,
+            @RequestParam(required = false) List<Integer> keptImageIds,    // ✅ 유지할 이미지 (새 순서)
+            @RequestParam(required = false) List<Integer> removedImageIds  // ✅ 삭제할 이미지
     ) {
         Integer userId = authUserService.getCurrentUserIdOrNull();
         if (userId == null) return "redirect:/user/login";
@@ -205,7 +217,7 @@ public class PostController {
         postService.update(id, userId, categoryEntity.getCategoryId(), title, description);
 
         PostEntity post = postService.get(id);
-        postImageService.replaceImages(id, post, newImages);
+        postImageService.editImages(post, keptImageIds, removedImageIds, newImages);
 
         return "redirect:/posts/" + id;
     }
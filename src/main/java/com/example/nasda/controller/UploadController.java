@@ -0,0 +1,110 @@
+package com.example.nasda.controller;
+
+import com.example.nasda.service.FileStorageService;
+import com.example.nasda.service.image.HotImageCache;
+import com.example.nasda.service.storage.StoredImage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 이미지 서빙 (/uploads/{filename}).
+ * 인기 이미지는 HotImageCache(off-heap)에서, 나머지는 디스크에서 바로 내려줍니다.
+ * 이 노드의 디스크에 없으면 구성된 다른 저장소(S3 등)에서 읽어옵니다.
+ * 파일명이 UUID라서 내용이 바뀌지 않으므로 브라우저 캐시는 immutable 로 길게 잡습니다.
+ */
+@Controller
+@RequiredArgsConstructor
+public class UploadController {
+
+    private final FileStorageService fileStorageService;
+    private final HotImageCache hotImageCache;
+
+    @GetMapping("/uploads/{filename:.+}")
+    public ResponseEntity<?> serve(@PathVariable String filename, WebRequest request) throws IOException {
+        Path file = fileStorageService.resolve(filename);
+        if (file == null) return serveFromStorage(filename, request);
+
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            hotImageCache.invalidate(filename); // 삭제된 파일은 캐시에서도 제거
+            return serveFromStorage(filename, request);
+        }
+        if (!attrs.isRegularFile()) return ResponseEntity.notFound().build();
+
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(attrs.size()) + "\"";
+
+        // If-None-Match / If-Modified-Since → 304
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        MediaType contentType = MediaTypeFactory.getMediaType(filename)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .contentType(contentType)
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .eTag(etag)
+                .lastModified(lastModified);
+
+        ByteBuffer cached = hotImageCache.get(filename, file, attrs);
+        if (cached != null) {
+            StreamingResponseBody body = out -> {
+                WritableByteChannel channel = Channels.newChannel(out);
+                while (cached.hasRemaining()) channel.write(cached);
+            };
+            return ok.contentLength(cached.remaining()).body(body);
+        }
+
+        return ok.body(new FileSystemResource(file));
+    }
+
+    // 이 노드의 디스크에 없으면 다른 저장소(S3 등)에서 읽어 그대로 전달 (로컬은 비동기로 채워짐)
+    private ResponseEntity<?> serveFromStorage(String filename, WebRequest request) throws IOException {
+        String etag = "\"" + filename + "\""; // UUID 파일명 = 내용이 바뀌지 않음
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        StoredImage image = fileStorageService.open(filename);
+        if (image == null) return ResponseEntity.notFound().build();
+
+        MediaType contentType = MediaTypeFactory.getMediaType(filename)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        StreamingResponseBody body = out -> {
+            try (image) {
+                image.stream().transferTo(out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .contentLength(image.size())
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .eTag(etag)
+                .body(body);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.nasda.controller.sticker;
+
+import com.example.nasda.service.image.DecoratedImageRenderer;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 장식을 합성한 이미지 (홈 카드용, DecoratedImageRenderer 참고).
+ * 버전 주소라 내용이 바뀌지 않으므로 1년 immutable 로 내려줍니다.
+ */
+@RestController
+@RequestMapping("/api/decorations/image/{imageId}/rendered")
+@RequiredArgsConstructor
+public class DecoratedImageController {
+
+    private final DecoratedImageRenderer decoratedImageRenderer;
+    private final DecorationLayoutService decorationLayoutService;
+
+    @GetMapping("/{version}")
+    public ResponseEntity<?> rendered(@PathVariable Integer imageId, @PathVariable long version, WebRequest request) {
+        Optional<DecorationLayoutService.Layout> layout = decorationLayoutService.current(imageId);
+        if (layout.isEmpty()) return ResponseEntity.notFound().build();
+
+        // 예전 버전이면 현재 버전으로
+        if (layout.get().version() != version) {
+            return redirect(DecoratedImageRenderer.url(imageId, layout.get().version()));
+        }
+
+        String etag = "\"r" + imageId + "-" + version + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        // 합성이 밀려 있거나 실패하면 원본으로 (캐시하지 않음)
+        Path file = decoratedImageRenderer.renderOrNull(imageId, version);
+        if (file == null) {
+            String original = decoratedImageRenderer.originalUrl(imageId);
+            return original == null ? ResponseEntity.notFound().build() : redirect(original);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .eTag(etag)
+                .body(new FileSystemResource(file));
+    }
+
+    private ResponseEntity<?> redirect(String location) {
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(location))
+                .cacheControl(CacheControl.noStore())
+                .build();
+    }
+}
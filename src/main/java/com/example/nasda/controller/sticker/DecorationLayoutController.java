@@ -0,0 +1,69 @@
+package com.example.nasda.controller.sticker;
+
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미지별 장식 레이아웃 (한 덩어리 JSON, DecorationLayoutService 참고).
+ * 장식 수와 상관없이 키 하나로 조회합니다.
+ */
+@RestController
+@RequestMapping("/api/decorations/image/{imageId}/layout")
+@RequiredArgsConstructor
+public class DecorationLayoutController {
+
+    private final DecorationLayoutService decorationLayoutService;
+
+    // 버전 없는 주소: 현재 버전, 매번 ETag 로 재검증
+    @GetMapping
+    public ResponseEntity<byte[]> layout(@PathVariable Integer imageId, WebRequest request) {
+        Optional<DecorationLayoutService.Layout> layout = decorationLayoutService.current(imageId);
+        if (layout.isEmpty()) return ResponseEntity.notFound().build();
+
+        if (request.checkNotModified(layout.get().etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return body(layout.get(), CacheControl.noCache());
+    }
+
+    // 버전 주소: 내용이 절대 바뀌지 않으므로 1년 immutable. 예전 버전이면 현재 버전으로 보냄
+    @GetMapping("/{version}")
+    public ResponseEntity<byte[]> layoutVersion(@PathVariable Integer imageId, @PathVariable long version,
+                                                WebRequest request) {
+        Optional<DecorationLayoutService.Layout> layout = decorationLayoutService.current(imageId);
+        if (layout.isEmpty()) return ResponseEntity.notFound().build();
+
+        if (layout.get().version() != version) {
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create("/api/decorations/image/" + imageId + "/layout/" + layout.get().version()))
+                    .cacheControl(CacheControl.noStore())
+                    .build();
+        }
+        if (request.checkNotModified(layout.get().etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return body(layout.get(), CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable());
+    }
+
+    private ResponseEntity<byte[]> body(DecorationLayoutService.Layout layout, CacheControl cacheControl) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(layout.json().length)
+                .eTag(layout.etag())
+                .cacheControl(cacheControl)
+                .body(layout.json());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.nasda.controller.sticker;
+
+import com.example.nasda.domain.UserEntity;
+import com.example.nasda.domain.UserRepository;
+import com.example.nasda.service.sticker.DecorationLiveService;
+import com.example.nasda.service.sticker.DecorationRateLimiter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.security.Principal;
+
+/**
+ * 실시간 꾸미기 WebSocket: /ws/decorations/{postImageId}
+ *
+ * 접속하면 SNAPSHOT 을 받고, 이후 {"type":"ADD|MOVE|REMOVE", "key", ...} 를 보내면
+ * DecorationLiveService 가 순번을 매겨 같은 이미지를 보는 사람들에게 전달합니다.
+ * 로그인 사용자는 핸드셰이크 요청의 세션 인증 정보로 확인합니다. (비로그인은 보기만 가능)
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class DecorationSocketHandler extends TextWebSocketHandler {
+
+    private static final String PEER = "decorationPeer";
+    private static final String IMAGE_ID = "decorationImageId";
+
+    private final DecorationLiveService decorationLiveService;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        Integer imageId = imageId(session);
+        if (imageId == null) {
+            session.close(CloseStatus.BAD_DATA.withReason("잘못된 이미지 ID"));
+            return;
+        }
+
+        // 느린 클라이언트 때문에 방 전체 전송이 막히지 않도록 버퍼 + 시간 제한 (넘으면 연결 종료)
+        Peer peer = new Peer(new ConcurrentWebSocketSessionDecorator(session, 5000, 512 * 1024), userId(session));
+        session.getAttributes().put(PEER, peer);
+        session.getAttributes().put(IMAGE_ID, imageId);
+
+        try {
+            decorationLiveService.join(imageId, peer);
+        } catch (IllegalArgumentException e) {
+            session.close(CloseStatus.BAD_DATA.withReason(e.getMessage()));
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        Peer peer = (Peer) session.getAttributes().get(PEER);
+        Integer imageId = (Integer) session.getAttributes().get(IMAGE_ID);
+        if (peer == null) return;
+
+        try {
+            DecorationLiveService.Command command =
+                    objectMapper.readValue(message.getPayload(), DecorationLiveService.Command.class);
+            decorationLiveService.handle(imageId, peer, command);
+        } catch (JsonProcessingException e) {
+            reject(peer, "잘못된 메시지 형식입니다.");
+        } catch (IllegalArgumentException | SecurityException | DecorationRateLimiter.RejectedException e) {
+            reject(peer, e.getMessage());
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Peer peer = (Peer) session.getAttributes().get(PEER);
+        if (peer != null) {
+            decorationLiveService.leave((Integer) session.getAttributes().get(IMAGE_ID), peer);
+        }
+    }
+
+    // 거절은 보낸 사람에게만 (순번 없음). 클라이언트는 다시 접속해서 SNAPSHOT 으로 맞춤
+    private void reject(Peer peer, String reason) {
+        log.debug("꾸미기 요청 거절: {} ({})", reason, peer.id());
+        peer.send(decorationLiveService.json(new DecorationLiveService.ErrorMessage("ERROR", reason)));
+    }
+
+    private Integer imageId(WebSocketSession session) {
+        if (session.getUri() == null) return null;
+        String path = session.getUri().getPath();
+        try {
+            return Integer.valueOf(path.substring(path.lastIndexOf('/') + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Integer userId(WebSocketSession session) {
+        Principal principal = session.getPrincipal();
+        if (principal == null) return null;
+        return userRepository.findByLoginId(principal.getName())
+                .map(UserEntity::getUserId)
+                .orElse(null);
+    }
+
+    private record Peer(WebSocketSession session, Integer userId) implements DecorationLiveService.Peer {
+
+        @Override
+        public String id() {
+            return session.getId();
+        }
+
+        @Override
+        public void send(String json) {
+            if (!session.isOpen()) return;
+            try {
+                session.sendMessage(new TextMessage(json));
+            } catch (IOException | RuntimeException e) {
+                // 버퍼 / 시간 제한 초과 등 → 끊고 재접속 시 SNAPSHOT 으로 맞춤
+                log.debug("꾸미기 메시지 전송 실패, 연결 종료: {}", session.getId(), e);
+                try {
+                    session.close(CloseStatus.SESSION_NOT_RELIABLE);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
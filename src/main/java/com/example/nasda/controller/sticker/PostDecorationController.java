@@ -2,9 +2,15 @@ package com.example.nasda.controller.sticker;
 
 import com.example.nasda.dto.sticker.PostDecorationRequestDTO;
 import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.service.AuthUserService;
+import com.example.nasda.service.sticker.DecorationGridService;
+import com.example.nasda.service.sticker.DecorationRateLimiter;
+import com.example.nasda.service.sticker.DecorationWriteRetry;
 import com.example.nasda.service.sticker.PostDecorationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +24,10 @@ import java.util.List;
 public class PostDecorationController {
 
     private final PostDecorationService postDecorationService;
+    private final DecorationRateLimiter rateLimiter;
+    private final DecorationGridService decorationGridService;
+    private final DecorationWriteRetry writeRetry;
+    private final AuthUserService authUserService;
 
     /**
      * 1. 스티커 일괄 저장
@@ -28,7 +38,25 @@ public class PostDecorationController {
                 requestDTO.getPostImageId(),
                 requestDTO.getDecorations() != null ? requestDTO.getDecorations().size() : 0);
 
-        List<PostDecorationResponseDTO> savedDecorations = postDecorationService.saveDecorations(requestDTO);
+        // 저장/도배 한도 모두 로그인한 사용자 기준 (본문의 userId 는 클라이언트가 바꿀 수 있어 쓰지 않음)
+        Integer userId = currentUserId();
+
+        // 도배 방지: 트랜잭션을 열기 전에 메모리에서 판단 (요청 목록이 저장 후의 내 장식 전체)
+        List<PostDecorationRequestDTO.DecorationItem> items =
+                requestDTO.getDecorations() == null ? List.of() : requestDTO.getDecorations();
+        int newStickers = (int) items.stream().filter(item -> item.getDecorationId() == null).count();
+        rateLimiter.checkSave(userId, newStickers, items.size());
+        decorationGridService.checkSave(requestDTO.getPostImageId(), userId, items);
+
+        PostDecorationRequestDTO request = PostDecorationRequestDTO.builder()
+                .postImageId(requestDTO.getPostImageId())
+                .userId(userId)
+                .decorations(items)
+                .build();
+
+        // 같은 이미지 동시 저장으로 인한 version 충돌 / 데드락은 트랜잭션째 다시 시도
+        List<PostDecorationResponseDTO> savedDecorations =
+                writeRetry.call("saveDecorations", () -> postDecorationService.saveDecorations(request));
 
         log.info("✅ [저장 완료] 총 {}개의 장식 저장됨", savedDecorations.size());
         return ResponseEntity.ok(savedDecorations);
@@ -46,6 +74,20 @@ public class PostDecorationController {
         return decorations;
     }
 
+    /**
+     * 2-1. 좌표로 스티커 찾기 (이미지 위 x, y % 를 덮는 맨 위 스티커, 떼기 전에 고를 때)
+     */
+    @GetMapping("/image/{imageId}/at")
+    public ResponseEntity<PostDecorationResponseDTO> getDecorationAt(
+            @PathVariable Integer imageId,
+            @RequestParam float x,
+            @RequestParam float y
+    ) {
+        return decorationGridService.at(imageId, x, y)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * 3. 스티커 위치/속성 수정 (Update)
      * 사용자가 드래그 앤 드롭으로 스티커를 옮기거나 크기를 변경했을 때 호출합니다.
@@ -53,10 +95,12 @@ public class PostDecorationController {
     @PutMapping("/{decorationId}")
     public ResponseEntity<String> updateDecoration(
             @PathVariable Integer decorationId,
-            @RequestBody PostDecorationRequestDTO.DecorationItem updateDTO, // 수정할 좌표/스케일 정보
-            @RequestParam Integer currentUserId // 수정 권한 확인을 위한 유저 ID
+            @RequestBody PostDecorationRequestDTO.DecorationItem updateDTO // 수정할 좌표/스케일 정보
     ) {
-        log.info("🔄 [꾸미기 수정] 장식 ID={} 수정 요청 (요청자: {})", decorationId, currentUserId);
+        // 수정 권한은 로그인한 사용자 기준 (버퍼에 들어간 값은 flush 때 다시 확인하지 않음)
+        Integer currentUserId = currentUserId();
+        // 드래그 중 초당 수십 번 오므로 debug (DB 반영은 DecorationPositionBuffer 가 모아서)
+        log.debug("🔄 [꾸미기 수정] 장식 ID={} 수정 요청 (요청자: {})", decorationId, currentUserId);
 
         postDecorationService.updateDecoration(decorationId, updateDTO, currentUserId);
 
@@ -65,17 +109,15 @@ public class PostDecorationController {
 
     /**
      * 4. 스티커 떼기 (삭제 권한 체크 포함)
-     * [변경점] 삭제를 요청하는 사용자의 ID를 함께 전달받아야 합니다.
+     * 장식을 붙인 본인 또는 게시글 주인만 (로그인한 사용자 기준)
      */
     @DeleteMapping("/{decorationId}")
-    public ResponseEntity<String> deleteDecoration(
-            @PathVariable Integer decorationId,
-            @RequestParam Integer currentUserId // ✅ 클라이언트로부터 현재 로그인한 유저 ID를 받음
-    ) {
+    public ResponseEntity<String> deleteDecoration(@PathVariable Integer decorationId) {
+        Integer currentUserId = currentUserId();
         log.info("🗑️ [꾸미기 삭제] 장식 ID={} 삭제 요청 (요청자: {})", decorationId, currentUserId);
 
         // 변경된 서비스 인터페이스에 따라 두 개의 인자를 전달합니다.
-        postDecorationService.deleteDecoration(decorationId, currentUserId);
+        writeRetry.run("deleteDecoration", () -> postDecorationService.deleteDecoration(decorationId, currentUserId));
 
         return ResponseEntity.ok("성공적으로 삭제되었습니다.");
     }
@@ -91,4 +133,28 @@ public class PostDecorationController {
         return postDecorationService.getDecorationsByPostId(postId);
     }
 
-}
\ No newline at end of file
+    // 도배 한도 초과는 429 (클라이언트는 메시지를 보여주고 저장하지 않음)
+    @ExceptionHandler(DecorationRateLimiter.RejectedException.class)
+    public ResponseEntity<String> tooManyStickers(DecorationRateLimiter.RejectedException e) {
+        log.warn("⛔ [꾸미기 거절] {}", e.getReason());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+    }
+
+    private Integer currentUserId() {
+        Integer userId = authUserService.getCurrentUserIdOrNull();
+        if (userId == null) throw new SecurityException("로그인 후 꾸밀 수 있습니다.");
+        return userId;
+    }
+
+    // 비로그인 저장 / 남의 장식 수정·삭제는 403
+    @ExceptionHandler(SecurityException.class)
+    public ResponseEntity<String> forbidden(SecurityException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+    }
+
+    // 재시도를 다 써도 경합이 계속되면 500 대신 409 (잠시 후 다시 저장)
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<String> contended(ConcurrencyFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("다른 사람이 동시에 꾸미고 있습니다. 잠시 후 다시 저장해주세요.");
+    }
+}
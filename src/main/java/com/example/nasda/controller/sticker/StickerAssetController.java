@@ -0,0 +1,54 @@
+package com.example.nasda.controller.sticker;
+
+import com.example.nasda.service.sticker.StickerAssetMirror;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬에 미러링한 스티커 이미지 (/sticker-assets/{파일명}, StickerAssetMirror 참고).
+ * 파일명이 원본 URL 의 해시라 내용이 바뀌지 않으므로 1년 immutable 로 내려줍니다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class StickerAssetController {
+
+    private final StickerAssetMirror stickerAssetMirror;
+
+    @GetMapping(StickerAssetMirror.URL_PREFIX + "{filename:.+}")
+    public ResponseEntity<?> asset(@PathVariable String filename, WebRequest request) {
+        String etag = "\"" + filename + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        Path file = stickerAssetMirror.resolve(filename);
+        if (file == null) {
+            // 아직 못 받았으면 원본으로 (다음 요청 때 다시 시도하도록 캐시하지 않음)
+            String remote = stickerAssetMirror.remoteUrl(filename);
+            if (remote == null) return ResponseEntity.notFound().build();
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create(remote))
+                    .cacheControl(CacheControl.noStore())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .eTag(etag)
+                .body(new FileSystemResource(file));
+    }
+}
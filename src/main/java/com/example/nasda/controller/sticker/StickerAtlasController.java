@@ -0,0 +1,53 @@
+package com.example.nasda.controller.sticker;
+
+import com.example.nasda.service.sticker.StickerAtlasLayout;
+import com.example.nasda.service.sticker.StickerAtlasService;
+import com.example.nasda.service.sticker.StickerCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 카테고리별 스티커 스프라이트 아틀라스 (/api/sticker-atlas/{카테고리 ID}/{버전}.png).
+ * 버전이 스티커 목록의 해시라 내용이 바뀌지 않으므로 1년 immutable 로 내려주고,
+ * 예전 버전 주소는 현재 버전으로 보냅니다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class StickerAtlasController {
+
+    private final StickerCatalog stickerCatalog;
+    private final StickerAtlasService stickerAtlasService;
+
+    @GetMapping("/api/sticker-atlas/{categoryId}/{version}.png")
+    public ResponseEntity<?> atlas(@PathVariable Integer categoryId, @PathVariable String version) {
+        StickerAtlasLayout layout = stickerCatalog.snapshot().atlasOf(categoryId);
+        if (layout == null) return ResponseEntity.notFound().build();
+
+        if (!layout.version().equals(version)) {
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create(layout.url()))
+                    .cacheControl(CacheControl.noStore())
+                    .build();
+        }
+
+        // 아직 그리는 중이면 404 (팔레트는 아틀라스를 못 받으면 개별 이미지로 그림)
+        Path file = stickerAtlasService.atlas(layout);
+        if (file == null) return ResponseEntity.notFound().cacheControl(CacheControl.noStore()).build();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.nasda.controller.sticker;
+
+import com.example.nasda.service.sticker.StickerCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스티커 카탈로그 묶음 조회 (카테고리 + 카테고리별 스티커를 한 번에).
+ * 메모리 스냅샷에 미리 직렬화해 둔 JSON 바이트를 그대로 내려줍니다.
+ */
+@RestController
+@RequestMapping("/api/sticker-catalog")
+@RequiredArgsConstructor
+public class StickerCatalogController {
+
+    private final StickerCatalog stickerCatalog;
+
+    // 버전 없는 주소: 매번 ETag 로 재검증 (바뀌지 않았으면 304)
+    @GetMapping
+    public ResponseEntity<byte[]> catalog(WebRequest request) {
+        StickerCatalog.Snapshot snapshot = stickerCatalog.snapshot();
+        if (request.checkNotModified(snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return body(snapshot, CacheControl.noCache());
+    }
+
+    // 버전 주소: 내용이 절대 바뀌지 않으므로 1년 immutable. 예전 버전이면 현재 버전으로 보냄
+    @GetMapping("/{version}")
+    public ResponseEntity<byte[]> catalogVersion(@PathVariable String version, WebRequest request) {
+        StickerCatalog.Snapshot snapshot = stickerCatalog.snapshot();
+        if (!snapshot.version().equals(version)) {
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(URI.create("/api/sticker-catalog/" + snapshot.version()))
+                    .cacheControl(CacheControl.noStore())
+                    .build();
+        }
+        if (request.checkNotModified(snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return body(snapshot, CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable());
+    }
+
+    private ResponseEntity<byte[]> body(StickerCatalog.Snapshot snapshot, CacheControl cacheControl) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(snapshot.json().length)
+                .eTag(snapshot.etag())
+                .cacheControl(cacheControl)
+                .body(snapshot.json());
+    }
+}
@@ -2,6 +2,7 @@ package com.example.nasda.controller.sticker;
 
 import com.example.nasda.dto.sticker.StickerRequestDTO;
 import com.example.nasda.dto.sticker.StickerResponseDTO;
+import com.example.nasda.service.AuthUserService;
 import com.example.nasda.service.sticker.StickerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -18,6 +19,7 @@ import java.util.List;
 public class StickerController {
 
     private final StickerService stickerService;
+    private final AuthUserService authUserService;
 
     /**
      * 1. 스티커 등록
@@ -58,7 +60,44 @@ public class StickerController {
     }
 
     /**
-     * 3. 스티커 삭제
+     * 3. 스티커 이름 검색 (모든 카테고리)
+     * [Postman 설정]
+     * - Method: GET
+     * - URL: http://localhost:8080/api/stickers/search?q=sun&limit=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<StickerResponseDTO>> searchStickers(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        // 입력할 때마다 불리는 요청이라 info 로그는 남기지 않음
+        return ResponseEntity.ok(stickerService.searchStickers(query, limit));
+    }
+
+    /**
+     * 4. 인기 스티커 목록 (최근 많이 쓰인 순)
+     * [Postman 설정]
+     * - Method: GET
+     * - URL: http://localhost:8080/api/stickers/popular?limit=20
+     */
+    @GetMapping("/popular")
+    public ResponseEntity<List<StickerResponseDTO>> getPopularStickers(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(stickerService.getPopularStickers(limit));
+    }
+
+    /**
+     * 5. 내가 최근 쓴 스티커 (로그인 사용자 기준, 최근 것이 앞)
+     * [Postman 설정]
+     * - Method: GET
+     * - URL: http://localhost:8080/api/stickers/recent
+     */
+    @GetMapping("/recent")
+    public ResponseEntity<List<StickerResponseDTO>> getRecentStickers() {
+        return ResponseEntity.ok(stickerService.getRecentStickers(authUserService.getCurrentUserIdOrNull()));
+    }
+
+    /**
+     * 6. 스티커 삭제
      * [Postman 설정]
      * - Method: DELETE
      * - URL: http://localhost:8080/api/stickers/5
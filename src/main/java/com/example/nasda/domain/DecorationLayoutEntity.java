@@ -0,0 +1,36 @@
+package com.example.nasda.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이미지 한 장의 장식 전체를 한 덩어리(JSON)로 묶어 둔 비정규화 테이블.
+ * 장식이 바뀔 때마다 다시 만들고 version 을 올립니다. (원본은 post_decorations)
+ * 버전 주소는 immutable 로 캐시되므로 같은 version 의 내용이 바뀌면 안 됩니다.
+ * 그래서 갱신은 읽은 version 이 그대로일 때만 하는 조건부 UPDATE 로만 합니다. (DecorationLayoutRepository.replaceIfVersion)
+ *
+ * 이미지가 지워져도 막히지 않도록 post_images 에 FK 를 걸지 않습니다.
+ */
+@Entity
+@Table(name = "decoration_layouts")
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DecorationLayoutEntity {
+    @Id
+    private Integer imageId;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] layout;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -6,6 +6,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Entity
 @Table(name = "post_decorations")
@@ -47,6 +48,12 @@ public class PostDecorationEntity {
     @Builder.Default
     private Integer zIndex = 1;
 
+    // ✅ 낙관적 락: 동시에 같은 장식을 고치면 늦게 커밋하는 쪽이 실패 → DecorationWriteRetry 가 다시 시도
+    // (새 장식은 null 로 두어야 save() 가 새 행으로 보고 INSERT, 기존 행은 컬럼 추가 시 0)
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -61,4 +68,11 @@ public class PostDecorationEntity {
         this.rotation = rotation;
     }
 
+    // ✅ 저장 시 바뀐 장식만 UPDATE 하기 위한 비교
+    public boolean isAt(Float posX, Float posY, Float rotation) {
+        return Objects.equals(this.posX, posX)
+                && Objects.equals(this.posY, posY)
+                && Objects.equals(this.rotation, rotation);
+    }
+
 }
\ No newline at end of file
@@ -3,11 +3,16 @@ package com.example.nasda.domain;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts",
+        indexes = {
+                @Index(name = "idx_posts_deleted_at", columnList = "deleted_at")
+        })
+@SQLRestriction("deleted_at is null") // ✅ 삭제 표시된 글은 모든 엔티티 조회에서 빠짐 (정리는 PostPurgeService)
 @Getter
 @Builder
 @AllArgsConstructor
@@ -47,9 +52,16 @@ public class PostEntity {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    private LocalDateTime deletedAt;
+
     public void update(CategoryEntity category, String title, String description) {
         this.category = category;
         this.title = title;
         this.description = description;
     }
+
+    // ✅ 논리 삭제: 행은 남기고 표시만 (장식/댓글/이미지는 나중에 한꺼번에 정리)
+    public void markDeleted() {
+        this.deletedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
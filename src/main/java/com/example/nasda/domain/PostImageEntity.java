@@ -26,4 +26,25 @@ public class PostImageEntity {
 
     @Builder.Default
     private Boolean isRepresentative = false;
+
+    // ✅ 업로드 시 추출한 메타데이터 (레이아웃 고정 / 로딩 중 미리보기용)
+    private Integer width;
+
+    private Integer height;
+
+    @Column(length = 7)
+    private String dominantColor;
+
+    @Column(columnDefinition = "TEXT")
+    private String placeholder;
+
+    // 지각 해시(dHash 64bit) - 재인코딩/리사이즈된 근사 중복 탐지용
+    @Column(name = "perceptual_hash")
+    private Long perceptualHash;
+
+    // 순서/대표 여부 변경 (값이 같으면 dirty 로 잡히지 않아 UPDATE 가 나가지 않음)
+    public void changeOrder(int sortOrder, boolean representative) {
+        this.sortOrder = sortOrder;
+        this.isRepresentative = representative;
+    }
 }
\ No newline at end of file
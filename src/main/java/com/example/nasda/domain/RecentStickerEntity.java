@@ -0,0 +1,32 @@
+package com.example.nasda.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 최근 쓴 스티커 (최근 것이 앞, 쉼표로 구분한 스티커 ID).
+ * RecentStickerService 가 메모리에 들고 있다가 모아서 쓰고, 캐시에 없을 때만 읽습니다.
+ */
+@Entity
+@Table(name = "recent_stickers")
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RecentStickerEntity {
+    @Id
+    private Integer userId;
+
+    @Column(nullable = false)
+    private String stickerIds;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public void replace(String stickerIds) {
+        this.stickerIds = stickerIds;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.nasda.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 스티커별 사용 점수 (인기 스티커 탭용 집계 테이블, 스티커당 한 행).
+ * post_decorations 를 GROUP BY 하지 않도록 StickerUsageCounter 가 주기적으로 모아서 더합니다.
+ *
+ * score 는 scoredAt 시점 기준의 감쇠 점수입니다. (반감기마다 절반 → 최근 사용이 더 무거움)
+ * 스티커가 지워져도 막히지 않도록 stickers 에 FK 를 걸지 않습니다.
+ */
+@Entity
+@Table(name = "sticker_usage_stats")
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StickerUsageEntity {
+    @Id
+    private Integer stickerId;
+
+    @Column(nullable = false)
+    private Long uses;          // 누적 사용 횟수 (감쇠 없음)
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(nullable = false)
+    private Long scoredAt;      // score 기준 시각 (epoch millis)
+}
@@ -1,7 +1,34 @@
 package com.example.nasda.dto.post;
 
+import com.example.nasda.domain.PostImageEntity;
+
 public record HomePostDto(
         Integer id,
         String title,
-        String imageUrl
-) { }
\ No newline at end of file
+        String imageUrl,
+        Integer width,
+        Integer height,
+        String dominantColor,
+        String placeholder
+) {
+    // 대표 이미지(없으면 null)로부터 카드 DTO 생성
+    public static HomePostDto of(Integer id, String title, PostImageEntity image) {
+        if (image == null) {
+            return new HomePostDto(id, title, null, null, null, null, null);
+        }
+        return new HomePostDto(
+                id,
+                title,
+                image.getImageUrl(),
+                image.getWidth(),
+                image.getHeight(),
+                image.getDominantColor(),
+                image.getPlaceholder()
+        );
+    }
+
+    // 장식 합성 이미지(정사각형)로 바꿔 보여줄 때
+    public HomePostDto withDecoratedImage(String decoratedUrl, int size) {
+        return new HomePostDto(id, title, decoratedUrl, size, size, dominantColor, placeholder);
+    }
+}
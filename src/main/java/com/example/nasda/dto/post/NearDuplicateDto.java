@@ -0,0 +1,8 @@
+package com.example.nasda.dto.post;
+
+public record NearDuplicateDto(
+        Integer imageId,
+        Integer postId,
+        String imageUrl,
+        int distance // 해밍 거리 (0 = 같은 해시)
+) { }
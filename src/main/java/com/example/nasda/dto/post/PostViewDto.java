@@ -1,6 +1,7 @@
 package com.example.nasda.dto.post;
 
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
@@ -32,11 +33,16 @@ public class PostViewDto {
     }
 
     @Getter
+    @Builder // PostImageMapper(MapStruct)가 builder 로 생성
     @NoArgsConstructor
     @AllArgsConstructor
     public static class ImageDto {
         private Integer id;        // PostImageEntity.imageId
         private String url;        // PostImageEntity.imageUrl
         private Integer sortOrder; // PostImageEntity.sortOrder
+        private Integer width;          // 원본 가로(px)
+        private Integer height;         // 원본 세로(px)
+        private String dominantColor;   // 대표 색상 (#rrggbb)
+        private String placeholder;     // 초소형 미리보기 (data URI)
     }
 }
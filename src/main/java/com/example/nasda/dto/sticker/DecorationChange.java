@@ -0,0 +1,42 @@
+package com.example.nasda.dto.sticker;
+
+/**
+ * 실시간 꾸미기에서 모아 두었다가 한 번에 DB 에 반영할 변경 하나.
+ *
+ * key 는 방 안에서 장식을 가리키는 이름입니다. 저장된 장식은 "d:{decorationId}",
+ * 아직 저장 전인 새 스티커는 클라이언트가 만든 "t:{uuid}" 입니다.
+ */
+public record DecorationChange(
+        Kind kind,
+        String key,
+        Integer decorationId,   // ADD 는 저장 전이라 null
+        Integer userId,
+        Integer stickerId,
+        Float posX,
+        Float posY,
+        Float rotation
+) {
+
+    public enum Kind { ADD, MOVE, REMOVE }
+
+    /**
+     * 같은 장식에 대한 이전 변경(this) 뒤에 next 가 왔을 때 둘을 하나로 합칩니다.
+     * 추가 후 삭제처럼 DB 에 쓸 것이 없어지면 null.
+     */
+    public DecorationChange then(DecorationChange next) {
+        Integer id = next.decorationId != null ? next.decorationId : decorationId;
+
+        if (kind == Kind.ADD) {
+            if (next.kind == Kind.REMOVE) return null;
+            // 아직 저장 전인 추가는 마지막 위치로 한 번만 INSERT
+            return new DecorationChange(Kind.ADD, key, null, userId, stickerId,
+                    next.posX, next.posY, next.rotation);
+        }
+        return new DecorationChange(next.kind, key, id, next.userId, next.stickerId,
+                next.posX, next.posY, next.rotation);
+    }
+
+    public DecorationChange withDecorationId(Integer decorationId) {
+        return new DecorationChange(kind, key, decorationId, userId, stickerId, posX, posY, rotation);
+    }
+}
@@ -28,6 +28,9 @@ public class PostDecorationRequestDTO {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class DecorationItem {
+        // 이미 저장된 장식이면 그 ID (새로 붙인 스티커는 null)
+        private Integer decorationId;
+
         private Integer stickerId;
         private Float posX;
         private Float posY;
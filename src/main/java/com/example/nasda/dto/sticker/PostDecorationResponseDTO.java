@@ -1,19 +1,20 @@
 package com.example.nasda.dto.sticker;
 
-import com.example.nasda.domain.PostDecorationEntity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+// Entity -> DTO 변환은 PostDecorationMapper (MapStruct 생성 코드)
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PostDecorationResponseDTO {
 
     private Integer decorationId;
     private Integer postImageId;
+    private Integer userId;       // 붙인 사람 (실시간 편집 시 권한 확인용)
 
     // 스티커 정보
     private Integer stickerId;
@@ -25,19 +26,4 @@ public class PostDecorationResponseDTO {
     private Float scale;
     private Float rotation;
     private Integer zIndex;
-
-    // Entity -> DTO 변환 메서드 (리턴 타입도 DTO로 변경)
-    public static PostDecorationResponseDTO from(PostDecorationEntity entity) {
-        return PostDecorationResponseDTO.builder()
-                .decorationId(entity.getDecorationId())
-                .postImageId(entity.getPostImage().getImageId())
-                .stickerId(entity.getSticker().getStickerId())
-                .stickerImageUrl(entity.getSticker().getStickerImageUrl())
-                .posX(entity.getPosX())
-                .posY(entity.getPosY())
-                .scale(entity.getScale())
-                .rotation(entity.getRotation())
-                .zIndex(entity.getZIndex())
-                .build();
-    }
-}
\ No newline at end of file
+}
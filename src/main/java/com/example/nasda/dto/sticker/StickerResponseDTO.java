@@ -3,7 +3,7 @@ package com.example.nasda.dto.sticker;
 import lombok.*;
 
 @Getter
-@Setter // ModelMapper 사용 시 Setter 혹은 Field Access 필수
+@Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -12,6 +12,6 @@ public class StickerResponseDTO {
     private String stickerName;
     private String stickerImageUrl;
 
-    // ★ LOOSE 전략 덕분에 stickerCategory.name -> categoryName으로 자동 매핑될 예정!
+    // stickerCategory.name (StickerMapper 에서 매핑)
     private String categoryName;
 }
\ No newline at end of file
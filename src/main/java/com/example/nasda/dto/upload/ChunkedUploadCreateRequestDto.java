@@ -0,0 +1,7 @@
+package com.example.nasda.dto.upload;
+
+public record ChunkedUploadCreateRequestDto(
+        String fileName,
+        String contentType,
+        long totalSize
+) {}
@@ -0,0 +1,22 @@
+package com.example.nasda.mapper;
+
+import com.example.nasda.domain.PostDecorationEntity;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface PostDecorationMapper {
+
+    @Mapping(target = "postImageId", source = "postImage.imageId")
+    @Mapping(target = "userId", source = "user.userId")
+    @Mapping(target = "stickerId", source = "sticker.stickerId")
+    @Mapping(target = "stickerImageUrl", source = "sticker.stickerImageUrl")
+    @Mapping(target = "zIndex", source = "ZIndex") // Lombok getter 이름이 getZIndex() 라서 명시
+    PostDecorationResponseDTO toResponse(PostDecorationEntity entity);
+
+    List<PostDecorationResponseDTO> toResponses(List<PostDecorationEntity> entities);
+}
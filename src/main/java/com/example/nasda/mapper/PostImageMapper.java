@@ -0,0 +1,19 @@
+package com.example.nasda.mapper;
+
+import com.example.nasda.domain.PostImageEntity;
+import com.example.nasda.dto.post.PostViewDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface PostImageMapper {
+
+    @Mapping(target = "id", source = "imageId")
+    @Mapping(target = "url", source = "imageUrl")
+    PostViewDto.ImageDto toImageDto(PostImageEntity entity);
+
+    List<PostViewDto.ImageDto> toImageDtos(List<PostImageEntity> entities);
+}
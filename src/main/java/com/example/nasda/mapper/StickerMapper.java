@@ -0,0 +1,29 @@
+package com.example.nasda.mapper;
+
+import com.example.nasda.domain.StickerCategoryEntity;
+import com.example.nasda.domain.StickerEntity;
+import com.example.nasda.dto.sticker.StickerCategoryResponseDTO;
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+/**
+ * 스티커/카테고리 Entity → DTO 변환.
+ * MapStruct 가 컴파일 시점에 getter/builder 호출 코드를 생성합니다. (런타임 리플렉션 없음)
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface StickerMapper {
+
+    // stickerCategory 는 fetch join(EntityGraph)으로 가져온 상태에서 호출해야 추가 쿼리가 없음
+    @Mapping(target = "categoryName", source = "stickerCategory.name")
+    StickerResponseDTO toResponse(StickerEntity entity);
+
+    List<StickerResponseDTO> toResponses(List<StickerEntity> entities);
+
+    StickerCategoryResponseDTO toResponse(StickerCategoryEntity entity);
+
+    List<StickerCategoryResponseDTO> toCategoryResponses(List<StickerCategoryEntity> entities);
+}
@@ -19,14 +19,28 @@ public interface CommentRepository extends JpaRepository<CommentEntity, Integer>
     void deleteByPost_PostId(Integer postId);
 
     // ✅ 1. 유저별 댓글 개수 (중복 제거됨)
-    long countByUserId(Integer userId);
+    //    삭제 표시된 게시글(정리 전)의 댓글은 빼고 셈 - @SQLRestriction 은 연관(c.post)으로 가는 경로에는 안 걸림
+    @Query("select count(c) from CommentEntity c join c.post p where c.userId = :userId and p.deletedAt is null")
+    long countByUserId(@Param("userId") Integer userId);
 
-    // ✅ 2. 유저별 댓글 목록 조회
-    Page<CommentEntity> findByUserId(Integer userId, Pageable pageable);
+    // ✅ 2. 유저별 댓글 목록 조회 (삭제 표시된 게시글의 댓글 제외, 목록에서 comment.post.title 을 읽음)
+    @Query(value = "select c from CommentEntity c join fetch c.post p where c.userId = :userId and p.deletedAt is null",
+            countQuery = "select count(c) from CommentEntity c join c.post p where c.userId = :userId and p.deletedAt is null")
+    Page<CommentEntity> findByUserId(@Param("userId") Integer userId, Pageable pageable);
 
     // ✅ 3. 회원 탈퇴용: 작성자를 NULL로 변경 (Native Query)
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Transactional
     @Query(value = "UPDATE comments SET user_id = NULL WHERE user_id = :userId", nativeQuery = true)
     void setAuthorNull(@Param("userId") Integer userId);
+
+    // ✅ 4. 삭제된 게시글 정리용: 엔티티를 읽지 않고 limit 행씩 bulk DELETE (신고 → 댓글 순서)
+    @Modifying
+    @Query(value = "DELETE FROM comment_reports WHERE comment_id IN "
+            + "(SELECT comment_id FROM comments WHERE post_id IN (:postIds)) LIMIT :limit", nativeQuery = true)
+    int deleteReportsChunk(@Param("postIds") List<Integer> postIds, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM comments WHERE post_id IN (:postIds) LIMIT :limit", nativeQuery = true)
+    int deleteChunk(@Param("postIds") List<Integer> postIds, @Param("limit") int limit);
 }
\ No newline at end of file
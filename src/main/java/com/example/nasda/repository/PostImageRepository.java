@@ -2,8 +2,11 @@ package com.example.nasda.repository;
 
 import com.example.nasda.domain.PostImageEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +20,46 @@ public interface PostImageRepository extends JpaRepository<PostImageEntity, Inte
 
     Optional<PostImageEntity> findFirstByPost_PostIdOrderBySortOrderAsc(Integer postId);
 
+    long countByPost_PostId(Integer postId);
+
     @Transactional
     void deleteByPost_PostId(Integer postId);
+
+    // ✅ 근사 중복 인덱스(NearDuplicateIndex) 초기 적재용 - 엔티티 대신 ID/해시만 조회
+    @Query("select i.imageId as imageId, i.perceptualHash as perceptualHash " +
+            "from PostImageEntity i where i.perceptualHash is not null")
+    List<ImageHashView> findAllPerceptualHashes();
+
+    // ✅ 근사 중복 목록용: 삭제 표시된 게시글(정리 전)의 이미지는 빼고 게시글까지 한 번에 조회
+    @Query("select i from PostImageEntity i join fetch i.post p where i.imageId in :imageIds and p.deletedAt is null")
+    List<PostImageEntity> findLiveByIdIn(@Param("imageIds") Collection<Integer> imageIds);
+
+    // ✅ 꾸미기 저장용: 삭제 표시된 게시글(정리 전)의 이미지는 없는 것으로 (@SQLRestriction 은 i.post 경로에는 안 걸림)
+    @Query("select i from PostImageEntity i join fetch i.post p where i.imageId = :imageId and p.deletedAt is null")
+    Optional<PostImageEntity> findLiveById(@Param("imageId") Integer imageId);
+
+    // ✅ 실시간 꾸미기 방 열 때: 게시글 작성자 (남의 스티커를 뗄 수 있는 사람), 삭제 표시된 게시글이면 없음
+    @Query("select p.user.userId from PostImageEntity i join i.post p where i.imageId = :imageId and p.deletedAt is null")
+    Optional<Integer> findPostOwnerId(@Param("imageId") Integer imageId);
+
+    // ✅ 장식 합성 이미지 원본 / 합성 전 대체 주소
+    @Query("select i.imageUrl from PostImageEntity i where i.imageId = :imageId")
+    Optional<String> findImageUrl(@Param("imageId") Integer imageId);
+
+    // ✅ 삭제된 게시글 정리용: 지울 이미지 ID / 파일 주소
+    @Query(value = "SELECT image_id AS imageId, image_url AS imageUrl FROM post_images "
+            + "WHERE post_id IN (:postIds) ORDER BY image_id LIMIT :limit", nativeQuery = true)
+    List<ImageFileView> findFilesByPostIds(@Param("postIds") List<Integer> postIds, @Param("limit") int limit);
+
+    interface ImageFileView {
+        Integer getImageId();
+
+        String getImageUrl();
+    }
+
+    interface ImageHashView {
+        Integer getImageId();
+
+        Long getPerceptualHash();
+    }
 }
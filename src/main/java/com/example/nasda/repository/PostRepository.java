@@ -54,4 +54,23 @@ public interface PostRepository extends JpaRepository<PostEntity, Integer> {
 
     List<PostEntity> findByCategory_CategoryNameContainingIgnoreCaseOrderByCreatedAtDesc(String keyword);
 
-    Page<PostEntity> findByUser_UserId(Integer userId, Pageable pageable);}
+    Page<PostEntity> findByUser_UserId(Integer userId, Pageable pageable);
+
+    // =========================
+    // ✅ 삭제 표시된 글 정리 (PostPurgeService) - @SQLRestriction 을 거치지 않도록 native
+    // =========================
+    @Query(value = "SELECT post_id FROM posts WHERE deleted_at IS NOT NULL ORDER BY deleted_at LIMIT :limit",
+            nativeQuery = true)
+    List<Integer> findDeletedPostIds(@Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM posts WHERE deleted_at IS NOT NULL", nativeQuery = true)
+    long countDeleted();
+
+    @Modifying
+    @Query(value = "DELETE FROM post_reports WHERE post_id IN (:postIds) LIMIT :limit", nativeQuery = true)
+    int deleteReportsChunk(@Param("postIds") List<Integer> postIds, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM posts WHERE post_id IN (:postIds) AND deleted_at IS NOT NULL", nativeQuery = true)
+    int deleteMarked(@Param("postIds") List<Integer> postIds);
+}
@@ -0,0 +1,35 @@
+package com.example.nasda.repository.sticker;
+
+import com.example.nasda.domain.DecorationLayoutEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DecorationLayoutRepository extends JpaRepository<DecorationLayoutEntity, Integer> {
+
+    // ✅ 게시글 화면용: 이미지별 현재 버전만 (본문 blob 은 읽지 않음)
+    @Query("select l.imageId as imageId, l.version as version from DecorationLayoutEntity l where l.imageId in :imageIds")
+    List<LayoutVersionView> findVersions(@Param("imageIds") Collection<Integer> imageIds);
+
+    @Query("select l.version from DecorationLayoutEntity l where l.imageId = :imageId")
+    Optional<Long> findVersion(@Param("imageId") Integer imageId);
+
+    // ✅ 읽은 버전 그대로일 때만 교체 (다른 서버가 먼저 바꿨으면 0 → 다시 읽고 재시도)
+    @Modifying
+    @Query("update DecorationLayoutEntity l set l.layout = :layout, l.version = :expected + 1, l.updatedAt = :now "
+            + "where l.imageId = :imageId and l.version = :expected")
+    int replaceIfVersion(@Param("imageId") Integer imageId, @Param("expected") long expected,
+                         @Param("layout") byte[] layout, @Param("now") LocalDateTime now);
+
+    interface LayoutVersionView {
+        Integer getImageId();
+
+        Long getVersion();
+    }
+}
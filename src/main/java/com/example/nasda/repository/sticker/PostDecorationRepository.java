@@ -1,6 +1,7 @@
 package com.example.nasda.repository.sticker;
 
 import com.example.nasda.domain.PostDecorationEntity;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -8,7 +9,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface PostDecorationRepository extends JpaRepository<PostDecorationEntity, Integer> {
 
@@ -19,10 +22,53 @@ public interface PostDecorationRepository extends JpaRepository<PostDecorationEn
     @EntityGraph(attributePaths = {"sticker"})
     List<PostDecorationEntity> findByPostImage_ImageId(Integer imageId);
 
+    // ✅ 조회용 projection: 응답에 필요한 컬럼만 한 번의 쿼리로 (지연 로딩 추가 select 없음)
+    String RESPONSE_SELECT = "SELECT new com.example.nasda.dto.sticker.PostDecorationResponseDTO("
+            + "d.decorationId, d.postImage.imageId, d.user.userId, s.stickerId, s.stickerImageUrl, "
+            + "d.posX, d.posY, d.scale, d.rotation, d.zIndex) "
+            + "FROM PostDecorationEntity d JOIN d.sticker s ";
+
+    @Query(RESPONSE_SELECT + "WHERE d.postImage.imageId = :imageId ORDER BY d.decorationId")
+    List<PostDecorationResponseDTO> findResponsesByImageId(@Param("imageId") Integer imageId);
+
+    @Query(RESPONSE_SELECT + "WHERE d.post.postId = :postId ORDER BY d.decorationId")
+    List<PostDecorationResponseDTO> findResponsesByPostId(@Param("postId") Integer postId);
+
+    // ✅ 저장 시 diff 대상: 한 유저가 한 이미지에 붙인 장식
+    @EntityGraph(attributePaths = {"sticker"})
+    List<PostDecorationEntity> findByUser_UserIdAndPostImage_ImageId(Integer userId, Integer imageId);
+
+    // ✅ 홈 카드용: 이 중 장식이 하나라도 있는 이미지
+    @Query("SELECT DISTINCT d.postImage.imageId FROM PostDecorationEntity d WHERE d.postImage.imageId IN :imageIds")
+    List<Integer> findDecoratedImageIds(@Param("imageIds") Collection<Integer> imageIds);
+
+    // ✅ 위치 수정 권한 확인용 (엔티티 대신 작성자 ID만), 삭제 표시된 게시글(정리 전)의 장식은 없는 것으로
+    //    (@SQLRestriction 은 d.post 경로에는 안 걸림)
+    @Query("SELECT d.user.userId FROM PostDecorationEntity d JOIN d.post p "
+            + "WHERE d.decorationId = :decorationId AND p.deletedAt IS NULL")
+    Optional<Integer> findOwnerId(@Param("decorationId") Integer decorationId);
+
+    // ✅ 개별 삭제용: 게시글까지 한 번에, 삭제 표시된 게시글의 장식은 제외
+    @Query("SELECT d FROM PostDecorationEntity d JOIN FETCH d.post p "
+            + "WHERE d.decorationId = :decorationId AND p.deletedAt IS NULL")
+    Optional<PostDecorationEntity> findLiveById(@Param("decorationId") Integer decorationId);
+
+    // ✅ 위치 버퍼 반영용: 그 사이 게시글이 삭제 표시된 장식은 쓰지 않음
+    @Query("SELECT d FROM PostDecorationEntity d JOIN d.post p "
+            + "WHERE d.decorationId IN :decorationIds AND p.deletedAt IS NULL")
+    List<PostDecorationEntity> findLiveByIdIn(@Param("decorationIds") Collection<Integer> decorationIds);
+
+    // ✅ 위치만 바로 수정 (영속성 컨텍스트는 비워서 다음 조회가 DB 값을 보도록)
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE PostDecorationEntity d SET d.posX = :posX, d.posY = :posY, d.version = d.version + 1 "
+            + "WHERE d.decorationId = :decorationId")
+    int updatePosition(@Param("decorationId") Integer decorationId, @Param("posX") Float posX, @Param("posY") Float posY);
+
     // ✅ 게시글 전체 조회용
     List<PostDecorationEntity> findByPostPostId(Integer postId);
 
-    // ✅ [데드락 해결 핵심] 벌크 삭제: 수정/삭제 시 기존 데이터를 한 번에 날립니다.
+    // ✅ 벌크 삭제: 한 유저가 한 이미지에 붙인 장식을 한 번에 날립니다.
     @Modifying
     @Transactional
     @Query("DELETE FROM PostDecorationEntity d WHERE d.user.userId = :userId AND d.postImage.imageId = :imageId")
@@ -36,4 +82,15 @@ public interface PostDecorationRepository extends JpaRepository<PostDecorationEn
     @Modifying
     @Transactional
     void deleteByPostImageImageId(Integer imageId);
+
+    // ✅ 삭제된 게시글 정리용: limit 행씩 나눠서 (한 번에 잡는 락 범위를 제한)
+    @Modifying
+    @Query(value = "DELETE FROM post_decorations WHERE post_id IN (:postIds) LIMIT :limit", nativeQuery = true)
+    int deleteChunkByPostIds(@Param("postIds") List<Integer> postIds, @Param("limit") int limit);
+
+    // ✅ 이미지 여러 장 삭제 시 해당 이미지들의 장식을 한 번에 삭제
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PostDecorationEntity d WHERE d.postImage.imageId IN :imageIds")
+    void deleteByPostImageIds(@Param("imageIds") List<Integer> imageIds);
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.nasda.repository.sticker;
+
+import com.example.nasda.domain.RecentStickerEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RecentStickerRepository extends JpaRepository<RecentStickerEntity, Integer> {
+}
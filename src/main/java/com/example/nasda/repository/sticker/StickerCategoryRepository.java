@@ -2,10 +2,15 @@ package com.example.nasda.repository.sticker;
 
 import com.example.nasda.domain.StickerCategoryEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
 public interface StickerCategoryRepository extends JpaRepository<StickerCategoryEntity, Integer> {
     // 카테고리 이름으로 중복 확인이나 조회를 하기 위해 추가하면 좋은 메서드
     Optional<StickerCategoryEntity> findByName(String name);
+
+    // 카탈로그 변경 감지용 (StickerRepository.findChangeMarker 와 같은 방식)
+    @Query("select count(c) as count, max(c.stickerCategoryId) as maxId from StickerCategoryEntity c")
+    StickerRepository.ChangeMarkerView findChangeMarker();
 }
\ No newline at end of file
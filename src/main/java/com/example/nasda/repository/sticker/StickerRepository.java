@@ -3,6 +3,7 @@ package com.example.nasda.repository.sticker;
 import com.example.nasda.domain.StickerEntity;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -10,7 +11,22 @@ public interface StickerRepository extends JpaRepository<StickerEntity, Integer>
 
     // [추가] 특정 카테고리 ID를 가진 스티커들만 조회
     // @EntityGraph를 써서 카테고리 정보(stickerCategory)까지 한 번에 가져오면 성능이 더 좋습니다.
-    // (ModelMapper가 카테고리 이름을 꺼낼 때 쿼리가 추가로 나가는 것을 방지함)
+    // (StickerMapper가 카테고리 이름을 꺼낼 때 쿼리가 추가로 나가는 것을 방지함)
     @EntityGraph(attributePaths = {"stickerCategory"})
     List<StickerEntity> findByStickerCategory_StickerCategoryId(Integer categoryId);
+
+    // 카탈로그 스냅샷(StickerCatalog) 생성용: 전체 스티커 + 카테고리를 쿼리 한 번으로
+    @EntityGraph(attributePaths = {"stickerCategory"})
+    @Query("select s from StickerEntity s")
+    List<StickerEntity> findAllWithCategory();
+
+    // 카탈로그 변경 감지용 (StickerCatalog.refreshIfStale): 생성/삭제만 있으므로 개수나 가장 큰 ID 중 하나는 바뀜
+    @Query("select count(s) as count, max(s.stickerId) as maxId from StickerEntity s")
+    ChangeMarkerView findChangeMarker();
+
+    interface ChangeMarkerView {
+        Long getCount();
+
+        Integer getMaxId();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.nasda.repository.sticker;
+
+import com.example.nasda.domain.StickerUsageEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StickerUsageRepository extends JpaRepository<StickerUsageEntity, Integer> {
+
+    // ✅ 여러 서버가 동시에 반영해도 잃지 않도록 행 단위 원자적 upsert (읽고-고쳐-쓰기 없음)
+    // ON DUPLICATE KEY UPDATE 는 앞의 대입 결과를 뒤에서 보므로 score 를 scored_at 보다 먼저 계산
+    @Modifying
+    @Query(value = "INSERT INTO sticker_usage_stats (sticker_id, uses, score, scored_at) "
+            + "VALUES (:stickerId, :count, :count, :now) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "score = score * POW(0.5, GREATEST(0, :now - scored_at) / :halfLifeMillis) + :count, "
+            + "uses = uses + :count, "
+            + "scored_at = GREATEST(scored_at, :now)", nativeQuery = true)
+    int addUsage(@Param("stickerId") Integer stickerId, @Param("count") long count,
+                 @Param("now") long now, @Param("halfLifeMillis") double halfLifeMillis);
+}
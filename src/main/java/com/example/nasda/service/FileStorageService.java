@@ -1,21 +1,26 @@
 package com.example.nasda.service;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.example.nasda.service.storage.ReplicatingImageStorage;
+import com.example.nasda.service.storage.StoredImage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.UUID;
 
+/**
+ * 업로드 이미지 저장/삭제. 실제 저장 위치는 ImageStorage(로컬, S3 ...) 구성에 따릅니다. (StorageConfig)
+ */
+@Log4j2
 @Service
+@RequiredArgsConstructor
 public class FileStorageService {
 
-    @Value("${app.upload.dir}")
-    private String uploadDir;
+    private final ReplicatingImageStorage imageStorage;
 
     public String saveImage(MultipartFile file) {
         if (file == null || file.isEmpty()) {
@@ -25,40 +30,70 @@ public class FileStorageService {
             throw new IllegalArgumentException("이미지 파일만 업로드 가능합니다.");
         }
 
-        try {
-            Path dir = Paths.get(uploadDir).toAbsolutePath().normalize();
-            Files.createDirectories(dir);
-
-            String original = file.getOriginalFilename() == null ? "image" : file.getOriginalFilename();
-            String ext = "";
+        try (InputStream in = file.getInputStream()) {
+            String savedName = newFileName(file.getOriginalFilename());
+            imageStorage.put(savedName, in, file.getSize(), file.getContentType());
 
-            int dot = original.lastIndexOf('.');
-            if (dot > -1) ext = original.substring(dot); // .jpg
+            // 브라우저 접근 URL
+            return "/uploads/" + savedName;
 
-            String savedName = UUID.randomUUID() + ext;
-            Path target = dir.resolve(savedName);
+        } catch (IOException e) {
+            throw new RuntimeException("파일 저장 실패", e);
+        }
+    }
 
-            // 덮어쓰기 방지
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * 이미 서버에 저장된 파일(분할 업로드 결과 등)을 저장소에 넣고 URL 을 돌려줍니다.
+     * 원본 파일은 그대로 둡니다. (분할 업로드 세션이 커밋 후에 정리)
+     */
+    public String store(Path source, String originalFilename, String contentType) {
+        try {
+            String savedName = newFileName(originalFilename);
+            imageStorage.put(savedName, source, contentType);
 
-            // 브라우저 접근 URL
             return "/uploads/" + savedName;
-
         } catch (IOException e) {
             throw new RuntimeException("파일 저장 실패", e);
         }
     }
 
+    private String newFileName(String originalFilename) {
+        String original = originalFilename == null ? "image" : originalFilename;
+        String ext = "";
+
+        int dot = original.lastIndexOf('.');
+        if (dot > -1) ext = original.substring(dot); // .jpg
+
+        return UUID.randomUUID() + ext;
+    }
+
+    /**
+     * 업로드 파일명 → 로컬 디스크 경로. 로컬 저장소를 안 쓰거나 디렉터리 밖으로 나가는 경로(../)는 null.
+     */
+    public Path resolve(String filename) {
+        return imageStorage.localPath(filename);
+    }
+
+    /**
+     * 로컬에 없을 때 다른 저장소(S3 등)에서 읽기. 찾으면 로컬로 비동기 채움(read-through).
+     * @return 없으면 null
+     */
+    public StoredImage open(String filename) throws IOException {
+        if (filename == null || filename.isBlank() || filename.contains("/") || filename.contains("..")) {
+            return null;
+        }
+        return imageStorage.get(filename);
+    }
+
     public void deleteByUrl(String imageUrl) {
         // imageUrl: /uploads/xxx.jpg
         if (imageUrl == null || !imageUrl.startsWith("/uploads/")) return;
 
         try {
-            String filename = imageUrl.substring("/uploads/".length());
-            Path filePath = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(filename);
-            Files.deleteIfExists(filePath);
-        } catch (IOException ignored) {
-            // 파일 삭제 실패는 DB 삭제보다 덜 치명적이므로 일단 무시(로그는 추후)
+            imageStorage.delete(imageUrl.substring("/uploads/".length()));
+        } catch (IOException | RuntimeException e) {
+            // 파일 삭제 실패는 DB 삭제보다 덜 치명적이므로 로그만 남김
+            log.warn("이미지 파일 삭제 실패: {}", imageUrl, e);
         }
     }
 }
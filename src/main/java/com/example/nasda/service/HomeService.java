@@ -22,15 +22,14 @@ public class HomeService {
         return postRepository.findAllByOrderByCreatedAtDesc()
                 .stream()
                 .map(post -> {
-                    String imageUrl = postImageRepository
+                    PostImageEntity image = postImageRepository
                             .findFirstByPost_PostIdOrderBySortOrderAsc(post.getPostId())
-                            .map(PostImageEntity::getImageUrl)
                             .orElse(null);
 
-                    return new HomePostDto(
+                    return HomePostDto.of(
                             post.getPostId(),
                             post.getTitle(),
-                            imageUrl
+                            image
                     );
                 })
                 .toList();
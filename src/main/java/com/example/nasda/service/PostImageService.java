@@ -3,64 +3,247 @@ package com.example.nasda.service;
 import com.example.nasda.domain.PostEntity;
 import com.example.nasda.domain.PostImageEntity;
 import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.image.BkTree;
+import com.example.nasda.service.image.ImageMetadata;
+import com.example.nasda.service.image.ImageMetadataExtractor;
+import com.example.nasda.service.image.NearDuplicateIndex;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import com.example.nasda.service.upload.ChunkedUploadService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
+@Log4j2
 @Service
 @RequiredArgsConstructor
 public class PostImageService {
 
     private final PostImageRepository postImageRepository;
+    private final PostDecorationRepository postDecorationRepository;
     private final FileStorageService fileStorageService;
+    private final ImageMetadataExtractor imageMetadataExtractor;
+    private final ChunkedUploadService chunkedUploadService;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final DecorationLayoutService decorationLayoutService;
 
     @Transactional
     public void addImages(PostEntity post, List<MultipartFile> files) {
         if (files == null || files.isEmpty()) return;
 
         int order = 0;
-        boolean first = true;
 
         for (MultipartFile file : files) {
             if (file == null || file.isEmpty()) continue;
 
-            String url = fileStorageService.saveImage(file);
+            saveImage(post, file, order++);
+        }
+    }
+
+    /**
+     * 분할 업로드(ChunkedUploadService)로 완성된 파일들을 게시글 이미지로 등록합니다.
+     * 이미 등록된 이미지 뒤에 순서대로 붙습니다.
+     *
+     * 모든 업로드를 먼저 검사한 뒤 저장합니다. 분할 업로드 세션은 커밋된 뒤에만 닫히고,
+     * 롤백되면 저장한 파일을 지우고 세션을 되돌려서 같은 uploadId 로 다시 등록할 수 있습니다.
+     */
+    @Transactional
+    public void addUploadedImages(PostEntity post, Integer userId, List<String> uploadIds) {
+        if (uploadIds == null || uploadIds.isEmpty()) return;
+
+        List<String> claimed = new ArrayList<>();
+        afterCompletion(committed -> claimed.forEach(committed
+                ? chunkedUploadService::release
+                : chunkedUploadService::unclaim));
 
-            postImageRepository.save(
-                    PostImageEntity.builder()
-                            .post(post)
-                            .imageUrl(url)
-                            .sortOrder(order++)
-                            .isRepresentative(first)
-                            .build()
-            );
+        // 1. 검사: 하나라도 이미지가 아니면 아무것도 저장하지 않음
+        List<ChunkedUploadService.CompletedUpload> uploads = new ArrayList<>();
+        List<ImageMetadata> metas = new ArrayList<>();
+        for (String uploadId : new LinkedHashSet<>(uploadIds)) {
+            if (uploadId == null || uploadId.isBlank()) continue;
 
-            first = false;
+            ChunkedUploadService.CompletedUpload upload = chunkedUploadService.claim(uploadId, userId);
+            claimed.add(uploadId);
+
+            ImageMetadata meta = imageMetadataExtractor.extract(upload.file());
+            if (meta.width() == null) {
+                throw new IllegalArgumentException("이미지 파일만 업로드 가능합니다.");
+            }
+            uploads.add(upload);
+            metas.add(meta);
+        }
+
+        // 2. 저장: 롤백되면 저장소에 넣은 파일도 지움
+        List<String> storedUrls = new ArrayList<>();
+        deleteFilesAfterRollback(storedUrls);
+
+        int order = (int) postImageRepository.countByPost_PostId(post.getPostId());
+        for (int i = 0; i < uploads.size(); i++) {
+            ChunkedUploadService.CompletedUpload upload = uploads.get(i);
+            String url = fileStorageService.store(upload.file(), upload.fileName(), upload.contentType());
+            storedUrls.add(url);
+            saveEntity(post, url, metas.get(i), order++);
         }
     }
 
+    /**
+     * 이미지 부분 수정 (전체 교체 대신 변경분만 반영)
+     *
+     * @param keptImageIds    유지할 기존 이미지 ID (새 순서대로). null 이면 기존 순서 유지
+     * @param removedImageIds 삭제할 기존 이미지 ID
+     * @param newFiles        뒤에 추가할 새 이미지
+     *
+     * 최종 순서 = keptImageIds → (언급되지 않은 기존 이미지, 기존 순서) → newFiles.
+     * 순서가 바뀐 행만 dirty checking 으로 UPDATE 되고, flush 시 JDBC batch 한 번으로 나갑니다.
+     * 삭제되는 이미지의 파일/장식만 지우고 나머지 이미지(와 그 위의 스티커)는 건드리지 않습니다.
+     */
     @Transactional
-    public void replaceImages(Integer postId, PostEntity post, List<MultipartFile> newFiles) {
+    public void editImages(PostEntity post,
+                           List<Integer> keptImageIds,
+                           List<Integer> removedImageIds,
+                           List<MultipartFile> newFiles) {
+
+        Integer postId = post.getPostId();
+        List<PostImageEntity> existing = postImageRepository.findByPost_PostIdOrderBySortOrderAsc(postId);
+
+        Map<Integer, PostImageEntity> byId = new LinkedHashMap<>();
+        existing.forEach(img -> byId.put(img.getImageId(), img));
+
+        // 1. 다른 게시글의 이미지 ID 가 섞여 들어오면 거절
+        Set<Integer> removed = new LinkedHashSet<>(removedImageIds == null ? List.of() : removedImageIds);
+        List<Integer> kept = keptImageIds == null ? List.of() : keptImageIds;
+        for (Integer id : kept) {
+            if (!byId.containsKey(id)) throw new IllegalArgumentException("게시글의 이미지가 아닙니다: " + id);
+            if (removed.contains(id)) throw new IllegalArgumentException("유지와 삭제에 동시에 포함된 이미지: " + id);
+        }
+        for (Integer id : removed) {
+            if (!byId.containsKey(id)) throw new IllegalArgumentException("게시글의 이미지가 아닙니다: " + id);
+        }
+
+        // 2. 최종 순서 계산
+        List<PostImageEntity> ordered = new ArrayList<>();
+        Set<Integer> placed = new HashSet<>();
+        for (Integer id : kept) {
+            if (placed.add(id)) ordered.add(byId.get(id));
+        }
+        for (PostImageEntity img : existing) {
+            if (!removed.contains(img.getImageId()) && placed.add(img.getImageId())) ordered.add(img);
+        }
+
+        // 3. 삭제: 장식 → 이미지 행 (set 기반 bulk DELETE), 파일은 커밋 이후 삭제
+        if (!removed.isEmpty()) {
+            List<Integer> removedIds = new ArrayList<>(removed);
+            List<String> removedUrls = removedIds.stream().map(id -> byId.get(id).getImageUrl()).toList();
+
+            postDecorationRepository.deleteByPostImageIds(removedIds);
+            postImageRepository.deleteAllByIdInBatch(removedIds);
+            decorationLayoutService.delete(removedIds);
 
-        boolean hasNew = newFiles != null && newFiles.stream().anyMatch(f -> f != null && !f.isEmpty());
-        if (!hasNew) return;
+            deleteFilesAfterCommit(removedUrls);
+            afterCommit(() -> removedIds.forEach(nearDuplicateIndex::remove));
+        }
 
-        // 기존 이미지 파일 삭제
-        List<PostImageEntity> oldImages =
-                postImageRepository.findByPost_PostIdOrderBySortOrderAsc(postId);
+        // 4. 순서/대표 이미지 갱신 (바뀐 행만 UPDATE)
+        int order = 0;
+        for (PostImageEntity img : ordered) {
+            img.changeOrder(order, order == 0);
+            order++;
+        }
 
-        for (PostImageEntity img : oldImages) {
-            fileStorageService.deleteByUrl(img.getImageUrl());
+        // 5. 새 이미지는 뒤에 추가 (새 이미지만큼의 I/O)
+        if (newFiles != null) {
+            for (MultipartFile file : newFiles) {
+                if (file == null || file.isEmpty()) continue;
+                saveImage(post, file, order++);
+            }
         }
+    }
+
+    private void saveImage(PostEntity post, MultipartFile file, int order) {
+        String url = fileStorageService.saveImage(file);
 
-        // DB 삭제
-        postImageRepository.deleteByPost_PostId(postId);
+        // 가로/세로, 대표색, 미리보기 추출 (헤더 + 축소 디코딩만 수행)
+        ImageMetadata meta = imageMetadataExtractor.extract(file);
 
-        // 새 이미지 저장
-        addImages(post, newFiles);
+        saveEntity(post, url, meta, order);
+    }
+
+    private void saveEntity(PostEntity post, String url, ImageMetadata meta, int order) {
+        PostImageEntity saved = postImageRepository.save(
+                PostImageEntity.builder()
+                        .post(post)
+                        .imageUrl(url)
+                        .sortOrder(order)
+                        .isRepresentative(order == 0)
+                        .width(meta.width())
+                        .height(meta.height())
+                        .dominantColor(meta.dominantColor())
+                        .placeholder(meta.placeholder())
+                        .perceptualHash(meta.perceptualHash())
+                        .build()
+        );
+
+        // 재인코딩/리사이즈된 같은 이미지가 이미 있는지 확인 (BK-tree, 해밍 거리 반경)
+        if (meta.perceptualHash() != null) {
+            List<BkTree.Match> near = nearDuplicateIndex.find(meta.perceptualHash());
+            if (!near.isEmpty()) {
+                nearDuplicateIndex.recordNearDuplicateUpload();
+                log.info("🔁 [근사 중복 업로드] {} ≈ imageId={} (거리 {})",
+                        url, near.get(0).id(), near.get(0).distance());
+            }
+            afterCommit(() -> nearDuplicateIndex.add(saved.getImageId(), meta.perceptualHash()));
+        }
+    }
+
+    // DB 삭제가 롤백되면 파일은 남겨둬야 하므로 커밋 후에 지움
+    private void deleteFilesAfterCommit(List<String> urls) {
+        afterCommit(() -> urls.forEach(fileStorageService::deleteByUrl));
+    }
+
+    // 저장소에는 넣었지만 DB 가 롤백되면 고아 파일이 되므로 지움 (목록은 등록 후에 채워져도 됨)
+    private void deleteFilesAfterRollback(List<String> urls) {
+        afterCompletion(committed -> {
+            if (!committed) urls.forEach(fileStorageService::deleteByUrl);
+        });
+    }
+
+    private void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,148 @@
+package com.example.nasda.service;
+
+import com.example.nasda.repository.CommentRepository;
+import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.repository.PostRepository;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.image.NearDuplicateIndex;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * 삭제 표시된 게시글(PostEntity.deletedAt) 정리.
+ *
+ * 게시글 삭제 요청은 표시만 하고 바로 끝나며(@SQLRestriction 으로 조회에서 즉시 빠짐),
+ * 여기서 주기적으로 딸린 행을 지웁니다: 댓글 신고 → 댓글 → 게시글 신고 → 장식 → 레이아웃/이미지 → 게시글.
+ * 각 단계는 엔티티를 읽지 않는 set 기반 DELETE 를 batch-size 행씩, 묶음마다 짧은 트랜잭션으로 반복하므로
+ * 장식이 많은 글을 지워도 락을 오래 잡지 않습니다. 이미지 파일은 이미지 행 삭제가 커밋된 뒤에 지웁니다.
+ *
+ * 중간에 실패해도 남은 것은 다음 주기에 처음부터 다시 지웁니다 (모든 단계가 다시 실행해도 안전).
+ */
+@Log4j2
+@Service
+public class PostPurgeService {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final PostImageRepository postImageRepository;
+    private final PostDecorationRepository postDecorationRepository;
+    private final DecorationLayoutService decorationLayoutService;
+    private final FileStorageService fileStorageService;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int postsPerRun;
+    private final int batchSize;
+
+    private final LongAdder purgedPosts = new LongAdder();
+    private final LongAdder deletedRows = new LongAdder();
+    private final LongAdder deletedFiles = new LongAdder();
+    private final LongAdder failedRuns = new LongAdder();
+
+    public PostPurgeService(
+            PostRepository postRepository,
+            CommentRepository commentRepository,
+            PostImageRepository postImageRepository,
+            PostDecorationRepository postDecorationRepository,
+            DecorationLayoutService decorationLayoutService,
+            FileStorageService fileStorageService,
+            NearDuplicateIndex nearDuplicateIndex,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.post.purge.posts-per-run:20}") int postsPerRun,
+            @Value("${app.post.purge.batch-size:500}") int batchSize
+    ) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.postImageRepository = postImageRepository;
+        this.postDecorationRepository = postDecorationRepository;
+        this.decorationLayoutService = decorationLayoutService;
+        this.fileStorageService = fileStorageService;
+        this.nearDuplicateIndex = nearDuplicateIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.postsPerRun = postsPerRun;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.post.purge.interval-ms:5000}")
+    public synchronized void purge() {
+        List<Integer> postIds;
+        try {
+            postIds = postRepository.findDeletedPostIds(postsPerRun);
+        } catch (RuntimeException e) {
+            failedRuns.increment();
+            log.error("삭제된 게시글 조회 실패", e);
+            return;
+        }
+        if (postIds.isEmpty()) return;
+
+        try {
+            long rows = 0;
+            rows += inChunks(() -> commentRepository.deleteReportsChunk(postIds, batchSize));
+            rows += inChunks(() -> commentRepository.deleteChunk(postIds, batchSize));
+            rows += inChunks(() -> postRepository.deleteReportsChunk(postIds, batchSize));
+            rows += inChunks(() -> postDecorationRepository.deleteChunkByPostIds(postIds, batchSize));
+            rows += purgeImages(postIds);
+
+            Integer posts = transactionTemplate.execute(status -> postRepository.deleteMarked(postIds));
+            rows += posts == null ? 0 : posts;
+
+            purgedPosts.add(posts == null ? 0 : posts);
+            deletedRows.add(rows);
+            log.info("🧹 [게시글 정리] 게시글 {}개, 딸린 행 포함 {}행 삭제", posts, rows);
+        } catch (RuntimeException e) {
+            failedRuns.increment();
+            log.error("삭제된 게시글 정리 실패: {}, 다음 주기에 다시 시도", postIds, e);
+        }
+    }
+
+    // ✅ 한 묶음(batchSize 행)씩 커밋하면서 더 지울 게 없을 때까지
+    private long inChunks(IntSupplier deleteChunk) {
+        long total = 0;
+        while (true) {
+            Integer n = transactionTemplate.execute(status -> deleteChunk.getAsInt());
+            if (n == null || n == 0) return total;
+            total += n;
+            if (n < batchSize) return total;
+        }
+    }
+
+    private long purgeImages(List<Integer> postIds) {
+        long total = 0;
+        while (true) {
+            List<PostImageRepository.ImageFileView> images = postImageRepository.findFilesByPostIds(postIds, batchSize);
+            if (images.isEmpty()) return total;
+
+            List<Integer> imageIds = images.stream().map(PostImageRepository.ImageFileView::getImageId).toList();
+            transactionTemplate.executeWithoutResult(status -> {
+                decorationLayoutService.delete(imageIds);
+                postImageRepository.deleteAllByIdInBatch(imageIds);
+            });
+            total += imageIds.size();
+
+            // 커밋된 뒤에 파일 / 메모리 색인 정리 (파일 삭제 실패는 FileStorageService 가 로그만 남김)
+            images.forEach(image -> fileStorageService.deleteByUrl(image.getImageUrl()));
+            imageIds.forEach(nearDuplicateIndex::remove);
+            deletedFiles.add(images.size());
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(postRepository.countDeleted(), purgedPosts.sum(), deletedRows.sum(), deletedFiles.sum(), failedRuns.sum());
+    }
+
+    public record Stats(
+            long pendingPosts,   // 삭제 표시됐지만 아직 정리 안 된 게시글
+            long purgedPosts,
+            long deletedRows,    // 댓글/신고/장식/이미지/게시글 행 합계
+            long deletedFiles,
+            long failedRuns
+    ) { }
+}
@@ -7,19 +7,24 @@ import com.example.nasda.domain.UserEntity;
 import com.example.nasda.domain.UserRepository;
 import com.example.nasda.dto.post.HomePostDto;
 import com.example.nasda.dto.post.PostViewDto;
+import com.example.nasda.mapper.PostImageMapper;
 import com.example.nasda.repository.CategoryRepository;
-import com.example.nasda.repository.CommentRepository;
 import com.example.nasda.repository.PostImageRepository;
 import com.example.nasda.repository.PostRepository;
+import com.example.nasda.service.image.DecoratedImageRenderer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -30,7 +35,8 @@ public class PostService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final PostImageRepository postImageRepository;
-    private final CommentRepository commentRepository;
+    private final PostImageMapper postImageMapper;
+    private final DecoratedImageRenderer decoratedImageRenderer;
 
     // 🔹 게시글 단건 조회
     @Transactional(readOnly = true)
@@ -39,17 +45,10 @@ public class PostService {
                 .orElseThrow(() -> new IllegalArgumentException("게시글이 존재하지 않습니다."));
     }
 
-    // ✅ (추가) postId로 이미지 객체 리스트 만들기: [id, url, sortOrder]
+    // ✅ (추가) postId로 이미지 객체 리스트 만들기: [id, url, sortOrder, 크기/대표색/미리보기]
     @Transactional(readOnly = true)
     public List<PostViewDto.ImageDto> getImageItems(Integer postId) {
-        return postImageRepository.findAllByPost_PostIdOrderBySortOrderAsc(postId)
-                .stream()
-                .map(img -> new PostViewDto.ImageDto(
-                        img.getImageId(),
-                        img.getImageUrl(),
-                        img.getSortOrder()
-                ))
-                .toList();
+        return postImageMapper.toImageDtos(postImageRepository.findAllByPost_PostIdOrderBySortOrderAsc(postId));
     }
 
     // ✅ (기존) postId로 이미지 URL 리스트
@@ -64,16 +63,7 @@ public class PostService {
     // 🔹 홈 게시글 목록 (최신 30개 + 대표 이미지 1장)
     @Transactional(readOnly = true)
     public List<HomePostDto> getHomePosts() {
-        return postRepository.findTop30ByOrderByCreatedAtDesc().stream()
-                .map(post -> {
-                    String imageUrl = postImageRepository
-                            .findFirstByPost_PostIdOrderBySortOrderAsc(post.getPostId())
-                            .map(PostImageEntity::getImageUrl)
-                            .orElse(null);
-
-                    return new HomePostDto(post.getPostId(), post.getTitle(), imageUrl);
-                })
-                .toList();
+        return toHomePosts(postRepository.findTop30ByOrderByCreatedAtDesc());
     }
 
     // 🔹 게시글 생성
@@ -110,7 +100,8 @@ public class PostService {
         post.update(category, title, description);
     }
 
-    // 🔥 게시글 삭제 (FK 해결 핵심)
+    // 🔥 게시글 삭제: 삭제 표시만 하고 바로 끝남 (목록/조회에서는 즉시 사라짐)
+    // 장식 → 댓글 → 이미지(파일) → 게시글 행은 PostPurgeService 가 나눠서 bulk DELETE (FK 순서대로)
     public void delete(Integer postId, Integer userId) {
         PostEntity post = get(postId);
 
@@ -118,14 +109,7 @@ public class PostService {
             throw new IllegalStateException("삭제 권한 없음");
         }
 
-        // ✅ 1. 이미지 삭제
-        postImageRepository.deleteByPost_PostId(postId);
-
-        // ✅ 2. 댓글 삭제
-        commentRepository.deleteByPost_PostId(postId);
-
-        // ✅ 3. 게시글 삭제
-        postRepository.delete(post);
+        post.markDeleted();
     }
 
     // ✅ 마이페이지: 내 게시글 전체 목록
@@ -182,14 +166,7 @@ public class PostService {
             page = postRepository.findByCategory_CategoryNameOrderByCreatedAtDesc(category, pageable);
         }
 
-        return page.map(post -> {
-            String imageUrl = postImageRepository
-                    .findFirstByPost_PostIdOrderBySortOrderAsc(post.getPostId())
-                    .map(PostImageEntity::getImageUrl)
-                    .orElse(null);
-
-            return new HomePostDto(post.getPostId(), post.getTitle(), imageUrl);
-        });
+        return new PageImpl<>(toHomePosts(page.getContent()), page.getPageable(), page.getTotalElements());
     }
 
     // ✅ 검색 (header search)
@@ -207,16 +184,30 @@ public class PostService {
             default -> postRepository.findByDescriptionContainingIgnoreCaseOrderByCreatedAtDesc(q);
         };
 
-        return results.stream()
-                .map(post -> {
-                    String imageUrl = postImageRepository
-                            .findFirstByPost_PostIdOrderBySortOrderAsc(post.getPostId())
-                            .map(PostImageEntity::getImageUrl)
-                            .orElse(null);
+        return toHomePosts(results);
+    }
 
-                    return new HomePostDto(post.getPostId(), post.getTitle(), imageUrl);
-                })
+    // ✅ 카드 목록: 대표 이미지 1장, 장식이 있으면 합성 이미지로 바꿔서
+    private List<HomePostDto> toHomePosts(List<PostEntity> posts) {
+        List<PostImageEntity> images = posts.stream()
+                .map(post -> postImageRepository
+                        .findFirstByPost_PostIdOrderBySortOrderAsc(post.getPostId())
+                        .orElse(null))
                 .toList();
+
+        Map<Integer, String> decorated = decoratedImageRenderer.urls(
+                images.stream().filter(Objects::nonNull).map(PostImageEntity::getImageId).toList());
+
+        List<HomePostDto> result = new ArrayList<>(posts.size());
+        for (int i = 0; i < posts.size(); i++) {
+            PostEntity post = posts.get(i);
+            PostImageEntity image = images.get(i);
+            HomePostDto dto = HomePostDto.of(post.getPostId(), post.getTitle(), image);
+
+            String decoratedUrl = image == null ? null : decorated.get(image.getImageId());
+            result.add(decoratedUrl == null ? dto : dto.withDecoratedImage(decoratedUrl, decoratedImageRenderer.size()));
+        }
+        return result;
     }
 
     // ✅ 마이페이지: 내 게시글 10개씩 페이징 조회
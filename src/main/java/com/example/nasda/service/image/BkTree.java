@@ -0,0 +1,109 @@
+package com.example.nasda.service.image;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 64bit 해시용 BK-tree (거리 = 해밍 거리).
+ *
+ * 자식은 부모와의 거리별로 매달려 있어서, 반경 r 검색 시 삼각 부등식으로
+ * |d - r| ~ d + r 구간의 자식만 내려가면 됩니다. (전체 비교 대비 극히 일부만 방문)
+ *
+ * 같은 해시의 이미지는 한 노드에 모읍니다. 삭제는 노드에서 ID 만 빼고 노드는 경로용으로 남겨둡니다.
+ * 스레드 안전하지 않으므로 호출하는 쪽(NearDuplicateIndex)에서 락을 잡습니다.
+ */
+public class BkTree {
+
+    private Node root;
+    private int size;
+
+    public record Match(int id, long hash, int distance) { }
+
+    public void add(long hash, int id) {
+        if (root == null) {
+            root = new Node(hash);
+            root.ids.add(id);
+            size++;
+            return;
+        }
+
+        Node node = root;
+        while (true) {
+            int d = distance(node.hash, hash);
+            if (d == 0) {
+                if (!node.ids.contains(id)) {
+                    node.ids.add(id);
+                    size++;
+                }
+                return;
+            }
+            Node child = node.children.get(d);
+            if (child == null) {
+                child = new Node(hash);
+                child.ids.add(id);
+                node.children.put(d, child);
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    public boolean remove(long hash, int id) {
+        Node node = root;
+        while (node != null) {
+            int d = distance(node.hash, hash);
+            if (d == 0) {
+                boolean removed = node.ids.remove((Integer) id);
+                if (removed) size--;
+                return removed;
+            }
+            node = node.children.get(d);
+        }
+        return false;
+    }
+
+    /**
+     * 해밍 거리 radius 이하인 항목을 거리순으로 돌려줍니다.
+     */
+    public List<Match> search(long hash, int radius) {
+        List<Match> result = new ArrayList<>();
+        if (root == null) return result;
+
+        List<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            int d = distance(node.hash, hash);
+            if (d <= radius) {
+                for (Integer id : node.ids) result.add(new Match(id, node.hash, d));
+            }
+            for (Map.Entry<Integer, Node> e : node.children.entrySet()) {
+                int k = e.getKey();
+                if (k >= d - radius && k <= d + radius) stack.add(e.getValue());
+            }
+        }
+        result.sort((a, b) -> Integer.compare(a.distance(), b.distance()));
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static final class Node {
+        private final long hash;
+        private final List<Integer> ids = new ArrayList<>(1);
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        private Node(long hash) {
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package com.example.nasda.service.image;
+
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.FileStorageService;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import com.example.nasda.service.sticker.StickerAssetMirror;
+import com.example.nasda.service.storage.StoredImage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 장식(스티커)을 원본 이미지에 합성한 JPEG 을 만들어 디스크에 캐시합니다. (홈 카드용)
+ *
+ * - 캐시 키는 이미지 ID + 레이아웃 버전(DecorationLayoutService) → 장식이 바뀌면 새 버전으로 자연히 갈림
+ * - 레이아웃이 바뀌면(Changed 이벤트) 예전 버전 파일을 지우고, 전에 합성해 둔 적이 있으면 새 버전을 미리 그림
+ *   (이미지별로 디스크에 있는 버전을 메모리에 들고 있어 디렉터리를 훑지 않음, 기동 시 한 번만 훑음)
+ * - 늦게 끝난 합성이 이미 지나간 버전이면 파일을 남기지 않고 버림
+ * - 합성은 크기가 정해진 전용 풀에서만 돌고, 풀/큐가 가득 차거나 늦으면 호출자는 원본 이미지를 씁니다
+ *
+ * 화면(상세 보기)과 같게: 정사각형 object-cover 캔버스, 스티커 중심이 x%,y%, 기본 크기 92px(기준 너비 대비).
+ */
+@Log4j2
+@Component
+public class DecoratedImageRenderer {
+
+    private static final String URL_PREFIX = "/uploads/";
+
+    // 저장 시 고정으로 쓰는 scale (이 값이 화면 기본 크기)
+    private static final float DEFAULT_SCALE = 0.43f;
+
+    // 이미지가 지워짐 → 어떤 버전이 늦게 끝나도 버림
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final PostDecorationRepository postDecorationRepository;
+    private final PostImageRepository postImageRepository;
+    private final DecorationLayoutService decorationLayoutService;
+    private final FileStorageService fileStorageService;
+    private final StickerAssetMirror stickerAssetMirror;
+
+    private final Path dir;
+    private final int size;
+    private final float stickerPx;      // 출력 크기 기준 스티커 한 변
+    private final float quality;
+    private final long waitMillis;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> renderedVersions = new ConcurrentHashMap<>(); // 이미지 ID → 디스크에 있는 버전
+    private final Map<Integer, Long> latestVersions = new ConcurrentHashMap<>();   // 이미지 ID → 이벤트로 받은 최신 버전
+    private final Map<String, BufferedImage> stickerBitmaps;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder rendered = new LongAdder();
+    private final LongAdder prerendered = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+
+    public DecoratedImageRenderer(
+            PostDecorationRepository postDecorationRepository,
+            PostImageRepository postImageRepository,
+            DecorationLayoutService decorationLayoutService,
+            FileStorageService fileStorageService,
+            StickerAssetMirror stickerAssetMirror,
+            @Value("${app.decoration.render.dir:${app.upload.dir}-rendered}") String dir,
+            @Value("${app.decoration.render.size:640}") int size,
+            @Value("${app.decoration.render.reference-width:600}") int referenceWidth,
+            @Value("${app.decoration.render.sticker-px:92}") int stickerPx,
+            @Value("${app.decoration.render.quality:0.85}") float quality,
+            @Value("${app.decoration.render.threads:2}") int threads,
+            @Value("${app.decoration.render.queue-capacity:64}") int queueCapacity,
+            @Value("${app.decoration.render.wait-ms:1500}") long waitMillis,
+            @Value("${app.decoration.render.sticker-cache-size:512}") int stickerCacheSize
+    ) throws IOException {
+        this.postDecorationRepository = postDecorationRepository;
+        this.postImageRepository = postImageRepository;
+        this.decorationLayoutService = decorationLayoutService;
+        this.fileStorageService = fileStorageService;
+        this.stickerAssetMirror = stickerAssetMirror;
+        this.dir = Files.createDirectories(Paths.get(dir).toAbsolutePath().normalize());
+        this.size = size;
+        this.stickerPx = stickerPx * (float) size / referenceWidth;
+        this.quality = quality;
+        this.waitMillis = waitMillis;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "decoration-render-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.stickerBitmaps = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+                return size() > stickerCacheSize;
+            }
+        });
+        loadRenderedVersions();
+    }
+
+    // 기동 시 한 번: 디스크에 남은 합성 파일의 버전 (같은 이미지가 여러 개면 최신만 남김)
+    private void loadRenderedVersions() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*-*.jpg")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int dash = name.indexOf('-');
+                Integer imageId;
+                long version;
+                try {
+                    imageId = Integer.valueOf(name.substring(0, dash));
+                    version = Long.parseLong(name.substring(dash + 1, name.length() - ".jpg".length()));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                Long previous = renderedVersions.get(imageId);
+                if (previous == null || previous < version) {
+                    renderedVersions.put(imageId, version);
+                    if (previous != null) Files.deleteIfExists(file(imageId, previous));
+                } else if (previous > version) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    public static String url(Integer imageId, long version) {
+        return "/api/decorations/image/" + imageId + "/rendered/" + version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 카드 목록용: 장식이 있는 이미지만 합성 이미지 주소로 (쿼리 2번)
+     */
+    public Map<Integer, String> urls(Collection<Integer> imageIds) {
+        if (!decorationLayoutService.isEnabled() || imageIds.isEmpty()) return Map.of();
+
+        List<Integer> decorated = postDecorationRepository.findDecoratedImageIds(imageIds);
+        if (decorated.isEmpty()) return Map.of();
+
+        return decorationLayoutService.versions(decorated).entrySet().stream()
+                .filter(e -> e.getValue() != DecorationLayoutService.NO_LAYOUT) // 그 사이 장식이 다 지워짐
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> url(e.getKey(), e.getValue())));
+    }
+
+    /**
+     * 합성된 파일. 없으면 렌더 풀에 넣고 wait-ms 까지만 기다립니다.
+     *
+     * @return 풀이 가득 찼거나, 늦거나, 실패하면 null → 호출자가 원본을 씀
+     */
+    public Path renderOrNull(Integer imageId, long version) {
+        Path file = file(imageId, version);
+        if (Files.exists(file)) {
+            hits.increment();
+            return file;
+        }
+
+        try {
+            return render(imageId, version).get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment(); // 합성은 계속되고 다음 요청부터 캐시에서 나감
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    // ✅ 같은 버전을 동시에 요청하면 합성은 한 번만
+    public CompletableFuture<Path> render(Integer imageId, long version) {
+        String key = imageId + "-" + version;
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) return existing;
+
+        try {
+            executor.execute(() -> {
+                // 끝난 작업을 다음 요청이 받지 않도록 inFlight 에서 먼저 뺀 뒤 완료
+                try {
+                    Path result = draw(imageId, version);
+                    inFlight.remove(key, mine);
+                    mine.complete(result);
+                } catch (Exception e) {
+                    inFlight.remove(key, mine);
+                    failures.increment();
+                    log.warn("장식 합성 실패: 이미지 ID={}, 버전={}", imageId, version, e);
+                    mine.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, mine);
+            rejected.increment();
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+
+    public String originalUrl(Integer imageId) {
+        return postImageRepository.findImageUrl(imageId).orElse(null);
+    }
+
+    // ✅ 장식이 바뀌면 예전 버전 파일을 지우고, 합성해 둔 적이 있던 이미지는 새 버전을 미리 그려 둠
+    @EventListener
+    public void onLayoutChanged(DecorationLayoutService.Changed event) {
+        long current = event.version() == null ? DELETED : event.version();
+        latestVersions.merge(event.imageId(), current, Math::max);
+
+        boolean hadRender = evict(event.imageId(), current);
+        if (hadRender && event.version() != null) {
+            prerendered.increment();
+            render(event.imageId(), event.version());
+        }
+    }
+
+    // 디스크에 있는 버전이 keepVersion 이 아니면 그 파일 하나만 지움
+    private boolean evict(Integer imageId, long keepVersion) {
+        boolean[] found = {false};
+        renderedVersions.computeIfPresent(imageId, (id, rendered) -> {
+            if (rendered == keepVersion) return rendered;
+            delete(file(id, rendered));
+            found[0] = true;
+            return null;
+        });
+        return found[0];
+    }
+
+    private void delete(Path file) {
+        try {
+            if (Files.deleteIfExists(file)) evicted.increment();
+        } catch (IOException e) {
+            log.warn("합성 이미지 정리 실패: {}", file.getFileName(), e);
+        }
+    }
+
+    // 다 그린 파일을 현재 버전으로 등록. 그 사이 더 새 버전이 나왔거나 이미지가 지워졌으면 버리고 false
+    private boolean publish(Integer imageId, long version, Path target) {
+        boolean[] kept = {false};
+        renderedVersions.compute(imageId, (id, rendered) -> {
+            long newest = Math.max(latestVersions.getOrDefault(id, version), rendered == null ? version : rendered);
+            if (newest > version) {
+                delete(target);
+                return rendered != null && rendered == version ? null : rendered;
+            }
+            if (rendered != null && rendered != version) delete(file(id, rendered));
+            kept[0] = true;
+            return version;
+        });
+        return kept[0];
+    }
+
+    private Path draw(Integer imageId, long version) throws IOException {
+        long start = System.nanoTime();
+
+        String imageUrl = originalUrl(imageId);
+        if (imageUrl == null) throw new IllegalArgumentException("이미지가 존재하지 않습니다: " + imageId);
+
+        BufferedImage base = readOriginal(imageUrl);
+        List<PostDecorationResponseDTO> decorations = postDecorationRepository.findResponsesByImageId(imageId);
+        BufferedImage image = compose(base, decorations, url -> {
+            try {
+                return sticker(url);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        Path target = file(imageId, version);
+        Path tmp = Files.createTempFile(dir, imageId + "-", ".tmp");
+        try {
+            writeJpeg(image, tmp);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        if (!publish(imageId, version, target)) {
+            stale.increment();
+            return null; // 이미 지나간 버전 → 호출자는 원본을 씀
+        }
+        rendered.increment();
+        renderNanos.add(System.nanoTime() - start);
+        return target;
+    }
+
+    /**
+     * 정사각형 캔버스에 원본을 object-cover 로 깔고, zIndex(같으면 ID) 순서로 스티커를 얹습니다.
+     */
+    public BufferedImage compose(BufferedImage base, List<PostDecorationResponseDTO> decorations,
+                                 Function<String, BufferedImage> stickers) {
+        BufferedImage canvas = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = canvas.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, size, size);
+
+            double cover = Math.max((double) size / base.getWidth(), (double) size / base.getHeight());
+            int w = (int) Math.round(base.getWidth() * cover);
+            int h = (int) Math.round(base.getHeight() * cover);
+            g.drawImage(base, (size - w) / 2, (size - h) / 2, w, h, null);
+
+            List<PostDecorationResponseDTO> ordered = decorations.stream()
+                    .sorted(Comparator.comparing((PostDecorationResponseDTO d) -> d.getZIndex() == null ? 0 : d.getZIndex())
+                            .thenComparing(PostDecorationResponseDTO::getDecorationId))
+                    .toList();
+
+            AffineTransform identity = g.getTransform();
+            for (PostDecorationResponseDTO d : ordered) {
+                BufferedImage sticker = stickers.apply(d.getStickerImageUrl());
+
+                // 스티커 상자(정사각형) 안에 비율 유지로 맞춤 (화면의 object-fit: contain)
+                float box = stickerPx * (d.getScale() == null ? 1f : d.getScale() / DEFAULT_SCALE);
+                double fit = Math.min(box / sticker.getWidth(), box / sticker.getHeight());
+                double sw = sticker.getWidth() * fit;
+                double sh = sticker.getHeight() * fit;
+
+                g.translate(d.getPosX() / 100.0 * size, d.getPosY() / 100.0 * size);
+                if (d.getRotation() != null) g.rotate(Math.toRadians(d.getRotation()));
+                g.drawImage(sticker, (int) Math.round(-sw / 2), (int) Math.round(-sh / 2),
+                        (int) Math.round(sw), (int) Math.round(sh), null);
+                g.setTransform(identity);
+            }
+        } finally {
+            g.dispose();
+        }
+        return canvas;
+    }
+
+    private BufferedImage readOriginal(String imageUrl) throws IOException {
+        if (!imageUrl.startsWith(URL_PREFIX)) throw new IOException("업로드 이미지가 아닙니다: " + imageUrl);
+        String filename = imageUrl.substring(URL_PREFIX.length());
+
+        BufferedImage image;
+        Path local = fileStorageService.resolve(filename);
+        if (local != null && Files.exists(local)) {
+            image = ImageIO.read(local.toFile());
+        } else {
+            try (StoredImage stored = fileStorageService.open(filename)) {
+                if (stored == null) throw new IOException("원본 이미지가 없습니다: " + imageUrl);
+                image = ImageIO.read(stored.stream());
+            }
+        }
+        if (image == null) throw new IOException("읽을 수 없는 이미지 형식입니다: " + imageUrl);
+        return image;
+    }
+
+    // 스티커는 종류가 적고 계속 재사용되므로 디코딩한 비트맵을 들고 있음
+    private BufferedImage sticker(String url) throws IOException {
+        BufferedImage cached = stickerBitmaps.get(url);
+        if (cached != null) return cached;
+
+        BufferedImage image;
+        try (InputStream in = stickerAssetMirror.open(url)) {
+            image = ImageIO.read(in);
+        }
+        if (image == null) throw new IOException("스티커 이미지를 읽을 수 없습니다: " + url);
+
+        stickerBitmaps.put(url, image);
+        return image;
+    }
+
+    private void writeJpeg(BufferedImage image, Path file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private Path file(Integer imageId, long version) {
+        return dir.resolve(imageId + "-" + version + ".jpg");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Stats stats() {
+        long n = rendered.sum();
+        return new Stats(
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                hits.sum(),
+                n,
+                prerendered.sum(),
+                rejected.sum(),
+                timeouts.sum(),
+                failures.sum(),
+                evicted.sum(),
+                stale.sum(),
+                n == 0 ? 0.0 : renderNanos.sum() / 1_000_000.0 / n
+        );
+    }
+
+    public record Stats(
+            int rendering,
+            int queued,
+            long hits,           // 디스크 캐시에서 바로 나간 요청
+            long rendered,
+            long prerendered,    // 장식 변경 후 미리 다시 그린 수
+            long rejected,       // 풀/큐가 가득 차서 원본으로 대체
+            long timeouts,       // wait-ms 안에 못 끝나서 원본으로 대체
+            long failures,
+            long evicted,        // 장식 변경/이미지 삭제로 지운 예전 버전 파일
+            long stale,          // 다 그렸을 때 이미 지나간 버전이라 버린 합성
+            double avgRenderMillis
+    ) { }
+}
@@ -0,0 +1,290 @@
+package com.example.nasda.service.image;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 자주 요청되는 업로드 이미지(/uploads) 바이트를 메모리에 들고 있는 캐시.
+ *
+ * - 바이트는 direct ByteBuffer(off-heap)에 저장 → 힙을 차지하지 않고 GC 가 이미지 바이트를 복사/스캔하지 않음
+ * - 전체 용량(max-bytes) 제한, 너무 큰 파일(max-entry-bytes)은 캐시하지 않음
+ *   단, 쫓아낸 버퍼의 네이티브 메모리는 그 버퍼 객체가 GC 될 때 돌아가므로 실제 off-heap 사용량은 잠시 max-bytes 를 넘을 수 있음
+ *   (응답 중인 duplicate 가 같은 메모리를 읽고 있을 수 있어 재사용/즉시 해제는 하지 않음)
+ *   실제 상한은 -XX:MaxDirectMemorySize, 그마저 모자라 할당이 실패하면 캐시하지 않고 디스크에서 서빙
+ * - 빈도 기반 입장(TinyLFU 방식): 새 항목은 쫓아낼 항목보다 최근 요청 빈도가 높을 때만 들어옴
+ *   → 한 번 보고 마는 이미지가 바이럴 이미지를 밀어내지 않음
+ * - 쫓아낼 후보는 키 배열의 무작위 자리 몇 개만 비교 (항목 수와 관계없이 일정한 비용)
+ * - 요청마다 파일 mtime/크기를 확인해서 파일이 바뀌었으면 캐시를 버림
+ */
+@Log4j2
+@Component
+public class HotImageCache {
+
+    // 빈도 스케치 폭 (2의 거듭제곱)
+    private static final int SKETCH_WIDTH = 1 << 14;
+
+    // 쫓아낼 후보를 고를 때 비교하는 샘플 수
+    private static final int EVICTION_SAMPLES = 8;
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // 후보 샘플링용 키 배열 + 키별 자리 (무작위 자리 선택 O(1), 삭제는 마지막 키와 맞바꿈)
+    // entries 의 추가/삭제와 함께 this 락 안에서만 바꿈 (적중 조회는 락 없음)
+    private final List<String> keys = new ArrayList<>();
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final FrequencySketch sketch = new FrequencySketch(SKETCH_WIDTH);
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder allocationFailures = new LongAdder();
+
+    public HotImageCache(
+            @Value("${app.image-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${app.image-cache.max-entry-bytes:2097152}") long maxEntryBytes
+    ) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    /**
+     * 캐시에서 파일 바이트를 찾고, 없으면 빈도에 따라 적재를 시도합니다.
+     *
+     * @return 읽기 전용 버퍼(호출자마다 독립 position). 캐시하지 않는 경우 null → 호출자가 디스크에서 직접 서빙
+     */
+    public ByteBuffer get(String key, Path file, BasicFileAttributes attrs) {
+        sketch.increment(key);
+
+        long mtime = attrs.lastModifiedTime().toMillis();
+        long size = attrs.size();
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.mtime == mtime && entry.size == size) {
+                hits.increment();
+                return entry.buffer.duplicate();
+            }
+            // 파일이 바뀜 → 무효화
+            remove(key, entry);
+        }
+
+        misses.increment();
+
+        if (size <= 0 || size > maxEntryBytes || size > maxBytes) return null;
+        if (!makeRoomFor(key, size)) {
+            rejected.increment();
+            return null;
+        }
+
+        try {
+            ByteBuffer buffer = load(file, size);
+            if (buffer == null) { // direct 메모리 부족 → 예약 취소, 디스크에서 서빙
+                usedBytes.addAndGet(-size);
+                return null;
+            }
+            Entry loaded = new Entry(buffer.asReadOnlyBuffer(), mtime, size);
+            admit(key, loaded);
+            return loaded.buffer.duplicate();
+        } catch (IOException e) {
+            usedBytes.addAndGet(-size);
+            log.warn("이미지 캐시 적재 실패: {}", file, e);
+            return null;
+        }
+    }
+
+    public void invalidate(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) remove(key, entry);
+    }
+
+    public Stats stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        return new Stats(
+                h,
+                m,
+                (h + m) == 0 ? 0.0 : (double) h / (h + m),
+                entries.size(),
+                usedBytes.get(),
+                maxBytes,
+                rejected.sum(),
+                evictions.sum(),
+                allocationFailures.sum()
+        );
+    }
+
+    // 용량이 모자라면 빈도가 낮은 항목을 쫓아냄. 후보가 더 인기 있으면 입장 거부.
+    // 성공하면 size 만큼 용량을 미리 예약합니다.
+    private synchronized boolean makeRoomFor(String key, long size) {
+        int candidateFreq = sketch.frequency(key);
+
+        while (usedBytes.get() + size > maxBytes) {
+            Map.Entry<String, Entry> victim = sampleVictim();
+            if (victim == null) return false;
+
+            if (sketch.frequency(victim.getKey()) >= candidateFreq) return false;
+
+            if (remove(victim.getKey(), victim.getValue())) evictions.increment();
+        }
+        usedBytes.addAndGet(size);
+        return true;
+    }
+
+    // 키 배열에서 무작위 자리 EVICTION_SAMPLES 개만 봄 (this 락 안에서 호출)
+    private Map.Entry<String, Entry> sampleVictim() {
+        if (keys.isEmpty()) return null;
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String victim = null;
+        int victimFreq = Integer.MAX_VALUE;
+        for (int i = 0; i < EVICTION_SAMPLES; i++) {
+            String key = keys.get(random.nextInt(keys.size()));
+            int f = sketch.frequency(key);
+            if (f < victimFreq) {
+                victim = key;
+                victimFreq = f;
+            }
+        }
+        Entry entry = entries.get(victim);
+        return entry == null ? null : Map.entry(victim, entry);
+    }
+
+    // 같은 키를 동시에 적재한 경우 이전 항목 몫의 용량을 돌려줌
+    private synchronized void admit(String key, Entry entry) {
+        Entry prev = entries.put(key, entry);
+        if (prev != null) {
+            usedBytes.addAndGet(-prev.size);
+            return;
+        }
+        slots.put(key, keys.size());
+        keys.add(key);
+    }
+
+    private synchronized boolean remove(String key, Entry entry) {
+        if (!entries.remove(key, entry)) return false;
+        usedBytes.addAndGet(-entry.size);
+
+        int slot = slots.remove(key);
+        String last = keys.remove(keys.size() - 1);
+        if (slot < keys.size()) {
+            keys.set(slot, last);
+            slots.put(last, slot);
+        }
+        return true;
+    }
+
+    // direct 메모리가 모자라면 null (JDK 가 GC 를 한 번 돌려 보고도 못 받은 경우)
+    private ByteBuffer load(Path file, long size) throws IOException {
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.allocateDirect((int) size);
+        } catch (OutOfMemoryError e) {
+            allocationFailures.increment();
+            log.warn("이미지 캐시 direct 메모리 부족, 캐시하지 않음: {} ({} bytes)", file, size);
+            return null;
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (ch.read(buffer) < 0) break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private record Entry(ByteBuffer buffer, long mtime, long size) { }
+
+    public record Stats(
+            long hits,
+            long misses,
+            double hitRatio,
+            int entries,
+            long usedBytes,
+            long maxBytes,
+            long rejected,
+            long evictions,
+            long allocationFailures
+    ) { }
+
+    /**
+     * 4행 count-min 스케치. 샘플이 일정량 쌓이면 모든 카운터를 절반으로 줄여(aging)
+     * 최근 빈도를 반영합니다.
+     */
+    static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final int[][] table;
+        private final int mask;
+        private final int resetAt;
+        private int samples;
+
+        FrequencySketch(int width) {
+            this.table = new int[DEPTH][width];
+            this.mask = width - 1;
+            this.resetAt = width * 10;
+        }
+
+        synchronized void increment(String key) {
+            int h = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < DEPTH; i++) {
+                int idx = index(h, i);
+                if (table[i][idx] < MAX_COUNT) {
+                    table[i][idx]++;
+                    added = true;
+                }
+            }
+            if (added && ++samples >= resetAt) reset();
+        }
+
+        synchronized int frequency(String key) {
+            int h = spread(key.hashCode());
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < DEPTH; i++) {
+                min = Math.min(min, table[i][index(h, i)]);
+            }
+            return min;
+        }
+
+        private void reset() {
+            for (int[] row : table) {
+                for (int i = 0; i < row.length; i++) row[i] >>>= 1;
+            }
+            samples /= 2;
+        }
+
+        private int index(int h, int i) {
+            int x = h * SEEDS[i];
+            return (x ^ (x >>> 16)) & mask;
+        }
+
+        private static int spread(int h) {
+            h ^= h >>> 16;
+            h *= 0x45d9f3b;
+            return h ^ (h >>> 16);
+        }
+    }
+}
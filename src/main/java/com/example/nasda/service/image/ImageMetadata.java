@@ -0,0 +1,15 @@
+package com.example.nasda.service.image;
+
+/**
+ * 업로드 시점에 추출한 이미지 메타데이터.
+ * 화면이 이미지 로딩 전에 레이아웃(가로/세로 비율)과 배경색/미리보기를 먼저 그릴 수 있게 해줍니다.
+ */
+public record ImageMetadata(
+        Integer width,
+        Integer height,
+        String dominantColor, // "#rrggbb"
+        String placeholder,   // data:image/png;base64,... (아주 작은 미리보기)
+        Long perceptualHash   // dHash 64bit (근사 중복 탐지)
+) {
+    public static final ImageMetadata EMPTY = new ImageMetadata(null, null, null, null, null);
+}
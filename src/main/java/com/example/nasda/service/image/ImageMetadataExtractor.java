@@ -0,0 +1,178 @@
+package com.example.nasda.service.image;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Iterator;
+
+/**
+ * 업로드 이미지에서 가로/세로, 대표 색상, 초소형 미리보기(placeholder), 지각 해시(dHash)를 추출합니다.
+ *
+ * - 가로/세로는 ImageReader 헤더만 읽어서 구합니다. (픽셀 디코딩 없음)
+ * - 대표 색상/미리보기는 source subsampling 으로 약 64px 크기로만 디코딩해서 만듭니다.
+ *   원본 크기의 래스터를 메모리에 올리지 않기 때문에 업로드 경로가 가볍게 유지됩니다.
+ */
+@Log4j2
+@Component
+public class ImageMetadataExtractor {
+
+    // 디코딩 목표 크기 (긴 변 기준)
+    private static final int SAMPLE_SIZE = 64;
+
+    // 미리보기 크기 (긴 변 기준) - base64 로 수백 바이트 수준
+    private static final int PLACEHOLDER_SIZE = 16;
+
+    public ImageMetadata extract(MultipartFile file) {
+        if (file == null || file.isEmpty()) return ImageMetadata.EMPTY;
+
+        try (InputStream in = file.getInputStream()) {
+            return extract(in);
+        } catch (IOException e) {
+            log.warn("이미지 메타데이터 추출 실패: {}", file.getOriginalFilename(), e);
+            return ImageMetadata.EMPTY;
+        }
+    }
+
+    public ImageMetadata extract(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return extract(in);
+        } catch (IOException e) {
+            log.warn("이미지 메타데이터 추출 실패: {}", file, e);
+            return ImageMetadata.EMPTY;
+        }
+    }
+
+    public ImageMetadata extract(InputStream in) throws IOException {
+        // ImageIO.createImageInputStream 은 기본적으로 임시 파일 캐시를 만들기 때문에 메모리 캐시를 직접 사용
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) return ImageMetadata.EMPTY;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+
+                // 1. 헤더만 읽어서 크기 확인
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                // 2. 축소 디코딩 (subsampling)
+                int step = Math.max(1, Math.max(width, height) / SAMPLE_SIZE);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+
+                BufferedImage sample;
+                try {
+                    sample = reader.read(0, param);
+                } catch (IOException | RuntimeException e) {
+                    // 일부 포맷은 subsampling 디코딩을 지원하지 않으므로 크기 정보만 저장
+                    log.debug("축소 디코딩 실패 - 크기 정보만 저장합니다.", e);
+                    return new ImageMetadata(width, height, null, null, null);
+                }
+
+                BufferedImage tiny = resize(sample, PLACEHOLDER_SIZE);
+
+                return new ImageMetadata(width, height, dominantColor(tiny), placeholder(tiny), dHash(sample));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage src, int maxSide) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        double ratio = (double) maxSide / Math.max(w, h);
+
+        int tw = Math.max(1, (int) Math.round(w * ratio));
+        int th = Math.max(1, (int) Math.round(h * ratio));
+
+        BufferedImage out = new BufferedImage(tw, th, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(src, 0, 0, tw, th, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    /**
+     * 채널당 4bit(4096칸) 히스토그램에서 가장 많이 나온 칸의 평균색을 대표 색상으로 사용합니다.
+     * 단순 평균보다 배경/피사체 색이 잘 살아납니다.
+     */
+    private String dominantColor(BufferedImage img) {
+        int[] count = new int[4096];
+        long[] r = new long[4096];
+        long[] g = new long[4096];
+        long[] b = new long[4096];
+
+        int best = 0;
+        for (int y = 0; y < img.getHeight(); y++) {
+            for (int x = 0; x < img.getWidth(); x++) {
+                int rgb = img.getRGB(x, y);
+                int cr = (rgb >> 16) & 0xff;
+                int cg = (rgb >> 8) & 0xff;
+                int cb = rgb & 0xff;
+
+                int bucket = ((cr >> 4) << 8) | ((cg >> 4) << 4) | (cb >> 4);
+                count[bucket]++;
+                r[bucket] += cr;
+                g[bucket] += cg;
+                b[bucket] += cb;
+
+                if (count[bucket] > count[best]) best = bucket;
+            }
+        }
+
+        int n = Math.max(1, count[best]);
+        return String.format("#%02x%02x%02x", r[best] / n, g[best] / n, b[best] / n);
+    }
+
+    /**
+     * dHash: 9x8 흑백으로 줄인 뒤 가로로 이웃한 픽셀의 밝기 비교 결과 64개를 비트로 담습니다.
+     * 재압축/리사이즈에는 거의 그대로이고, 다른 이미지와는 해밍 거리가 크게 벌어집니다.
+     */
+    long dHash(BufferedImage img) {
+        BufferedImage gray = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = gray.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(img, 0, 0, 9, 8, null);
+        } finally {
+            g.dispose();
+        }
+
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int left = gray.getRaster().getSample(x, y, 0);
+                int right = gray.getRaster().getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left < right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    private String placeholder(BufferedImage tiny) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        ImageIO.write(tiny, "png", out);
+        return "data:image/png;base64," + Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+}
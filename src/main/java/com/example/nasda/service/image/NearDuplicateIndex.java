@@ -0,0 +1,113 @@
+package com.example.nasda.service.image;
+
+import com.example.nasda.repository.PostImageRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 업로드 이미지의 지각 해시(dHash)를 BK-tree 로 메모리에 들고 있다가
+ * 재인코딩/리사이즈된 같은 이미지(근사 중복)를 해밍 거리 반경 안에서 찾아줍니다.
+ *
+ * 시작 시 DB 의 해시를 한 번 읽어 채우고, 이후에는 이미지 등록/삭제 때 갱신합니다.
+ */
+@Log4j2
+@Component
+public class NearDuplicateIndex {
+
+    private final PostImageRepository postImageRepository;
+    private final int defaultRadius;
+
+    private final BkTree tree = new BkTree();
+    private final Map<Integer, Long> hashById = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder queryNanos = new LongAdder();
+    private final LongAdder nearDuplicateUploads = new LongAdder();
+
+    public NearDuplicateIndex(
+            PostImageRepository postImageRepository,
+            @Value("${app.image.near-duplicate.radius:6}") int defaultRadius
+    ) {
+        this.postImageRepository = postImageRepository;
+        this.defaultRadius = defaultRadius;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<PostImageRepository.ImageHashView> hashes = postImageRepository.findAllPerceptualHashes();
+        hashes.forEach(h -> add(h.getImageId(), h.getPerceptualHash()));
+        log.info("🔎 [근사 중복 인덱스] {}개 이미지 해시 로드", hashes.size());
+    }
+
+    public void add(Integer imageId, Long hash) {
+        if (imageId == null || hash == null) return;
+
+        lock.writeLock().lock();
+        try {
+            Long previous = hashById.put(imageId, hash);
+            if (previous != null) tree.remove(previous, imageId);
+            tree.add(hash, imageId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer imageId) {
+        if (imageId == null) return;
+
+        lock.writeLock().lock();
+        try {
+            Long hash = hashById.remove(imageId);
+            if (hash != null) tree.remove(hash, imageId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<BkTree.Match> find(long hash) {
+        return find(hash, defaultRadius);
+    }
+
+    public List<BkTree.Match> find(long hash, int radius) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return tree.search(hash, radius);
+        } finally {
+            lock.readLock().unlock();
+            queries.increment();
+            queryNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public Long hashOf(Integer imageId) {
+        return hashById.get(imageId);
+    }
+
+    // 업로드 시 근사 중복이 발견된 횟수 (PostImageService 가 기록)
+    public void recordNearDuplicateUpload() {
+        nearDuplicateUploads.increment();
+    }
+
+    public Stats stats() {
+        long q = queries.sum();
+        return new Stats(hashById.size(), q, q == 0 ? 0 : queryNanos.sum() / q / 1000.0, nearDuplicateUploads.sum());
+    }
+
+    public record Stats(
+            int indexedImages,
+            long queries,
+            double avgQueryMicros,
+            long nearDuplicateUploads
+    ) { }
+}
@@ -0,0 +1,58 @@
+package com.example.nasda.service.sticker;
+
+import com.example.nasda.domain.PostDecorationEntity;
+import com.example.nasda.dto.sticker.PostDecorationRequestDTO.DecorationItem;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 저장 요청(화면의 스티커 목록)과 DB 에 있는 내 장식을 decorationId 로 맞춰 보고
+ * 바뀐 것만 골라냅니다.
+ *
+ * - id 가 내 장식과 일치 → 위치/회전이 달라졌을 때만 update
+ * - id 가 없음 → insert
+ * - 요청에 없는 내 장식 → delete
+ * - 내 장식이 아닌 id (다른 사람이 붙인 스티커, 이미 지워진 장식) → 무시
+ */
+public record DecorationDiff(
+        List<Update> updates,
+        List<DecorationItem> inserts,
+        List<PostDecorationEntity> deletes,
+        List<PostDecorationEntity> unchanged
+) {
+
+    public record Update(PostDecorationEntity entity, DecorationItem item) { }
+
+    public static DecorationDiff of(List<PostDecorationEntity> existing, List<DecorationItem> items) {
+        Map<Integer, PostDecorationEntity> remaining = new LinkedHashMap<>();
+        for (PostDecorationEntity e : existing) remaining.put(e.getDecorationId(), e);
+
+        List<Update> updates = new ArrayList<>();
+        List<DecorationItem> inserts = new ArrayList<>();
+        List<PostDecorationEntity> unchanged = new ArrayList<>();
+
+        for (DecorationItem item : items) {
+            if (item.getDecorationId() == null) {
+                inserts.add(item);
+                continue;
+            }
+            PostDecorationEntity entity = remaining.remove(item.getDecorationId());
+            if (entity == null) continue;
+
+            if (entity.isAt(item.getPosX(), item.getPosY(), item.getRotation())) {
+                unchanged.add(entity);
+            } else {
+                updates.add(new Update(entity, item));
+            }
+        }
+
+        return new DecorationDiff(updates, inserts, new ArrayList<>(remaining.values()), unchanged);
+    }
+
+    public boolean isEmpty() {
+        return updates.isEmpty() && inserts.isEmpty() && deletes.isEmpty();
+    }
+}
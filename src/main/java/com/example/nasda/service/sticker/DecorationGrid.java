@@ -0,0 +1,110 @@
+package com.example.nasda.service.sticker;
+
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * 이미지 한 장의 장식 위치 격자 색인 (만든 뒤에는 바뀌지 않음).
+ *
+ * 좌표(0~100%) 평면을 cells × cells 칸으로 나눠 칸마다 장식을 담습니다.
+ * 한 칸에 몰린 개수(밀도)를 바로 세고, "(x, y) 에 있는 스티커" 는 주변 칸 몇 개만 보면 되므로
+ * 장식 수와 상관없이 일정한 시간에 찾습니다.
+ */
+public final class DecorationGrid {
+
+    private final int cells;
+    private final List<List<PostDecorationResponseDTO>> buckets;
+
+    private DecorationGrid(int cells, Collection<PostDecorationResponseDTO> decorations) {
+        this.cells = cells;
+        this.buckets = new ArrayList<>(cells * cells);
+        for (int i = 0; i < cells * cells; i++) buckets.add(new ArrayList<>(2));
+        for (PostDecorationResponseDTO d : decorations) {
+            if (d.getPosX() == null || d.getPosY() == null) continue;
+            buckets.get(cellOf(d.getPosX(), d.getPosY())).add(d);
+        }
+    }
+
+    public static DecorationGrid of(int cells, Collection<PostDecorationResponseDTO> decorations) {
+        return new DecorationGrid(cells, decorations);
+    }
+
+    public int cells() {
+        return cells;
+    }
+
+    // 좌표가 속한 칸 번호 (행 * cells + 열)
+    public int cellOf(float x, float y) {
+        return cellOf(cells, x, y);
+    }
+
+    public static int cellOf(int cells, float x, float y) {
+        return index(cells, y) * cells + index(cells, x);
+    }
+
+    private static int index(int cells, float v) {
+        return Math.max(0, Math.min(cells - 1, (int) (v / 100f * cells)));
+    }
+
+    /**
+     * 칸별 장식 수 (include 에 맞는 장식만)
+     */
+    public int[] counts(Predicate<PostDecorationResponseDTO> include) {
+        int[] counts = new int[cells * cells];
+        for (int i = 0; i < counts.length; i++) {
+            for (PostDecorationResponseDTO d : buckets.get(i)) {
+                if (include.test(d)) counts[i]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 장식 ID → 칸 번호 (include 에 맞는 장식만)
+     */
+    public Map<Integer, Integer> cellsOf(Predicate<PostDecorationResponseDTO> include) {
+        Map<Integer, Integer> result = new HashMap<>();
+        for (int i = 0; i < buckets.size(); i++) {
+            for (PostDecorationResponseDTO d : buckets.get(i)) {
+                if (include.test(d)) result.put(d.getDecorationId(), i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * (x, y) 를 덮는 스티커 중 맨 위 (z 순서가 높은 것, 같으면 나중에 붙인 것).
+     *
+     * @param radius 스티커 반 크기 (%) — 중심에서 가로·세로 radius 안이면 덮는 것으로 봄
+     */
+    public Optional<PostDecorationResponseDTO> hit(float x, float y, float radius) {
+        int fromCol = index(cells, x - radius), toCol = index(cells, x + radius);
+        int fromRow = index(cells, y - radius), toRow = index(cells, y + radius);
+
+        PostDecorationResponseDTO top = null;
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int col = fromCol; col <= toCol; col++) {
+                for (PostDecorationResponseDTO d : buckets.get(row * cells + col)) {
+                    if (Math.abs(d.getPosX() - x) > radius || Math.abs(d.getPosY() - y) > radius) continue;
+                    if (top == null || above(d, top)) top = d;
+                }
+            }
+        }
+        return Optional.ofNullable(top);
+    }
+
+    // 렌더링 순서와 같게: zIndex, 그다음 decorationId
+    private static boolean above(PostDecorationResponseDTO a, PostDecorationResponseDTO b) {
+        int za = a.getZIndex() == null ? 0 : a.getZIndex();
+        int zb = b.getZIndex() == null ? 0 : b.getZIndex();
+        if (za != zb) return za > zb;
+        return a.getDecorationId() > b.getDecorationId();
+    }
+}
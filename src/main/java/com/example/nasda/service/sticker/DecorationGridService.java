@@ -0,0 +1,136 @@
+package com.example.nasda.service.sticker;
+
+import com.example.nasda.dto.sticker.PostDecorationRequestDTO;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 이미지별 장식 격자 색인(DecorationGrid) 캐시 + 밀도 제한.
+ *
+ * - 저장 전: 한 칸(기본 10% × 10%)에 스티커가 max-per-cell 개를 넘게 몰리면 거절
+ * - 조회: "(x, y) 에 있는 스티커" 를 주변 칸만 보고 찾음 (삭제할 장식 고르기)
+ *
+ * 색인은 처음 필요할 때 post_decorations 를 한 번 읽어 만들고, 장식 레이아웃이 다시 만들어질 때
+ * (DecorationLayoutService.Changed = 장식 변경이 커밋된 뒤) 버립니다.
+ * 레이아웃 기능이 꺼져 있으면 바뀐 걸 알 수 없으므로 캐시하지 않고 매번 만듭니다.
+ */
+@Log4j2
+@Component
+public class DecorationGridService {
+
+    private final PostDecorationRepository postDecorationRepository;
+    private final DecorationLayoutService decorationLayoutService;
+    private final StickerAssetMirror stickerAssetMirror;
+    private final int cells;
+    private final int maxPerCell;
+    private final float hitRadius;
+
+    private final Map<Integer, DecorationGrid> grids;
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder builds = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public DecorationGridService(
+            PostDecorationRepository postDecorationRepository,
+            DecorationLayoutService decorationLayoutService,
+            StickerAssetMirror stickerAssetMirror,
+            @Value("${app.decoration.grid.cells:10}") int cells,
+            @Value("${app.decoration.grid.max-per-cell:12}") int maxPerCell,
+            @Value("${app.decoration.grid.hit-radius:7.5}") float hitRadius,
+            @Value("${app.decoration.grid.cache-size:1000}") int cacheSize
+    ) {
+        this.postDecorationRepository = postDecorationRepository;
+        this.decorationLayoutService = decorationLayoutService;
+        this.stickerAssetMirror = stickerAssetMirror;
+        this.cells = cells;
+        this.maxPerCell = maxPerCell;
+        this.hitRadius = hitRadius;
+        this.grids = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, DecorationGrid> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public DecorationGrid grid(Integer imageId) {
+        DecorationGrid grid = grids.get(imageId);
+        if (grid != null) {
+            hits.increment();
+            return grid;
+        }
+
+        builds.increment();
+        long generation = evictions.get();
+        grid = DecorationGrid.of(cells, postDecorationRepository.findResponsesByImageId(imageId));
+        // 읽는 동안 변경이 커밋됐으면 예전 상태일 수 있으므로 캐시하지 않음
+        if (decorationLayoutService.isEnabled() && evictions.get() == generation) grids.put(imageId, grid);
+        return grid;
+    }
+
+    /**
+     * 일괄 저장 전 밀도 확인: 다른 사람 장식 + 이번에 저장할 내 장식 목록(저장 후 전체)
+     *
+     * @throws DecorationRateLimiter.RejectedException 한 칸에 너무 많이 몰림
+     */
+    public void checkSave(Integer imageId, Integer userId, List<PostDecorationRequestDTO.DecorationItem> items) {
+        if (items.isEmpty()) return;
+        DecorationGrid grid = grid(imageId);
+        int[] counts = grid.counts(d -> !d.getUserId().equals(userId));
+        Map<Integer, Integer> mine = grid.cellsOf(d -> d.getUserId().equals(userId));
+        for (PostDecorationRequestDTO.DecorationItem item : items) {
+            if (item.getPosX() == null || item.getPosY() == null) continue;
+            int cell = grid.cellOf(item.getPosX(), item.getPosY());
+            counts[cell]++;
+            // 원래 그 칸에 있던 내 장식은 그대로 두어도 거절하지 않음 (새로 붙이거나 옮겨 온 것만 확인)
+            if (item.getDecorationId() != null && Integer.valueOf(cell).equals(mine.get(item.getDecorationId()))) continue;
+            checkCellCount(counts[cell]);
+        }
+    }
+
+    public int cellOf(float x, float y) {
+        return DecorationGrid.cellOf(cells, x, y);
+    }
+
+    /**
+     * @param count 추가 후 그 칸의 장식 수
+     */
+    public void checkCellCount(int count) {
+        if (count > maxPerCell) {
+            rejected.increment();
+            throw new DecorationRateLimiter.RejectedException(DecorationRateLimiter.Rejection.DENSITY,
+                    "한 곳에 스티커가 너무 많이 모여 있습니다. 조금 떨어진 곳에 붙여주세요.");
+        }
+    }
+
+    // ✅ (x, y) 를 덮는 맨 위 스티커
+    public Optional<PostDecorationResponseDTO> at(Integer imageId, float x, float y) {
+        return grid(imageId).hit(x, y, hitRadius).map(d -> stickerAssetMirror.rewrite(List.of(d)).get(0));
+    }
+
+    @EventListener
+    public void onLayoutChanged(DecorationLayoutService.Changed changed) {
+        evictions.incrementAndGet();
+        grids.remove(changed.imageId());
+    }
+
+    public Stats stats() {
+        return new Stats(grids.size(), hits.sum(), builds.sum(), rejected.sum());
+    }
+
+    public record Stats(int cachedImages, long hits, long builds, long rejectedByDensity) { }
+}
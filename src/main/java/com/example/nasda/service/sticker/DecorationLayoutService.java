@@ -0,0 +1,292 @@
+package com.example.nasda.service.sticker;
+
+import com.example.nasda.domain.DecorationLayoutEntity;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.repository.sticker.DecorationLayoutRepository;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 이미지별 장식 레이아웃(한 덩어리 JSON) 관리.
+ *
+ * 형식: {"imageId":12,"version":3,"stickers":{"10":"/images/a.png"},
+ *        "items":[[decorationId,userId,stickerId,x,y,rotation], ...]}
+ * (스티커 URL 은 한 번만, 장식은 숫자 배열로)
+ *
+ * 장식을 쓰는 트랜잭션이 커밋된 뒤 해당 이미지의 레이아웃을 다시 만들고 version 을 올립니다.
+ * 조회는 imageId 로 한 행만 읽고, 버전 주소는 내용이 바뀌지 않으므로 브라우저가 오래 캐시합니다.
+ * 버전이 바뀌거나 지워지면 Changed 이벤트를 냅니다. (합성 이미지 캐시 무효화 등)
+ *
+ * 여러 서버가 같은 이미지를 동시에 다시 만들 수 있으므로 version 은 조건부 UPDATE 로만 올리고,
+ * 다른 서버가 먼저 올렸으면 다시 읽어서 재시도합니다. (같은 version 주소의 내용이 바뀌지 않도록)
+ */
+@Log4j2
+@Service
+public class DecorationLayoutService {
+
+    private static final Object DIRTY_KEY = new Object();
+    private static final int MAX_ATTEMPTS = 3;
+
+    // 장식이 없어 레이아웃 행도 없는 이미지의 버전 (실제 버전은 1부터)
+    public static final long NO_LAYOUT = 0L;
+
+    private final PostDecorationRepository postDecorationRepository;
+    private final DecorationLayoutRepository decorationLayoutRepository;
+    private final StickerAssetMirror stickerAssetMirror;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    // 이 서버 안에서는 같은 이미지를 줄 세워 충돌 재시도를 줄임 (stripe). 서버 간 충돌은 조건부 UPDATE 가 막음
+    private final Object[] locks = new Object[64];
+
+    // 레이아웃이 아직 없는 꾸며진 이미지(이 기능 이전 데이터)를 화면 요청 밖에서 채움
+    private final ThreadPoolExecutor backfill;
+    private final Set<Integer> backfilling = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder failedRebuilds = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder backfillQueued = new LongAdder();
+
+    public DecorationLayoutService(
+            PostDecorationRepository postDecorationRepository,
+            DecorationLayoutRepository decorationLayoutRepository,
+            StickerAssetMirror stickerAssetMirror,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.decoration.layout.enabled:true}") boolean enabled,
+            @Value("${app.decoration.layout.backfill-queue:1000}") int backfillQueue
+    ) {
+        this.postDecorationRepository = postDecorationRepository;
+        this.decorationLayoutRepository = decorationLayoutRepository;
+        this.stickerAssetMirror = stickerAssetMirror;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        for (int i = 0; i < locks.length; i++) locks[i] = new Object();
+        this.backfill = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, backfillQueue)), r -> {
+                    Thread t = new Thread(r, "decoration-layout-backfill");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public record Layout(Integer imageId, long version, byte[] json) {
+        public String etag() {
+            return "\"" + imageId + "-" + version + "\"";
+        }
+    }
+
+    // 레이아웃 버전 변경 알림 (version == null 이면 이미지가 지워짐)
+    public record Changed(Integer imageId, Long version) { }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 이미지의 레이아웃을 다시 만듭니다. (한 트랜잭션 안에서 여러 번 불러도 한 번)
+     * 트랜잭션 밖이면 바로 만듭니다.
+     */
+    @SuppressWarnings("unchecked")
+    public void rebuildAfterCommit(Integer imageId) {
+        if (!enabled || imageId == null) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild(imageId);
+            return;
+        }
+
+        Set<Integer> dirty = (Set<Integer>) TransactionSynchronizationManager.getResource(DIRTY_KEY);
+        if (dirty == null) {
+            Set<Integer> images = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(DIRTY_KEY, images);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    images.forEach(DecorationLayoutService.this::rebuild);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DIRTY_KEY);
+                }
+            });
+            dirty = images;
+        }
+        dirty.add(imageId);
+    }
+
+    /**
+     * post_decorations 를 한 번 읽어 레이아웃을 다시 씁니다. 실패해도 장식 저장에는 영향이 없고
+     * 다음 변경 때 다시 만들어집니다.
+     */
+    public void rebuild(Integer imageId) {
+        synchronized (locks[Math.floorMod(imageId, locks.length)]) {
+            try {
+                long version = rebuildWithRetry(imageId);
+                rebuilds.increment();
+                eventPublisher.publishEvent(new Changed(imageId, version));
+            } catch (RuntimeException e) {
+                failedRebuilds.increment();
+                log.error("장식 레이아웃 재생성 실패: 이미지 ID={}", imageId, e);
+            }
+        }
+    }
+
+    // 다른 서버가 먼저 version 을 올렸거나(UPDATE 0행) 먼저 첫 행을 넣었으면(키 중복) 다시 읽어서 다시 만듦
+    private long rebuildWithRetry(Integer imageId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> write(imageId));
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                conflicts.increment();
+                if (attempt >= MAX_ATTEMPTS) throw e;
+                log.debug("장식 레이아웃 버전 충돌, 다시 시도: 이미지 ID={} ({}회째)", imageId, attempt);
+            }
+        }
+    }
+
+    private long write(Integer imageId) {
+        List<PostDecorationResponseDTO> decorations = postDecorationRepository.findResponsesByImageId(imageId);
+        Optional<Long> current = decorationLayoutRepository.findVersion(imageId);
+        long next = current.map(v -> v + 1).orElse(1L);
+        byte[] json = encode(imageId, next, decorations);
+
+        if (current.isPresent()) {
+            if (decorationLayoutRepository.replaceIfVersion(imageId, current.get(), json, LocalDateTime.now()) == 0) {
+                throw new OptimisticLockingFailureException("장식 레이아웃 버전이 바뀌었습니다: 이미지 ID=" + imageId);
+            }
+        } else {
+            decorationLayoutRepository.saveAndFlush(DecorationLayoutEntity.builder()
+                    .imageId(imageId).version(next).layout(json).build());
+        }
+        return next;
+    }
+
+    public byte[] encode(Integer imageId, long version, List<PostDecorationResponseDTO> decorations) {
+        Map<String, String> stickers = new LinkedHashMap<>();
+        List<Object[]> items = new ArrayList<>(decorations.size());
+        for (PostDecorationResponseDTO d : decorations) {
+            stickers.computeIfAbsent(String.valueOf(d.getStickerId()), k -> stickerAssetMirror.publicUrl(d.getStickerImageUrl()));
+            items.add(new Object[]{d.getDecorationId(), d.getUserId(), d.getStickerId(),
+                    d.getPosX(), d.getPosY(), d.getRotation()});
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("imageId", imageId);
+        body.put("version", version);
+        body.put("stickers", stickers);
+        body.put("items", items);
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("레이아웃 직렬화 실패", e);
+        }
+    }
+
+    // ✅ 단일 키 조회
+    public Optional<Layout> current(Integer imageId) {
+        if (!enabled) return Optional.empty();
+        return decorationLayoutRepository.findById(imageId)
+                .map(l -> new Layout(l.getImageId(), l.getVersion(), l.getLayout()));
+    }
+
+    /**
+     * 게시글 화면에 심을 이미지별 버전.
+     * 장식이 한 번도 없던 이미지는 행을 만들지 않고 NO_LAYOUT (화면은 레이아웃을 받지 않음).
+     * 이 기능 이전에 꾸며진 이미지처럼 레이아웃이 아직 없으면 결과에서 빼고(화면은 장식 목록 API, 카드는 원본 이미지로 대체)
+     * 백그라운드로 만들어 둡니다. 화면 요청은 쓰기 트랜잭션을 기다리지 않습니다.
+     */
+    public Map<Integer, Long> versions(Collection<Integer> imageIds) {
+        if (!enabled || imageIds.isEmpty()) return Map.of();
+        Map<Integer, Long> versions = decorationLayoutRepository.findVersions(imageIds).stream()
+                .collect(Collectors.toMap(DecorationLayoutRepository.LayoutVersionView::getImageId,
+                        DecorationLayoutRepository.LayoutVersionView::getVersion));
+
+        List<Integer> missing = imageIds.stream().filter(id -> !versions.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            List<Integer> decorated = postDecorationRepository.findDecoratedImageIds(missing);
+            decorated.forEach(this::rebuildInBackground);
+            Set<Integer> withDecorations = Set.copyOf(decorated);
+            missing.stream().filter(id -> !withDecorations.contains(id)).forEach(id -> versions.put(id, NO_LAYOUT));
+        }
+        return versions;
+    }
+
+    // 같은 이미지는 한 번만 줄 세움. 큐가 가득 차면 버리고 다음 화면 요청 때 다시
+    private void rebuildInBackground(Integer imageId) {
+        if (!backfilling.add(imageId)) return;
+        try {
+            backfill.execute(() -> {
+                try {
+                    rebuild(imageId);
+                } finally {
+                    backfilling.remove(imageId);
+                }
+            });
+            backfillQueued.increment();
+        } catch (RejectedExecutionException e) {
+            backfilling.remove(imageId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfill.shutdownNow();
+    }
+
+    // ✅ 이미지 삭제 시 같이 정리
+    public void delete(Collection<Integer> imageIds) {
+        if (imageIds.isEmpty()) return;
+        decorationLayoutRepository.deleteAllByIdInBatch(imageIds);
+        imageIds.forEach(id -> eventPublisher.publishEvent(new Changed(id, null)));
+    }
+
+    public Stats stats() {
+        return new Stats(enabled, rebuilds.sum(), failedRebuilds.sum(), conflicts.sum(), backfillQueued.sum());
+    }
+
+    public record Stats(
+            boolean enabled,
+            long rebuilds,
+            long failedRebuilds,
+            long conflicts,       // 다른 서버가 먼저 버전을 올려 다시 만든 횟수
+            long backfillQueued   // 화면 요청에서 백그라운드로 넘긴 레이아웃 생성
+    ) { }
+}
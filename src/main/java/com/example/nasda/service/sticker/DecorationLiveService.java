@@ -0,0 +1,390 @@
+package com.example.nasda.service.sticker;
+
+import com.example.nasda.dto.sticker.DecorationChange;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 이미지 한 장을 여러 명이 같이 꾸미는 실시간 편집 방.
+ *
+ * - 방(이미지)마다 현재 장식 상태를 메모리에 들고, 받은 변경(추가/이동/삭제)에 순번(seq)을 매겨 전원에게 보냄
+ *   (보낸 사람에게는 ACK 로 순번만). 클라이언트는 순번이 건너뛰면 다시 접속해서 SNAPSHOT 을 받음
+ * - DB 반영은 변경마다 하지 않고 장식별로 합쳐 두었다가(드래그 중 이동 수십 번 → UPDATE 1번)
+ *   주기적으로, 또는 마지막 사람이 나갈 때 PostDecorationService.applyChanges 로 한 번에 씀
+ * - 새 스티커는 저장 후 받은 decorationId 를 ID 메시지로 알려줌
+ * - 반영에 실패하면 DB 상태를 다시 읽어 전원에게 SNAPSHOT 을 보냄
+ *
+ * 방 상태는 이 서버 메모리에만 있으므로 서버가 여러 대면 같은 이미지는 같은 서버로 붙어야 합니다.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class DecorationLiveService {
+
+    private final PostDecorationService postDecorationService;
+    private final StickerCatalog stickerCatalog;
+    private final ObjectMapper objectMapper;
+    private final DecorationRateLimiter rateLimiter;
+    private final DecorationGridService decorationGridService;
+    private final DecorationWriteRetry writeRetry;
+
+    private final Map<Integer, Room> rooms = new ConcurrentHashMap<>();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+
+    /**
+     * 방에 들어온 연결 하나 (WebSocket 세션). send 는 방 락 안에서 순서대로 호출됩니다.
+     */
+    public interface Peer {
+        String id();
+
+        Integer userId(); // 비로그인 구경꾼은 null
+
+        void send(String json);
+    }
+
+    // ===== 주고받는 메시지 =====
+
+    // 클라이언트 → 서버
+    public record Command(String type, String key, Integer stickerId, Float x, Float y, Float rotation) { }
+
+    // 방에 있는 장식 하나 (서버 → 클라이언트)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record LiveDecoration(String key, Integer decorationId, Integer userId, Integer stickerId,
+                                 String stickerImageUrl, Float x, Float y, Float rotation) {
+
+        LiveDecoration movedTo(Float x, Float y, Float rotation) {
+            return new LiveDecoration(key, decorationId, userId, stickerId, stickerImageUrl, x, y, rotation);
+        }
+
+        LiveDecoration withDecorationId(Integer decorationId) {
+            return new LiveDecoration(key, decorationId, userId, stickerId, stickerImageUrl, x, y, rotation);
+        }
+    }
+
+    public record Event(String type, long seq, LiveDecoration decoration) { }
+
+    public record Snapshot(String type, long seq, Integer you, List<LiveDecoration> decorations) { }
+
+    public record Ack(String type, long seq) { }
+
+    public record ErrorMessage(String type, String message) { }
+
+    // ===== 입장 / 퇴장 =====
+
+    public void join(Integer imageId, Peer peer) {
+        while (true) {
+            Room room = rooms.get(imageId);
+            if (room == null) {
+                // ✅ DB 조회는 맵 밖에서 (compute 안에서 하면 같은 bin 의 다른 방 입장/퇴장까지 막힘)
+                //    동시에 연 쪽이 있으면 먼저 들어간 방을 쓰고 내가 읽은 건 버림
+                Room opened = open(imageId);
+                room = rooms.putIfAbsent(imageId, opened);
+                if (room == null) {
+                    room = opened;
+                    log.info("🎨 [실시간 꾸미기] 이미지 ID={} 방 열림 ({}개 장식)", imageId, opened.state.size());
+                }
+            }
+            synchronized (room) {
+                // 그 사이 마지막 사람이 나가 방이 닫혔으면 다시
+                if (rooms.get(imageId) != room) continue;
+                room.peers.put(peer.id(), peer);
+                peer.send(json(new Snapshot("SNAPSHOT", room.seq, peer.userId(), new ArrayList<>(room.state.values()))));
+                return;
+            }
+        }
+    }
+
+    public void leave(Integer imageId, Peer peer) {
+        Room room = rooms.get(imageId);
+        if (room == null) return;
+
+        boolean empty;
+        synchronized (room) {
+            room.peers.remove(peer.id());
+            empty = room.peers.isEmpty();
+        }
+        if (empty) {
+            flush(room);
+            evictIfIdle(room);
+        }
+    }
+
+    private Room open(Integer imageId) {
+        Room room = new Room(imageId, postDecorationService.getPostOwnerId(imageId));
+        room.state.putAll(load(imageId));
+        return room;
+    }
+
+    private Map<String, LiveDecoration> load(Integer imageId) {
+        Map<String, LiveDecoration> state = new LinkedHashMap<>();
+        for (PostDecorationResponseDTO d : postDecorationService.getDecorationsByImageId(imageId)) {
+            String key = "d:" + d.getDecorationId();
+            state.put(key, new LiveDecoration(key, d.getDecorationId(), d.getUserId(), d.getStickerId(),
+                    d.getStickerImageUrl(), d.getPosX(), d.getPosY(), d.getRotation()));
+        }
+        return state;
+    }
+
+    private void evictIfIdle(Room room) {
+        rooms.computeIfPresent(room.imageId, (id, r) -> {
+            if (r != room) return r;
+            synchronized (r) {
+                return r.peers.isEmpty() && r.pending.isEmpty() ? null : r;
+            }
+        });
+    }
+
+    // ===== 변경 처리 =====
+
+    /**
+     * 변경 하나를 검증해서 방 상태에 반영하고 순번을 매겨 다른 사람들에게 보냅니다.
+     * 잘못된 요청은 IllegalArgumentException, 권한이 없으면 SecurityException,
+     * 도배 한도를 넘으면 DecorationRateLimiter.RejectedException.
+     */
+    public void handle(Integer imageId, Peer peer, Command command) {
+        Room room = rooms.get(imageId);
+        if (room == null || command == null || command.type() == null || command.key() == null) {
+            throw new IllegalArgumentException("잘못된 꾸미기 요청입니다.");
+        }
+        Integer userId = peer.userId();
+        if (userId == null) throw new SecurityException("로그인 후 꾸밀 수 있습니다.");
+
+        synchronized (room) {
+            if (!room.peers.containsKey(peer.id())) throw new IllegalArgumentException("방에 입장하지 않았습니다.");
+
+            LiveDecoration current = room.state.get(command.key());
+            LiveDecoration next;
+            DecorationChange change;
+
+            switch (command.type()) {
+                case "ADD" -> {
+                    if (current != null || room.persisted.containsKey(command.key()) || !command.key().startsWith("t:")) {
+                        throw new IllegalArgumentException("이미 있는 장식입니다: " + command.key());
+                    }
+                    // 도배 방지: 이 방에서 내 장식 수는 방 상태로 바로 셈 (DB 조회 없음)
+                    int mine = (int) room.state.values().stream().filter(d -> userId.equals(d.userId())).count();
+                    rateLimiter.checkAdd(userId, mine);
+                    // 밀도 제한: 같은 칸에 이미 있는 장식도 방 상태로 셈 (이동은 드래그 중이라 확인하지 않음)
+                    Float x = clamp(command.x()), y = clamp(command.y());
+                    int cell = decorationGridService.cellOf(x, y);
+                    int inCell = (int) room.state.values().stream()
+                            .filter(d -> d.x() != null && d.y() != null && decorationGridService.cellOf(d.x(), d.y()) == cell)
+                            .count();
+                    decorationGridService.checkCellCount(inCell + 1);
+                    StickerResponseDTO sticker = stickerCatalog.snapshot().stickers().stream()
+                            .filter(s -> s.getStickerId().equals(command.stickerId()))
+                            .findFirst()
+                            .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 스티커"));
+                    next = new LiveDecoration(command.key(), null, userId, sticker.getStickerId(),
+                            sticker.getStickerImageUrl(), x, y, angle(command.rotation()));
+                    room.state.put(next.key(), next);
+                    change = new DecorationChange(DecorationChange.Kind.ADD, next.key(), null, userId,
+                            next.stickerId(), next.x(), next.y(), next.rotation());
+                }
+                case "MOVE" -> {
+                    if (current == null) throw new IllegalArgumentException("없는 장식입니다: " + command.key());
+                    if (!userId.equals(current.userId())) throw new SecurityException("자신이 붙인 스티커만 수정할 수 있습니다.");
+                    next = current.movedTo(clamp(command.x()), clamp(command.y()), angle(command.rotation()));
+                    room.state.put(next.key(), next);
+                    change = new DecorationChange(DecorationChange.Kind.MOVE, next.key(), next.decorationId(), userId,
+                            next.stickerId(), next.x(), next.y(), next.rotation());
+                }
+                case "REMOVE" -> {
+                    if (current == null) throw new IllegalArgumentException("없는 장식입니다: " + command.key());
+                    if (!userId.equals(current.userId()) && !userId.equals(room.ownerId)) {
+                        throw new SecurityException("삭제 권한이 없습니다.");
+                    }
+                    room.state.remove(current.key());
+                    next = new LiveDecoration(current.key(), current.decorationId(), current.userId(),
+                            null, null, null, null, null);
+                    change = new DecorationChange(DecorationChange.Kind.REMOVE, current.key(), current.decorationId(),
+                            userId, current.stickerId(), null, null, null);
+                }
+                default -> throw new IllegalArgumentException("알 수 없는 요청입니다: " + command.type());
+            }
+
+            enqueue(room, change);
+            long seq = ++room.seq;
+            String event = json(new Event(command.type(), seq, next));
+            for (Peer p : room.peers.values()) {
+                p.send(p == peer ? json(new Ack("ACK", seq)) : event);
+            }
+        }
+        received.increment();
+    }
+
+    // 같은 장식에 대한 아직 안 쓴 변경과 합침 (room 락 안에서 호출)
+    private void enqueue(Room room, DecorationChange change) {
+        DecorationChange previous = room.pending.get(change.key());
+        if (previous == null) {
+            room.pending.put(change.key(), change);
+            return;
+        }
+        coalesced.increment();
+        DecorationChange merged = previous.then(change);
+        if (merged == null) room.pending.remove(change.key());
+        else room.pending.put(change.key(), merged);
+    }
+
+    private static Float clamp(Float v) {
+        if (v == null || !Float.isFinite(v)) throw new IllegalArgumentException("잘못된 좌표입니다.");
+        return Math.max(0f, Math.min(100f, v));
+    }
+
+    private static Float angle(Float v) {
+        return v == null || !Float.isFinite(v) ? 0f : v % 360f;
+    }
+
+    // ===== DB 반영 =====
+
+    @Scheduled(fixedDelayString = "${app.decoration.live.flush-interval-ms:1000}")
+    public void flushAll() {
+        for (Room room : rooms.values()) {
+            flush(room);
+            evictIfIdle(room);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushAll();
+    }
+
+    void flush(Room room) {
+        room.flushLock.lock(); // 같은 방의 반영은 한 번에 하나씩 (앞선 INSERT 의 ID 를 뒤 변경이 쓸 수 있도록)
+        try {
+            List<DecorationChange> batch = new ArrayList<>();
+            synchronized (room) {
+                for (DecorationChange c : room.pending.values()) {
+                    // 저장 전에 받은 이동/삭제는 앞선 반영에서 받은 ID 로 채움
+                    if (c.kind() != DecorationChange.Kind.ADD && c.decorationId() == null) {
+                        Integer id = room.persisted.get(c.key());
+                        if (id == null) continue; // 추가가 실패한 장식
+                        c = c.withDecorationId(id);
+                    }
+                    batch.add(c);
+                }
+                room.pending.clear();
+            }
+            if (batch.isEmpty()) return;
+
+            Map<String, Integer> ids;
+            try {
+                ids = writeRetry.call("applyChanges", () -> postDecorationService.applyChanges(room.imageId, batch));
+            } catch (Exception e) {
+                failedFlushes.increment();
+                log.error("실시간 꾸미기 반영 실패: 이미지 ID={}, {}건", room.imageId, batch.size(), e);
+                resync(room);
+                return;
+            }
+
+            synchronized (room) {
+                for (Map.Entry<String, Integer> e : ids.entrySet()) {
+                    room.persisted.put(e.getKey(), e.getValue());
+                    LiveDecoration d = room.state.get(e.getKey());
+                    if (d == null) continue; // 그새 지워짐 → 다음 반영에서 REMOVE 로 처리
+
+                    LiveDecoration saved = d.withDecorationId(e.getValue());
+                    room.state.put(saved.key(), saved);
+                    String event = json(new Event("ID", ++room.seq, saved));
+                    room.peers.values().forEach(p -> p.send(event));
+                }
+            }
+            flushes.increment();
+            flushed.add(batch.size());
+        } finally {
+            room.flushLock.unlock();
+        }
+    }
+
+    // DB 를 진실로 보고 방 상태를 다시 읽어 전원에게 SNAPSHOT
+    private void resync(Room room) {
+        Map<String, LiveDecoration> state;
+        try {
+            state = load(room.imageId);
+        } catch (Exception e) {
+            log.error("실시간 꾸미기 상태 재조회 실패: 이미지 ID={}", room.imageId, e);
+            return;
+        }
+        synchronized (room) {
+            room.state.clear();
+            room.state.putAll(state);
+            room.pending.clear();
+            room.persisted.clear();
+            long seq = ++room.seq;
+            List<LiveDecoration> decorations = new ArrayList<>(state.values());
+            room.peers.values().forEach(p ->
+                    p.send(json(new Snapshot("SNAPSHOT", seq, p.userId(), decorations))));
+        }
+    }
+
+    public String json(Object message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("메시지 직렬화 실패", e);
+        }
+    }
+
+    public Stats stats() {
+        int peers = 0;
+        int pending = 0;
+        for (Room room : rooms.values()) {
+            synchronized (room) {
+                peers += room.peers.size();
+                pending += room.pending.size();
+            }
+        }
+        return new Stats(rooms.size(), peers, pending, received.sum(), coalesced.sum(),
+                flushed.sum(), flushes.sum(), failedFlushes.sum());
+    }
+
+    public record Stats(
+            int rooms,
+            int peers,
+            int pendingChanges,
+            long receivedChanges,
+            long coalescedChanges,   // 반영 전에 다른 변경과 합쳐져 DB 쓰기가 생략된 수
+            long flushedChanges,
+            long flushes,
+            long failedFlushes
+    ) { }
+
+    static final class Room {
+        final Integer imageId;
+        final Integer ownerId;
+        final Map<String, Peer> peers = new HashMap<>();
+        final Map<String, LiveDecoration> state = new LinkedHashMap<>();
+        final Map<String, DecorationChange> pending = new LinkedHashMap<>();
+        final Map<String, Integer> persisted = new HashMap<>(); // 새 스티커 key → 저장된 ID
+        final ReentrantLock flushLock = new ReentrantLock();
+        long seq;
+
+        Room(Integer imageId, Integer ownerId) {
+            this.imageId = imageId;
+            this.ownerId = ownerId;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.nasda.service.sticker;
+
+import com.example.nasda.domain.PostDecorationEntity;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PUT /api/decorations/{id} (드래그 중 위치 수정) 쓰기 버퍼.
+ *
+ * 드래그 한 번에 초당 수십 번 오는 위치 수정을 매번 트랜잭션으로 쓰지 않고 decorationId 별 마지막 값만 들고 있다가
+ * 주기적으로 한 트랜잭션에서 씁니다. (대상 조회 IN 1번 + dirty checking → JDBC 배치 UPDATE)
+ * 조회 API 는 overlay() 로 버퍼 값을 덮어서 내려주므로 사용자가 보는 위치는 바로 바뀐 값입니다.
+ *
+ * 버퍼는 이 서버 메모리에만 있어서 비정상 종료 시 마지막 반영 이후(최대 flush 주기)의 위치는 잃을 수 있습니다.
+ */
+@Log4j2
+@Component
+public class DecorationPositionBuffer {
+
+    private final PostDecorationRepository postDecorationRepository;
+    private final DecorationLayoutService decorationLayoutService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Integer, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<Integer, Pending> flushing = new ConcurrentHashMap<>(); // 쓰는 중인 값 (커밋 전까지 조회에 보임)
+
+    // discard() 시점의 순번. 이보다 먼저 들어온 값은 이미 flushing 으로 옮겨졌더라도 조회/재시도에서 제외 (flush 끝에 비움)
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Integer, Long> discardedAt = new ConcurrentHashMap<>();
+
+    // 장식 작성자는 바뀌지 않으므로 권한 확인용으로 최근 것만 기억 (decorationId → userId)
+    private final Map<Integer, Integer> owners;
+
+    private final LongAdder offered = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+
+    public record Position(Float posX, Float posY, Float rotation) { }
+
+    private record Pending(Position position, long seq) { }
+
+    public DecorationPositionBuffer(
+            PostDecorationRepository postDecorationRepository,
+            DecorationLayoutService decorationLayoutService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.decoration.position.owner-cache-size:10000}") int ownerCacheSize
+    ) {
+        this.postDecorationRepository = postDecorationRepository;
+        this.decorationLayoutService = decorationLayoutService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.owners = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > ownerCacheSize;
+            }
+        });
+    }
+
+    public Integer ownerOf(Integer decorationId) {
+        Integer owner = owners.get(decorationId);
+        if (owner != null) return owner;
+
+        owner = postDecorationRepository.findOwnerId(decorationId)
+                .orElseThrow(() -> new IllegalArgumentException("수정할 장식이 존재하지 않습니다."));
+        owners.put(decorationId, owner);
+        return owner;
+    }
+
+    public void offer(Integer decorationId, Position position) {
+        offered.increment();
+        if (pending.put(decorationId, new Pending(position, sequence.incrementAndGet())) != null) coalesced.increment();
+    }
+
+    public Position get(Integer decorationId) {
+        Pending p = pending.get(decorationId);
+        if (p == null || isDiscarded(decorationId, p)) p = flushing.get(decorationId);
+        return p == null || isDiscarded(decorationId, p) ? null : p.position();
+    }
+
+    private boolean isDiscarded(Integer decorationId, Pending p) {
+        Long discarded = discardedAt.get(decorationId);
+        return discarded != null && p.seq() < discarded;
+    }
+
+    // ✅ 조회 결과에 아직 DB 에 안 쓴 위치를 덮어씀
+    public List<PostDecorationResponseDTO> overlay(List<PostDecorationResponseDTO> decorations) {
+        if (pending.isEmpty() && flushing.isEmpty()) return decorations;
+
+        List<PostDecorationResponseDTO> result = new ArrayList<>(decorations.size());
+        for (PostDecorationResponseDTO d : decorations) {
+            Position p = get(d.getDecorationId());
+            result.add(p == null ? d : d.toBuilder().posX(p.posX()).posY(p.posY()).rotation(p.rotation()).build());
+        }
+        return result;
+    }
+
+    // ✅ 삭제되었거나 다른 경로(일괄 저장, 실시간 꾸미기)로 새 값이 써진 장식의 버퍼 값 버림
+    // 표시를 먼저 남긴 뒤 pending 을 지워야 반영 실패로 되돌아온 값도 함께 지워짐
+    public void discard(Integer decorationId) {
+        discard(decorationId, sequence.incrementAndGet());
+    }
+
+    // before 보다 먼저 들어온 값만 버림 (그 뒤에 들어온 드래그는 남김)
+    private void discard(Integer decorationId, long before) {
+        discardedAt.merge(decorationId, before, Math::max);
+        pending.computeIfPresent(decorationId, (id, p) -> p.seq() < before ? null : p);
+    }
+
+    public void forget(Integer decorationId) {
+        discard(decorationId);
+        owners.remove(decorationId);
+    }
+
+    // ✅ 일괄 저장 / 실시간 반영 트랜잭션이 커밋된 뒤에만 버림
+    //    롤백되거나 재시도를 포기하면 드래그 값이 그대로 남아 다음 flush 에 씀
+    //    호출 시점까지 들어온 값만 대상 - 저장하는 사이 새로 온 드래그는 더 최신 값이므로 남김
+    public void discardAfterCommit(Collection<Integer> decorationIds) {
+        if (decorationIds.isEmpty()) return;
+        List<Integer> ids = List.copyOf(decorationIds);
+        long before = sequence.incrementAndGet();
+        afterCommit(() -> ids.forEach(id -> discard(id, before)));
+    }
+
+    public void forgetAfterCommit(Integer decorationId) {
+        afterCommit(() -> forget(decorationId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.decoration.position.flush-interval-ms:500}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            discardedAt.clear(); // 쓰는 중인 값이 없으면 표시도 필요 없음
+            return;
+        }
+
+        for (Integer id : new ArrayList<>(pending.keySet())) {
+            Pending p = pending.remove(id);
+            if (p != null) flushing.put(id, p);
+        }
+
+        try {
+            Integer updated = transactionTemplate.execute(status -> {
+                int n = 0;
+                // 삭제 표시된 게시글의 장식은 조회에서 빠짐 (쓰지도, 레이아웃을 다시 만들지도 않음)
+                for (PostDecorationEntity d : postDecorationRepository.findLiveByIdIn(flushing.keySet())) {
+                    Pending pd = flushing.get(d.getDecorationId());
+                    if (isDiscarded(d.getDecorationId(), pd)) continue;
+                    Position p = pd.position();
+                    if (d.isAt(p.posX(), p.posY(), p.rotation())) continue;
+                    d.changePosition(p.posX(), p.posY(), 0.43f, p.rotation()); // 수정 시에도 0.43 고정
+                    decorationLayoutService.rebuildAfterCommit(d.getPostImage().getImageId());
+                    n++;
+                }
+                return n;
+            });
+            flushes.increment();
+            written.add(updated == null ? 0 : updated);
+            log.debug("장식 위치 반영: {}건 중 {}건 UPDATE", flushing.size(), updated);
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            log.error("장식 위치 반영 실패: {}건, 다음 주기에 다시 시도", flushing.size(), e);
+            // 그 사이 더 새 값이 왔으면 그 값이 우선, 그 사이 discard 된 값은 되살리지 않음
+            flushing.forEach((id, p) -> {
+                if (isDiscarded(id, p) || pending.putIfAbsent(id, p) != null) return;
+                if (isDiscarded(id, p)) pending.remove(id, p); // 되돌리는 사이 discard 가 끼어든 경우
+            });
+        } finally {
+            flushing.clear();
+            discardedAt.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public Stats stats() {
+        return new Stats(pending.size(), offered.sum(), coalesced.sum(), written.sum(), flushes.sum(), failedFlushes.sum());
+    }
+
+    public record Stats(
+            int pending,
+            long offered,        // 받은 위치 수정 요청
+            long coalesced,      // 반영 전에 더 새 값으로 덮여 DB 쓰기가 생략된 수
+            long written,        // 실제 UPDATE 된 행
+            long flushes,
+            long failedFlushes
+    ) { }
+}
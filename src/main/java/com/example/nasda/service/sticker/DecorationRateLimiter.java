@@ -0,0 +1,135 @@
+package com.example.nasda.service.sticker;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 스티커 도배 방지.
+ *
+ * 1) 사용자별 토큰 버킷: 새 스티커 하나에 토큰 하나, 초당 refill 개씩 최대 burst 개까지 다시 찹니다.
+ *    버킷 상태는 불변 값 + CAS 로 바꾸므로 락이 없습니다.
+ * 2) 이미지당 개수 한도: 한 사용자가 한 이미지에 붙일 수 있는 스티커 수.
+ *    일괄 저장은 요청 목록이 곧 저장 후의 전체 목록이고, 실시간 꾸미기는 방 상태가 메모리에 있으므로
+ *    호출자가 넘겨준 개수만 보고 판단합니다. (countBy 조회 없음)
+ *
+ * 둘 다 DB 작업(트랜잭션) 전에 호출해서 넘치는 요청은 DB 에 닿기 전에 거절합니다.
+ * 버킷은 이 서버 메모리에만 있으므로 서버가 여러 대면 한도도 서버마다 따로 적용됩니다.
+ */
+@Log4j2
+@Component
+public class DecorationRateLimiter {
+
+    public enum Rejection {RATE, IMAGE_QUOTA, DENSITY}
+
+    private final double burst;
+    private final double tokensPerNano;
+    private final int maxPerImage;
+
+    private final Map<Integer, AtomicReference<Bucket>> buckets = new ConcurrentHashMap<>();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByRate = new LongAdder();
+    private final LongAdder rejectedByQuota = new LongAdder();
+
+    private record Bucket(double tokens, long at) { }
+
+    public DecorationRateLimiter(
+            @Value("${app.decoration.rate.burst:40}") int burst,
+            @Value("${app.decoration.rate.refill-per-second:1.0}") double refillPerSecond,
+            @Value("${app.decoration.rate.max-per-image:30}") int maxPerImage
+    ) {
+        this.burst = burst;
+        this.tokensPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.maxPerImage = maxPerImage;
+    }
+
+    /**
+     * 일괄 저장 (POST /api/decorations)
+     *
+     * @param newStickers 새로 붙이는 스티커 수 (decorationId 가 없는 항목)
+     * @param total       저장 후 이 사용자가 이 이미지에 가진 장식 수 (= 요청 목록 크기)
+     * @throws RejectedException 한도 초과
+     */
+    public void checkSave(Integer userId, int newStickers, int total) {
+        checkQuota(total);
+        acquire(userId, Math.max(1, newStickers)); // 비우기/이동만 하는 저장도 요청 하나로 셈
+    }
+
+    /**
+     * 실시간 꾸미기 ADD 하나
+     *
+     * @param current 이 사용자가 방(이미지)에 이미 붙인 장식 수
+     */
+    public void checkAdd(Integer userId, int current) {
+        checkQuota(current + 1);
+        acquire(userId, 1);
+    }
+
+    private void checkQuota(int total) {
+        if (total > maxPerImage) {
+            rejectedByQuota.increment();
+            throw new RejectedException(Rejection.IMAGE_QUOTA, maxPerImage);
+        }
+    }
+
+    private void acquire(Integer userId, int cost) {
+        AtomicReference<Bucket> ref = buckets.computeIfAbsent(userId,
+                k -> new AtomicReference<>(new Bucket(burst, System.nanoTime())));
+        while (true) {
+            Bucket b = ref.get();
+            long now = System.nanoTime();
+            double tokens = Math.min(burst, b.tokens() + (now - b.at()) * tokensPerNano);
+            if (tokens < cost) {
+                rejectedByRate.increment();
+                throw new RejectedException(Rejection.RATE, maxPerImage);
+            }
+            if (ref.compareAndSet(b, new Bucket(tokens - cost, now))) {
+                allowed.increment();
+                return;
+            }
+        }
+    }
+
+    // 다 찬 버킷은 없는 것과 같으므로 정리 (다음 요청 때 가득 찬 새 버킷으로 시작)
+    @Scheduled(fixedDelayString = "${app.decoration.rate.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(e -> {
+            Bucket b = e.getValue().get();
+            return b.tokens() + (now - b.at()) * tokensPerNano >= burst;
+        });
+    }
+
+    public Stats stats() {
+        return new Stats(buckets.size(), allowed.sum(), rejectedByRate.sum(), rejectedByQuota.sum());
+    }
+
+    public record Stats(int trackedUsers, long allowed, long rejectedByRate, long rejectedByQuota) { }
+
+    public static class RejectedException extends RuntimeException {
+        private final Rejection reason;
+
+        public RejectedException(Rejection reason, int maxPerImage) {
+            this(reason, reason == Rejection.IMAGE_QUOTA
+                    ? "이미지 하나에는 스티커를 " + maxPerImage + "개까지 붙일 수 있습니다."
+                    : "스티커를 너무 빠르게 붙이고 있습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        public RejectedException(Rejection reason, String message) {
+            super(message);
+            this.reason = reason;
+        }
+
+        public Rejection getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.nasda.service.sticker;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 장식 쓰기 재시도.
+ *
+ * 같은 이미지를 여러 명이 동시에 꾸미면 장식 행의 version 이 먼저 바뀌었거나(낙관적 락 충돌),
+ * DB 에서 데드락 / 락 대기 시간 초과가 날 수 있습니다. 이런 경합 오류만 트랜잭션을 통째로 다시 실행하고
+ * (다시 읽고 다시 비교하므로 마지막 저장이 이김), 나머지 오류는 그대로 던집니다.
+ *
+ * 재시도 간격은 min(max-backoff, base-backoff × 2^n) 안에서 무작위 (full jitter) 라
+ * 동시에 부딪힌 요청들이 같은 순간에 다시 부딪히지 않습니다.
+ * 트랜잭션 안에서 부르면 바깥 트랜잭션이 이미 망가졌으므로 재시도하지 않습니다.
+ */
+@Log4j2
+@Component
+public class DecorationWriteRetry {
+
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder optimisticConflicts = new LongAdder();
+    private final LongAdder lockFailures = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public DecorationWriteRetry(
+            @Value("${app.decoration.retry.max-attempts:4}") int maxAttempts,
+            @Value("${app.decoration.retry.base-backoff-ms:20}") long baseBackoffMillis,
+            @Value("${app.decoration.retry.max-backoff-ms:200}") long maxBackoffMillis
+    ) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * @param operation 로그용 이름
+     * @param work      @Transactional 서비스 호출 (호출마다 새 트랜잭션)
+     * @throws ConcurrencyFailureException 재시도를 다 써도 경합이 계속됨
+     */
+    public <T> T call(String operation, Supplier<T> work) {
+        calls.increment();
+        boolean retryable = !TransactionSynchronizationManager.isActualTransactionActive();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.get();
+            } catch (ConcurrencyFailureException e) {
+                if (e instanceof OptimisticLockingFailureException) optimisticConflicts.increment();
+                else lockFailures.increment(); // 데드락, 락 대기 시간 초과
+
+                if (!retryable || attempt >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn("⛔ [장식 쓰기 경합] {} {}회 시도 후 포기: {}", operation, attempt, e.getClass().getSimpleName());
+                    throw e;
+                }
+                retries.increment();
+                log.debug("장식 쓰기 경합, 다시 시도: {} ({}회째) {}", operation, attempt, e.getClass().getSimpleName());
+                backoff(attempt);
+            }
+        }
+    }
+
+    public void run(String operation, Runnable work) {
+        call(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private void backoff(int attempt) {
+        long cap = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        if (cap <= 0) return;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("장식 저장 재시도 중 중단되었습니다.", e);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(calls.sum(), retries.sum(), optimisticConflicts.sum(), lockFailures.sum(), exhausted.sum());
+    }
+
+    public record Stats(
+            long calls,
+            long retries,
+            long optimisticConflicts, // 다른 트랜잭션이 먼저 같은 장식을 바꿈 (version 불일치)
+            long lockFailures,        // 데드락 / 락 대기 시간 초과
+            long exhausted            // 재시도를 다 쓰고 실패로 돌려준 횟수
+    ) { }
+}
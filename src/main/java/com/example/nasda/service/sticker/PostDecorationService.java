@@ -1,9 +1,11 @@
 package com.example.nasda.service.sticker;
 
+import com.example.nasda.dto.sticker.DecorationChange;
 import com.example.nasda.dto.sticker.PostDecorationRequestDTO;
 import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
 
 import java.util.List;
+import java.util.Map;
 
 public interface PostDecorationService {
 
@@ -22,4 +24,10 @@ public interface PostDecorationService {
 
     List<PostDecorationResponseDTO> getDecorationsByPostId(Integer postId);
 
+    // ✅ 실시간 꾸미기: 모아 둔 변경을 한 트랜잭션으로 반영, 새로 INSERT 된 장식의 key → decorationId 반환
+    Map<String, Integer> applyChanges(Integer imageId, List<DecorationChange> changes);
+
+    // ✅ 게시글 작성자 ID (실시간 꾸미기 권한 확인용)
+    Integer getPostOwnerId(Integer imageId);
+
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.example.nasda.service.sticker;
 
 import com.example.nasda.domain.*;
+import com.example.nasda.dto.sticker.DecorationChange;
 import com.example.nasda.dto.sticker.PostDecorationRequestDTO;
 import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.mapper.PostDecorationMapper;
 import com.example.nasda.repository.PostImageRepository;
 import com.example.nasda.repository.sticker.PostDecorationRepository;
 import com.example.nasda.repository.sticker.StickerRepository;
@@ -12,6 +14,9 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -26,44 +31,104 @@ public class PostDecorationServiceImpl implements PostDecorationService {
     private final PostImageRepository postImageRepository;
     private final StickerRepository stickerRepository;
     private final EntityManager entityManager; // ✅ UserRepository 대신 사용
+    private final PostDecorationMapper postDecorationMapper;
+    private final DecorationPositionBuffer positionBuffer;
+    private final DecorationLayoutService decorationLayoutService;
+    private final StickerAssetMirror stickerAssetMirror;
+    private final StickerUsageCounter stickerUsageCounter;
+    private final RecentStickerService recentStickerService;
 
+    /**
+     * 화면의 스티커 목록과 DB 의 내 장식을 decorationId 로 비교해서 바뀐 것만 씁니다.
+     * 스티커 하나를 옮기면 UPDATE 한 건만 나가고, 나머지 행은 건드리지 않아 락도 짧게 잡힙니다.
+     * (UPDATE 는 dirty checking, DELETE 는 엔티티 삭제 — 둘 다 JDBC 배치)
+     * UPDATE / DELETE 모두 version 조건이 붙으므로 그 사이 다른 저장이 먼저 바꿨으면 실패하고, 호출자가 다시 시도합니다.
+     */
     @Override
     @Transactional
     public List<PostDecorationResponseDTO> saveDecorations(PostDecorationRequestDTO requestDTO) {
+        Integer userId = requestDTO.getUserId();
+        Integer imageId = requestDTO.getPostImageId();
+        List<PostDecorationRequestDTO.DecorationItem> items =
+                requestDTO.getDecorations() == null ? List.of() : requestDTO.getDecorations();
 
-        // 1. 기존 장식 벌크 삭제 (데드락 방지)
-        postDecorationRepository.deleteByUserAndImageBulk(
-                requestDTO.getUserId(), requestDTO.getPostImageId());
+        // 1. 기존 내 장식
+        List<PostDecorationEntity> existing =
+                postDecorationRepository.findByUser_UserIdAndPostImage_ImageId(userId, imageId);
 
-        // 2. ✨ 데드락 방지 핵심: 삭제 즉시 DB 반영 및 캐시 비우기
-        entityManager.flush();
-        entityManager.clear();
-
-        // 3. 비우기 대응: 리스트가 없으면 삭제만 수행 후 종료
-        if (requestDTO.getDecorations() == null || requestDTO.getDecorations().isEmpty()) {
-            log.info("✨ [CRUD: Delete] 이미지 ID={} 스티커 초기화 완료", requestDTO.getPostImageId());
+        // 비우기: 리스트가 없으면 내 장식을 PK + version 으로 삭제 후 종료
+        //    (user_id + image_id 조건 DELETE 는 인덱스 범위에 갭 락을 잡아 같은 이미지 동시 저장끼리 막힘)
+        if (items.isEmpty()) {
+            if (!existing.isEmpty()) {
+                findLiveImage(imageId); // 삭제된 게시글이면 거절
+                postDecorationRepository.deleteAll(existing);
+                positionBuffer.discardAfterCommit(existing.stream().map(PostDecorationEntity::getDecorationId).toList());
+                decorationLayoutService.rebuildAfterCommit(imageId);
+            }
+            log.info("✨ [CRUD: Delete] 이미지 ID={} 스티커 초기화 완료", imageId);
             return List.of();
         }
 
-        // 4. 공통 정보 조회 (이미지 존재 확인)
-        PostImageEntity postImage = postImageRepository.findById(requestDTO.getPostImageId())
+        // 2. 화면 목록과 비교
+        DecorationDiff diff = DecorationDiff.of(existing, items);
+        // 바뀐 게 있을 때만 이미지 확인 (그대로 저장하는 요청은 쿼리 없이 통과)
+        PostImageEntity postImage = diff.isEmpty() ? null : findLiveImage(imageId);
+        // 일괄 저장 값이 우선 - 버퍼 값은 커밋된 뒤에 버림 (롤백 / 재시도 포기 시 드래그 값 유지)
+        positionBuffer.discardAfterCommit(existing.stream().map(PostDecorationEntity::getDecorationId).toList());
+
+        // 3. 사라진 장식: 엔티티 삭제 (WHERE id AND version, JDBC 배치)
+        //    bulk DELETE 는 version 을 보지 않아 그 사이 옮겨진 장식도 조용히 지워버림
+        if (!diff.deletes().isEmpty()) {
+            postDecorationRepository.deleteAll(diff.deletes());
+        }
+
+        // 4. 옮겨진 장식: 값만 바꾸면 커밋 시 바뀐 행만 UPDATE
+        for (DecorationDiff.Update update : diff.updates()) {
+            PostDecorationRequestDTO.DecorationItem item = update.item();
+            update.entity().changePosition(item.getPosX(), item.getPosY(), 0.43f, item.getRotation());
+        }
+
+        // 5. 새 스티커만 INSERT
+        List<PostDecorationEntity> inserted = diff.inserts().isEmpty()
+                ? List.of()
+                : postDecorationRepository.saveAll(newDecorations(userId, postImage, diff.inserts()));
+
+        if (!diff.isEmpty()) decorationLayoutService.rebuildAfterCommit(imageId);
+        List<Integer> insertedStickerIds = inserted.stream().map(e -> e.getSticker().getStickerId()).toList();
+        stickerUsageCounter.recordAfterCommit(insertedStickerIds);
+        recentStickerService.recordAfterCommit(userId, insertedStickerIds);
+
+        log.info("✨ [꾸미기 diff] 이미지 ID={} 추가 {}, 수정 {}, 삭제 {}, 그대로 {}", imageId,
+                inserted.size(), diff.updates().size(), diff.deletes().size(), diff.unchanged().size());
+
+        List<PostDecorationResponseDTO> result = new ArrayList<>();
+        diff.unchanged().forEach(e -> result.add(postDecorationMapper.toResponse(e)));
+        diff.updates().forEach(u -> result.add(postDecorationMapper.toResponse(u.entity())));
+        inserted.forEach(e -> result.add(postDecorationMapper.toResponse(e)));
+        return stickerAssetMirror.rewrite(result);
+    }
+
+    // ✅ 삭제 표시된 게시글(정리 전)의 이미지는 꾸밀 수 없음 - 없는 이미지와 같은 오류
+    private PostImageEntity findLiveImage(Integer imageId) {
+        return postImageRepository.findLiveById(imageId)
                 .orElseThrow(() -> new IllegalArgumentException("이미지 없음"));
+    }
 
-        // 5. UserRepository 없이 사용자 정보 연결 (ID만 가진 가짜 객체 생성)
-        UserEntity decorator = entityManager.getReference(UserEntity.class, requestDTO.getUserId());
+    private List<PostDecorationEntity> newDecorations(Integer userId, PostImageEntity postImage,
+                                                      List<PostDecorationRequestDTO.DecorationItem> items) {
+        // UserRepository 없이 사용자 정보 연결 (ID만 가진 가짜 객체 생성)
+        UserEntity decorator = entityManager.getReference(UserEntity.class, userId);
 
-        // 6. 스티커 정보 조회 최적화
-        List<Integer> stickerIds = requestDTO.getDecorations().stream()
+        // 스티커 정보 조회 최적화
+        List<Integer> stickerIds = items.stream()
                 .map(PostDecorationRequestDTO.DecorationItem::getStickerId)
                 .distinct()
                 .collect(Collectors.toList());
 
-        List<StickerEntity> stickerEntities = stickerRepository.findAllById(stickerIds);
-        Map<Integer, StickerEntity> stickerMap = stickerEntities.stream()
+        Map<Integer, StickerEntity> stickerMap = stickerRepository.findAllById(stickerIds).stream()
                 .collect(Collectors.toMap(StickerEntity::getStickerId, s -> s));
 
-        // 7. 엔티티 변환 및 저장
-        List<PostDecorationEntity> entities = requestDTO.getDecorations().stream()
+        return items.stream()
                 .map(item -> {
                     StickerEntity sticker = stickerMap.get(item.getStickerId());
                     if (sticker == null) throw new IllegalArgumentException("존재하지 않는 스티커");
@@ -81,46 +146,37 @@ public class PostDecorationServiceImpl implements PostDecorationService {
                             .build();
                 })
                 .collect(Collectors.toList());
-
-        List<PostDecorationEntity> savedEntities = postDecorationRepository.saveAll(entities);
-
-        return savedEntities.stream()
-                .map(PostDecorationResponseDTO::from)
-                .collect(Collectors.toList());
     }
 
-    // ✅ 인터페이스 미구현 에러를 해결하기 위한 updateDecoration 메서드 추가
+    /**
+     * 드래그 중 위치 수정: 바로 쓰지 않고 버퍼에 마지막 값만 남겨 두었다가 모아서 UPDATE 합니다.
+     * 조회 API 는 버퍼 값을 덮어서 보여주므로 화면에는 즉시 반영됩니다.
+     */
     @Override
-    @Transactional
     public void updateDecoration(Integer decorationId, PostDecorationRequestDTO.DecorationItem updateDTO, Integer currentUserId) {
-        PostDecorationEntity decoration = postDecorationRepository.findById(decorationId)
-                .orElseThrow(() -> new IllegalArgumentException("수정할 장식이 존재하지 않습니다."));
-
         // 권한 체크: 스티커를 붙인 본인인지 확인
-        if (!decoration.getUser().getUserId().equals(currentUserId)) {
+        if (!positionBuffer.ownerOf(decorationId).equals(currentUserId)) {
             throw new SecurityException("자신이 붙인 스티커만 수정할 수 있습니다.");
         }
 
-        // 데이터 갱신 (Dirty Checking 활용)
-        decoration.changePosition(
-                updateDTO.getPosX(),
-                updateDTO.getPosY(),
-                0.43f, // 수정 시에도 0.43 고정
-                updateDTO.getRotation()
-        );
-        log.info("장식 수정 완료: ID={}", decorationId);
+        positionBuffer.offer(decorationId, new DecorationPositionBuffer.Position(
+                updateDTO.getPosX(), updateDTO.getPosY(), updateDTO.getRotation()));
+        log.debug("장식 수정 접수: ID={}", decorationId);
     }
 
     @Override
     @Transactional
     public void deleteDecoration(Integer decorationId, Integer currentUserId) {
-        PostDecorationEntity decoration = postDecorationRepository.findById(decorationId)
+        // 삭제 표시된 게시글의 장식은 없는 장식과 같은 오류 (findLiveImage 와 같은 기준)
+        PostDecorationEntity decoration = postDecorationRepository.findLiveById(decorationId)
                 .orElseThrow(() -> new IllegalArgumentException("장식 없음"));
 
         // 본인 혹은 게시글 주인 확인 후 삭제
         if (currentUserId.equals(decoration.getUser().getUserId()) ||
                 currentUserId.equals(decoration.getPost().getUser().getUserId())) {
             postDecorationRepository.delete(decoration);
+            positionBuffer.forgetAfterCommit(decorationId);
+            decorationLayoutService.rebuildAfterCommit(decoration.getPostImage().getImageId());
             log.info("장식 개별 삭제 성공: ID {}", decorationId);
         } else {
             throw new SecurityException("삭제 권한이 없습니다.");
@@ -129,15 +185,85 @@ public class PostDecorationServiceImpl implements PostDecorationService {
 
     @Override
     public List<PostDecorationResponseDTO> getDecorationsByImageId(Integer imageId) {
-        return postDecorationRepository.findByPostImage_ImageId(imageId).stream()
-                .map(PostDecorationResponseDTO::from)
-                .collect(Collectors.toList());
+        // 엔티티 대신 DTO projection 으로 바로 조회 (쿼리 1회)
+        return stickerAssetMirror.rewrite(positionBuffer.overlay(postDecorationRepository.findResponsesByImageId(imageId)));
     }
 
     @Override
     public List<PostDecorationResponseDTO> getDecorationsByPostId(Integer postId) {
-        return postDecorationRepository.findByPostPostId(postId).stream()
-                .map(PostDecorationResponseDTO::from)
-                .collect(Collectors.toList());
+        return stickerAssetMirror.rewrite(positionBuffer.overlay(postDecorationRepository.findResponsesByPostId(postId)));
+    }
+
+    /**
+     * 실시간 꾸미기(DecorationLiveService)가 모아 둔 변경을 한 번에 씁니다.
+     * 권한은 변경을 받을 때 방에서 이미 확인했고, 여기서는 다른 이미지의 장식이 섞이지 않았는지만 봅니다.
+     */
+    @Override
+    @Transactional
+    public Map<String, Integer> applyChanges(Integer imageId, List<DecorationChange> changes) {
+        // 방이 열린 뒤 게시글이 삭제되었으면 모아 둔 변경도 쓰지 않음
+        PostImageEntity postImage = findLiveImage(imageId);
+
+        List<DecorationChange> adds = new ArrayList<>();
+        Map<Integer, DecorationChange> existing = new HashMap<>();
+        for (DecorationChange c : changes) {
+            if (c.kind() == DecorationChange.Kind.ADD) adds.add(c);
+            else if (c.decorationId() != null) existing.put(c.decorationId(), c);
+        }
+        positionBuffer.discardAfterCommit(existing.keySet()); // 실시간 편집 값이 우선 (커밋된 뒤에 버림)
+
+        // 1. 이동 / 삭제: 대상 장식을 한 번에 조회
+        List<PostDecorationEntity> removed = new ArrayList<>();
+        for (PostDecorationEntity entity : postDecorationRepository.findAllById(existing.keySet())) {
+            if (!entity.getPostImage().getImageId().equals(imageId)) continue;
+
+            DecorationChange c = existing.get(entity.getDecorationId());
+            if (c.kind() == DecorationChange.Kind.REMOVE) {
+                removed.add(entity);
+            } else if (!entity.isAt(c.posX(), c.posY(), c.rotation())) {
+                entity.changePosition(c.posX(), c.posY(), 0.43f, c.rotation());
+            }
+        }
+        if (!removed.isEmpty()) postDecorationRepository.deleteAll(removed); // version 확인 (bulk DELETE 아님)
+
+        // 2. 추가: 새 스티커 INSERT 후 key → ID
+        Map<String, Integer> ids = new HashMap<>();
+        if (!adds.isEmpty()) {
+            Map<Integer, StickerEntity> stickerMap = stickerRepository.findAllById(
+                            adds.stream().map(DecorationChange::stickerId).distinct().toList()).stream()
+                    .collect(Collectors.toMap(StickerEntity::getStickerId, s -> s));
+
+            for (DecorationChange c : adds) {
+                StickerEntity sticker = stickerMap.get(c.stickerId());
+                if (sticker == null) throw new IllegalArgumentException("존재하지 않는 스티커");
+
+                PostDecorationEntity saved = postDecorationRepository.save(PostDecorationEntity.builder()
+                        .post(postImage.getPost())
+                        .postImage(postImage)
+                        .user(entityManager.getReference(UserEntity.class, c.userId()))
+                        .sticker(sticker)
+                        .posX(c.posX())
+                        .posY(c.posY())
+                        .scale(0.43f)
+                        .rotation(c.rotation())
+                        .zIndex(10)
+                        .build());
+                ids.put(c.key(), saved.getDecorationId());
+            }
+            stickerUsageCounter.recordAfterCommit(adds.stream().map(DecorationChange::stickerId).toList());
+            adds.stream().collect(Collectors.groupingBy(DecorationChange::userId, LinkedHashMap::new,
+                            Collectors.mapping(DecorationChange::stickerId, Collectors.toList())))
+                    .forEach(recentStickerService::recordAfterCommit);
+        }
+
+        decorationLayoutService.rebuildAfterCommit(imageId);
+        log.info("✨ [실시간 꾸미기 반영] 이미지 ID={} 추가 {}, 이동/삭제 {}", imageId, adds.size(), existing.size());
+        return ids;
+    }
+
+    @Override
+    public Integer getPostOwnerId(Integer imageId) {
+        return postImageRepository.findPostOwnerId(imageId)
+                .orElseThrow(() -> new IllegalArgumentException("이미지 없음"));
     }
-}
\ No newline at end of file
+}
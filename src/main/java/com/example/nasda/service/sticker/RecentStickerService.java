@@ -0,0 +1,225 @@
+package com.example.nasda.service.sticker;
+
+import com.example.nasda.domain.RecentStickerEntity;
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+import com.example.nasda.repository.sticker.RecentStickerRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자별 최근 쓴 스티커 (스티커 패널의 "최근" 탭).
+ *
+ * 장식 저장이 커밋되면 붙인 스티커를 사용자 목록 앞으로 옮기고 (사용자당 최대 per-user 개),
+ * 최근 활동한 사용자 max-users 명분만 메모리(LRU)에 둡니다. 조회는 메모리에서 바로 답합니다.
+ *
+ * persist=true 면 바뀐 목록을 모아 두었다가 주기적으로 recent_stickers 에 쓰고 (write-behind),
+ * 메모리에 없는 사용자는 처음 조회할 때 한 번 읽어옵니다. 반영 전 목록은 이 서버 메모리에만 있습니다.
+ */
+@Log4j2
+@Component
+public class RecentStickerService {
+
+    private final RecentStickerRepository recentStickerRepository;
+    private final StickerCatalog stickerCatalog;
+    private final TransactionTemplate transactionTemplate;
+    private final int perUser;
+    private final boolean persist;
+
+    // userId → 최근 스티커 ID (앞이 최근, 불변 리스트)
+    private final Map<Integer, List<Integer>> recent;
+    // 아직 테이블에 안 쓴 목록 (LRU 에서 밀려나도 여기서 쓰이므로 잃지 않음)
+    private final Map<Integer, List<Integer>> pending = new ConcurrentHashMap<>();
+
+    // 스티커 ID → DTO (카탈로그 버전이 바뀔 때만 다시 만듦)
+    private volatile StickerIndex stickers = new StickerIndex(null, Map.of());
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+
+    private record StickerIndex(String catalogVersion, Map<Integer, StickerResponseDTO> byId) { }
+
+    public RecentStickerService(
+            RecentStickerRepository recentStickerRepository,
+            StickerCatalog stickerCatalog,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.sticker.recent.per-user:12}") int perUser,
+            @Value("${app.sticker.recent.max-users:10000}") int maxUsers,
+            @Value("${app.sticker.recent.persist:true}") boolean persist
+    ) {
+        this.recentStickerRepository = recentStickerRepository;
+        this.stickerCatalog = stickerCatalog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.perUser = perUser;
+        this.persist = persist;
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Integer>> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    // ✅ 장식 저장이 커밋된 뒤에만 반영 (롤백되면 그대로)
+    public void recordAfterCommit(Integer userId, List<Integer> stickerIds) {
+        if (userId == null || stickerIds.isEmpty()) return;
+        List<Integer> ids = List.copyOf(stickerIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(userId, ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(userId, ids);
+            }
+        });
+    }
+
+    /**
+     * @param stickerIds 붙인 순서 (마지막이 가장 최근)
+     */
+    public void record(Integer userId, List<Integer> stickerIds) {
+        List<Integer> current = ids(userId); // DB 를 읽을 수도 있으므로 락 밖에서
+
+        synchronized (recent) {
+            List<Integer> base = recent.getOrDefault(userId, current);
+            List<Integer> merged = new ArrayList<>(perUser + stickerIds.size());
+            for (int i = stickerIds.size() - 1; i >= 0; i--) {
+                Integer id = stickerIds.get(i);
+                if (!merged.contains(id)) merged.add(id);
+            }
+            for (Integer id : base) {
+                if (!merged.contains(id)) merged.add(id);
+            }
+            List<Integer> updated = List.copyOf(merged.subList(0, Math.min(perUser, merged.size())));
+
+            recent.put(userId, updated);
+            if (persist) pending.put(userId, updated);
+        }
+    }
+
+    /**
+     * 최근 스티커 (최근 것이 앞, 지워진 스티커 제외)
+     */
+    public List<StickerResponseDTO> recent(Integer userId) {
+        if (userId == null) return List.of();
+        Map<Integer, StickerResponseDTO> byId = stickerIndex().byId();
+        return ids(userId).stream().map(byId::get).filter(s -> s != null).toList();
+    }
+
+    private List<Integer> ids(Integer userId) {
+        List<Integer> ids = recent.get(userId);
+        if (ids != null) {
+            hits.increment();
+            return ids;
+        }
+
+        ids = pending.get(userId);
+        if (ids == null && persist) {
+            ids = load(userId);
+            if (ids == null) return List.of(); // 못 읽었으면 캐시하지 않고 다음에 다시 읽음
+        }
+        if (ids == null) ids = List.of();
+        recent.putIfAbsent(userId, ids);
+        return recent.getOrDefault(userId, ids);
+    }
+
+    private List<Integer> load(Integer userId) {
+        loads.increment();
+        try {
+            return recentStickerRepository.findById(userId).map(e -> parse(e.getStickerIds())).orElse(List.of());
+        } catch (RuntimeException e) {
+            log.warn("최근 스티커 조회 실패: 사용자 ID={}", userId, e);
+            return null;
+        }
+    }
+
+    private StickerIndex stickerIndex() {
+        StickerIndex index = stickers;
+        StickerCatalog.Snapshot catalog = stickerCatalog.snapshot();
+        if (!catalog.version().equals(index.catalogVersion())) {
+            Map<Integer, StickerResponseDTO> byId = new HashMap<>();
+            catalog.stickers().forEach(s -> byId.put(s.getStickerId(), s));
+            index = new StickerIndex(catalog.version(), Map.copyOf(byId));
+            stickers = index;
+        }
+        return index;
+    }
+
+    @Scheduled(fixedDelayString = "${app.sticker.recent.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) return;
+        Map<Integer, List<Integer>> batch = new HashMap<>(pending);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Integer, RecentStickerEntity> existing = new HashMap<>();
+                recentStickerRepository.findAllById(batch.keySet()).forEach(e -> existing.put(e.getUserId(), e));
+
+                List<RecentStickerEntity> changed = new ArrayList<>(batch.size());
+                batch.forEach((userId, ids) -> {
+                    RecentStickerEntity row = existing.get(userId);
+                    if (row == null) {
+                        changed.add(RecentStickerEntity.builder().userId(userId).stickerIds(format(ids)).build());
+                    } else {
+                        row.replace(format(ids));
+                        changed.add(row);
+                    }
+                });
+                recentStickerRepository.saveAll(changed);
+            });
+            batch.forEach(pending::remove); // 그 사이 또 바뀐 사용자는 남겨서 다음 주기에 씀
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            log.error("최근 스티커 반영 실패: 사용자 {}명, 다음 주기에 다시 시도", batch.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static String format(List<Integer> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static List<Integer> parse(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        return Arrays.stream(text.split(",")).map(String::trim).filter(s -> !s.isEmpty()).map(Integer::valueOf).toList();
+    }
+
+    public Stats stats() {
+        return new Stats(recent.size(), pending.size(), hits.sum(), loads.sum(), written.sum(), failedFlushes.sum());
+    }
+
+    public record Stats(
+            int cachedUsers,
+            int pendingUsers,    // 테이블에 아직 안 쓴 사용자
+            long hits,
+            long loads,          // 메모리에 없어 테이블에서 읽은 횟수
+            long written,
+            long failedFlushes
+    ) { }
+}
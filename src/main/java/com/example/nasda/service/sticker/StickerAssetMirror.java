@@ -0,0 +1,363 @@
+package com.example.nasda.service.sticker;
+
+import com.example.nasda.domain.StickerEntity;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.repository.sticker.StickerRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 외부(raw.githubusercontent.com 등)에 있는 스티커 이미지를 한 번만 받아 로컬 디스크에 두고
+ * /sticker-assets/{파일명} 으로 내려줍니다. (StickerAssetController)
+ *
+ * - 파일명은 원본 URL 의 해시라서 받기 전에도 주소가 정해짐 → 화면에 내려가는 URL 은 항상 로컬 주소
+ * - 아직 없는 파일은 처음 요청될 때 받아오고(같은 파일 동시 요청은 한 번만), 실패하면 원본 URL 로 보냄
+ * - 기동 시 전체 스티커, 새로 보이는 스티커는 그때그때 백그라운드로 미리 받아 둠
+ * - 내용이 바뀌지 않으므로 브라우저 캐시는 immutable
+ *
+ * 스티커 주소는 사용자가 정할 수 있으므로 서버가 아무 주소나 받아오지 않도록(SSRF)
+ * allowed-hosts 에 있는 호스트의 https 주소만 받고, 리다이렉트는 따라가지 않습니다.
+ * 그 밖의 외부 주소는 바꾸지 않고 그대로 내려주고(브라우저가 직접 받음), 서버 안에서는 열지 않습니다.
+ * 받기에 실패한 파일은 failure-ttl 동안 다시 시도하지 않습니다 (원본이 죽었을 때 요청마다 기다리지 않도록).
+ */
+@Log4j2
+@Component
+public class StickerAssetMirror {
+
+    public static final String URL_PREFIX = "/sticker-assets/";
+
+    private static final Set<String> EXTENSIONS = Set.of(".png", ".gif", ".webp", ".jpg", ".jpeg");
+    private static final Set<String> CONTENT_TYPES = Set.of("image/png", "image/gif", "image/webp", "image/jpeg");
+
+    private final StickerRepository stickerRepository;
+    private final Path dir;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final Duration timeout;
+    private final Set<String> allowedHosts;
+    private final boolean requireHttps;
+    private final long failureTtlNanos;
+    private final HttpClient httpClient;
+
+    private final ThreadPoolExecutor prefetcher;
+
+    private final Map<String, String> remoteUrls = new ConcurrentHashMap<>();   // 파일명 → 원본 URL
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> failedUntil = new ConcurrentHashMap<>();      // 파일명 → 다시 시도할 시각 (nanoTime)
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder fetched = new LongAdder();
+    private final LongAdder fetchedBytes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public StickerAssetMirror(
+            StickerRepository stickerRepository,
+            @Value("${app.sticker.mirror.dir:${app.upload.dir}-stickers}") String dir,
+            @Value("${app.sticker.mirror.enabled:true}") boolean enabled,
+            @Value("${app.sticker.mirror.max-bytes:1048576}") long maxBytes,
+            @Value("${app.sticker.mirror.timeout-ms:5000}") long timeoutMillis,
+            @Value("${app.sticker.mirror.allowed-hosts:raw.githubusercontent.com}") List<String> allowedHosts,
+            @Value("${app.sticker.mirror.require-https:true}") boolean requireHttps,
+            @Value("${app.sticker.mirror.failure-ttl-ms:60000}") long failureTtlMillis
+    ) throws IOException {
+        this.stickerRepository = stickerRepository;
+        this.dir = Files.createDirectories(Paths.get(dir).toAbsolutePath().normalize());
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.allowedHosts = allowedHosts.stream()
+                .map(h -> h.trim().toLowerCase(Locale.ROOT))
+                .filter(h -> !h.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.requireHttps = requireHttps;
+        this.failureTtlNanos = TimeUnit.MILLISECONDS.toNanos(failureTtlMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NEVER) // 허용 호스트에서 내부 주소로 돌려보내는 것 차단
+                .build();
+        this.prefetcher = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1024), r -> {
+                    Thread t = new Thread(r, "sticker-mirror");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    // ✅ 기동 시 전체 스티커를 미리 받아 둠 (이미 있는 파일은 건너뜀)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) return;
+        List<StickerEntity> stickers = stickerRepository.findAll();
+        stickers.forEach(s -> publicUrl(s.getStickerImageUrl()));
+        log.info("🪞 [스티커 미러] 스티커 {}개 확인, 받을 것 {}개", stickers.size(), prefetcher.getQueue().size());
+    }
+
+    /**
+     * 화면에 내려줄 스티커 주소. 외부 URL 이면 로컬 미러 주소로 바꾸고, 아직 없으면 백그라운드로 받기 시작합니다.
+     */
+    public String publicUrl(String url) {
+        if (!enabled || !isMirrorable(url)) return url;
+
+        String filename = filename(url);
+        if (remoteUrls.putIfAbsent(filename, url) == null && !Files.exists(dir.resolve(filename))) {
+            prefetch(filename);
+        }
+        return URL_PREFIX + filename;
+    }
+
+    private void prefetch(String filename) {
+        try {
+            prefetcher.execute(() -> resolve(filename));
+        } catch (RejectedExecutionException ignored) {
+            // 큐가 가득 차면 처음 요청될 때 받음
+        }
+    }
+
+    public List<PostDecorationResponseDTO> rewrite(List<PostDecorationResponseDTO> decorations) {
+        if (!enabled) return decorations;
+        List<PostDecorationResponseDTO> result = new ArrayList<>(decorations.size());
+        for (PostDecorationResponseDTO d : decorations) {
+            String url = publicUrl(d.getStickerImageUrl());
+            result.add(url == null || url.equals(d.getStickerImageUrl()) ? d : d.toBuilder().stickerImageUrl(url).build());
+        }
+        return result;
+    }
+
+    public String remoteUrl(String filename) {
+        return remoteUrls.get(filename);
+    }
+
+    /**
+     * 미러 파일. 없으면 원본에서 받아옵니다. (알 수 없는 파일명이거나 받기 실패면 null)
+     */
+    public Path resolve(String filename) {
+        Path file = dir.resolve(filename).normalize();
+        if (!file.getParent().equals(dir)) return null;
+        if (Files.exists(file)) {
+            hits.increment();
+            return file;
+        }
+
+        String url = remoteUrls.get(filename);
+        if (url == null) return null;
+
+        Long retryAt = failedUntil.get(filename);
+        if (retryAt != null) {
+            if (System.nanoTime() - retryAt < 0) return null; // 최근에 실패 → 원본으로 보냄
+            failedUntil.remove(filename, retryAt);
+        }
+
+        try {
+            return fetch(filename, url).get(timeout.toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // ✅ 원본 URL 기준 (합성 렌더러처럼 서버 안에서 스티커를 읽을 때)
+    public Path fileFor(String url) {
+        if (!isMirrorable(url)) return null;
+        String filename = filename(url);
+        remoteUrls.putIfAbsent(filename, url);
+        return resolve(filename);
+    }
+
+    /**
+     * 서버 안에서 스티커 이미지를 읽을 때 (합성 렌더러, 스프라이트 아틀라스).
+     * 외부 URL / 미러 주소는 미러 파일에서, 그 밖의 /로 시작하는 주소는 static 리소스에서 엽니다.
+     */
+    public InputStream open(String url) throws IOException {
+        if (url == null) throw new IOException("스티커 주소가 없습니다.");
+        if (url.startsWith(URL_PREFIX) || isRemote(url)) {
+            Path file = url.startsWith(URL_PREFIX) ? resolve(url.substring(URL_PREFIX.length())) : fileFor(url);
+            if (file == null) throw new IOException("스티커 이미지를 받을 수 없습니다: " + url);
+            return Files.newInputStream(file);
+        }
+        if (url.startsWith("/")) return new ClassPathResource("static" + url).getInputStream();
+        throw new IOException("알 수 없는 스티커 주소입니다: " + url);
+    }
+
+    /**
+     * 디스크에 이미 있는 스티커만 엽니다 (원본에서 받지 않으므로 어느 스레드에서 불러도 빠름).
+     * 아직 안 받은 외부 스티커는 백그라운드로 받기 시작하고 null 을 돌려줍니다.
+     */
+    public InputStream openIfPresent(String url) throws IOException {
+        if (url == null) throw new IOException("스티커 주소가 없습니다.");
+        if (url.startsWith(URL_PREFIX) || isRemote(url)) {
+            if (isRemote(url) && !isMirrorable(url)) throw new IOException("허용되지 않은 스티커 주소입니다: " + url);
+            String filename = url.startsWith(URL_PREFIX) ? url.substring(URL_PREFIX.length()) : filename(url);
+            Path file = dir.resolve(filename).normalize();
+            if (!file.getParent().equals(dir)) throw new IOException("알 수 없는 스티커 주소입니다: " + url);
+            if (Files.exists(file)) {
+                hits.increment();
+                return Files.newInputStream(file);
+            }
+
+            if (isRemote(url)) remoteUrls.putIfAbsent(filename, url);
+            if (enabled && remoteUrls.containsKey(filename)) prefetch(filename);
+            return null;
+        }
+        if (url.startsWith("/")) return new ClassPathResource("static" + url).getInputStream();
+        throw new IOException("알 수 없는 스티커 주소입니다: " + url);
+    }
+
+    private CompletableFuture<Path> fetch(String filename, String url) {
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(filename, mine);
+        if (existing != null) return existing;
+
+        try {
+            Path target = dir.resolve(filename);
+            mine.complete(Files.exists(target) ? target : download(url, target)); // 방금 다른 쪽이 받았으면 그대로
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            failedUntil.put(filename, System.nanoTime() + failureTtlNanos);
+            log.warn("스티커 미러 실패: {}", url, e);
+            mine.completeExceptionally(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            mine.completeExceptionally(e);
+        } finally {
+            inFlight.remove(filename, mine);
+        }
+        return mine;
+    }
+
+    private Path download(String url, Path target) throws IOException, InterruptedException {
+        if (!isMirrorable(url)) throw new IOException("허용되지 않은 스티커 주소입니다: " + url);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(timeout).GET().build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        try (InputStream in = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("스티커 원본 응답 " + response.statusCode());
+            }
+            String contentType = response.headers().firstValue("Content-Type").orElse("")
+                    .split(";")[0].trim().toLowerCase(Locale.ROOT);
+            if (!CONTENT_TYPES.contains(contentType)) {
+                throw new IOException("이미지가 아닌 응답: " + contentType);
+            }
+
+            Path tmp = Files.createTempFile(dir, "fetch-", ".tmp");
+            try {
+                long written = copy(in, tmp);
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                fetched.increment();
+                fetchedBytes.add(written);
+                log.debug("스티커 미러: {} → {} ({} bytes)", url, target.getFileName(), written);
+                return target;
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    private long copy(InputStream in, Path file) throws IOException {
+        long written = 0;
+        byte[] buffer = new byte[8192];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                written += n;
+                if (written > maxBytes) throw new IOException("스티커 이미지가 너무 큽니다: " + written + " bytes 초과");
+                out.write(buffer, 0, n);
+            }
+        }
+        return written;
+    }
+
+    private static boolean isRemote(String url) {
+        return url != null && (url.startsWith("https://") || url.startsWith("http://"));
+    }
+
+    // ✅ 서버가 받아와도 되는 주소: 허용 호스트 + (기본) https, 사용자 정보(user@host) 없음
+    private boolean isMirrorable(String url) {
+        if (!isRemote(url)) return false;
+        try {
+            URI uri = URI.create(url);
+            String host = uri.getHost();
+            if (host == null || uri.getRawUserInfo() != null) return false;
+            if (requireHttps && !"https".equalsIgnoreCase(uri.getScheme())) return false;
+            return allowedHosts.contains(host.toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // 원본 URL 해시 + 확장자 (예: 3f2a...e1.png)
+    static String filename(String url) {
+        String path = url.split("[?#]", 2)[0];
+        String ext = ".png";
+        int dot = path.lastIndexOf('.');
+        if (dot > path.lastIndexOf('/')) {
+            String candidate = path.substring(dot).toLowerCase(Locale.ROOT);
+            if (EXTENSIONS.contains(candidate)) ext = candidate;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16) + ext;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prefetcher.shutdownNow();
+    }
+
+    public Stats stats() {
+        return new Stats(enabled, remoteUrls.size(), prefetcher.getQueue().size(),
+                hits.sum(), fetched.sum(), fetchedBytes.sum(), failures.sum());
+    }
+
+    public record Stats(
+            boolean enabled,
+            int known,           // 주소를 아는 스티커 수
+            int queued,          // 미리 받기 대기
+            long hits,           // 디스크에서 바로 나간 요청
+            long fetched,        // 원본에서 받아온 수 (스티커당 한 번)
+            long fetchedBytes,
+            long failures
+    ) { }
+}
@@ -0,0 +1,65 @@
+package com.example.nasda.service.sticker;
+
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 카테고리 하나의 스프라이트 아틀라스 배치.
+ *
+ * CELL px 정사각형 칸에 스티커를 카탈로그 순서대로 COLUMNS 개씩 채웁니다.
+ * 배치는 스티커 순서만으로 정해지므로 이미지를 그리기 전에 카탈로그 JSON 에 좌표를 실을 수 있고,
+ * 버전은 (스티커 ID, 주소) 목록의 해시라서 카테고리의 스티커가 바뀔 때만 달라집니다.
+ */
+public record StickerAtlasLayout(
+        Integer categoryId,
+        String version,
+        List<Integer> stickerIds,
+        List<String> stickerUrls
+) {
+    public static final int CELL = 96;     // 팔레트 48px 의 2배 (고해상도 화면)
+    public static final int COLUMNS = 8;
+
+    public static StickerAtlasLayout of(Integer categoryId, List<StickerResponseDTO> stickers) {
+        StringBuilder key = new StringBuilder().append(CELL).append('/').append(COLUMNS);
+        for (StickerResponseDTO s : stickers) key.append('|').append(s.getStickerId()).append('=').append(s.getStickerImageUrl());
+
+        return new StickerAtlasLayout(categoryId, hash(key.toString()),
+                stickers.stream().map(StickerResponseDTO::getStickerId).toList(),
+                stickers.stream().map(StickerResponseDTO::getStickerImageUrl).toList());
+    }
+
+    public int size() {
+        return stickerIds.size();
+    }
+
+    public int width() {
+        return Math.min(size(), COLUMNS) * CELL;
+    }
+
+    public int height() {
+        return ((size() + COLUMNS - 1) / COLUMNS) * CELL;
+    }
+
+    // i 번째 스티커 칸의 왼쪽 위 [x, y]
+    public int[] position(int index) {
+        return new int[]{(index % COLUMNS) * CELL, (index / COLUMNS) * CELL};
+    }
+
+    public String url() {
+        return "/api/sticker-atlas/" + categoryId + "/" + version + ".png";
+    }
+
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.nasda.service.sticker;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 카테고리별 스티커 스프라이트 아틀라스(PNG 한 장)를 만들어 디스크에 둡니다.
+ *
+ * 배치/버전은 카탈로그 스냅샷의 StickerAtlasLayout 이 정하고, 여기서는 그 배치대로 그리기만 합니다.
+ * 스티커 등록/삭제가 커밋되면 바뀐 카테고리의 새 버전을 미리 그리고 예전 버전 파일은 지웁니다.
+ *
+ * 그리기는 요청 스레드가 아니라 백그라운드에서, 카테고리마다 한 번에 하나씩 합니다.
+ * 스티커는 미러에 이미 받아 둔 파일만 읽고, 아직 없는 게 있으면 미러가 받도록 맡겨 두고 다음 요청 때 다시 그립니다.
+ * 준비되기 전 요청은 404 (팔레트는 개별 이미지로 그림).
+ */
+@Log4j2
+@Component
+public class StickerAtlasService {
+
+    private final StickerCatalog stickerCatalog;
+    private final StickerAssetMirror stickerAssetMirror;
+    private final Path dir;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<Integer, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>(); // 카테고리 ID → 그리는 중
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder waiting = new LongAdder();
+    private final LongAdder generateNanos = new LongAdder();
+
+    public StickerAtlasService(
+            StickerCatalog stickerCatalog,
+            StickerAssetMirror stickerAssetMirror,
+            @Value("${app.sticker.atlas.dir:${app.upload.dir}-atlas}") String dir,
+            @Value("${app.sticker.atlas.threads:1}") int threads
+    ) throws IOException {
+        this.stickerCatalog = stickerCatalog;
+        this.stickerAssetMirror = stickerAssetMirror;
+        this.dir = Files.createDirectories(Paths.get(dir).toAbsolutePath().normalize());
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(64), r -> {
+                    Thread t = new Thread(r, "sticker-atlas-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    // 해당 버전 아틀라스 파일. 아직 없으면 백그라운드로 그리기 시작하고 null (요청 스레드는 기다리지 않음)
+    public Path atlas(StickerAtlasLayout layout) {
+        Path file = file(layout.categoryId(), layout.version());
+        if (Files.exists(file)) {
+            hits.increment();
+            return file;
+        }
+        prepare(layout);
+        return null;
+    }
+
+    /**
+     * 백그라운드로 그리기 (카테고리마다 하나만). 그리는 중인 것이 있으면 그걸 돌려줍니다.
+     * 스티커가 아직 미러에 없으면 null 로 끝나고, 큐가 가득 차면 실패로 끝납니다.
+     */
+    public CompletableFuture<Path> prepare(StickerAtlasLayout layout) {
+        Path file = file(layout.categoryId(), layout.version());
+        if (Files.exists(file)) return CompletableFuture.completedFuture(file);
+
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(layout.categoryId(), mine);
+        if (existing != null) return existing;
+
+        try {
+            executor.execute(() -> {
+                // 끝난 작업을 다음 요청이 받지 않도록 inFlight 에서 먼저 뺀 뒤 완료
+                try {
+                    Path result = generate(layout);
+                    inFlight.remove(layout.categoryId(), mine);
+                    mine.complete(result);
+                } catch (IOException | RuntimeException e) {
+                    inFlight.remove(layout.categoryId(), mine);
+                    failures.increment();
+                    log.warn("스프라이트 아틀라스 생성 실패: 카테고리 ID={} (다음 요청 때 다시 시도)", layout.categoryId(), e);
+                    mine.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(layout.categoryId(), mine);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+
+    // ✅ 스티커 등록/삭제 커밋 후 (카탈로그 스냅샷이 먼저 갱신되도록 그 뒤에 등록해야 함)
+    public void rebuildAfterCommit(Integer categoryId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild(categoryId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuild(categoryId);
+            }
+        });
+    }
+
+    public void rebuild(Integer categoryId) {
+        StickerAtlasLayout layout = stickerCatalog.snapshot().atlasOf(categoryId);
+        evict(categoryId, layout == null ? null : layout.version());
+        if (layout != null) prepare(layout);
+    }
+
+    // 백그라운드 스레드에서만 (같은 카테고리는 inFlight 로 한 번에 하나)
+    private Path generate(StickerAtlasLayout layout) throws IOException {
+        Path target = file(layout.categoryId(), layout.version());
+        if (Files.exists(target)) return target;
+
+        // 미러에 아직 없는 스티커가 있으면 그리지 않음 (미러가 받기 시작, 다음 요청 때 다시)
+        List<BufferedImage> stickers = new ArrayList<>(layout.size());
+        for (String url : layout.stickerUrls()) {
+            BufferedImage sticker = read(url);
+            if (sticker == null) {
+                waiting.increment();
+                log.debug("스프라이트 아틀라스 보류: 카테고리 ID={} 미러 대기 중 {}", layout.categoryId(), url);
+                return null;
+            }
+            stickers.add(sticker);
+        }
+
+        long start = System.nanoTime();
+        int cell = StickerAtlasLayout.CELL;
+        BufferedImage atlas = new BufferedImage(layout.width(), layout.height(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = atlas.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+            for (int i = 0; i < layout.size(); i++) {
+                BufferedImage sticker = stickers.get(i);
+
+                // 칸 안에 비율 유지로 가운데 정렬 (팔레트의 object-contain)
+                double fit = Math.min((double) cell / sticker.getWidth(), (double) cell / sticker.getHeight());
+                int w = (int) Math.round(sticker.getWidth() * fit);
+                int h = (int) Math.round(sticker.getHeight() * fit);
+                int[] p = layout.position(i);
+                g.drawImage(sticker, p[0] + (cell - w) / 2, p[1] + (cell - h) / 2, w, h, null);
+            }
+        } finally {
+            g.dispose();
+        }
+
+        Path tmp = Files.createTempFile(dir, layout.categoryId() + "-", ".tmp");
+        try {
+            ImageIO.write(atlas, "png", tmp.toFile());
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        generated.increment();
+        generateNanos.add(System.nanoTime() - start);
+        log.info("🧩 [스프라이트 아틀라스] 카테고리 ID={} version={} 스티커 {}개, {} bytes",
+                layout.categoryId(), layout.version(), layout.size(), Files.size(target));
+        return target;
+    }
+
+    // 하나라도 못 읽으면 실패 → 빈 칸이 섞인 아틀라스를 캐시하지 않음 (화면은 개별 이미지로 대체)
+    // 아직 미러에 없으면 null
+    private BufferedImage read(String url) throws IOException {
+        BufferedImage image;
+        try (InputStream in = stickerAssetMirror.openIfPresent(url)) {
+            if (in == null) return null;
+            image = ImageIO.read(in);
+        }
+        if (image == null) throw new IOException("스티커 이미지를 읽을 수 없습니다: " + url);
+        return image;
+    }
+
+    private void evict(Integer categoryId, String keepVersion) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, categoryId + "-*.png")) {
+            for (Path file : files) {
+                if (keepVersion != null && file.getFileName().toString().equals(categoryId + "-" + keepVersion + ".png")) continue;
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("예전 아틀라스 정리 실패: 카테고리 ID={}", categoryId, e);
+        }
+    }
+
+    private Path file(Integer categoryId, String version) {
+        return dir.resolve(categoryId + "-" + version + ".png");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Stats stats() {
+        long n = generated.sum();
+        return new Stats(hits.sum(), n, failures.sum(), waiting.sum(), inFlight.size(),
+                n == 0 ? 0.0 : generateNanos.sum() / 1_000_000.0 / n);
+    }
+
+    public record Stats(
+            long hits,
+            long generated,
+            long failures,
+            long waitingForMirror, // 미러에 아직 없는 스티커가 있어 미룬 횟수
+            int building,
+            double avgGenerateMillis
+    ) { }
+}
@@ -0,0 +1,213 @@
+package com.example.nasda.service.sticker;
+
+import com.example.nasda.domain.StickerCategoryEntity;
+import com.example.nasda.domain.StickerEntity;
+import com.example.nasda.dto.sticker.StickerCategoryResponseDTO;
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+import com.example.nasda.mapper.StickerMapper;
+import com.example.nasda.repository.sticker.StickerCategoryRepository;
+import com.example.nasda.repository.sticker.StickerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 스티커 카탈로그(카테고리 + 스티커)의 불변 스냅샷.
+ *
+ * 카탈로그는 거의 바뀌지 않으므로 DB 조회/매핑을 요청마다 하지 않고 메모리에 한 벌 들고 있습니다.
+ * 스티커/카테고리 생성·삭제가 커밋된 뒤에만 새 스냅샷을 만들어 통째로 교체합니다. (읽는 쪽은 락 없음)
+ * 다른 서버에서 생성/삭제한 것은 주기적으로 개수 + 가장 큰 ID 만 조회해서 달라졌으면 다시 만듭니다.
+ * 이름 검색 색인도 스냅샷에 들어 있어서 목록과 검색 결과가 어긋나지 않습니다.
+ *
+ * 버전은 JSON 내용의 해시라서 노드가 여러 대여도 같은 카탈로그면 같은 버전/ETag 가 나옵니다.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class StickerCatalog {
+
+    private final StickerCategoryRepository stickerCategoryRepository;
+    private final StickerRepository stickerRepository;
+    private final ObjectMapper objectMapper;
+    private final StickerMapper stickerMapper;
+    private final StickerAssetMirror stickerAssetMirror;
+
+    private volatile Snapshot snapshot;
+    private volatile ChangeMarker builtFrom; // 지금 스냅샷을 만들기 직전에 본 변경 표시
+
+    // 개수 + 가장 큰 ID (IDENTITY 라 지운 ID 를 다시 쓰지 않으므로 생성/삭제가 있었으면 어느 하나는 바뀜)
+    private record ChangeMarker(Long stickers, Integer maxStickerId, Long categories, Integer maxCategoryId) { }
+
+    public Snapshot snapshot() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                s = snapshot;
+                if (s == null) s = rebuild();
+            }
+        }
+        return s;
+    }
+
+    public String version() {
+        return snapshot().version();
+    }
+
+    // 생성/삭제 트랜잭션이 커밋된 뒤 다시 만듦 (롤백되면 그대로)
+    public void rebuildAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuild();
+            }
+        });
+    }
+
+    // ✅ 다른 서버의 생성/삭제 반영: 쿼리 두 번(집계만)으로 확인하고 바뀌었을 때만 다시 만듦
+    @Scheduled(fixedDelayString = "${app.sticker.catalog.refresh-interval-ms:30000}")
+    public void refreshIfStale() {
+        if (snapshot == null) return; // 아직 아무도 읽지 않음 (첫 조회 때 만듦)
+        try {
+            if (!Objects.equals(changeMarker(), builtFrom)) {
+                log.info("🗂️ [스티커 카탈로그] 다른 서버의 변경 감지, 다시 만듦");
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.warn("스티커 카탈로그 변경 확인 실패, 다음 주기에 다시 확인", e);
+        }
+    }
+
+    private ChangeMarker changeMarker() {
+        StickerRepository.ChangeMarkerView stickers = stickerRepository.findChangeMarker();
+        StickerRepository.ChangeMarkerView categories = stickerCategoryRepository.findChangeMarker();
+        return new ChangeMarker(stickers.getCount(), stickers.getMaxId(), categories.getCount(), categories.getMaxId());
+    }
+
+    // 트랜잭션 없이 읽음 (자기 호출/afterCommit 에서 불려 @Transactional 이 걸리지 않음, 연관은 fetch 로 이미 채워 옴)
+    // 두 조회 사이에 바뀐 것은 변경 표시를 먼저 읽어 두었으므로 다음 refreshIfStale 에서 다시 만듦
+    public synchronized Snapshot rebuild() {
+        ChangeMarker marker = changeMarker();
+        List<StickerCategoryEntity> categoryEntities = stickerCategoryRepository.findAll().stream()
+                .sorted(Comparator.comparing(StickerCategoryEntity::getStickerCategoryId))
+                .toList();
+        List<StickerEntity> stickerEntities = stickerRepository.findAllWithCategory().stream()
+                .sorted(Comparator.comparing(StickerEntity::getStickerId))
+                .toList();
+
+        Map<Integer, List<StickerResponseDTO>> byCategory = new LinkedHashMap<>();
+        categoryEntities.forEach(c -> byCategory.put(c.getStickerCategoryId(), new ArrayList<>()));
+
+        List<StickerResponseDTO> all = new ArrayList<>(stickerEntities.size());
+        for (StickerEntity e : stickerEntities) {
+            StickerResponseDTO dto = stickerMapper.toResponse(e);
+            dto.setStickerImageUrl(stickerAssetMirror.publicUrl(dto.getStickerImageUrl())); // 외부 URL → 로컬 미러
+            all.add(dto);
+            byCategory.computeIfAbsent(e.getStickerCategory().getStickerCategoryId(), k -> new ArrayList<>()).add(dto);
+        }
+
+        List<StickerCategoryResponseDTO> categories = List.copyOf(stickerMapper.toCategoryResponses(categoryEntities));
+
+        // 카테고리별 스프라이트 아틀라스 배치 (스티커가 없는 카테고리는 없음)
+        Map<Integer, StickerAtlasLayout> atlases = new LinkedHashMap<>();
+        byCategory.forEach((id, list) -> {
+            if (!list.isEmpty()) atlases.put(id, StickerAtlasLayout.of(id, list));
+        });
+
+        // 화면용 묶음 JSON: 카테고리마다 스티커 목록과 아틀라스 좌표를 같이 담음
+        List<CatalogCategory> bundle = categories.stream()
+                .map(c -> {
+                    List<StickerResponseDTO> list = byCategory.get(c.getStickerCategoryId());
+                    StickerAtlasLayout atlas = atlases.get(c.getStickerCategoryId());
+                    List<CatalogSticker> stickers = new ArrayList<>(list.size());
+                    for (int i = 0; i < list.size(); i++) {
+                        StickerResponseDTO s = list.get(i);
+                        stickers.add(new CatalogSticker(s.getStickerId(), s.getStickerName(), s.getStickerImageUrl(),
+                                atlas.position(i)));
+                    }
+                    return new CatalogCategory(c.getStickerCategoryId(), c.getName(), c.getIsActive(),
+                            atlas == null ? null : new CatalogAtlas(atlas.url(), StickerAtlasLayout.CELL,
+                                    atlas.width(), atlas.height()),
+                            stickers);
+                })
+                .toList();
+
+        try {
+            String version = hash(objectMapper.writeValueAsBytes(bundle));
+            byte[] json = objectMapper.writeValueAsBytes(new CatalogBody(version, bundle));
+
+            Map<Integer, List<StickerResponseDTO>> frozen = new LinkedHashMap<>();
+            byCategory.forEach((k, v) -> frozen.put(k, List.copyOf(v)));
+
+            Snapshot s = new Snapshot(version, "\"" + version + "\"", json,
+                    categories, List.copyOf(all), Map.copyOf(frozen), Map.copyOf(atlases), StickerSearchIndex.of(all));
+            snapshot = s;
+            builtFrom = marker;
+            log.info("🗂️ [스티커 카탈로그] version={}, 카테고리 {}개, 스티커 {}개, {} bytes",
+                    version, categories.size(), all.size(), json.length);
+            return s;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("스티커 카탈로그 직렬화 실패", e);
+        }
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 한 시점의 카탈로그. 만든 뒤에는 바뀌지 않습니다.
+     * (DTO 는 기존 API 와 같은 타입을 공유하므로 받은 쪽에서 값을 바꾸지 않아야 합니다)
+     */
+    public record Snapshot(
+            String version,
+            String etag,
+            byte[] json,          // /api/sticker-catalog 응답 본문 (미리 직렬화)
+            List<StickerCategoryResponseDTO> categories,
+            List<StickerResponseDTO> stickers,
+            Map<Integer, List<StickerResponseDTO>> stickersByCategory,
+            Map<Integer, StickerAtlasLayout> atlases,
+            StickerSearchIndex search   // 이름 검색 색인 (스냅샷과 같이 교체)
+    ) {
+        public List<StickerResponseDTO> stickersOf(Integer categoryId) {
+            return stickersByCategory.getOrDefault(categoryId, List.of());
+        }
+
+        public StickerAtlasLayout atlasOf(Integer categoryId) {
+            return atlases.get(categoryId);
+        }
+    }
+
+    record CatalogBody(String version, List<CatalogCategory> categories) { }
+
+    record CatalogCategory(Integer stickerCategoryId, String name, Boolean isActive,
+                           CatalogAtlas atlas, List<CatalogSticker> stickers) { }
+
+    // 탭 하나 = 이미지 한 장. 팔레트는 sprite [x, y] 를 background-position 으로 씀
+    record CatalogAtlas(String url, int cell, int width, int height) { }
+
+    record CatalogSticker(Integer stickerId, String stickerName, String stickerImageUrl, int[] sprite) { }
+}
@@ -6,12 +6,10 @@ import com.example.nasda.dto.sticker.StickerCategoryResponseDTO;
 import com.example.nasda.repository.sticker.StickerCategoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Log4j2
 @Service
@@ -20,7 +18,7 @@ import java.util.stream.Collectors;
 public class StickerCategoryServiceImpl implements StickerCategoryService {
 
     private final StickerCategoryRepository stickerCategoryRepository;
-    private final ModelMapper modelMapper;
+    private final StickerCatalog stickerCatalog;
 
     /**
      * 카테고리 생성
@@ -39,8 +37,10 @@ public class StickerCategoryServiceImpl implements StickerCategoryService {
                 .isActive(requestDTO.getIsActive())
                 .build();
 
-        // 3. 저장 및 ID 반환
-        return stickerCategoryRepository.save(category).getStickerCategoryId();
+        // 3. 저장 및 ID 반환 (커밋 후 카탈로그 스냅샷 갱신)
+        Integer categoryId = stickerCategoryRepository.save(category).getStickerCategoryId();
+        stickerCatalog.rebuildAfterCommit();
+        return categoryId;
     }
 
     /**
@@ -49,14 +49,8 @@ public class StickerCategoryServiceImpl implements StickerCategoryService {
      */
     @Override
     public List<StickerCategoryResponseDTO> getAllCategories() {
-        // 1. 전체 조회
-        List<StickerCategoryEntity> categories = stickerCategoryRepository.findAll();
-
-        // 2. 변환 (ModelMapper의 힘을 빌려 한 줄로 처리!)
-        // Entity와 DTO의 필드명(name, isActive)이 똑같아서 아주 매끄럽게 변환됩니다.
-        return categories.stream()
-                .map(entity -> modelMapper.map(entity, StickerCategoryResponseDTO.class))
-                .collect(Collectors.toList());
+        // 메모리의 카탈로그 스냅샷에서 바로 반환 (생성/삭제 시에만 다시 만듦)
+        return stickerCatalog.snapshot().categories();
     }
 
     /**
@@ -70,5 +64,6 @@ public class StickerCategoryServiceImpl implements StickerCategoryService {
                 .orElseThrow(() -> new IllegalArgumentException("삭제할 카테고리가 없습니다. ID=" + categoryId));
 
         stickerCategoryRepository.delete(category);
+        stickerCatalog.rebuildAfterCommit();
     }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.example.nasda.service.sticker;
+
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * 스티커 이름 검색용 메모리 색인 (카탈로그 스냅샷과 함께 만들어지고 바뀌지 않음).
+ *
+ * 이름을 단어(토큰)로 나눠 정렬된 배열에 두고, 검색어의 각 단어를 이진 탐색으로 접두어 범위만 훑습니다.
+ * 검색어의 모든 단어가 어떤 토큰의 접두어여야 결과에 들어가며 (AND),
+ * 이름 전체 일치 > 이름 접두어 > 토큰 완전 일치 > 토큰 접두어 순으로 점수를 매깁니다.
+ * DB 의 LIKE 조회 없이 카테고리 구분 없이 찾습니다.
+ */
+public final class StickerSearchIndex {
+
+    private static final Pattern SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final List<StickerResponseDTO> stickers;
+    private final String[] names;        // 정규화한 이름 (스티커 순서와 같음)
+    private final String[] tokens;       // 정렬된 고유 토큰
+    private final int[][] postings;      // 토큰 → 스티커 번호 목록
+
+    private StickerSearchIndex(List<StickerResponseDTO> stickers) {
+        this.stickers = List.copyOf(stickers);
+        this.names = new String[stickers.size()];
+
+        Map<String, List<Integer>> byToken = new TreeMap<>();
+        for (int i = 0; i < stickers.size(); i++) {
+            names[i] = normalize(stickers.get(i).getStickerName());
+            for (String token : tokenize(names[i])) {
+                byToken.computeIfAbsent(token, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        this.tokens = byToken.keySet().toArray(String[]::new);
+        this.postings = byToken.values().stream()
+                .map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+    }
+
+    public static StickerSearchIndex of(List<StickerResponseDTO> stickers) {
+        return new StickerSearchIndex(stickers);
+    }
+
+    public int tokenCount() {
+        return tokens.length;
+    }
+
+    /**
+     * @param query 검색어 (공백/기호로 단어 구분, 대소문자 무시)
+     * @param limit 최대 결과 수
+     * @return 점수 높은 순 (같으면 이름이 짧은 순, 스티커 ID 순)
+     */
+    public List<StickerResponseDTO> search(String query, int limit) {
+        String normalized = normalize(query);
+        Set<String> words = tokenize(normalized);
+        if (words.isEmpty() || limit <= 0) return List.of();
+
+        int[] score = null;
+        for (String word : words) {
+            int[] wordScore = new int[stickers.size()];
+            int from = lowerBound(word);
+            for (int t = from; t < tokens.length && tokens[t].startsWith(word); t++) {
+                int s = tokens[t].length() == word.length() ? 3 : 1;
+                for (int i : postings[t]) wordScore[i] = Math.max(wordScore[i], s);
+            }
+
+            // 앞 단어까지 남은 후보와 교집합
+            if (score == null) {
+                score = wordScore;
+            } else {
+                for (int i = 0; i < score.length; i++) score[i] = score[i] == 0 || wordScore[i] == 0 ? 0 : score[i] + wordScore[i];
+            }
+        }
+
+        List<Integer> hits = new ArrayList<>();
+        for (int i = 0; i < score.length; i++) {
+            if (score[i] == 0) continue;
+            if (names[i].equals(normalized)) score[i] += 20;
+            else if (names[i].startsWith(normalized)) score[i] += 10;
+            hits.add(i);
+        }
+
+        final int[] total = score;
+        return hits.stream()
+                .sorted((a, b) -> total[a] != total[b] ? Integer.compare(total[b], total[a])
+                        : names[a].length() != names[b].length() ? Integer.compare(names[a].length(), names[b].length())
+                        : Integer.compare(stickers.get(a).getStickerId(), stickers.get(b).getStickerId()))
+                .limit(limit)
+                .map(stickers::get)
+                .toList();
+    }
+
+    // word 이상인 첫 토큰 위치 (접두어 범위의 시작)
+    private int lowerBound(String word) {
+        int i = Arrays.binarySearch(tokens, word);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).strip();
+    }
+
+    private static Set<String> tokenize(String normalized) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String token : SPLIT.split(normalized)) {
+            if (!token.isEmpty()) result.add(token);
+        }
+        return result;
+    }
+}
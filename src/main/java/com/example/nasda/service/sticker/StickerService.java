@@ -15,6 +15,15 @@ public interface StickerService {
     // 카테고리별 스티커 조회 (예: "감정" 스티커만 보기)
     List<StickerResponseDTO> getStickersByCategoryId(Integer categoryId);
 
+    // 스티커 이름 검색 (전체 카테고리, 점수 순)
+    List<StickerResponseDTO> searchStickers(String query, int limit);
+
+    // 인기 스티커 (최근 사용이 무거운 감쇠 점수 순)
+    List<StickerResponseDTO> getPopularStickers(int limit);
+
+    // 사용자가 최근 쓴 스티커 (최근 것이 앞)
+    List<StickerResponseDTO> getRecentStickers(Integer userId);
+
     // 스티커 삭제
     void deleteSticker(Integer stickerId);
 }
\ No newline at end of file
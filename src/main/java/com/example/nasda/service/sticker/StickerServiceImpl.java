@@ -8,12 +8,10 @@ import com.example.nasda.repository.sticker.StickerCategoryRepository;
 import com.example.nasda.repository.sticker.StickerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Log4j2
 @Service
@@ -21,11 +19,19 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class StickerServiceImpl implements StickerService {
 
+    private static final int MAX_QUERY_LENGTH = 50;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final StickerRepository stickerRepository;
     private final StickerCategoryRepository stickerCategoryRepository;
 
-    // RootConfig에 등록한 ModelMapper 주입
-    private final ModelMapper modelMapper;
+    // 조회는 메모리 스냅샷에서 (DB 조회/매핑 없음)
+    private final StickerCatalog stickerCatalog;
+    // 바뀐 카테고리의 스프라이트 아틀라스 (카탈로그 갱신 뒤에 다시 그림)
+    private final StickerAtlasService stickerAtlasService;
+    // 인기 순위는 사용 집계기가 메모리에 들고 있음 (post_decorations GROUP BY 없음)
+    private final StickerUsageCounter stickerUsageCounter;
+    private final RecentStickerService recentStickerService;
 
     /**
      * 스티커 등록
@@ -45,8 +51,11 @@ public class StickerServiceImpl implements StickerService {
                 .stickerImageUrl(requestDTO.getStickerImageUrl())
                 .build();
 
-        // 3. 저장
-        return stickerRepository.save(sticker).getStickerId();
+        // 3. 저장 → 커밋 후 카탈로그 스냅샷 갱신 → 카테고리 아틀라스 갱신
+        Integer stickerId = stickerRepository.save(sticker).getStickerId();
+        stickerCatalog.rebuildAfterCommit();
+        stickerAtlasService.rebuildAfterCommit(category.getStickerCategoryId());
+        return stickerId;
     }
 
     /**
@@ -54,9 +63,7 @@ public class StickerServiceImpl implements StickerService {
      */
     @Override
     public List<StickerResponseDTO> getAllStickers() {
-        return stickerRepository.findAll().stream()
-                .map(entity -> modelMapper.map(entity, StickerResponseDTO.class))
-                .collect(Collectors.toList());
+        return stickerCatalog.snapshot().stickers();
     }
 
     /**
@@ -64,14 +71,35 @@ public class StickerServiceImpl implements StickerService {
      */
     @Override
     public List<StickerResponseDTO> getStickersByCategoryId(Integer categoryId) {
-        // 1. Repository에서 조회 (EntityGraph 덕분에 카테고리 정보도 이미 있음)
-        List<StickerEntity> stickers = stickerRepository.findByStickerCategory_StickerCategoryId(categoryId);
-
-        // 2. ModelMapper 변환
-        // LOOSE 전략 덕분에 sticker.stickerCategory.name -> dto.categoryName 자동 매핑
-        return stickers.stream()
-                .map(entity -> modelMapper.map(entity, StickerResponseDTO.class))
-                .collect(Collectors.toList());
+        // 카탈로그 스냅샷에 카테고리별로 미리 묶어둔 목록
+        return stickerCatalog.snapshot().stickersOf(categoryId);
+    }
+
+    /**
+     * 스티커 이름 검색
+     * (입력할 때마다 불리므로 DB LIKE 대신 카탈로그 스냅샷의 메모리 색인에서 찾음)
+     */
+    @Override
+    public List<StickerResponseDTO> searchStickers(String query, int limit) {
+        if (query == null || query.isBlank()) return List.of();
+        String q = query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query; // 스티커 이름보다 긴 입력은 의미 없음
+        return stickerCatalog.snapshot().search().search(q, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS));
+    }
+
+    /**
+     * 인기 스티커 조회
+     */
+    @Override
+    public List<StickerResponseDTO> getPopularStickers(int limit) {
+        return stickerUsageCounter.popular(Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS));
+    }
+
+    /**
+     * 최근 쓴 스티커 조회 (메모리에서, 없으면 한 번만 DB)
+     */
+    @Override
+    public List<StickerResponseDTO> getRecentStickers(Integer userId) {
+        return recentStickerService.recent(userId);
     }
 
     /**
@@ -80,9 +108,13 @@ public class StickerServiceImpl implements StickerService {
     @Override
     @Transactional
     public void deleteSticker(Integer stickerId) {
-        if (!stickerRepository.existsById(stickerId)) {
-            throw new IllegalArgumentException("삭제할 스티커가 없습니다. ID=" + stickerId);
-        }
-        stickerRepository.deleteById(stickerId);
+        // 어느 카테고리의 아틀라스를 다시 그릴지 알아야 하므로 엔티티를 먼저 조회
+        StickerEntity sticker = stickerRepository.findById(stickerId)
+                .orElseThrow(() -> new IllegalArgumentException("삭제할 스티커가 없습니다. ID=" + stickerId));
+        Integer categoryId = sticker.getStickerCategory().getStickerCategoryId();
+
+        stickerRepository.delete(sticker);
+        stickerCatalog.rebuildAfterCommit();
+        stickerAtlasService.rebuildAfterCommit(categoryId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.example.nasda.service.sticker;
+
+import com.example.nasda.domain.StickerUsageEntity;
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+import com.example.nasda.repository.sticker.StickerUsageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 스티커 사용 횟수 집계 + 인기 스티커 순위.
+ *
+ * 장식이 붙을 때마다 DB 를 쓰지 않고 스티커별 LongAdder(스레드별로 칸이 나뉜 카운터)만 올립니다.
+ * 주기적으로 지난 반영 이후 늘어난 만큼을 sticker_usage_stats 에 감쇠 점수로 더하고,
+ * 그 테이블(스티커당 한 행)에서 상위 K 개를 다시 골라 메모리에 둡니다. 인기 탭은 이 목록만 읽습니다.
+ *
+ * 점수는 반감기마다 절반이 되므로 최근에 많이 쓰인 스티커가 위로 올라옵니다.
+ * 여러 서버가 같은 행에 더하므로 반영은 스티커별 원자적 upsert(INSERT ... ON DUPLICATE KEY UPDATE)로 합니다.
+ * 반영 전 카운트는 이 서버 메모리에만 있어서 비정상 종료 시 마지막 반영 이후 사용분은 잃을 수 있습니다.
+ */
+@Log4j2
+@Component
+public class StickerUsageCounter {
+
+    private final StickerUsageRepository stickerUsageRepository;
+    private final StickerCatalog stickerCatalog;
+    private final TransactionTemplate transactionTemplate;
+    private final double halfLifeMillis;
+    private final int topK;
+
+    // 스티커 ID → 누적 카운터 (스티커 수만큼만 생기고, 지우지 않고 계속 씀)
+    private final Map<Integer, Counter> counters = new ConcurrentHashMap<>();
+
+    private volatile Ranking ranking = new Ranking(List.of(), null, List.of());
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+
+    private static final class Counter {
+        final LongAdder count = new LongAdder();
+        long flushed; // 테이블에 반영한 누적 값 (flush 에서만 읽고 씀)
+    }
+
+    // 순위는 ID 로 들고, 화면용 DTO 는 카탈로그 버전이 바뀔 때만 다시 찾음
+    private record Ranking(List<Integer> stickerIds, String catalogVersion, List<StickerResponseDTO> stickers) { }
+
+    public StickerUsageCounter(
+            StickerUsageRepository stickerUsageRepository,
+            StickerCatalog stickerCatalog,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.sticker.usage.half-life-hours:72}") double halfLifeHours,
+            @Value("${app.sticker.usage.top-k:50}") int topK
+    ) {
+        this.stickerUsageRepository = stickerUsageRepository;
+        this.stickerCatalog = stickerCatalog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.halfLifeMillis = halfLifeHours * 3_600_000d;
+        this.topK = topK;
+    }
+
+    // ✅ 장식 저장이 커밋된 뒤에만 셈 (롤백되면 그대로)
+    public void recordAfterCommit(Collection<Integer> stickerIds) {
+        if (stickerIds.isEmpty()) return;
+        List<Integer> ids = List.copyOf(stickerIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(ids);
+            }
+        });
+    }
+
+    public void record(Collection<Integer> stickerIds) {
+        for (Integer id : stickerIds) {
+            counters.computeIfAbsent(id, k -> new Counter()).count.increment();
+        }
+        recorded.add(stickerIds.size());
+    }
+
+    /**
+     * 인기 스티커 (점수 높은 순, 지워진 스티커 제외)
+     */
+    public List<StickerResponseDTO> popular(int limit) {
+        Ranking r = ranking;
+        StickerCatalog.Snapshot catalog = stickerCatalog.snapshot();
+        if (!catalog.version().equals(r.catalogVersion())) {
+            r = resolve(r.stickerIds(), catalog);
+            ranking = r;
+        }
+        return r.stickers().size() <= limit ? r.stickers() : r.stickers().subList(0, limit);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sticker.usage.flush-interval-ms:30000}")
+    public synchronized void flush() {
+        long now = System.currentTimeMillis();
+
+        // 지난 반영 이후 늘어난 만큼 (카운터는 리셋하지 않으므로 반영 중 들어온 증가도 잃지 않음)
+        Map<Integer, Long> deltas = new HashMap<>();
+        Map<Integer, Long> totals = new HashMap<>();
+        counters.forEach((id, c) -> {
+            long total = c.count.sum();
+            if (total > c.flushed) {
+                deltas.put(id, total - c.flushed);
+                totals.put(id, total);
+            }
+        });
+
+        try {
+            List<StickerUsageEntity> rows = transactionTemplate.execute(status -> {
+                // 서버끼리 행 락 순서가 엇갈려 교착되지 않도록 ID 순서로
+                deltas.keySet().stream().sorted().forEach(id ->
+                        stickerUsageRepository.addUsage(id, deltas.get(id), now, halfLifeMillis));
+                // 다른 서버가 더한 점수까지 포함해 순위를 다시 고름 (스티커당 한 행이라 작음)
+                return stickerUsageRepository.findAll();
+            });
+
+            totals.forEach((id, total) -> counters.get(id).flushed = total);
+            flushes.increment();
+
+            List<Integer> top = rows.stream()
+                    .sorted(Comparator.comparingDouble((StickerUsageEntity e) -> decay(e.getScore(), e.getScoredAt(), now))
+                            .reversed()
+                            .thenComparing(StickerUsageEntity::getStickerId))
+                    .limit(topK)
+                    .map(StickerUsageEntity::getStickerId)
+                    .toList();
+            ranking = resolve(top, stickerCatalog.snapshot());
+            if (!deltas.isEmpty()) log.debug("스티커 사용 반영: {}종, 상위 {}", deltas.size(), top.size());
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            log.error("스티커 사용 집계 반영 실패: {}종, 다음 주기에 다시 시도", deltas.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private double decay(double score, long from, long to) {
+        return score * Math.pow(0.5, Math.max(0, to - from) / halfLifeMillis);
+    }
+
+    private static Ranking resolve(List<Integer> stickerIds, StickerCatalog.Snapshot catalog) {
+        Map<Integer, StickerResponseDTO> byId = new HashMap<>();
+        catalog.stickers().forEach(s -> byId.put(s.getStickerId(), s));
+        List<StickerResponseDTO> stickers = stickerIds.stream().map(byId::get).filter(s -> s != null).toList();
+        return new Ranking(stickerIds, catalog.version(), stickers);
+    }
+
+    public Stats stats() {
+        long pending = 0;
+        for (Counter c : counters.values()) pending += c.count.sum() - c.flushed;
+        return new Stats(counters.size(), recorded.sum(), pending, flushes.sum(), failedFlushes.sum(), ranking.stickerIds().size());
+    }
+
+    public record Stats(
+            int trackedStickers,
+            long recorded,       // 커밋된 스티커 사용 수
+            long pending,        // 아직 테이블에 반영하지 않은 사용 수
+            long flushes,
+            long failedFlushes,
+            int ranked           // 메모리에 들고 있는 인기 순위 길이
+    ) { }
+}
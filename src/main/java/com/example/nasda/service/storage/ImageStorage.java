@@ -0,0 +1,49 @@
+package com.example.nasda.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 이미지 저장소 SPI.
+ * 키(key)는 업로드 파일명(UUID + 확장자)이고, 화면에서는 /uploads/{key} 로 접근합니다.
+ *
+ * 구현체: 로컬 파일시스템(LocalImageStorage), S3 호환 오브젝트 스토리지(S3ImageStorage)
+ */
+public interface ImageStorage {
+
+    // 설정(app.storage.backends)에서 쓰는 이름 (local, s3 ...)
+    String name();
+
+    void put(String key, InputStream in, long size, String contentType) throws IOException;
+
+    /**
+     * 파일로 가진 경우 (구현체가 링크/파일 전송 등으로 최적화할 수 있음).
+     * 모든 구현체가 원본 파일을 그대로 둡니다. 원본을 지우는 것은 호출한 쪽 책임입니다.
+     */
+    default void put(String key, Path source, String contentType) throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            put(key, in, Files.size(source), contentType);
+        }
+    }
+
+    /**
+     * @return 없으면 null. 받은 쪽이 반드시 close 해야 합니다.
+     */
+    StoredImage get(String key) throws IOException;
+
+    // 본문을 읽지 않고 있는지만 확인 (캐시 재검증용)
+    default boolean exists(String key) throws IOException {
+        try (StoredImage image = get(key)) {
+            return image != null;
+        }
+    }
+
+    void delete(String key) throws IOException;
+
+    // 로컬 디스크에 있는 파일 경로 (로컬 저장소가 아니면 null)
+    default Path localPath(String key) {
+        return null;
+    }
+}
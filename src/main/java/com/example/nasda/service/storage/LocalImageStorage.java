@@ -0,0 +1,99 @@
+package com.example.nasda.service.storage;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 로컬 파일시스템 저장소 (app.upload.dir)
+ */
+public class LocalImageStorage implements ImageStorage {
+
+    private final Path dir;
+
+    public LocalImageStorage(String uploadDir) {
+        this.dir = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public void put(String key, InputStream in, long size, String contentType) throws IOException {
+        Path target = resolveOrThrow(key);
+        Files.createDirectories(dir);
+
+        // 쓰는 도중의 파일이 읽히지 않도록 임시 파일에 쓴 뒤 이름 변경
+        Path tmp = dir.resolve(key + ".tmp");
+        Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 같은 디스크면 복사 없이 하드 링크만 만듦 (원본 파일은 그대로 둠, 다른 디스크거나 링크를 못 만들면 복사)
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = resolveOrThrow(key);
+        Files.createDirectories(dir);
+
+        // 복사 중인 파일이 읽히지 않도록 임시 이름을 거쳐 원자적으로 교체
+        Path tmp = dir.resolve(key + ".tmp");
+        Files.deleteIfExists(tmp);
+        try {
+            Files.createLink(tmp, source);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(source, tmp, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public StoredImage get(String key) throws IOException {
+        Path file = localPath(key);
+        if (file == null) return null;
+
+        try {
+            long size = Files.size(file);
+            String contentType = MediaTypeFactory.getMediaType(key)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+            return new StoredImage(Files.newInputStream(file), size, contentType);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        Path file = localPath(key);
+        return file != null && Files.isRegularFile(file);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Path file = localPath(key);
+        if (file != null) Files.deleteIfExists(file);
+    }
+
+    // 디렉터리 밖으로 나가는 키(../)는 null
+    @Override
+    public Path localPath(String key) {
+        if (key == null || key.isBlank()) return null;
+
+        Path target = dir.resolve(key).normalize();
+        return target.startsWith(dir) && !target.equals(dir) ? target : null;
+    }
+
+    private Path resolveOrThrow(String key) {
+        Path target = localPath(key);
+        if (target == null) throw new IllegalArgumentException("잘못된 파일 이름입니다: " + key);
+        return target;
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.nasda.service.storage;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 작은 이미지를 큰 세그먼트 파일 몇 개에 모아 저장하는 팩 파일 저장소.
+ * 수백만 개의 작은 파일 때문에 생기는 inode / 디렉터리 탐색 / seek 부담을 줄이기 위함입니다.
+ *
+ * - 쓰기: 현재(active) 세그먼트 끝에 이어 쓰기만 함. 가득 차면 footer 를 붙여 봉인하고 새 세그먼트 시작
+ * - 인덱스: 키 → (세그먼트, 위치, 길이) 를 메모리에 보관. 시작 시 세그먼트 footer 로 다시 만듦
+ * - 읽기: 세그먼트를 메모리 매핑해서 해당 구간을 그대로 내려줌
+ * - 삭제: 삭제 표시(tombstone)를 이어 씀. 죽은 바이트가 많은 세그먼트는 백그라운드 압축(compaction)으로 회수
+ *
+ * max-entry-bytes 보다 큰 이미지는 overflow 저장소(보통 로컬 디렉터리)에 그대로 둡니다.
+ * 쓰기마다 fsync 하지 않으며, 비정상 종료 시 봉인 전 세그먼트의 깨진 꼬리는 시작할 때 잘라냅니다.
+ */
+@Log4j2
+public class PackImageStorage implements ImageStorage, AutoCloseable {
+
+    private static final String SUFFIX = ".pack";
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final int maxEntryBytes;
+    private final double compactionThreshold;
+    private final ImageStorage overflow;
+
+    private final NavigableMap<Long, PackSegment> segments = new ConcurrentSkipListMap<>();
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private PackSegment active; // writeLock 으로 보호
+
+    private final ScheduledExecutorService compactor;
+    private final LongAdder compactions = new LongAdder();
+    private final LongAdder reclaimedBytes = new LongAdder();
+
+    record Location(PackSegment segment, long offset, int length) { }
+
+    public PackImageStorage(String dir, long segmentBytes, int maxEntryBytes, double compactionThreshold,
+                            long compactionIntervalMillis, ImageStorage overflow) throws IOException {
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.segmentBytes = segmentBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.compactionThreshold = compactionThreshold;
+        this.overflow = overflow;
+
+        Files.createDirectories(this.dir);
+        load();
+
+        this.compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pack-compaction");
+            t.setDaemon(true);
+            return t;
+        });
+        if (compactionIntervalMillis > 0) {
+            compactor.scheduleWithFixedDelay(this::compactQuietly,
+                    compactionIntervalMillis, compactionIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "pack";
+    }
+
+    @Override
+    public void put(String key, InputStream in, long size, String contentType) throws IOException {
+        if (size < 0 || size > maxEntryBytes) {
+            overflow.put(key, in, size, contentType);
+            return;
+        }
+        byte[] data = in.readAllBytes();
+        if (data.length > maxEntryBytes) {
+            overflow.put(key, new ByteArrayInputStream(data), data.length, contentType);
+            return;
+        }
+        append(PackSegment.PUT, key, data);
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        if (Files.size(source) > maxEntryBytes) {
+            overflow.put(key, source, contentType);
+            return;
+        }
+        append(PackSegment.PUT, key, Files.readAllBytes(source));
+    }
+
+    @Override
+    public StoredImage get(String key) throws IOException {
+        Location loc = index.get(key);
+        if (loc == null) return overflow.get(key);
+
+        ByteBuffer data = loc.segment.read(loc.offset, loc.length);
+        String contentType = MediaTypeFactory.getMediaType(key)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        return new StoredImage(new ByteBufferInputStream(data), loc.length, contentType);
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        return index.containsKey(key) || overflow.exists(key);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        if (index.containsKey(key)) {
+            append(PackSegment.DELETE, key, new byte[0]);
+        }
+        overflow.delete(key);
+    }
+
+    @Override
+    public Path localPath(String key) {
+        // 팩에 든 이미지는 개별 파일 경로가 없음 → /uploads 는 get() 으로 서빙
+        return index.containsKey(key) ? null : overflow.localPath(key);
+    }
+
+    private void append(byte flags, String key, byte[] data) throws IOException {
+        writeLock.lock();
+        try {
+            if (active.size() + PackSegment.recordSize(key, data.length) > segmentBytes && active.size() > 0) {
+                rollSegment();
+            }
+            long offset = active.append(flags, key, data);
+            apply(active, flags, key, offset, data.length);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 인덱스 반영 + 세그먼트별 살아있는 바이트 집계
+    private void apply(PackSegment segment, byte flags, String key, long offset, int length) {
+        Location previous = flags == PackSegment.PUT
+                ? index.put(key, new Location(segment, offset, length))
+                : index.remove(key);
+        if (previous != null) {
+            previous.segment.liveBytes.addAndGet(-PackSegment.recordSize(key, previous.length));
+        }
+        if (flags == PackSegment.PUT) {
+            segment.liveBytes.addAndGet(PackSegment.recordSize(key, length));
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        active.seal();
+        long next = segments.lastKey() + 1;
+        active = PackSegment.create(next, segmentPath(next));
+        segments.put(next, active);
+    }
+
+    // 세그먼트 번호 순서대로 footer(봉인 전이면 레코드)를 읽어 인덱스를 다시 만듦
+    private void load() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long id = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+            PackSegment segment = PackSegment.open(id, file);
+            segments.put(id, segment);
+            for (PackSegment.Entry e : segment.entries()) {
+                apply(segment, e.flags(), e.key(), e.dataOffset(), e.dataLen());
+            }
+        }
+
+        PackSegment last = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        if (last == null || last.isSealed()) {
+            long next = last == null ? 1 : last.id + 1;
+            last = PackSegment.create(next, segmentPath(next));
+            segments.put(next, last);
+        }
+        active = last;
+
+        log.info("📦 [팩 저장소] {} 세그먼트, {} 이미지 로드 ({})", segments.size(), index.size(), dir);
+    }
+
+    /**
+     * 죽은 바이트 비율이 threshold 이상인 봉인 세그먼트의 살아있는 엔트리를 active 로 옮기고 파일을 지웁니다.
+     * 삭제 표시(tombstone)는 더 오래된 세그먼트가 남아 있으면 옛 데이터가 되살아나지 않도록 같이 옮깁니다.
+     */
+    public void compact() throws IOException {
+        for (PackSegment segment : new ArrayList<>(segments.values())) {
+            if (!segment.isSealed()) continue;
+
+            long total = Math.max(1, segment.totalBytes.get());
+            double dead = 1.0 - (double) segment.liveBytes.get() / total;
+            if (dead < compactionThreshold) continue;
+
+            boolean oldest = segments.firstKey() == segment.id;
+            for (PackSegment.Entry e : segment.entries()) {
+                // 엔트리 단위로 락을 잡아 업로드가 오래 막히지 않게 함 (확인 ~ 이어쓰기는 원자적으로)
+                writeLock.lock();
+                try {
+                    if (e.flags() == PackSegment.DELETE) {
+                        if (!oldest && !index.containsKey(e.key())) append(PackSegment.DELETE, e.key(), new byte[0]);
+                        continue;
+                    }
+                    Location loc = index.get(e.key());
+                    if (loc == null || loc.segment != segment || loc.offset != e.dataOffset()) continue;
+
+                    ByteBuffer data = segment.read(e.dataOffset(), e.dataLen());
+                    byte[] bytes = new byte[data.remaining()];
+                    data.get(bytes);
+                    append(PackSegment.PUT, e.key(), bytes);
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+            // 옮긴 사본이 디스크에 내려간 뒤에만 원본 파일을 지움 (도중에 꽉 찬 세그먼트는 seal 에서 이미 force)
+            writeLock.lock();
+            try {
+                active.force();
+            } finally {
+                writeLock.unlock();
+            }
+            segments.remove(segment.id);
+
+            // 봉인된 세그먼트는 전체가 매핑되어 있어서 진행 중인 읽기는 채널을 닫아도 문제 없음
+            // (Windows 는 매핑 때문에 삭제 실패 가능 → 다음 시작 시 덮어쓴 데이터로 취급)
+            segment.close();
+            try {
+                Files.deleteIfExists(segment.file);
+            } catch (IOException e) {
+                log.warn("압축된 세그먼트 삭제 실패: {}", segment.file, e);
+            }
+            compactions.increment();
+            reclaimedBytes.add(total - segment.liveBytes.get());
+            log.info("🧹 [팩 압축] 세그먼트 {} 회수 (죽은 비율 {}%)", segment.id, Math.round(dead * 100));
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (Exception e) {
+            log.error("팩 압축 실패", e);
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return dir.resolve(String.format("%012d%s", id, SUFFIX));
+    }
+
+    public Stats stats() {
+        long live = 0;
+        long total = 0;
+        for (PackSegment s : segments.values()) {
+            live += s.liveBytes.get();
+            total += s.totalBytes.get();
+        }
+        return new Stats(segments.size(), index.size(), live, total - live, compactions.sum(), reclaimedBytes.sum());
+    }
+
+    public record Stats(
+            int segments,
+            int entries,
+            long liveBytes,
+            long deadBytes,
+            long compactions,
+            long reclaimedBytes
+    ) { }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdownNow();
+        writeLock.lock();
+        try {
+            for (PackSegment segment : segments.values()) segment.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 매핑된 버퍼를 복사 없이 스트림으로 노출
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buf;
+
+        private ByteBufferInputStream(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public int read() {
+            return buf.hasRemaining() ? buf.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buf.hasRemaining()) return -1;
+            int n = Math.min(len, buf.remaining());
+            buf.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buf.remaining();
+        }
+    }
+}
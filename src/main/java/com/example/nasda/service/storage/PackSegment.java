@@ -0,0 +1,250 @@
+package com.example.nasda.service.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * 팩 파일 세그먼트 하나 (append-only).
+ *
+ * 레코드: [MAGIC int][flags byte][keyLen short][dataLen int][key][data][crc32 int]
+ * 봉인(seal) 시 끝에 footer 를 붙입니다.
+ * footer : 엔트리 목록 [flags byte][keyLen short][key][dataOffset long][dataLen int] ...
+ * trailer: [footerStart long][count int][FOOTER_MAGIC long]
+ *
+ * 봉인된 세그먼트는 footer 만 읽어서 인덱스를 만들고, 봉인 전 세그먼트는 레코드를 처음부터 훑습니다.
+ */
+final class PackSegment {
+
+    static final int RECORD_MAGIC = 0x4E504B31;            // "NPK1"
+    static final long FOOTER_MAGIC = 0x4E41534441504B31L;  // "NASDAPK1"
+    static final byte PUT = 0;
+    static final byte DELETE = 1;
+
+    private static final int HEADER = 4 + 1 + 2 + 4;
+    private static final int TRAILER = 8 + 4 + 8;
+
+    final long id;
+    final Path file;
+    private final FileChannel channel;
+    private long size;                 // 쓰기 위치 (쓰기 락으로 보호)
+    private volatile boolean sealed;
+    private volatile MappedByteBuffer mapped;
+
+    // 봉인 시 footer 로 쓸 엔트리 (쓰기 락으로 보호)
+    private final List<Entry> entries = new ArrayList<>();
+
+    final AtomicLong liveBytes = new AtomicLong();
+    final AtomicLong totalBytes = new AtomicLong();
+
+    record Entry(byte flags, String key, long dataOffset, int dataLen) { }
+
+    private PackSegment(long id, Path file, FileChannel channel) {
+        this.id = id;
+        this.file = file;
+        this.channel = channel;
+    }
+
+    static PackSegment create(long id, Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new PackSegment(id, file, ch);
+    }
+
+    /**
+     * 기존 세그먼트를 열고 엔트리를 읽습니다. 봉인 전 세그먼트의 깨진 꼬리(쓰다 만 레코드)는 잘라냅니다.
+     */
+    static PackSegment open(long id, Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        PackSegment segment = new PackSegment(id, file, ch);
+        if (!segment.readFooter()) segment.scan();
+        return segment;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    long size() {
+        return size;
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * @return data 시작 위치
+     */
+    long append(byte flags, String key, byte[] data) throws IOException {
+        if (sealed) throw new IllegalStateException("봉인된 세그먼트입니다: " + file);
+
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buf = ByteBuffer.allocate(HEADER + keyBytes.length + data.length + 4);
+        buf.putInt(RECORD_MAGIC).put(flags).putShort((short) keyBytes.length).putInt(data.length)
+                .put(keyBytes).put(data);
+
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, buf.position());
+        buf.putInt((int) crc.getValue());
+        buf.flip();
+
+        long start = size;
+        writeFully(buf, start);
+        size += buf.limit();
+
+        long dataOffset = start + HEADER + keyBytes.length;
+        entries.add(new Entry(flags, key, dataOffset, data.length));
+        totalBytes.addAndGet(buf.limit());
+        return dataOffset;
+    }
+
+    // 지금까지 이어쓴 레코드를 디스크에 내림 (봉인하지 않고)
+    void force() throws IOException {
+        if (!sealed) channel.force(true);
+    }
+
+    void seal() throws IOException {
+        if (sealed) return;
+
+        int footerSize = TRAILER;
+        for (Entry e : entries) footerSize += 1 + 2 + e.key.getBytes(StandardCharsets.UTF_8).length + 8 + 4;
+
+        ByteBuffer buf = ByteBuffer.allocate(footerSize);
+        for (Entry e : entries) {
+            byte[] keyBytes = e.key.getBytes(StandardCharsets.UTF_8);
+            buf.put(e.flags).putShort((short) keyBytes.length).put(keyBytes)
+                    .putLong(e.dataOffset).putInt(e.dataLen);
+        }
+        buf.putLong(size).putInt(entries.size()).putLong(FOOTER_MAGIC);
+        buf.flip();
+
+        writeFully(buf, size);
+        size += footerSize;
+        channel.force(true);
+        mapped = mapAll(); // 봉인 후에는 크기가 바뀌지 않으므로 전체를 한 번 매핑해 두고 다시 매핑하지 않음
+        sealed = true;
+    }
+
+    /**
+     * data 영역을 메모리 매핑으로 읽습니다. (반환 버퍼는 읽기 전용 slice)
+     */
+    ByteBuffer read(long dataOffset, int dataLen) throws IOException {
+        MappedByteBuffer m = mapped;
+        if (m == null || dataOffset + dataLen > m.capacity()) {
+            m = remap(dataOffset + dataLen);
+        }
+        return m.slice((int) dataOffset, dataLen).asReadOnlyBuffer();
+    }
+
+    // 봉인 전 세그먼트만 여기로 옴 (봉인된 세그먼트는 seal/open 에서 전체를 매핑해 둠)
+    private synchronized MappedByteBuffer remap(long required) throws IOException {
+        MappedByteBuffer m = mapped;
+        if (m != null && required <= m.capacity()) return m;
+
+        long length = channel.size();
+        if (required > length) throw new IOException("세그먼트 범위를 벗어났습니다: " + file);
+        m = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        mapped = m;
+        return m;
+    }
+
+    private MappedByteBuffer mapAll() throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    // 매핑된 버퍼는 채널을 닫은 뒤에도 읽을 수 있음.
+    // 압축은 봉인된 세그먼트만 닫고, 봉인된 세그먼트는 항상 전체가 매핑되어 있어서 압축 전에 위치를 찾은 읽기도 안전함
+    void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean readFooter() throws IOException {
+        long length = channel.size();
+        if (length < TRAILER) return false;
+
+        ByteBuffer trailer = ByteBuffer.allocate(TRAILER);
+        readFully(trailer, length - TRAILER);
+        trailer.flip();
+        long footerStart = trailer.getLong();
+        int count = trailer.getInt();
+        if (trailer.getLong() != FOOTER_MAGIC || footerStart < 0 || footerStart > length - TRAILER) return false;
+
+        ByteBuffer footer = ByteBuffer.allocate((int) (length - TRAILER - footerStart));
+        readFully(footer, footerStart);
+        footer.flip();
+        for (int i = 0; i < count; i++) {
+            byte flags = footer.get();
+            byte[] keyBytes = new byte[footer.getShort()];
+            footer.get(keyBytes);
+            Entry e = new Entry(flags, new String(keyBytes, StandardCharsets.UTF_8), footer.getLong(), footer.getInt());
+            entries.add(e);
+        }
+
+        size = length;
+        mapped = mapAll();
+        sealed = true;
+        totalBytes.set(footerStart);
+        return true;
+    }
+
+    private void scan() throws IOException {
+        long length = channel.size();
+        long pos = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+
+        while (pos + HEADER <= length) {
+            header.clear();
+            readFully(header, pos);
+            header.flip();
+            if (header.getInt() != RECORD_MAGIC) break;
+            byte flags = header.get();
+            int keyLen = header.getShort();
+            int dataLen = header.getInt();
+
+            long recordLen = HEADER + keyLen + (long) dataLen + 4;
+            if (keyLen < 0 || dataLen < 0 || pos + recordLen > length) break;
+
+            ByteBuffer record = ByteBuffer.allocate((int) recordLen);
+            readFully(record, pos);
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), 0, (int) recordLen - 4);
+            if ((int) crc.getValue() != record.getInt((int) recordLen - 4)) break;
+
+            String key = new String(record.array(), HEADER, keyLen, StandardCharsets.UTF_8);
+            entries.add(new Entry(flags, key, pos + HEADER + keyLen, dataLen));
+            pos += recordLen;
+        }
+
+        // 쓰다 만 꼬리 제거
+        if (pos < length) channel.truncate(pos);
+        size = pos;
+        totalBytes.set(pos);
+    }
+
+    private void writeFully(ByteBuffer buf, long position) throws IOException {
+        long pos = position;
+        while (buf.hasRemaining()) pos += channel.write(buf, pos);
+    }
+
+    private void readFully(ByteBuffer buf, long position) throws IOException {
+        long pos = position;
+        while (buf.hasRemaining()) {
+            int n = channel.read(buf, pos);
+            if (n < 0) throw new IOException("예상보다 짧은 세그먼트: " + file);
+            pos += n;
+        }
+    }
+
+    static long recordSize(String key, int dataLen) {
+        return HEADER + key.getBytes(StandardCharsets.UTF_8).length + (long) dataLen + 4;
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.nasda.service.storage;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 여러 저장소를 묶는 라우터.
+ *
+ * - 쓰기/삭제: primary 에는 동기로, 나머지(replica)에는 비동기로 복제 (실패 시 지수 백오프로 재시도)
+ * - 읽기: backends 순서대로 조회하고, 뒤쪽 저장소에서 찾으면 앞쪽 저장소들을 비동기로 채움(read-through)
+ *
+ * 예) backends=local,s3 / primary=s3 → 원본은 S3, 각 노드의 로컬 디스크는 읽기 캐시 역할
+ *
+ * 읽기 순서에서 primary 보다 앞에 있는 저장소는 primary 의 캐시로 취급합니다.
+ * 삭제는 이 노드의 primary/replica 에만 전달되고 다른 노드가 채워 둔 캐시에는 닿지 않으므로,
+ * 캐시에서 찾은 키는 revalidate-ms 마다 primary 에 아직 있는지 확인하고 없으면 캐시 사본을 지웁니다.
+ * (다른 노드에서 삭제한 이미지는 최대 revalidate-ms 동안 보일 수 있음)
+ */
+@Log4j2
+public class ReplicatingImageStorage implements ImageStorage, AutoCloseable {
+
+    private final ImageStorage primary;
+    private final List<ImageStorage> backends;   // 읽기 순서
+    private final List<ImageStorage> replicas;   // primary 를 뺀 나머지
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retryScheduler;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder replicated = new LongAdder();
+    private final LongAdder replicationFailures = new LongAdder();
+    private final LongAdder readFallbacks = new LongAdder();
+    private final LongAdder backfilled = new LongAdder();
+    private final LongAdder staleEvictions = new LongAdder();
+
+    // 캐시 저장소(primary 앞쪽) 키별 마지막 확인 시각
+    private final int primaryIndex;
+    private final long revalidateMillis;
+    private final Map<String, Long> validatedAt;
+
+    public ReplicatingImageStorage(ImageStorage primary, List<ImageStorage> backends,
+                                   int threads, int queueCapacity, int maxAttempts, long retryBackoffMillis) {
+        this(primary, backends, threads, queueCapacity, maxAttempts, retryBackoffMillis, 60_000, 100_000);
+    }
+
+    public ReplicatingImageStorage(ImageStorage primary, List<ImageStorage> backends,
+                                   int threads, int queueCapacity, int maxAttempts, long retryBackoffMillis,
+                                   long revalidateMillis, int maxValidatedKeys) {
+        if (!backends.contains(primary)) {
+            throw new IllegalArgumentException("primary 저장소가 backends 에 없습니다: " + primary.name());
+        }
+        this.primary = primary;
+        this.backends = List.copyOf(backends);
+        this.replicas = backends.stream().filter(b -> b != primary).toList();
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.primaryIndex = this.backends.indexOf(primary);
+        this.revalidateMillis = revalidateMillis;
+        this.validatedAt = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxValidatedKeys;
+            }
+        });
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "image-replication-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "image-replication-retry");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public String name() {
+        return primary.name();
+    }
+
+    @Override
+    public void put(String key, InputStream in, long size, String contentType) throws IOException {
+        primary.put(key, in, size, contentType);
+        replicateToAll(key, contentType);
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        primary.put(key, source, contentType);
+        replicateToAll(key, contentType);
+    }
+
+    @Override
+    public StoredImage get(String key) throws IOException {
+        for (int i = 0; i < backends.size(); i++) {
+            ImageStorage backend = backends.get(i);
+            StoredImage image;
+            try {
+                image = backend.get(key);
+            } catch (IOException | RuntimeException e) {
+                log.warn("이미지 조회 실패 [{}] {} → 다음 저장소로", backend.name(), key, e);
+                continue;
+            }
+            if (image == null) continue;
+
+            if (i < primaryIndex && !isStillInPrimary(backend, key)) {
+                image.close();
+                continue;
+            }
+
+            if (i > 0) {
+                readFallbacks.increment();
+                for (ImageStorage target : backends.subList(0, i)) {
+                    submit(new Task(Op.COPY, key, image.contentType(), backend, target, 1));
+                }
+            }
+            return image;
+        }
+        return null;
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        validatedAt.remove(key);
+        primary.delete(key);
+        for (ImageStorage replica : replicas) {
+            submit(new Task(Op.DELETE, key, null, null, replica, 1));
+        }
+    }
+
+    /**
+     * 캐시 저장소의 경로면 primary 에서 지워졌는지 확인하고, 지워졌으면 사본을 지운 뒤 (이제 없는) 경로를 그대로 돌려줍니다.
+     * → 호출한 쪽은 파일이 없는 것으로 보고 HotImageCache 항목도 버림
+     */
+    @Override
+    public Path localPath(String key) {
+        for (int i = 0; i < backends.size(); i++) {
+            ImageStorage backend = backends.get(i);
+            Path path = backend.localPath(key);
+            if (path == null) continue;
+            if (i < primaryIndex && Files.exists(path)) isStillInPrimary(backend, key);
+            return path;
+        }
+        return null;
+    }
+
+    // 마지막 확인 후 revalidate-ms 가 지났으면 primary 에 다시 확인. primary 를 확인할 수 없으면 캐시를 믿음
+    private boolean isStillInPrimary(ImageStorage cache, String key) {
+        long now = System.currentTimeMillis();
+        Long last = validatedAt.get(key);
+        if (last != null && now - last < revalidateMillis) return true;
+
+        boolean exists;
+        try {
+            exists = primary.exists(key);
+        } catch (IOException | RuntimeException e) {
+            log.warn("캐시 재검증 실패 [{}] {} → 캐시 사본 사용", primary.name(), key, e);
+            return true;
+        }
+        if (exists) {
+            validatedAt.put(key, now);
+            return true;
+        }
+
+        validatedAt.remove(key);
+        staleEvictions.increment();
+        try {
+            cache.delete(key);
+        } catch (IOException | RuntimeException e) {
+            log.warn("삭제된 이미지의 캐시 사본 삭제 실패 [{}] {}", cache.name(), key, e);
+        }
+        return false;
+    }
+
+    private void replicateToAll(String key, String contentType) {
+        for (ImageStorage replica : replicas) {
+            submit(new Task(Op.COPY, key, contentType, primary, replica, 1));
+        }
+    }
+
+    private void submit(Task task) {
+        pending.incrementAndGet();
+        try {
+            executor.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            replicationFailures.increment();
+            log.warn("⚠️ [복제 큐 가득 참] {} {} → {}", task.op, task.key, task.target.name());
+        }
+    }
+
+    private void run(Task task) {
+        try {
+            if (task.op == Op.DELETE) {
+                task.target.delete(task.key);
+            } else {
+                copy(task);
+            }
+            pending.decrementAndGet();
+        } catch (Exception e) {
+            if (task.attempt >= maxAttempts || retryScheduler.isShutdown()) {
+                pending.decrementAndGet();
+                replicationFailures.increment();
+                log.error("❌ [복제 실패] {} {} → {} ({}회 시도)",
+                        task.op, task.key, task.target.name(), task.attempt, e);
+                return;
+            }
+
+            long delay = retryBackoffMillis << (task.attempt - 1);
+            log.warn("[복제 재시도 예정] {} {} → {} ({}ms 후)", task.op, task.key, task.target.name(), delay);
+            retryScheduler.schedule(() -> {
+                pending.decrementAndGet();
+                submit(task.next());
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void copy(Task task) throws IOException {
+        // 원본이 로컬 파일이면 파일 기반으로 전송 (S3 는 다시 읽을 수 있는 본문이 필요, put(Path) 는 원본을 건드리지 않음)
+        Path localSource = task.source.localPath(task.key);
+        if (localSource != null && Files.exists(localSource)) {
+            task.target.put(task.key, localSource, contentType(task));
+            countCopy(task);
+            return;
+        }
+
+        try (StoredImage image = task.source.get(task.key)) {
+            if (image == null) return; // 그 사이 삭제됨
+            task.target.put(task.key, image.stream(), image.size(), image.contentType());
+        }
+        countCopy(task);
+    }
+
+    // 저장할 때 받은 content type (없으면 키의 확장자로, LocalImageStorage 조회와 같은 방식)
+    private static String contentType(Task task) {
+        if (task.contentType != null) return task.contentType;
+        return MediaTypeFactory.getMediaType(task.key).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+
+    private void countCopy(Task task) {
+        if (task.source == primary) replicated.increment();
+        else backfilled.increment();
+    }
+
+    public <T extends ImageStorage> Optional<T> backend(Class<T> type) {
+        return backends.stream().filter(type::isInstance).map(type::cast).findFirst();
+    }
+
+    public Stats stats() {
+        return new Stats(
+                primary.name(),
+                backends.stream().map(ImageStorage::name).toList(),
+                pending.get(),
+                replicated.sum(),
+                backfilled.sum(),
+                replicationFailures.sum(),
+                readFallbacks.sum(),
+                staleEvictions.sum()
+        );
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        retryScheduler.shutdownNow();
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("복제 작업 {}건이 남은 채로 종료합니다.", pending.get());
+            executor.shutdownNow();
+        }
+
+        for (ImageStorage backend : backends) {
+            if (backend instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("저장소 종료 실패: {}", backend.name(), e);
+                }
+            }
+        }
+    }
+
+    public record Stats(
+            String primary,
+            List<String> backends,
+            int pendingReplications,
+            long replicated,
+            long backfilled,
+            long replicationFailures,
+            long readFallbacks,
+            long staleEvictions      // primary 에서 삭제되어 지운 캐시 사본
+    ) { }
+
+    private enum Op { COPY, DELETE }
+
+    private record Task(Op op, String key, String contentType, ImageStorage source, ImageStorage target, int attempt) {
+        private Task next() {
+            return new Task(op, key, contentType, source, target, attempt + 1);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.nasda.service.storage;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * S3 호환 오브젝트 스토리지 저장소 (AWS S3, MinIO 등)
+ */
+public class S3ImageStorage implements ImageStorage, AutoCloseable {
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String prefix;
+
+    public S3ImageStorage(S3Client s3, String bucket, String prefix) {
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.prefix = prefix == null ? "" : prefix;
+    }
+
+    @Override
+    public String name() {
+        return "s3";
+    }
+
+    /**
+     * 서명 시 본문을 두 번 읽어야 할 수 있어서(HTTP 엔드포인트의 payload 서명)
+     * 스트림은 임시 파일로 받은 뒤 파일 기반으로 전송합니다.
+     */
+    @Override
+    public void put(String key, InputStream in, long size, String contentType) throws IOException {
+        Path tmp = Files.createTempFile("nasda-s3-", ".upload");
+        try {
+            Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            put(key, tmp, contentType);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(prefix + key)
+                .contentType(contentType)
+                .build();
+        s3.putObject(request, RequestBody.fromFile(source));
+    }
+
+    @Override
+    public StoredImage get(String key) {
+        try {
+            ResponseInputStream<GetObjectResponse> in = s3.getObject(GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(prefix + key)
+                    .build());
+            GetObjectResponse response = in.response();
+            return new StoredImage(in, response.contentLength(), response.contentType());
+        } catch (NoSuchKeyException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(prefix + key)
+                    .build());
+            return true;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) return false; // HEAD 는 본문이 없어서 NoSuchKey 대신 404 로만 올 수 있음
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        s3.deleteObject(DeleteObjectRequest.builder()
+                .bucket(bucket)
+                .key(prefix + key)
+                .build());
+    }
+
+    @Override
+    public void close() {
+        s3.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.nasda.service.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+public record StoredImage(
+        InputStream stream,
+        long size,
+        String contentType
+) implements Closeable {
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+}
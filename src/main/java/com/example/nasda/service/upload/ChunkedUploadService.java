@@ -0,0 +1,348 @@
+package com.example.nasda.service.upload;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 이어받기 가능한 분할(chunk) 업로드.
+ *
+ * 1. 세션 생성 → uploadId, chunkSize 발급
+ * 2. 각 조각을 고정 크기 단위로 전송 → 임시 파일의 (index * chunkSize) 위치에 positional write
+ * 3. 연결이 끊기면 상태 조회로 받은 조각/이어받을 위치(offset)를 확인하고 나머지만 재전송
+ * 4. 모든 조각이 모이면 complete → 게시글 등록 시 PostImageService 가 claim 해서 저장하고,
+ *    커밋되면 release(세션 종료), 롤백되면 unclaim(다시 시도 가능)
+ *
+ * 오래 방치된 세션은 주기적으로 정리(임시 파일 삭제)됩니다.
+ * 한 사용자가 임시 디렉터리를 채우지 못하도록 사용자별 열린 세션 수 / 예약 바이트(세션 totalSize 합)에 한도가 있습니다.
+ */
+@Log4j2
+@Service
+public class ChunkedUploadService {
+
+    private final Path chunkDir;
+    private final int chunkSize;
+    private final long maxFileBytes;
+    private final Duration sessionTtl;
+    private final int maxSessionsPerUser;
+    private final long maxReservedBytesPerUser;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final Object createLock = new Object(); // 한도 확인과 세션 등록을 한 번에
+
+    public ChunkedUploadService(
+            // /uploads 로 서빙되지 않도록 업로드 디렉터리 옆(같은 디스크)에 둡니다.
+            @Value("${app.upload.chunked.dir:${app.upload.dir}-chunks}") String chunkDir,
+            @Value("${app.upload.chunked.chunk-size:1048576}") int chunkSize,
+            @Value("${app.upload.chunked.max-file-bytes:52428800}") long maxFileBytes,
+            @Value("${app.upload.chunked.session-ttl-minutes:360}") long sessionTtlMinutes,
+            @Value("${app.upload.chunked.max-sessions-per-user:10}") int maxSessionsPerUser,
+            @Value("${app.upload.chunked.max-reserved-bytes-per-user:209715200}") long maxReservedBytesPerUser
+    ) {
+        this.chunkDir = Paths.get(chunkDir).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize;
+        this.maxFileBytes = maxFileBytes;
+        this.sessionTtl = Duration.ofMinutes(sessionTtlMinutes);
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.maxReservedBytesPerUser = maxReservedBytesPerUser;
+    }
+
+    public UploadStatus create(Integer userId, String fileName, String contentType, long totalSize) {
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new IllegalArgumentException("이미지 파일만 업로드 가능합니다.");
+        }
+        if (totalSize <= 0 || totalSize > maxFileBytes) {
+            throw new IllegalArgumentException("파일 크기가 허용 범위를 벗어났습니다.");
+        }
+
+        try {
+            Files.createDirectories(chunkDir);
+        } catch (IOException e) {
+            throw new RuntimeException("업로드 세션 생성 실패", e);
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        UploadSession session = new UploadSession(
+                uploadId, userId, fileName == null ? "image" : fileName, contentType,
+                totalSize, chunkSize, chunkDir.resolve(uploadId + ".part"));
+
+        synchronized (createLock) {
+            int open = 0;
+            long reserved = 0;
+            for (UploadSession s : sessions.values()) {
+                if (!s.userId.equals(userId)) continue;
+                open++;
+                reserved += s.totalSize;
+            }
+            if (open >= maxSessionsPerUser) {
+                throw new QuotaExceededException("진행 중인 업로드가 너무 많습니다. (최대 " + maxSessionsPerUser + "개)");
+            }
+            if (reserved + totalSize > maxReservedBytesPerUser) {
+                throw new QuotaExceededException("진행 중인 업로드 용량이 너무 큽니다. 먼저 올린 업로드를 완료하거나 취소해주세요.");
+            }
+            sessions.put(uploadId, session);
+        }
+
+        log.info("📦 [분할 업로드 시작] id={}, size={}, chunks={}", uploadId, totalSize, session.chunkCount);
+        return session.status();
+    }
+
+    public UploadStatus status(String uploadId, Integer userId) {
+        UploadSession session = get(uploadId, userId);
+        synchronized (session) {
+            return session.status();
+        }
+    }
+
+    /**
+     * 조각 하나를 받아 임시 파일의 해당 위치에 씁니다. 이미 받은 조각을 다시 보내도 덮어쓰기만 됩니다.
+     * 완료된 세션에는 쓰지 않습니다. (넘겨준 뒤 늦게 온 조각이 파일을 바꾸거나 옮겨진 임시 파일을 다시 만들지 않도록)
+     */
+    public UploadStatus writeChunk(String uploadId, Integer userId, int index, InputStream body) {
+        UploadSession session = get(uploadId, userId);
+        synchronized (session) {
+            rejectIfCompleted(session);
+        }
+
+        if (index < 0 || index >= session.chunkCount) {
+            throw new IllegalArgumentException("잘못된 조각 번호입니다: " + index);
+        }
+
+        long position = (long) index * session.chunkSize;
+        int expected = (int) Math.min(session.chunkSize, session.totalSize - position);
+
+        // 조각 크기 + 1 까지만 읽어서 크기가 다른 조각을 거절
+        ByteBuffer buffer = ByteBuffer.allocate(expected + 1);
+        try {
+            ReadableByteChannel in = Channels.newChannel(body);
+            while (buffer.hasRemaining() && in.read(buffer) >= 0) {
+                // 끝까지 읽기
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("조각 수신 중 연결이 끊겼습니다.", e);
+        }
+        buffer.flip();
+
+        if (buffer.remaining() != expected) {
+            throw new IllegalArgumentException("조각 크기가 올바르지 않습니다. (기대값 " + expected + " bytes)");
+        }
+
+        // 본문 수신은 락 밖에서, 쓰기는 complete/claim/취소와 겹치지 않도록 락 안에서 상태를 다시 확인한 뒤 수행
+        synchronized (session) {
+            rejectIfCompleted(session);
+            try (FileChannel ch = FileChannel.open(session.file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                long pos = position;
+                while (buffer.hasRemaining()) {
+                    pos += ch.write(buffer, pos);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("조각 저장 실패", e);
+            }
+
+            session.received.set(index);
+            session.touch();
+            return session.status();
+        }
+    }
+
+    public UploadStatus complete(String uploadId, Integer userId) {
+        UploadSession session = get(uploadId, userId);
+        synchronized (session) {
+            if (session.closed) throw new IllegalArgumentException("업로드 세션이 없거나 만료되었습니다: " + uploadId);
+            if (session.received.cardinality() != session.chunkCount) {
+                throw new IllegalStateException("아직 받지 못한 조각이 있습니다.");
+            }
+            session.completed = true;
+            session.touch();
+            return session.status();
+        }
+    }
+
+    /**
+     * 완료된 세션의 파일을 빌려줍니다. (게시글 등록 시 PostImageService 가 호출)
+     * 세션과 임시 파일은 release 전까지 그대로 남고, 같은 업로드를 동시에 두 번 쓸 수는 없습니다.
+     * 받은 쪽은 파일을 읽기만 하고, 트랜잭션 결과에 따라 release 또는 unclaim 을 호출해야 합니다.
+     */
+    public CompletedUpload claim(String uploadId, Integer userId) {
+        UploadSession session = get(uploadId, userId);
+        synchronized (session) {
+            if (session.closed) throw new IllegalArgumentException("업로드 세션이 없거나 만료되었습니다: " + uploadId);
+            if (!session.completed) {
+                throw new IllegalStateException("완료되지 않은 업로드입니다: " + uploadId);
+            }
+            if (session.claimed) {
+                throw new IllegalStateException("이미 등록 중인 업로드입니다: " + uploadId);
+            }
+            session.claimed = true;
+            session.touch();
+            return new CompletedUpload(session.file, session.fileName, session.contentType, session.totalSize);
+        }
+    }
+
+    // 게시글 등록이 커밋됨 → 세션과 임시 파일 정리 (저장소는 이미 사본을 가짐)
+    public void release(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session != null) discard(session);
+    }
+
+    // 게시글 등록이 롤백됨 → 같은 업로드로 다시 등록할 수 있게 되돌림
+    public void unclaim(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null) return;
+        synchronized (session) {
+            session.claimed = false;
+            session.touch();
+        }
+    }
+
+    public void abort(String uploadId, Integer userId) {
+        UploadSession session = get(uploadId, userId);
+        synchronized (session) {
+            if (session.claimed) throw new IllegalStateException("등록 중인 업로드는 취소할 수 없습니다: " + uploadId);
+        }
+        discard(session);
+    }
+
+    // ✅ 방치된 세션 정리
+    @Scheduled(fixedDelayString = "${app.upload.chunked.sweep-interval-ms:600000}")
+    public void expireAbandoned() {
+        Instant deadline = Instant.now().minus(sessionTtl);
+        sessions.values().stream()
+                .filter(s -> s.lastAccess.isBefore(deadline) && !s.claimed)
+                .forEach(s -> {
+                    log.info("🧹 [분할 업로드 만료] id={}", s.uploadId);
+                    discard(s);
+                });
+
+        // 세션 없이 남은 임시 파일(재시작, 등록 실패 등)도 정리
+        if (!Files.isDirectory(chunkDir)) return;
+        try (Stream<Path> files = Files.list(chunkDir)) {
+            files.filter(p -> !sessions.containsKey(p.getFileName().toString().replace(".part", "")))
+                    .filter(p -> isOlderThan(p, deadline))
+                    .forEach(p -> {
+                        try {
+                            Files.deleteIfExists(p);
+                        } catch (IOException ignored) {
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("임시 업로드 디렉터리 정리 실패: {}", chunkDir, e);
+        }
+    }
+
+    private boolean isOlderThan(Path p, Instant deadline) {
+        try {
+            return Files.getLastModifiedTime(p).toInstant().isBefore(deadline);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void rejectIfCompleted(UploadSession session) {
+        if (session.closed) throw new IllegalArgumentException("업로드 세션이 없거나 만료되었습니다: " + session.uploadId);
+        if (session.completed) throw new IllegalStateException("이미 완료된 업로드입니다: " + session.uploadId);
+    }
+
+    // 진행 중인 조각 쓰기가 끝난 뒤 닫아야 지운 임시 파일이 다시 생기지 않음
+    private void discard(UploadSession session) {
+        synchronized (session) {
+            session.closed = true;
+        }
+        sessions.remove(session.uploadId, session);
+        try {
+            Files.deleteIfExists(session.file);
+        } catch (IOException e) {
+            log.warn("임시 업로드 파일 삭제 실패: {}", session.file, e);
+        }
+    }
+
+    private UploadSession get(String uploadId, Integer userId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null) {
+            throw new IllegalArgumentException("업로드 세션이 없거나 만료되었습니다: " + uploadId);
+        }
+        if (!session.userId.equals(userId)) {
+            throw new SecurityException("본인의 업로드만 접근할 수 있습니다.");
+        }
+        return session;
+    }
+
+    public record UploadStatus(
+            String uploadId,
+            long totalSize,
+            int chunkSize,
+            int chunkCount,
+            int[] receivedChunks,
+            long offset,      // 처음부터 빠짐없이 받은 바이트 수 (여기부터 이어서 전송)
+            boolean completed
+    ) { }
+
+    // 사용자별 세션 수 / 예약 바이트 한도 초과 (429)
+    public static class QuotaExceededException extends IllegalStateException {
+        public QuotaExceededException(String message) {
+            super(message);
+        }
+    }
+
+    public record CompletedUpload(Path file, String fileName, String contentType, long size) { }
+
+    private static final class UploadSession {
+        private final String uploadId;
+        private final Integer userId;
+        private final String fileName;
+        private final String contentType;
+        private final long totalSize;
+        private final int chunkSize;
+        private final int chunkCount;
+        private final Path file;
+        private final BitSet received;
+        private volatile Instant lastAccess = Instant.now();
+        private boolean completed;
+        private volatile boolean claimed;   // 게시글 등록 트랜잭션이 사용 중
+        private boolean closed;             // 종료/취소/만료됨
+
+        private UploadSession(String uploadId, Integer userId, String fileName, String contentType,
+                              long totalSize, int chunkSize, Path file) {
+            this.uploadId = uploadId;
+            this.userId = userId;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.chunkCount = (int) ((totalSize + chunkSize - 1) / chunkSize);
+            this.file = file;
+            this.received = new BitSet(chunkCount);
+        }
+
+        private void touch() {
+            lastAccess = Instant.now();
+        }
+
+        private UploadStatus status() {
+            int firstMissing = received.nextClearBit(0);
+            long offset = Math.min(totalSize, (long) firstMissing * chunkSize);
+            return new UploadStatus(uploadId, totalSize, chunkSize, chunkCount,
+                    received.stream().toArray(), offset, completed);
+        }
+    }
+}
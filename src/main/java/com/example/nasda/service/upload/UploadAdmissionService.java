@@ -0,0 +1,197 @@
+package com.example.nasda.service.upload;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 업로드 입장 제어.
+ *
+ * - 전체: 동시에 처리 중인 업로드 바이트 합계(in-flight)를 max-in-flight-bytes 이하로 유지
+ * - 유저별: 동시에 진행 중인 업로드 요청 수를 per-user-concurrency 이하로 유지
+ *
+ * 예산이 없으면 max-wait-ms 동안만 짧게 대기(queued)하고, 그래도 없으면 바로 거절합니다.
+ * 요청 스레드와 디스크 I/O 가 업로드에 묶여 페이지 조회까지 밀리는 것을 막기 위함입니다.
+ */
+@Log4j2
+@Service
+public class UploadAdmissionService {
+
+    public enum Rejection { GLOBAL_BUDGET, USER_CONCURRENCY }
+
+    private final long maxInFlightBytes;
+    private final int perUserConcurrency;
+    private final long maxWaitMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private long inFlightBytes; // lock 으로 보호
+
+    private final Map<String, Integer> perUser = new ConcurrentHashMap<>();
+
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final LongAdder admittedBytes = new LongAdder();
+    private final LongAdder rejectedBytes = new LongAdder();
+    private final LongAdder rejectedGlobal = new LongAdder();
+    private final LongAdder rejectedUser = new LongAdder();
+
+    public UploadAdmissionService(
+            @Value("${app.upload.admission.max-in-flight-bytes:209715200}") long maxInFlightBytes,
+            @Value("${app.upload.admission.per-user-concurrency:2}") int perUserConcurrency,
+            @Value("${app.upload.admission.max-wait-ms:200}") long maxWaitMillis
+    ) {
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.perUserConcurrency = perUserConcurrency;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * 업로드 입장 시도. 성공하면 반드시 {@link Permit#close()} 로 반납해야 합니다.
+     *
+     * @throws RejectedException 전체 예산 또는 유저별 동시 업로드 한도 초과
+     */
+    public Permit acquire(String userKey, long bytes) {
+        long size = Math.max(0, Math.min(bytes, maxInFlightBytes));
+
+        // 1. 유저별 동시 업로드 수
+        boolean[] ok = {false};
+        perUser.compute(userKey, (k, v) -> {
+            int cur = v == null ? 0 : v;
+            if (cur >= perUserConcurrency) return v;
+            ok[0] = true;
+            return cur + 1;
+        });
+        if (!ok[0]) {
+            rejectedUser.increment();
+            rejectedBytes.add(bytes);
+            throw new RejectedException(Rejection.USER_CONCURRENCY);
+        }
+
+        // 2. 전체 in-flight 바이트 예산
+        try {
+            reserve(size);
+        } catch (RejectedException e) {
+            releaseUser(userKey);
+            rejectedGlobal.increment();
+            rejectedBytes.add(bytes);
+            throw e;
+        }
+
+        admittedBytes.add(bytes);
+        return new Permit(userKey, size);
+    }
+
+    private void reserve(long size) {
+        lock.lock();
+        try {
+            if (inFlightBytes + size <= maxInFlightBytes) {
+                inFlightBytes += size;
+                return;
+            }
+
+            queuedBytes.addAndGet(size);
+            try {
+                long remaining = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+                while (inFlightBytes + size > maxInFlightBytes) {
+                    if (remaining <= 0) throw new RejectedException(Rejection.GLOBAL_BUDGET);
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlightBytes += size;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedException(Rejection.GLOBAL_BUDGET);
+            } finally {
+                queuedBytes.addAndGet(-size);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Permit permit) {
+        lock.lock();
+        try {
+            inFlightBytes -= permit.bytes;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        releaseUser(permit.userKey);
+    }
+
+    private void releaseUser(String userKey) {
+        perUser.computeIfPresent(userKey, (k, v) -> v <= 1 ? null : v - 1);
+    }
+
+    public Stats stats() {
+        long inFlight;
+        lock.lock();
+        try {
+            inFlight = inFlightBytes;
+        } finally {
+            lock.unlock();
+        }
+        return new Stats(
+                inFlight,
+                maxInFlightBytes,
+                queuedBytes.get(),
+                admittedBytes.sum(),
+                rejectedBytes.sum(),
+                rejectedGlobal.sum(),
+                rejectedUser.sum(),
+                perUser.size()
+        );
+    }
+
+    public record Stats(
+            long inFlightBytes,
+            long maxInFlightBytes,
+            long queuedBytes,
+            long admittedBytes,
+            long rejectedBytes,
+            long rejectedByGlobalBudget,
+            long rejectedByUserConcurrency,
+            int activeUploaders
+    ) { }
+
+    public final class Permit implements AutoCloseable {
+        private final String userKey;
+        private final long bytes;
+        private boolean closed;
+
+        private Permit(String userKey, long bytes) {
+            this.userKey = userKey;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            release(this);
+        }
+    }
+
+    public static class RejectedException extends RuntimeException {
+        private final Rejection reason;
+
+        public RejectedException(Rejection reason) {
+            super(reason == Rejection.USER_CONCURRENCY
+                    ? "동시에 진행 중인 업로드가 너무 많습니다."
+                    : "업로드 요청이 많아 잠시 후 다시 시도해주세요.");
+            this.reason = reason;
+        }
+
+        public Rejection getReason() {
+            return reason;
+        }
+    }
+}
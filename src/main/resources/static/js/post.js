@@ -25,6 +25,85 @@ function previewImages(event) {
     });
 }
 
+// ========== 게시글 수정: 현재 이미지 순서 변경 / 삭제 ==========
+function moveCurrentImage(btn, dir) {
+    const item = btn.closest('.current-image-item');
+    if (!item) return;
+
+    if (dir < 0 && item.previousElementSibling?.classList.contains('current-image-item')) {
+        item.parentNode.insertBefore(item, item.previousElementSibling);
+    } else if (dir > 0 && item.nextElementSibling?.classList.contains('current-image-item')) {
+        item.parentNode.insertBefore(item.nextElementSibling, item);
+    }
+}
+
+function removeCurrentImage(btn) {
+    const item = btn.closest('.current-image-item');
+    const kept = item?.querySelector('input[name="keptImageIds"]');
+    if (!item || !kept) return;
+
+    // 삭제 목록으로 옮기고 화면에서는 숨김
+    const removed = document.createElement('input');
+    removed.type = 'hidden';
+    removed.name = 'removedImageIds';
+    removed.value = kept.value;
+    item.closest('form').appendChild(removed);
+    item.remove();
+}
+
+// ========== 분할 업로드 (연결이 끊겨도 받은 조각부터 이어서 전송) ==========
+async function uploadJson(url, options) {
+    const res = await fetch(url, options);
+    if (!res.ok) {
+        const error = new Error(await res.text());
+        error.status = res.status;
+        throw error;
+    }
+    return res.status === 204 ? null : await res.json();
+}
+
+async function uploadInChunks(file, onProgress) {
+    const status = await uploadJson('/api/uploads', {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json' },
+        body: JSON.stringify({ fileName: file.name, contentType: file.type, totalSize: file.size })
+    });
+
+    const uploadId = status.uploadId;
+    const received = new Set(status.receivedChunks);
+
+    for (let index = 0; index < status.chunkCount; index++) {
+        if (received.has(index)) continue;
+
+        const start = index * status.chunkSize;
+        const chunk = file.slice(start, Math.min(file.size, start + status.chunkSize));
+
+        for (let attempt = 0; ; attempt++) {
+            try {
+                await uploadJson(`/api/uploads/${uploadId}/chunks/${index}`, {
+                    method: 'PUT',
+                    headers: { 'Content-Type': 'application/octet-stream' },
+                    body: chunk
+                });
+                break;
+            } catch (e) {
+                // 4xx(세션 만료, 권한 등)는 재시도해도 소용없음 (429 = 업로드 입장 제어, 잠시 후 다시)
+                if ((e.status >= 400 && e.status < 500 && e.status !== 429) || attempt >= 5) throw e;
+                await new Promise(r => setTimeout(r, 500 * Math.pow(2, attempt)));
+
+                // 끊겼던 사이 서버가 이미 받은 조각이면 건너뜀
+                const current = await uploadJson(`/api/uploads/${uploadId}`).catch(() => null);
+                if (current && current.receivedChunks.includes(index)) break;
+            }
+        }
+
+        if (onProgress) onProgress(Math.min(file.size, start + status.chunkSize), file.size);
+    }
+
+    await uploadJson(`/api/uploads/${uploadId}/complete`, { method: 'POST' });
+    return uploadId;
+}
+
 // ========== 게시글 삭제 (view.html 버튼에서 호출) ==========
 function deletePost(postId) {
     if (!postId) return;
@@ -60,6 +139,47 @@ document.addEventListener('DOMContentLoaded', function() {
                 return;
             }
 
+            // ✅ 이미지는 분할 업로드로 먼저 올리고, 폼에는 uploadId만 실어서 전송
+            const imagesInput = document.getElementById('images');
+            const files = imagesInput ? Array.from(imagesInput.files || []) : [];
+            if (files.length > 0 && window.fetch) {
+                e.preventDefault();
+
+                const submitBtn = createForm.querySelector('.btn-submit');
+                if (submitBtn) submitBtn.disabled = true;
+
+                (async () => {
+                    try {
+                        createForm.querySelectorAll('input[name="uploadIds"]').forEach(el => el.remove());
+
+                        for (const [i, file] of files.entries()) {
+                            const uploadId = await uploadInChunks(file, (sent, total) => {
+                                if (submitBtn) submitBtn.textContent = `업로드 중 ${i + 1}/${files.length} (${Math.floor(sent * 100 / total)}%)`;
+                            });
+
+                            const hidden = document.createElement('input');
+                            hidden.type = 'hidden';
+                            hidden.name = 'uploadIds';
+                            hidden.value = uploadId;
+                            createForm.appendChild(hidden);
+                        }
+
+                        // 파일 본문은 이미 올라갔으므로 폼에서 제외
+                        imagesInput.removeAttribute('name');
+                        imagesInput.required = false;
+                        createForm.submit();
+                    } catch (err) {
+                        console.error('이미지 업로드 실패:', err);
+                        alert('이미지 업로드에 실패했습니다. 다시 시도해주세요.');
+                        if (submitBtn) {
+                            submitBtn.disabled = false;
+                            submitBtn.textContent = '등록하기';
+                        }
+                    }
+                })();
+                return;
+            }
+
             // ✅ 이미지 업로드는 다음 단계라서 "필수 검사" 잠시 비활성화
             // const imagesEl = document.getElementById('images');
             // const images = imagesEl ? imagesEl.files : null;
@@ -83,6 +83,7 @@
                         e.preventDefault(); e.stopPropagation();
                         stickers = stickers.filter(item => item !== s);
                         selectedSticker = null;
+                        sendLive(s.postImageId, { type: 'REMOVE', key: s.key });
                         renderStickers();
                     }, true);
                 }
@@ -107,6 +108,9 @@
                 if (!isDecorating || e.target.closest('.sticker-control-panel') || e.target.classList.contains('btn-single-remove')) return;
                 e.preventDefault(); e.stopPropagation();
 
+                // 실시간 모드에서는 남이 붙인 스티커를 옮길 수 없음 (서버도 거절)
+                const movable = !isLive(s.postImageId) || s.userId == null || s.userId === myUserId;
+
                 const swiperEl = document.querySelector('.postImagesSwiper');
                 const swiperInstance = swiperEl ? swiperEl.swiper : null;
                 if (swiperInstance) swiperInstance.allowTouchMove = false;
@@ -115,15 +119,24 @@
                 renderStickers();
 
                 const rect = targetLayer.getBoundingClientRect();
+                let lastSent = 0;
                 const onMouseMove = (mE) => {
+                    if (!movable) return;
                     let newX = ((mE.clientX - rect.left) / rect.width) * 100;
                     let newY = ((mE.clientY - rect.top) / rect.height) * 100;
                     s.x = Math.max(0, Math.min(100, newX));
                     s.y = Math.max(0, Math.min(100, newY));
                     el.style.left = s.x + '%';
                     el.style.top = s.y + '%';
+
+                    // 드래그 중에도 다른 사람 화면에 보이도록 50ms 마다 위치 전송 (DB 반영은 서버가 모아서)
+                    if (mE.timeStamp - lastSent > 50) {
+                        lastSent = mE.timeStamp;
+                        sendMove(s);
+                    }
                 };
                 const onMouseUp = () => {
+                    if (movable) sendMove(s);
                     if (swiperInstance) swiperInstance.allowTouchMove = true;
                     document.removeEventListener('mousemove', onMouseMove);
                     document.removeEventListener('mouseup', onMouseUp);
@@ -167,7 +180,8 @@
             selectedSticker.rotation = 0;
         }
 
-        // ✅ 변경된 상태로 화면을 즉시 다시 그립니다.
+        // ✅ 변경된 상태로 화면을 즉시 다시 그립니다. (크기는 화면에서만, 회전은 실시간 공유)
+        if (type !== 'scale') sendMove(selectedSticker);
         renderStickers();
     }
 
@@ -176,6 +190,12 @@
         const allImageLayers = Array.from(document.querySelectorAll('.sticker-layer'));
         const allImageIds = allImageLayers.map(l => Number(l.getAttribute('data-image-id')));
 
+        // 실시간 연결 중이면 변경이 이미 서버로 가 있음 (DB 반영은 서버가 모아서 처리)
+        if (allImageIds.length > 0 && allImageIds.every(isLive)) {
+            alert("모든 스티커 설정이 저장되었습니다! ✨");
+            return;
+        }
+
         const groups = stickers.reduce((acc, obj) => {
             if (!acc[obj.postImageId]) acc[obj.postImageId] = [];
             acc[obj.postImageId].push(obj);
@@ -192,6 +212,7 @@
                     postImageId: imageId,
                     userId: Number(window.ST_DATA?.currentUserId || 1),
                     decorations: layerStickers.map(s => ({
+                        decorationId: s.dbId ?? null,
                         stickerId: s.stickerId,
                         posX: parseFloat(s.x.toFixed(2)),
                         posY: parseFloat(s.y.toFixed(2)),
@@ -208,17 +229,113 @@
 
         } catch (error) {
             console.error("저장 중 오류 발생:", error);
+            if (error.response?.status === 429 || error.response?.status === 409) {
+                alert(error.response.data); // 도배 방지 한도 / 동시 저장 경합
+                return;
+            }
             alert("저장 중 데드락 또는 통신 오류가 발생했습니다. 다시 시도해주세요.");
         }
     };
 
     window.clearAllStickers = function() {
         if (confirm('모든 스티커를 비우시겠습니까?')) {
-            stickers = []; selectedSticker = null; renderStickers();
+            // 실시간 모드에서는 내가 붙인 스티커만 떼어냄
+            stickers = stickers.filter(s => {
+                if (!isLive(s.postImageId)) return false;
+                if (s.userId !== myUserId) return true;
+                sendLive(s.postImageId, { type: 'REMOVE', key: s.key });
+                return false;
+            });
+            selectedSticker = null; renderStickers();
         }
     };
 
-    // --- [3] 초기화 및 기타 로직 ---
+    // --- [3] 실시간 꾸미기: 이미지마다 WebSocket 하나, 서버가 매긴 순번(seq)대로 적용 ---
+    const live = {};      // imageId → { ws, seq, ready }
+    let myUserId = null;  // 서버가 SNAPSHOT 에 알려주는 내 ID (비로그인은 null)
+
+    function connectLive(imageId) {
+        const proto = location.protocol === 'https:' ? 'wss' : 'ws';
+        const ws = new WebSocket(`${proto}://${location.host}/ws/decorations/${imageId}`);
+        const ch = { ws, seq: 0, ready: false };
+        live[imageId] = ch;
+
+        ws.onmessage = (e) => onLiveMessage(imageId, ch, JSON.parse(e.data));
+        ws.onclose = () => {
+            if (live[imageId] !== ch) return;
+            delete live[imageId];
+            setTimeout(() => connectLive(imageId), 1000); // 다시 붙으면 SNAPSHOT 으로 맞춰짐
+        };
+    }
+
+    function isLive(imageId) {
+        const ch = live[imageId];
+        return !!ch && ch.ready && ch.ws.readyState === WebSocket.OPEN;
+    }
+
+    function sendLive(imageId, payload) {
+        if (!isLive(imageId) || !payload.key) return;
+        live[imageId].ws.send(JSON.stringify(payload));
+    }
+
+    function sendMove(s) {
+        sendLive(s.postImageId, { type: 'MOVE', key: s.key, x: s.x, y: s.y, rotation: s.rotation || 0 });
+    }
+
+    function resyncLive(imageId) {
+        live[imageId]?.ws.close();
+    }
+
+    function newKey() {
+        return 't:' + (window.crypto?.randomUUID?.() || Date.now().toString(36) + Math.random().toString(36).slice(2));
+    }
+
+    function fromLive(imageId, d) {
+        return {
+            key: d.key, dbId: d.decorationId, userId: d.userId, postImageId: imageId,
+            stickerId: d.stickerId, imgUrl: d.stickerImageUrl,
+            x: d.x, y: d.y, scale: 1.0, rotation: d.rotation || 0, isSaved: d.decorationId != null
+        };
+    }
+
+    function onLiveMessage(imageId, ch, msg) {
+        if (msg.type === 'SNAPSHOT') {
+            ch.seq = msg.seq; ch.ready = true; myUserId = msg.you;
+            stickers = stickers.filter(s => s.postImageId !== imageId)
+                .concat(msg.decorations.map(d => fromLive(imageId, d)));
+            if (selectedSticker && !stickers.includes(selectedSticker)) selectedSticker = null;
+            renderStickers();
+            return;
+        }
+        if (msg.type === 'ERROR') {
+            console.warn('꾸미기 요청 거절:', msg.message);
+            resyncLive(imageId);
+            return;
+        }
+
+        // 순번이 건너뛰면 놓친 변경이 있으므로 다시 접속해서 SNAPSHOT 으로 맞춤
+        if (msg.seq !== ch.seq + 1) { resyncLive(imageId); return; }
+        ch.seq = msg.seq;
+
+        const d = msg.decoration;
+        const target = d && stickers.find(s => s.key === d.key);
+        if (msg.type === 'ADD' && !target) {
+            stickers.push(fromLive(imageId, d));
+        } else if (msg.type === 'MOVE' && target) {
+            target.x = d.x; target.y = d.y; target.rotation = d.rotation || 0;
+        } else if (msg.type === 'REMOVE' && target) {
+            stickers = stickers.filter(s => s !== target);
+            if (selectedSticker === target) selectedSticker = null;
+        } else if (msg.type === 'ID' && target) {
+            target.dbId = d.decorationId; target.isSaved = true;
+            return;
+        } else {
+            return; // ACK
+        }
+        renderStickers();
+    }
+
+    // --- [4] 초기화 및 기타 로직 ---
     window.startDecoration = function() {
         isDecorating = true;
         document.querySelectorAll('.sticker-layer').forEach(l => l.style.pointerEvents = 'auto');
@@ -232,48 +349,156 @@
         if (item) item.remove();
     };
 
+    // 카탈로그(카테고리 + 스티커)를 한 번만 받아두고 탭 전환은 메모리에서 처리
+    let catalogPromise = null;
+
+    function loadCatalog() {
+        if (!catalogPromise) {
+            const version = window.ST_DATA?.stickerCatalogVersion;
+            const url = version ? `/api/sticker-catalog/${version}` : '/api/sticker-catalog';
+            catalogPromise = axios.get(url).then(res => res.data)
+                .catch(err => { catalogPromise = null; throw err; });
+        }
+        return catalogPromise;
+    }
+
     async function fetchStickerCategories() {
         try {
-            const response = await axios.get('/api/sticker-categories');
-            categories = response.data;
-            renderCategoryTabs();
-            if (categories.length > 0) fetchStickersByCategory(categories[0].stickerCategoryId);
+            // 최근 쓴 스티커가 있으면 그 탭부터 (서버 메모리에서 바로 옴)
+            const [catalog, recent] = await Promise.all([loadCatalog(), fetchRecentStickers()]);
+            categories = catalog.categories;
+            renderCategoryTabs(recent.length > 0);
+            bindStickerSearch();
+            if (recent.length > 0) showStickerList(recent);
+            else if (categories.length > 0) fetchStickersByCategory(categories[0].stickerCategoryId);
         } catch (err) { console.error("카테고리 로드 실패"); }
     }
 
     async function fetchStickersByCategory(categoryId) {
         try {
-            const response = await axios.get(`/api/stickers/categories/${categoryId}`);
-            stickersInPalette = response.data;
+            const catalog = await loadCatalog();
+            const category = catalog.categories.find(c => c.stickerCategoryId === categoryId);
+            stickersInPalette = category ? category.stickers : [];
+            paletteAtlas = category ? category.atlas : null;
             renderPalette();
         } catch (err) { console.error("스티커 로드 실패"); }
     }
 
-    function renderCategoryTabs() {
+    // 스티커 이름 검색: 입력이 멈추면 서버 메모리 색인에 물어봄 (비우면 선택된 탭으로 돌아감)
+    function bindStickerSearch() {
+        const input = document.getElementById('sticker-search');
+        if (!input || input.dataset.bound) return;
+        input.dataset.bound = '1';
+        let timer = null;
+        let seq = 0;
+        input.addEventListener('input', () => {
+            clearTimeout(timer);
+            timer = setTimeout(async () => {
+                const q = input.value.trim();
+                const mine = ++seq;
+                if (!q) {
+                    document.querySelector('.category-btn.active')?.click();
+                    return;
+                }
+                try {
+                    const res = await axios.get('/api/stickers/search', { params: { q, limit: 30 } });
+                    if (mine !== seq) return; // 늦게 온 예전 검색 결과는 버림
+                    showStickerList(res.data);
+                } catch (err) { console.error("스티커 검색 실패"); }
+            }, 150);
+        });
+    }
+
+    function fetchRecentStickers() {
+        return axios.get('/api/stickers/recent').then(res => res.data).catch(() => []);
+    }
+
+    // 인기 스티커: 서버 메모리의 순위 목록 (카테고리 구분 없음)
+    function fetchPopularStickers() {
+        return axios.get('/api/stickers/popular', { params: { limit: 30 } }).then(res => res.data);
+    }
+
+    // 카테고리 밖 목록(최근/인기/검색)은 아틀라스 없이 개별 이미지로
+    function showStickerList(list) {
+        stickersInPalette = list;
+        paletteAtlas = null;
+        renderPalette();
+    }
+
+    function addCategoryTab(container, label, active, onSelect) {
+        const tab = document.createElement('button');
+        tab.className = `category-btn ${active ? 'active' : ''}`;
+        tab.textContent = label;
+        tab.onclick = () => {
+            document.querySelectorAll('.category-btn').forEach(b => b.classList.remove('active'));
+            tab.classList.add('active');
+            const search = document.getElementById('sticker-search');
+            if (search) search.value = '';
+            onSelect();
+        };
+        container.appendChild(tab);
+    }
+
+    function renderCategoryTabs(hasRecent) {
         const tabContainer = document.getElementById('sticker-category-tabs');
         if (!tabContainer) return;
         tabContainer.innerHTML = '';
+
+        if (hasRecent) {
+            addCategoryTab(tabContainer, '🕘 최근', true, () =>
+                fetchRecentStickers().then(showStickerList));
+        }
+        addCategoryTab(tabContainer, '🔥 인기', false, () =>
+            fetchPopularStickers().then(showStickerList).catch(() => console.error("인기 스티커 로드 실패")));
         categories.forEach((cat, idx) => {
-            const tab = document.createElement('button');
-            tab.className = `category-btn ${idx === 0 ? 'active' : ''}`;
-            tab.textContent = cat.name;
-            tab.onclick = () => {
-                document.querySelectorAll('.category-btn').forEach(b => b.classList.remove('active'));
-                tab.classList.add('active');
-                fetchStickersByCategory(cat.stickerCategoryId);
-            };
-            tabContainer.appendChild(tab);
+            addCategoryTab(tabContainer, cat.name, !hasRecent && idx === 0, () =>
+                fetchStickersByCategory(cat.stickerCategoryId));
         });
     }
 
+    // 카테고리 스프라이트 아틀라스: 탭 하나에 이미지 요청 한 번 (주소별로 한 번만 받음)
+    let paletteAtlas = null;
+    const atlasLoads = {};
+
+    function loadAtlas(url) {
+        if (!atlasLoads[url]) {
+            atlasLoads[url] = new Promise((resolve, reject) => {
+                const img = new Image();
+                img.onload = resolve;
+                // 서버가 아직 그리는 중(404)일 수 있으니 실패는 기억하지 않고 다음에 다시 받아봄
+                img.onerror = () => { delete atlasLoads[url]; reject(); };
+                img.src = url;
+            });
+        }
+        return atlasLoads[url];
+    }
+
     function renderPalette() {
         const palette = document.getElementById('sticker-palette');
         if (!palette) return;
+        const items = stickersInPalette;
+        const atlas = paletteAtlas;
+        if (!atlas) { renderPaletteItems(palette, items, null); return; }
+
+        // 아틀라스를 못 받으면 스티커별 이미지로 대체
+        loadAtlas(atlas.url)
+            .then(() => { if (items === stickersInPalette) renderPaletteItems(palette, items, atlas); })
+            .catch(() => { if (items === stickersInPalette) renderPaletteItems(palette, items, null); });
+    }
+
+    function renderPaletteItems(palette, items, atlas) {
         palette.innerHTML = '';
-        stickersInPalette.forEach((sticker) => {
+        const ratio = atlas ? 48 / atlas.cell : 0; // 아틀라스 칸 → 팔레트 48px (w-12)
+        items.forEach((sticker) => {
             const div = document.createElement('div');
             div.className = 'palette-item cursor-grab p-2 hover:bg-pink-50 rounded-xl flex items-center justify-center bg-transparent';
-            div.innerHTML = `<img src="${sticker.stickerImageUrl}" onerror="window.handleStickerError(this)" class="w-12 h-12 object-contain pointer-events-none bg-transparent" style="background:transparent !important;">`;
+            if (atlas && sticker.sprite) {
+                div.innerHTML = `<div class="w-12 h-12 pointer-events-none" style="background-image:url('${atlas.url}');`
+                    + `background-size:${atlas.width * ratio}px ${atlas.height * ratio}px;`
+                    + `background-position:-${sticker.sprite[0] * ratio}px -${sticker.sprite[1] * ratio}px;"></div>`;
+            } else {
+                div.innerHTML = `<img src="${sticker.stickerImageUrl}" onerror="window.handleStickerError(this)" class="w-12 h-12 object-contain pointer-events-none bg-transparent" style="background:transparent !important;">`;
+            }
             div.draggable = true;
             div.addEventListener('dragstart', (e) => {
                 e.dataTransfer.setData('imgUrl', sticker.stickerImageUrl);
@@ -285,15 +510,48 @@
 
     document.addEventListener('DOMContentLoaded', () => {
         const postId = window.ST_DATA?.postId;
-        if (postId) {
-            axios.get(`/api/decorations/post/${postId}`).then(res => {
-                stickers = res.data.map(item => ({
-                    dbId: item.decorationId, postImageId: item.postImageId,
-                    stickerId: item.stickerId, imgUrl: item.stickerImageUrl,
-                    x: item.posX, y: item.posY, scale: 1.0,
-                    rotation: item.rotation, zIndex: item.zIndex, isSaved: true
-                }));
-                renderStickers();
+        const versions = window.ST_DATA?.layoutVersions || {};
+        const imageIds = [...document.querySelectorAll('.sticker-layer')]
+            .map(layer => Number(layer.getAttribute('data-image-id'))).filter(Boolean);
+
+        // 이미지별 레이아웃 한 덩어리씩 (버전 주소라 두 번째부터는 브라우저 캐시에서 바로 나옴)
+        // 버전 0 = 장식이 없는 이미지 → 받을 것 없음
+        const loadLayouts = () => Promise.all(imageIds.filter(id => versions[id] > 0).map(id =>
+            axios.get(`/api/decorations/image/${id}/layout/${versions[id]}`).then(res => res.data)
+        )).then(layouts => {
+            layouts.filter(layout => !live[layout.imageId]?.ready).forEach(layout => {
+                stickers = stickers.concat(layout.items.map(([decorationId, userId, stickerId, x, y, rotation]) => ({
+                    key: 'd:' + decorationId, userId,
+                    dbId: decorationId, postImageId: layout.imageId,
+                    stickerId, imgUrl: layout.stickers[stickerId],
+                    x, y, scale: 1.0, rotation: rotation || 0, isSaved: true
+                })));
+            });
+            renderStickers();
+        });
+
+        const loadPost = () => axios.get(`/api/decorations/post/${postId}`).then(res => {
+            // 실시간 SNAPSHOT 이 먼저 온 이미지는 건너뜀
+            stickers = stickers.concat(res.data.filter(item => !live[item.postImageId]?.ready).map(item => ({
+                key: 'd:' + item.decorationId, userId: item.userId,
+                dbId: item.decorationId, postImageId: item.postImageId,
+                stickerId: item.stickerId, imgUrl: item.stickerImageUrl,
+                x: item.posX, y: item.posY, scale: 1.0,
+                rotation: item.rotation, zIndex: item.zIndex, isSaved: true
+            })));
+            renderStickers();
+        });
+
+        if (imageIds.length > 0 && imageIds.every(id => versions[id] != null)) {
+            loadLayouts().catch(loadPost);
+        } else if (postId) {
+            loadPost();
+        }
+
+        if (window.WebSocket) {
+            document.querySelectorAll('.sticker-layer').forEach(layer => {
+                const imageId = Number(layer.getAttribute('data-image-id'));
+                if (imageId) connectLive(imageId);
             });
         }
 
@@ -308,7 +566,9 @@
                 const rect = layer.getBoundingClientRect();
                 if (!imgUrl || !imageId) return;
 
-                stickers.push({
+                const added = {
+                    key: newKey(),
+                    userId: myUserId,
                     postImageId: Number(imageId),
                     stickerId: Number(stickerId),
                     imgUrl: imgUrl,
@@ -318,6 +578,11 @@
                     rotation: 0,
                     isFlipped: false,
                     isSaved: false
+                };
+                stickers.push(added);
+                sendLive(added.postImageId, {
+                    type: 'ADD', key: added.key, stickerId: added.stickerId,
+                    x: added.x, y: added.y, rotation: 0
                 });
                 renderStickers();
             });
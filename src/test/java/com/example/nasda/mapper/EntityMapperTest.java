@@ -0,0 +1,83 @@
+package com.example.nasda.mapper;
+
+import com.example.nasda.domain.PostDecorationEntity;
+import com.example.nasda.domain.PostImageEntity;
+import com.example.nasda.domain.StickerCategoryEntity;
+import com.example.nasda.domain.StickerEntity;
+import com.example.nasda.dto.post.PostViewDto;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.dto.sticker.StickerCategoryResponseDTO;
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityMapperTest {
+
+    private final StickerMapper stickerMapper = Mappers.getMapper(StickerMapper.class);
+    private final PostDecorationMapper postDecorationMapper = Mappers.getMapper(PostDecorationMapper.class);
+    private final PostImageMapper postImageMapper = Mappers.getMapper(PostImageMapper.class);
+
+    private final StickerCategoryEntity category = StickerCategoryEntity.builder()
+            .stickerCategoryId(3).name("동물").isActive(false).build();
+    private final StickerEntity sticker = StickerEntity.builder()
+            .stickerId(7).stickerCategory(category).stickerName("cat").stickerImageUrl("/images/cat.png").build();
+
+    @Test
+    @DisplayName("스티커/카테고리 매핑 (중첩 카테고리 이름 포함)")
+    public void testStickerMapper() {
+        StickerResponseDTO dto = stickerMapper.toResponse(sticker);
+        assertEquals(7, dto.getStickerId());
+        assertEquals("cat", dto.getStickerName());
+        assertEquals("/images/cat.png", dto.getStickerImageUrl());
+        assertEquals("동물", dto.getCategoryName());
+
+        StickerCategoryResponseDTO cat = stickerMapper.toResponse(category);
+        assertEquals(3, cat.getStickerCategoryId());
+        assertEquals("동물", cat.getName());
+        assertFalse(cat.getIsActive());
+
+        assertNull(stickerMapper.toResponse(StickerEntity.builder().stickerId(1).build()).getCategoryName());
+    }
+
+    @Test
+    @DisplayName("장식 매핑 (이미지/스티커 ID, zIndex)")
+    public void testPostDecorationMapper() {
+        PostDecorationEntity decoration = PostDecorationEntity.builder()
+                .decorationId(11)
+                .postImage(PostImageEntity.builder().imageId(5).build())
+                .sticker(sticker)
+                .posX(0.25f).posY(0.75f).scale(0.43f).rotation(30f).zIndex(10)
+                .build();
+
+        PostDecorationResponseDTO dto = postDecorationMapper.toResponse(decoration);
+        assertEquals(11, dto.getDecorationId());
+        assertEquals(5, dto.getPostImageId());
+        assertEquals(7, dto.getStickerId());
+        assertEquals("/images/cat.png", dto.getStickerImageUrl());
+        assertEquals(0.25f, dto.getPosX());
+        assertEquals(0.75f, dto.getPosY());
+        assertEquals(0.43f, dto.getScale());
+        assertEquals(30f, dto.getRotation());
+        assertEquals(10, dto.getZIndex());
+    }
+
+    @Test
+    @DisplayName("게시글 이미지 매핑 (imageId → id, imageUrl → url)")
+    public void testPostImageMapper() {
+        PostViewDto.ImageDto dto = postImageMapper.toImageDto(PostImageEntity.builder()
+                .imageId(9).imageUrl("/uploads/a.png").sortOrder(2)
+                .width(640).height(480).dominantColor("#112233").placeholder("data:image/png;base64,AA")
+                .build());
+
+        assertEquals(9, dto.getId());
+        assertEquals("/uploads/a.png", dto.getUrl());
+        assertEquals(2, dto.getSortOrder());
+        assertEquals(640, dto.getWidth());
+        assertEquals(480, dto.getHeight());
+        assertEquals("#112233", dto.getDominantColor());
+        assertEquals("data:image/png;base64,AA", dto.getPlaceholder());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.nasda.repository;
+
+import com.example.nasda.domain.*;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 장식 조회가 개수와 상관없이 쿼리 1회로 끝나는지 확인하는 회귀 테스트 (내장 H2)
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class PostDecorationQueryCountTest {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PostDecorationRepository postDecorationRepository;
+
+    private Integer postId;
+    private Integer firstImageId;
+
+    @BeforeEach
+    public void setUp() {
+        UserEntity user = UserEntity.builder()
+                .loginId("deco").password("pw").email("deco@test.com").nickname("deco").build();
+        CategoryEntity category = CategoryEntity.builder().categoryName("일상").build();
+        em.persist(user);
+        em.persist(category);
+
+        PostEntity post = PostEntity.builder().user(user).category(category).title("꾸미기").build();
+        em.persist(post);
+
+        StickerCategoryEntity stickerCategory = StickerCategoryEntity.builder().name("Emotions").build();
+        em.persist(stickerCategory);
+
+        for (int i = 0; i < 2; i++) {
+            PostImageEntity image = PostImageEntity.builder()
+                    .post(post).imageUrl("/uploads/" + i + ".jpg").sortOrder(i).build();
+            em.persist(image);
+            if (i == 0) firstImageId = image.getImageId();
+
+            // 장식마다 다른 스티커 → 지연 로딩이었다면 스티커 수만큼 select 가 늘어남
+            for (int j = 0; j < 5; j++) {
+                StickerEntity sticker = StickerEntity.builder()
+                        .stickerCategory(stickerCategory).stickerName("s" + i + j)
+                        .stickerImageUrl("/stickers/" + i + j + ".png").build();
+                em.persist(sticker);
+                em.persist(PostDecorationEntity.builder()
+                        .post(post).postImage(image).user(user).sticker(sticker)
+                        .posX(10f * j).posY(20f).build());
+            }
+        }
+        postId = post.getPostId();
+
+        em.flush();
+        em.clear();
+        statistics().clear();
+    }
+
+    private Statistics statistics() {
+        return em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("게시글 전체 장식 조회: 쿼리 1회")
+    public void testByPostSingleQuery() {
+        List<PostDecorationResponseDTO> list = postDecorationRepository.findResponsesByPostId(postId);
+
+        assertEquals(10, list.size());
+        assertNotNull(list.get(0).getStickerImageUrl());
+        assertNotNull(list.get(0).getPostImageId());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("이미지별 장식 조회: 쿼리 1회")
+    public void testByImageSingleQuery() {
+        List<PostDecorationResponseDTO> list = postDecorationRepository.findResponsesByImageId(firstImageId);
+
+        assertEquals(5, list.size());
+        assertTrue(list.stream().allMatch(d -> firstImageId.equals(d.getPostImageId())));
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("장식 삭제는 version 을 확인: 읽은 뒤 다른 쪽이 옮겼으면 낙관적 락 예외 (bulk DELETE 처럼 조용히 지우지 않음)")
+    public void testDeleteChecksVersion() {
+        List<PostDecorationEntity> mine = postDecorationRepository.findByPostImage_ImageId(firstImageId);
+        em.createNativeQuery("UPDATE post_decorations SET version = version + 1 WHERE decoration_id = :id")
+                .setParameter("id", mine.get(0).getDecorationId())
+                .executeUpdate();
+
+        postDecorationRepository.deleteAll(mine);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> postDecorationRepository.flush());
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.nasda.repository;
+
+import com.example.nasda.domain.*;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.FileStorageService;
+import com.example.nasda.service.PostPurgeService;
+import com.example.nasda.service.image.NearDuplicateIndex;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 삭제 표시된 게시글이 목록에서 빠지고, 정리 작업의 chunk DELETE 가 딸린 행까지 실제로 지우는지 확인 (내장 H2)
+ */
+@DataJpaTest(properties = "spring.sql.init.mode=never")
+public class PostPurgeRepositoryTest {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostImageRepository postImageRepository;
+
+    @Autowired
+    private PostDecorationRepository postDecorationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final DecorationLayoutService decorationLayoutService = mock(DecorationLayoutService.class);
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final NearDuplicateIndex nearDuplicateIndex = mock(NearDuplicateIndex.class);
+
+    private UserEntity user;
+    private Integer deletedPostId;
+    private Integer livePostId;
+
+    @BeforeEach
+    public void setUp() {
+        user = UserEntity.builder()
+                .loginId("purge").password("pw").email("purge@test.com").nickname("purge").build();
+        CategoryEntity category = CategoryEntity.builder().categoryName("일상").build();
+        StickerCategoryEntity stickerCategory = StickerCategoryEntity.builder().name("Emotions").build();
+        em.persist(user);
+        em.persist(category);
+        em.persist(stickerCategory);
+        StickerEntity sticker = StickerEntity.builder()
+                .stickerCategory(stickerCategory).stickerName("s").stickerImageUrl("/stickers/s.png").build();
+        em.persist(sticker);
+
+        PostEntity deleted = seedPost(category, sticker, "지울 글");
+        PostEntity live = seedPost(category, sticker, "남길 글");
+        deletedPostId = deleted.getPostId();
+        livePostId = live.getPostId();
+
+        deleted.markDeleted();
+        em.flush();
+        em.clear();
+    }
+
+    // 게시글 하나에 이미지 2장 × 장식 3개, 댓글 3개(각각 신고 1건), 게시글 신고 1건
+    private PostEntity seedPost(CategoryEntity category, StickerEntity sticker, String title) {
+        PostEntity post = PostEntity.builder().user(user).category(category).title(title).build();
+        em.persist(post);
+        for (int i = 0; i < 2; i++) {
+            PostImageEntity image = PostImageEntity.builder()
+                    .post(post).imageUrl("/uploads/" + title + i + ".jpg").sortOrder(i).build();
+            em.persist(image);
+            for (int j = 0; j < 3; j++) {
+                em.persist(PostDecorationEntity.builder()
+                        .post(post).postImage(image).user(user).sticker(sticker).posX(10f * j).posY(20f).build());
+            }
+        }
+        for (int i = 0; i < 3; i++) {
+            CommentEntity comment = CommentEntity.create(post, user.getUserId(), "댓글" + i);
+            em.persist(comment);
+            em.persist(CommentReportEntity.builder().reporter(user).comment(comment).reason("spam").build());
+        }
+        em.persist(PostReportEntity.builder().reporter(user).post(post).reason("spam").build());
+        return post;
+    }
+
+    private long count(String table, String where) {
+        return ((Number) em.createNativeQuery("SELECT COUNT(*) FROM " + table + " WHERE " + where)
+                .getSingleResult()).longValue();
+    }
+
+    @Test
+    @DisplayName("내 댓글 목록/개수는 삭제 표시된 게시글의 댓글을 빼고 셈")
+    public void testUserCommentsSkipDeletedPosts() {
+        var page = commentRepository.findByUserId(user.getUserId(), PageRequest.of(0, 10));
+
+        assertEquals(3, page.getTotalElements());
+        assertTrue(page.getContent().stream().allMatch(c -> livePostId.equals(c.getPost().getPostId())));
+        assertEquals(3, commentRepository.countByUserId(user.getUserId()));
+    }
+
+    @Test
+    @DisplayName("정리 작업: 작은 batch-size 로 여러 번 나눠 지워도 삭제된 글의 댓글/신고/장식/이미지/글이 모두 사라지고 다른 글은 그대로")
+    public void testPurgeClearsDeletedPost() {
+        PostPurgeService purgeService = new PostPurgeService(postRepository, commentRepository, postImageRepository,
+                postDecorationRepository, decorationLayoutService, fileStorageService, nearDuplicateIndex,
+                transactionManager, 20, 2);
+        String deleted = "post_id = " + deletedPostId;
+
+        purgeService.purge();
+        em.clear();
+
+        assertEquals(0, count("posts", deleted));
+        assertEquals(0, count("comments", deleted));
+        assertEquals(0, count("post_reports", deleted));
+        assertEquals(0, count("post_decorations", deleted));
+        assertEquals(0, count("post_images", deleted));
+        assertEquals(3, count("comment_reports", "1 = 1")); // 남은 글의 댓글 신고만
+
+        String live = "post_id = " + livePostId;
+        assertEquals(1, count("posts", live));
+        assertEquals(3, count("comments", live));
+        assertEquals(6, count("post_decorations", live));
+        assertEquals(2, count("post_images", live));
+
+        verify(fileStorageService, times(2)).deleteByUrl(startsWith("/uploads/지울 글"));
+        PostPurgeService.Stats stats = purgeService.stats();
+        assertEquals(1, stats.purgedPosts());
+        assertEquals(0, stats.pendingPosts());
+        assertEquals(0, stats.failedRuns());
+        assertEquals(3 + 3 + 1 + 6 + 2 + 1, stats.deletedRows());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.nasda.service;
+
+import com.example.nasda.service.image.BkTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BkTreeTest {
+
+    @Test
+    @DisplayName("반경 검색 결과가 전체 비교(brute force)와 같다")
+    public void testSearchMatchesBruteForce() {
+        Random random = new Random(42);
+        BkTree tree = new BkTree();
+        List<Long> hashes = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            long h = random.nextLong();
+            hashes.add(h);
+            tree.add(h, i);
+        }
+
+        for (int q = 0; q < 50; q++) {
+            // 기존 해시에서 몇 비트만 바꾼 질의
+            long query = hashes.get(random.nextInt(hashes.size())) ^ (1L << random.nextInt(64)) ^ (1L << random.nextInt(64));
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < hashes.size(); i++) {
+                if (BkTree.distance(hashes.get(i), query) <= 4) expected.add(i);
+            }
+            List<Integer> actual = tree.search(query, 4).stream().map(BkTree.Match::id).sorted().toList();
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 해시는 한 노드에 모이고, 삭제 후에도 다른 항목 검색 가능")
+    public void testSameHashAndRemove() {
+        BkTree tree = new BkTree();
+        tree.add(0b1111L, 1);
+        tree.add(0b1111L, 2);
+        tree.add(0b0111L, 3);
+        tree.add(0b0011L, 4);
+        assertEquals(4, tree.size());
+
+        assertTrue(tree.remove(0b1111L, 1));
+        assertFalse(tree.remove(0b1111L, 1));
+
+        List<BkTree.Match> result = tree.search(0b1111L, 1);
+        assertEquals(List.of(2, 3), result.stream().map(BkTree.Match::id).toList());
+        assertEquals(0, result.get(0).distance());
+        assertEquals(1, tree.search(0b0011L, 0).size());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.nasda.service;
+
+import com.example.nasda.service.upload.ChunkedUploadService;
+import com.example.nasda.service.upload.ChunkedUploadService.UploadStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedUploadServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private byte[] bytes(int size) {
+        byte[] b = new byte[size];
+        for (int i = 0; i < size; i++) b[i] = (byte) i;
+        return b;
+    }
+
+    @Test
+    @DisplayName("순서와 상관없이 조각을 받아 이어받기 offset 계산 후 완료")
+    public void testResumeAndComplete() throws Exception {
+        ChunkedUploadService service = new ChunkedUploadService(dir.toString(), 4, 100, 60, 10, 1000);
+        byte[] data = bytes(10); // 조각 3개: 4, 4, 2
+
+        UploadStatus status = service.create(1, "a.png", "image/png", data.length);
+        String id = status.uploadId();
+        assertEquals(3, status.chunkCount());
+
+        service.writeChunk(id, 1, 0, new ByteArrayInputStream(Arrays.copyOfRange(data, 0, 4)));
+        status = service.writeChunk(id, 1, 2, new ByteArrayInputStream(Arrays.copyOfRange(data, 8, 10)));
+        assertEquals(4, status.offset()); // 1번 조각이 빠져 있음
+
+        assertThrows(IllegalStateException.class, () -> service.complete(id, 1));
+
+        service.writeChunk(id, 1, 1, new ByteArrayInputStream(Arrays.copyOfRange(data, 4, 8)));
+        assertTrue(service.complete(id, 1).completed());
+
+        ChunkedUploadService.CompletedUpload upload = service.claim(id, 1);
+        assertArrayEquals(data, Files.readAllBytes(upload.file()));
+        assertThrows(IllegalStateException.class, () -> service.claim(id, 1)); // 동시에 두 번 등록 불가
+
+        service.release(id); // 게시글 등록 커밋
+        assertThrows(IllegalArgumentException.class, () -> service.status(id, 1)); // 세션 종료
+        assertFalse(Files.exists(upload.file()));
+    }
+
+    @Test
+    @DisplayName("게시글 등록이 롤백되면 세션과 파일이 남아 다시 등록 가능")
+    public void testUnclaimAfterRollback() throws Exception {
+        ChunkedUploadService service = new ChunkedUploadService(dir.toString(), 4, 100, 60, 10, 1000);
+        String id = service.create(1, "a.png", "image/png", 4).uploadId();
+        service.writeChunk(id, 1, 0, new ByteArrayInputStream(bytes(4)));
+        service.complete(id, 1);
+
+        ChunkedUploadService.CompletedUpload upload = service.claim(id, 1);
+        service.unclaim(id);
+
+        assertTrue(Files.exists(upload.file()));
+        assertArrayEquals(bytes(4), Files.readAllBytes(service.claim(id, 1).file()));
+    }
+
+    @Test
+    @DisplayName("완료 이후 늦게 온 조각은 거절하고 파일을 바꾸거나 다시 만들지 않음")
+    public void testLateChunkAfterComplete() throws Exception {
+        ChunkedUploadService service = new ChunkedUploadService(dir.toString(), 4, 100, 60, 10, 1000);
+        String id = service.create(1, "a.png", "image/png", 4).uploadId();
+        service.writeChunk(id, 1, 0, new ByteArrayInputStream(bytes(4)));
+        service.complete(id, 1);
+
+        Path file = service.claim(id, 1).file();
+        assertThrows(IllegalStateException.class,
+                () -> service.writeChunk(id, 1, 0, new ByteArrayInputStream(new byte[]{9, 9, 9, 9})));
+        assertArrayEquals(bytes(4), Files.readAllBytes(file));
+
+        Files.delete(file); // 저장소로 넘어간 뒤 임시 파일이 정리된 경우
+        assertThrows(IllegalStateException.class,
+                () -> service.writeChunk(id, 1, 0, new ByteArrayInputStream(bytes(4))));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("크기가 다른 조각 / 다른 유저 접근 거절")
+    public void testValidation() {
+        ChunkedUploadService service = new ChunkedUploadService(dir.toString(), 4, 100, 60, 10, 1000);
+        String id = service.create(1, "a.png", "image/png", 10).uploadId();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.writeChunk(id, 1, 0, new ByteArrayInputStream(bytes(3))));
+        assertThrows(SecurityException.class, () -> service.status(id, 2));
+        assertThrows(IllegalArgumentException.class, () -> service.create(1, "a.txt", "text/plain", 10));
+    }
+
+    @Test
+    @DisplayName("방치된 세션 만료")
+    public void testExpire() throws Exception {
+        ChunkedUploadService service = new ChunkedUploadService(dir.toString(), 4, 100, 0, 10, 1000);
+        String id = service.create(1, "a.png", "image/png", 10).uploadId();
+        service.writeChunk(id, 1, 0, new ByteArrayInputStream(bytes(4)));
+
+        Thread.sleep(5);
+        service.expireAbandoned();
+
+        assertThrows(IllegalArgumentException.class, () -> service.status(id, 1));
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("사용자별 열린 세션 수 / 예약 바이트 한도, 취소하면 다시 만들 수 있음")
+    public void testPerUserQuota() {
+        ChunkedUploadService service = new ChunkedUploadService(dir.toString(), 4, 100, 60, 3, 150);
+
+        String first = service.create(1, "a.png", "image/png", 100).uploadId();
+        assertThrows(ChunkedUploadService.QuotaExceededException.class,
+                () -> service.create(1, "b.png", "image/png", 60)); // 100 + 60 > 150
+        service.create(1, "b.png", "image/png", 25);
+        service.create(1, "c.png", "image/png", 25);
+        assertThrows(ChunkedUploadService.QuotaExceededException.class,
+                () -> service.create(1, "d.png", "image/png", 1)); // 세션 3개
+        service.create(2, "e.png", "image/png", 100); // 다른 사용자는 따로
+
+        service.abort(first, 1);
+        service.create(1, "d.png", "image/png", 90);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.nasda.service;
+
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.image.DecoratedImageRenderer;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import com.example.nasda.service.sticker.StickerAssetMirror;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class DecoratedImageRendererTest {
+
+    @TempDir
+    Path tmp;
+
+    private final PostDecorationRepository postDecorationRepository = mock(PostDecorationRepository.class);
+    private final PostImageRepository postImageRepository = mock(PostImageRepository.class);
+    private final DecorationLayoutService decorationLayoutService = mock(DecorationLayoutService.class);
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private DecoratedImageRenderer renderer;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        // 출력 100px, 기준 너비 100px, 스티커 20px
+        renderer = new DecoratedImageRenderer(postDecorationRepository, postImageRepository, decorationLayoutService,
+                fileStorageService, mock(StickerAssetMirror.class), tmp.resolve("rendered").toString(), 100, 100, 20, 0.9f, 1, 4, 5000, 16);
+    }
+
+    private static BufferedImage solid(int w, int h, Color color) {
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, w, h);
+        g.dispose();
+        return image;
+    }
+
+    private static PostDecorationResponseDTO decoration(int id, String url, float x, float y, int zIndex) {
+        return PostDecorationResponseDTO.builder().decorationId(id).stickerImageUrl(url)
+                .posX(x).posY(y).scale(0.43f).rotation(0f).zIndex(zIndex).build();
+    }
+
+    @Test
+    @DisplayName("원본은 정사각형으로 채우고, 스티커는 x%,y% 중심에 zIndex 순서로 얹음")
+    public void testCompose() {
+        BufferedImage base = solid(200, 100, Color.WHITE);
+        Map<String, BufferedImage> stickers = Map.of(
+                "red", solid(10, 10, Color.RED),
+                "blue", solid(10, 10, Color.BLUE));
+
+        BufferedImage out = renderer.compose(base, List.of(
+                decoration(1, "blue", 50f, 50f, 2),
+                decoration(2, "red", 50f, 50f, 1),
+                decoration(3, "red", 20f, 80f, 0)), stickers::get);
+
+        assertEquals(100, out.getWidth());
+        assertEquals(100, out.getHeight());
+        assertEquals(Color.BLUE.getRGB(), out.getRGB(50, 50)); // zIndex 가 높은 쪽이 위
+        assertEquals(Color.RED.getRGB(), out.getRGB(20, 80));
+        assertEquals(Color.WHITE.getRGB(), out.getRGB(50, 5));
+    }
+
+    @Test
+    @DisplayName("같은 버전은 한 번만 합성해 캐시하고, 장식이 바뀌면 예전 버전 파일을 지움")
+    public void testRenderCacheAndEvict() throws Exception {
+        Path original = tmp.resolve("a.png");
+        ImageIO.write(solid(50, 50, Color.GREEN), "png", original.toFile());
+        when(postImageRepository.findImageUrl(7)).thenReturn(Optional.of("/uploads/a.png"));
+        when(fileStorageService.resolve("a.png")).thenReturn(original);
+        when(postDecorationRepository.findResponsesByImageId(7)).thenReturn(List.of());
+
+        Path v1 = renderer.renderOrNull(7, 1);
+        assertNotNull(v1);
+        assertTrue(Files.exists(v1));
+        assertEquals(v1, renderer.renderOrNull(7, 1));
+        verify(postDecorationRepository, times(1)).findResponsesByImageId(7);
+
+        // 새 버전: 예전 파일을 지우고 미리 다시 그림
+        renderer.onLayoutChanged(new DecorationLayoutService.Changed(7, 2L));
+        assertFalse(Files.exists(v1));
+        Path v2 = renderer.render(7, 2).get(5, TimeUnit.SECONDS);
+        assertTrue(Files.exists(v2));
+        assertEquals(1, renderer.stats().prerendered());
+        assertEquals(1, renderer.stats().hits());
+
+        // 이미지 삭제
+        renderer.onLayoutChanged(new DecorationLayoutService.Changed(7, null));
+        assertFalse(Files.exists(v2));
+    }
+
+    @Test
+    @DisplayName("다 그렸을 때 이미 더 새 버전이 나왔으면 파일을 남기지 않고 버림")
+    public void testStaleRenderDropped() throws Exception {
+        Path original = tmp.resolve("a.png");
+        ImageIO.write(solid(50, 50, Color.GREEN), "png", original.toFile());
+        when(postImageRepository.findImageUrl(7)).thenReturn(Optional.of("/uploads/a.png"));
+        when(fileStorageService.resolve("a.png")).thenReturn(original);
+        when(postDecorationRepository.findResponsesByImageId(7)).thenReturn(List.of());
+
+        renderer.onLayoutChanged(new DecorationLayoutService.Changed(7, 3L));
+        assertNull(renderer.render(7, 2).get(5, TimeUnit.SECONDS));
+        assertFalse(Files.exists(tmp.resolve("rendered").resolve("7-2.jpg")));
+        assertEquals(1, renderer.stats().stale());
+
+        assertNotNull(renderer.renderOrNull(7, 3));
+        renderer.onLayoutChanged(new DecorationLayoutService.Changed(7, null));
+        assertNull(renderer.render(7, 3).get(5, TimeUnit.SECONDS)); // 지워진 이미지
+        try (var files = Files.list(tmp.resolve("rendered"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("기동 시 남은 파일의 버전을 한 번 읽어 두고(이미지마다 최신만), 장식이 바뀌면 그 파일만 지움")
+    public void testLoadRenderedVersionsOnStart() throws Exception {
+        Path dir = tmp.resolve("rendered");
+        Files.write(dir.resolve("7-1.jpg"), new byte[]{1});
+        Files.write(dir.resolve("7-3.jpg"), new byte[]{1});
+        Files.write(dir.resolve("8-2.jpg"), new byte[]{1});
+        DecoratedImageRenderer restarted = new DecoratedImageRenderer(postDecorationRepository, postImageRepository,
+                decorationLayoutService, fileStorageService, mock(StickerAssetMirror.class), dir.toString(),
+                100, 100, 20, 0.9f, 1, 4, 5000, 16);
+        assertFalse(Files.exists(dir.resolve("7-1.jpg")));
+
+        restarted.onLayoutChanged(new DecorationLayoutService.Changed(8, null));
+        assertFalse(Files.exists(dir.resolve("8-2.jpg")));
+        assertTrue(Files.exists(dir.resolve("7-3.jpg")));
+        assertEquals(1, restarted.stats().evicted());
+    }
+
+    @Test
+    @DisplayName("합성 실패 시 null → 호출자가 원본을 씀")
+    public void testFailureFallsBack() {
+        when(postImageRepository.findImageUrl(anyInt())).thenReturn(Optional.empty());
+
+        assertNull(renderer.renderOrNull(404, 1));
+        assertEquals(1, renderer.stats().failures());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.nasda.service;
+
+import com.example.nasda.domain.PostDecorationEntity;
+import com.example.nasda.dto.sticker.PostDecorationRequestDTO.DecorationItem;
+import com.example.nasda.service.sticker.DecorationDiff;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecorationDiffTest {
+
+    private static PostDecorationEntity saved(int id, float x, float y) {
+        return PostDecorationEntity.builder().decorationId(id).posX(x).posY(y).rotation(0f).build();
+    }
+
+    private static DecorationItem item(Integer id, float x, float y) {
+        return DecorationItem.builder().decorationId(id).stickerId(1).posX(x).posY(y).rotation(0f).build();
+    }
+
+    @Test
+    @DisplayName("하나만 옮기면 update 한 건, 나머지는 그대로")
+    public void testMoveOne() {
+        List<PostDecorationEntity> existing = List.of(saved(1, 10, 10), saved(2, 20, 20), saved(3, 30, 30));
+
+        DecorationDiff diff = DecorationDiff.of(existing,
+                List.of(item(1, 10, 10), item(2, 25, 20), item(3, 30, 30)));
+
+        assertEquals(1, diff.updates().size());
+        assertEquals(2, diff.updates().get(0).entity().getDecorationId());
+        assertEquals(2, diff.unchanged().size());
+        assertTrue(diff.inserts().isEmpty());
+        assertTrue(diff.deletes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("새 스티커는 insert, 빠진 장식은 delete, 남의 장식 id 는 무시")
+    public void testInsertDeleteAndForeignIds() {
+        List<PostDecorationEntity> existing = List.of(saved(1, 10, 10), saved(2, 20, 20));
+
+        DecorationDiff diff = DecorationDiff.of(existing,
+                List.of(item(1, 10, 10), item(null, 50, 50), item(99, 5, 5)));
+
+        assertEquals(1, diff.inserts().size());
+        assertEquals(1, diff.deletes().size());
+        assertEquals(2, diff.deletes().get(0).getDecorationId());
+        assertTrue(diff.updates().isEmpty());
+        assertFalse(diff.isEmpty());
+    }
+
+    @Test
+    @DisplayName("변경이 없으면 쓸 것이 없음")
+    public void testNoChange() {
+        DecorationDiff diff = DecorationDiff.of(List.of(saved(1, 10, 10)), List.of(item(1, 10, 10)));
+        assertTrue(diff.isEmpty());
+    }
+}
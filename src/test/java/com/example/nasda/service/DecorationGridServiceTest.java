@@ -0,0 +1,89 @@
+package com.example.nasda.service;
+
+import com.example.nasda.dto.sticker.PostDecorationRequestDTO;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.sticker.DecorationGridService;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import com.example.nasda.service.sticker.DecorationRateLimiter;
+import com.example.nasda.service.sticker.StickerAssetMirror;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class DecorationGridServiceTest {
+
+    private static final int IMAGE = 7;
+
+    private final PostDecorationRepository repository = mock(PostDecorationRepository.class);
+    private final DecorationLayoutService layoutService = mock(DecorationLayoutService.class);
+    private final StickerAssetMirror mirror = mock(StickerAssetMirror.class);
+    private DecorationGridService gridService;
+
+    @BeforeEach
+    public void setUp() {
+        when(layoutService.isEnabled()).thenReturn(true);
+        when(mirror.rewrite(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        gridService = new DecorationGridService(repository, layoutService, mirror, 10, 3, 5f, 100);
+    }
+
+    private static PostDecorationResponseDTO decoration(int id, int userId, float x, float y, int z) {
+        return PostDecorationResponseDTO.builder().decorationId(id).postImageId(IMAGE).userId(userId)
+                .stickerId(10).posX(x).posY(y).zIndex(z).build();
+    }
+
+    private static PostDecorationRequestDTO.DecorationItem item(Integer decorationId, float x, float y) {
+        return PostDecorationRequestDTO.DecorationItem.builder().decorationId(decorationId).stickerId(10).posX(x).posY(y).build();
+    }
+
+    @Test
+    @DisplayName("한 칸에 한도를 넘게 붙이면 거절, 원래 그 칸에 있던 내 장식은 그대로 저장 가능")
+    public void testDensityCap() {
+        when(repository.findResponsesByImageId(IMAGE)).thenReturn(List.of(
+                decoration(1, 2, 51f, 51f, 1),
+                decoration(2, 2, 52f, 52f, 1),
+                decoration(3, 1, 55f, 55f, 1)));
+
+        // 다른 사람 2개 + 내 것 1개 = 3 (한도)
+        gridService.checkSave(IMAGE, 1, List.of(item(3, 56f, 56f)));
+
+        DecorationRateLimiter.RejectedException e = assertThrows(DecorationRateLimiter.RejectedException.class,
+                () -> gridService.checkSave(IMAGE, 1, List.of(item(3, 56f, 56f), item(null, 58f, 58f))));
+        assertEquals(DecorationRateLimiter.Rejection.DENSITY, e.getReason());
+
+        // 옆 칸은 괜찮음
+        gridService.checkSave(IMAGE, 1, List.of(item(3, 56f, 56f), item(null, 65f, 58f)));
+        assertEquals(1, gridService.stats().rejectedByDensity());
+        verify(repository, times(1)).findResponsesByImageId(IMAGE); // 색인은 한 번만 만듦
+    }
+
+    @Test
+    @DisplayName("좌표로 맨 위 스티커를 찾고, 칸 경계를 넘어도 찾음, 레이아웃이 바뀌면 색인을 다시 만듦")
+    public void testHitTestAndEviction() {
+        List<PostDecorationResponseDTO> decorations = new ArrayList<>();
+        decorations.add(decoration(1, 2, 20f, 20f, 1));
+        decorations.add(decoration(2, 3, 22f, 22f, 5));
+        decorations.add(decoration(3, 4, 29.5f, 40f, 1));
+        for (int i = 0; i < 200; i++) decorations.add(decoration(100 + i, 5, 80f + (i % 10), 80f + (i / 10) % 10, 1));
+        when(repository.findResponsesByImageId(IMAGE)).thenReturn(decorations);
+
+        assertEquals(2, gridService.at(IMAGE, 21f, 21f).orElseThrow().getDecorationId());
+        assertEquals(1, gridService.at(IMAGE, 16f, 16f).orElseThrow().getDecorationId());
+        assertEquals(3, gridService.at(IMAGE, 31f, 40f).orElseThrow().getDecorationId()); // 중심은 옆 칸
+        assertTrue(gridService.at(IMAGE, 50f, 50f).isEmpty());
+
+        when(repository.findResponsesByImageId(IMAGE)).thenReturn(List.of(decoration(1, 2, 20f, 20f, 1)));
+        assertEquals(2, gridService.at(IMAGE, 21f, 21f).orElseThrow().getDecorationId()); // 아직 캐시
+
+        gridService.onLayoutChanged(new DecorationLayoutService.Changed(IMAGE, 2L));
+        assertEquals(1, gridService.at(IMAGE, 21f, 21f).orElseThrow().getDecorationId());
+        assertEquals(2, gridService.stats().builds());
+    }
+}
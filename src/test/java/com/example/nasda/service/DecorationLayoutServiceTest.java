@@ -0,0 +1,143 @@
+package com.example.nasda.service;
+
+import com.example.nasda.domain.DecorationLayoutEntity;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.repository.sticker.DecorationLayoutRepository;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import com.example.nasda.service.sticker.StickerAssetMirror;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class DecorationLayoutServiceTest {
+
+    private final PostDecorationRepository postDecorationRepository = mock(PostDecorationRepository.class);
+    private final DecorationLayoutRepository decorationLayoutRepository = mock(DecorationLayoutRepository.class);
+    private final StickerAssetMirror stickerAssetMirror = mock(StickerAssetMirror.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DecorationLayoutService service = new DecorationLayoutService(
+            postDecorationRepository, decorationLayoutRepository, stickerAssetMirror, objectMapper, mock(ApplicationEventPublisher.class),
+            mock(PlatformTransactionManager.class), true, 100);
+
+    private static PostDecorationResponseDTO decoration(int id, int stickerId, String url) {
+        return PostDecorationResponseDTO.builder().decorationId(id).postImageId(7).userId(2)
+                .stickerId(stickerId).stickerImageUrl(url).posX(10f).posY(20f).rotation(15f).build();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        when(stickerAssetMirror.publicUrl(anyString())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("스티커 URL 은 한 번만, 장식은 숫자 배열로")
+    public void testEncode() throws Exception {
+        byte[] json = service.encode(7, 3, List.of(
+                decoration(1, 10, "/images/a.png"),
+                decoration(2, 10, "/images/a.png"),
+                decoration(3, 11, "/images/b.png")));
+
+        JsonNode node = objectMapper.readTree(json);
+        assertEquals(7, node.get("imageId").asInt());
+        assertEquals(3, node.get("version").asLong());
+        assertEquals(2, node.get("stickers").size());
+        assertEquals("/images/b.png", node.get("stickers").get("11").asText());
+        assertEquals(3, node.get("items").size());
+        assertEquals("[2,2,10,10.0,20.0,15.0]", node.get("items").get(1).toString());
+    }
+
+    @Test
+    @DisplayName("다시 만들 때마다 version 이 오름 (읽은 version 일 때만 교체)")
+    public void testRebuildBumpsVersion() throws Exception {
+        when(postDecorationRepository.findResponsesByImageId(7)).thenReturn(List.of(decoration(1, 10, "/images/a.png")));
+        when(decorationLayoutRepository.findVersion(7)).thenReturn(Optional.empty());
+
+        service.rebuildAfterCommit(7); // 트랜잭션 밖이면 바로 만듦
+
+        ArgumentCaptor<DecorationLayoutEntity> saved = ArgumentCaptor.forClass(DecorationLayoutEntity.class);
+        verify(decorationLayoutRepository).saveAndFlush(saved.capture());
+        assertEquals(1L, saved.getValue().getVersion());
+
+        when(decorationLayoutRepository.findVersion(7)).thenReturn(Optional.of(1L));
+        when(decorationLayoutRepository.replaceIfVersion(eq(7), eq(1L), any(), any())).thenReturn(1);
+        service.rebuild(7);
+
+        ArgumentCaptor<byte[]> json = ArgumentCaptor.forClass(byte[].class);
+        verify(decorationLayoutRepository).replaceIfVersion(eq(7), eq(1L), json.capture(), any());
+        assertEquals(2, objectMapper.readTree(json.getValue()).get("version").asLong());
+        assertEquals(2, service.stats().rebuilds());
+    }
+
+    @Test
+    @DisplayName("다른 서버가 먼저 version 을 올렸으면 다시 읽어서 다음 version 으로 만듦")
+    public void testRebuildRetriesOnConflict() throws Exception {
+        when(postDecorationRepository.findResponsesByImageId(7)).thenReturn(List.of(decoration(1, 10, "/images/a.png")));
+        when(decorationLayoutRepository.findVersion(7)).thenReturn(Optional.of(3L), Optional.of(4L));
+        when(decorationLayoutRepository.replaceIfVersion(eq(7), eq(3L), any(), any())).thenReturn(0);
+        when(decorationLayoutRepository.replaceIfVersion(eq(7), eq(4L), any(), any())).thenReturn(1);
+
+        service.rebuild(7);
+
+        ArgumentCaptor<byte[]> json = ArgumentCaptor.forClass(byte[].class);
+        verify(decorationLayoutRepository).replaceIfVersion(eq(7), eq(4L), json.capture(), any());
+        assertEquals(5, objectMapper.readTree(json.getValue()).get("version").asLong());
+        assertEquals(1, service.stats().conflicts());
+        assertEquals(1, service.stats().rebuilds());
+        assertEquals(0, service.stats().failedRebuilds());
+    }
+
+    @Test
+    @DisplayName("레이아웃이 없는 꾸며진 이미지는 결과에서 빼고 백그라운드로 만듦, 장식이 없는 이미지는 행 없이 NO_LAYOUT")
+    public void testVersionsSkipUndecorated() {
+        DecorationLayoutRepository.LayoutVersionView existing = version(5, 4L);
+        when(decorationLayoutRepository.findVersions(List.of(5, 7, 8))).thenReturn(List.of(existing));
+        when(postDecorationRepository.findDecoratedImageIds(List.of(7, 8))).thenReturn(List.of(7));
+        when(postDecorationRepository.findResponsesByImageId(7)).thenReturn(List.of(decoration(1, 10, "/images/a.png")));
+        when(decorationLayoutRepository.findVersion(7)).thenReturn(Optional.empty());
+
+        Map<Integer, Long> versions = service.versions(List.of(5, 7, 8));
+
+        assertEquals(Map.of(5, 4L, 8, DecorationLayoutService.NO_LAYOUT), versions); // 7 은 장식 목록 API 로 대체
+        verify(decorationLayoutRepository, timeout(2000).times(1)).saveAndFlush(any());
+        verify(postDecorationRepository, never()).findResponsesByImageId(8);
+        assertEquals(1, service.stats().backfillQueued());
+    }
+
+    private static DecorationLayoutRepository.LayoutVersionView version(int imageId, long version) {
+        return new DecorationLayoutRepository.LayoutVersionView() {
+            @Override
+            public Integer getImageId() {
+                return imageId;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("재생성 실패는 삼키고 집계만 (장식 저장에는 영향 없음)")
+    public void testRebuildFailure() {
+        when(postDecorationRepository.findResponsesByImageId(anyInt())).thenThrow(new IllegalStateException("DB down"));
+
+        assertDoesNotThrow(() -> service.rebuild(7));
+        assertEquals(1, service.stats().failedRebuilds());
+        verify(decorationLayoutRepository, never()).saveAndFlush(any());
+    }
+}
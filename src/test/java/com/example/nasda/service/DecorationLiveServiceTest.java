@@ -0,0 +1,234 @@
+package com.example.nasda.service;
+
+import com.example.nasda.dto.sticker.DecorationChange;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.sticker.DecorationGridService;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import com.example.nasda.service.sticker.DecorationLiveService;
+import com.example.nasda.service.sticker.DecorationLiveService.Command;
+import com.example.nasda.service.sticker.DecorationRateLimiter;
+import com.example.nasda.service.sticker.DecorationWriteRetry;
+import com.example.nasda.service.sticker.PostDecorationService;
+import com.example.nasda.service.sticker.StickerAssetMirror;
+import com.example.nasda.service.sticker.StickerCatalog;
+import com.example.nasda.service.sticker.StickerSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class DecorationLiveServiceTest {
+
+    private static final int IMAGE = 7;
+    private static final int POST_OWNER = 100;
+
+    private final PostDecorationService postDecorationService = mock(PostDecorationService.class);
+    private final StickerCatalog stickerCatalog = mock(StickerCatalog.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private DecorationLiveService live;
+
+    // 받은 메시지를 모아두는 가짜 연결
+    private record FakePeer(String id, Integer userId, List<JsonNode> inbox) implements DecorationLiveService.Peer {
+        FakePeer(String id, Integer userId) {
+            this(id, userId, new ArrayList<>());
+        }
+
+        @Override
+        public void send(String json) {
+            try {
+                inbox.add(new ObjectMapper().readTree(json));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        JsonNode last() {
+            return inbox.get(inbox.size() - 1);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        StickerResponseDTO smile = StickerResponseDTO.builder().stickerId(10).stickerImageUrl("/images/smile.png").build();
+        when(stickerCatalog.snapshot()).thenReturn(
+                new StickerCatalog.Snapshot("v1", "\"v1\"", new byte[0], List.of(), List.of(smile), Map.of(), Map.of(),
+                        StickerSearchIndex.of(List.of(smile))));
+        when(postDecorationService.getPostOwnerId(IMAGE)).thenReturn(POST_OWNER);
+        when(postDecorationService.getDecorationsByImageId(IMAGE)).thenReturn(List.of(
+                PostDecorationResponseDTO.builder().decorationId(1).postImageId(IMAGE).userId(2)
+                        .stickerId(10).stickerImageUrl("/images/smile.png").posX(10f).posY(10f).rotation(0f).build()));
+        live = new DecorationLiveService(postDecorationService, stickerCatalog, objectMapper,
+                new DecorationRateLimiter(40, 1.0, 30),
+                new DecorationGridService(mock(PostDecorationRepository.class), mock(DecorationLayoutService.class),
+                        mock(StickerAssetMirror.class), 10, 12, 7.5f, 100),
+                new DecorationWriteRetry(1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("입장 시 SNAPSHOT, 변경은 순번을 매겨 다른 사람에게 전달하고 보낸 사람은 ACK")
+    public void testSequencedBroadcast() {
+        FakePeer alice = new FakePeer("a", 1);
+        FakePeer viewer = new FakePeer("v", null);
+        live.join(IMAGE, alice);
+        live.join(IMAGE, viewer);
+
+        assertEquals("SNAPSHOT", viewer.last().get("type").asText());
+        assertEquals("d:1", viewer.last().get("decorations").get(0).get("key").asText());
+
+        live.handle(IMAGE, alice, new Command("ADD", "t:x", 10, 50f, 150f, 0f));
+        live.handle(IMAGE, alice, new Command("MOVE", "t:x", null, 60f, 40f, 15f));
+
+        assertEquals("ACK", alice.last().get("type").asText());
+        assertEquals(2, alice.last().get("seq").asLong());
+        assertEquals("MOVE", viewer.last().get("type").asText());
+        assertEquals(2, viewer.last().get("seq").asLong());
+        assertEquals(60.0, viewer.last().get("decoration").get("x").asDouble());
+
+        JsonNode add = viewer.inbox().get(1);
+        assertEquals("ADD", add.get("type").asText());
+        assertEquals(100.0, add.get("decoration").get("y").asDouble()); // 0~100 으로 잘림
+        assertEquals("/images/smile.png", add.get("decoration").get("stickerImageUrl").asText());
+
+        assertThrows(SecurityException.class,
+                () -> live.handle(IMAGE, viewer, new Command("ADD", "t:y", 10, 1f, 1f, 0f)));
+    }
+
+    @Test
+    @DisplayName("삭제 표시된 게시글의 이미지는 방을 열지 않음")
+    public void testJoinDeletedPost() {
+        when(postDecorationService.getPostOwnerId(8)).thenThrow(new IllegalArgumentException("이미지 없음"));
+        FakePeer alice = new FakePeer("a", 1);
+
+        assertThrows(IllegalArgumentException.class, () -> live.join(8, alice));
+        assertEquals(0, live.stats().rooms());
+        assertTrue(alice.inbox().isEmpty());
+    }
+
+    @Test
+    @DisplayName("동시에 처음 입장해도 방은 하나(먼저 넣은 방을 씀), 모두 나가면 닫히고 다시 들어오면 새로 읽음")
+    public void testConcurrentOpenAndReopen() throws Exception {
+        CountDownLatch loading = new CountDownLatch(2);
+        when(postDecorationService.getDecorationsByImageId(IMAGE)).thenAnswer(inv -> {
+            loading.countDown();
+            loading.await(1, TimeUnit.SECONDS); // 두 입장이 모두 맵 밖에서 읽는 중
+            return List.of();
+        });
+        FakePeer alice = new FakePeer("a", 1);
+        FakePeer bob = new FakePeer("b", 2);
+
+        Thread other = new Thread(() -> live.join(IMAGE, bob));
+        other.start();
+        live.join(IMAGE, alice);
+        other.join();
+
+        assertEquals(1, live.stats().rooms());
+        assertEquals(2, live.stats().peers());
+        assertEquals("SNAPSHOT", alice.last().get("type").asText());
+        assertEquals("SNAPSHOT", bob.last().get("type").asText());
+
+        live.leave(IMAGE, alice);
+        live.leave(IMAGE, bob);
+        assertEquals(0, live.stats().rooms());
+
+        live.join(IMAGE, alice);
+        assertEquals(1, live.stats().peers());
+        verify(postDecorationService, times(3)).getDecorationsByImageId(IMAGE);
+    }
+
+    @Test
+    @DisplayName("드래그 중 이동 여러 번은 DB 반영 한 건으로 합쳐지고, 새 스티커 ID 를 알려줌")
+    @SuppressWarnings("unchecked")
+    public void testCoalescedFlush() {
+        when(postDecorationService.applyChanges(eq(IMAGE), anyList())).thenReturn(Map.of("t:x", 55));
+        FakePeer alice = new FakePeer("a", 1);
+        FakePeer bob = new FakePeer("b", 2);
+        live.join(IMAGE, alice);
+        live.join(IMAGE, bob);
+
+        live.handle(IMAGE, alice, new Command("ADD", "t:x", 10, 5f, 5f, 0f));
+        for (int i = 0; i < 20; i++) {
+            live.handle(IMAGE, alice, new Command("MOVE", "t:x", null, 5f + i, 5f, 0f));
+            live.handle(IMAGE, bob, new Command("MOVE", "d:1", null, 30f + i, 30f, 0f));
+        }
+        live.flushAll();
+
+        ArgumentCaptor<List<DecorationChange>> batch = ArgumentCaptor.forClass(List.class);
+        verify(postDecorationService, times(1)).applyChanges(eq(IMAGE), batch.capture());
+        assertEquals(2, batch.getValue().size());
+
+        DecorationChange add = batch.getValue().get(0);
+        assertEquals(DecorationChange.Kind.ADD, add.kind());
+        assertEquals(24f, add.posX());
+        DecorationChange move = batch.getValue().get(1);
+        assertEquals(DecorationChange.Kind.MOVE, move.kind());
+        assertEquals(1, move.decorationId());
+        assertEquals(49f, move.posX());
+
+        assertEquals("ID", bob.last().get("type").asText());
+        assertEquals(55, bob.last().get("decoration").get("decorationId").asInt());
+        assertEquals(42, bob.last().get("seq").asLong());
+        assertEquals(39, live.stats().coalescedChanges());
+
+        // 저장 후 삭제는 받은 ID 로 반영
+        live.handle(IMAGE, alice, new Command("REMOVE", "t:x", null, null, null, null));
+        live.flushAll();
+        verify(postDecorationService).applyChanges(eq(IMAGE),
+                argThat(list -> list.size() == 1 && Integer.valueOf(55).equals(list.get(0).decorationId())));
+    }
+
+    @Test
+    @DisplayName("남의 스티커 이동은 거절, 게시글 작성자는 뗄 수 있음, 추가 후 바로 삭제는 DB 에 쓸 것 없음")
+    public void testPermissionsAndCancel() {
+        FakePeer alice = new FakePeer("a", 1);
+        FakePeer owner = new FakePeer("o", POST_OWNER);
+        live.join(IMAGE, alice);
+        live.join(IMAGE, owner);
+
+        assertThrows(SecurityException.class,
+                () -> live.handle(IMAGE, alice, new Command("MOVE", "d:1", null, 1f, 1f, 0f)));
+        assertThrows(SecurityException.class,
+                () -> live.handle(IMAGE, alice, new Command("REMOVE", "d:1", null, null, null, null)));
+        live.handle(IMAGE, owner, new Command("REMOVE", "d:1", null, null, null, null));
+
+        live.handle(IMAGE, alice, new Command("ADD", "t:x", 10, 5f, 5f, 0f));
+        live.handle(IMAGE, alice, new Command("REMOVE", "t:x", null, null, null, null));
+        assertEquals(1, live.stats().pendingChanges());
+
+        live.leave(IMAGE, alice);
+        live.leave(IMAGE, owner); // 마지막 사람이 나가면 반영 후 방 정리
+        verify(postDecorationService).applyChanges(eq(IMAGE),
+                argThat(list -> list.size() == 1 && list.get(0).kind() == DecorationChange.Kind.REMOVE));
+        assertEquals(0, live.stats().rooms());
+    }
+
+    @Test
+    @DisplayName("DB 반영 실패 시 DB 상태로 다시 SNAPSHOT")
+    public void testResyncOnFailure() {
+        when(postDecorationService.applyChanges(eq(IMAGE), anyList())).thenThrow(new IllegalStateException("DB down"));
+        FakePeer alice = new FakePeer("a", 1);
+        live.join(IMAGE, alice);
+
+        live.handle(IMAGE, alice, new Command("ADD", "t:x", 10, 5f, 5f, 0f));
+        live.flushAll();
+
+        JsonNode snapshot = alice.last();
+        assertEquals("SNAPSHOT", snapshot.get("type").asText());
+        assertEquals(2, snapshot.get("seq").asLong());
+        assertEquals(1, snapshot.get("decorations").size());
+        assertEquals(1, live.stats().failedFlushes());
+    }
+}
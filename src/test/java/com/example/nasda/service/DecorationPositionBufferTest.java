@@ -0,0 +1,168 @@
+package com.example.nasda.service;
+
+import com.example.nasda.domain.PostDecorationEntity;
+import com.example.nasda.domain.PostImageEntity;
+import com.example.nasda.dto.sticker.PostDecorationResponseDTO;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import com.example.nasda.service.sticker.DecorationPositionBuffer;
+import com.example.nasda.service.sticker.DecorationPositionBuffer.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class DecorationPositionBufferTest {
+
+    private final PostDecorationRepository repository = mock(PostDecorationRepository.class);
+    private final DecorationPositionBuffer buffer =
+            new DecorationPositionBuffer(repository, mock(DecorationLayoutService.class),
+                    mock(PlatformTransactionManager.class), 100);
+
+    private static PostDecorationEntity decoration(int id) {
+        return PostDecorationEntity.builder().decorationId(id)
+                .postImage(PostImageEntity.builder().imageId(7).build()).posX(0f).posY(0f).rotation(0f).build();
+    }
+
+    @Test
+    @DisplayName("드래그 중 수십 번의 수정은 장식별 마지막 값 하나로 합쳐져 한 번에 UPDATE")
+    public void testCoalesce() {
+        PostDecorationEntity a = decoration(1);
+        PostDecorationEntity b = decoration(2);
+        when(repository.findLiveByIdIn(any())).thenReturn(List.of(a, b));
+
+        for (int i = 1; i <= 50; i++) {
+            buffer.offer(1, new Position((float) i, 10f, 0f));
+            buffer.offer(2, new Position(20f, (float) i, 0f));
+        }
+        assertEquals(50f, buffer.get(1).posX()); // 반영 전에도 최신 값이 보임
+
+        buffer.flush();
+
+        verify(repository, times(1)).findLiveByIdIn(any());
+        assertEquals(50f, a.getPosX());
+        assertEquals(50f, b.getPosY());
+        assertNull(buffer.get(1));
+
+        DecorationPositionBuffer.Stats stats = buffer.stats();
+        assertEquals(100, stats.offered());
+        assertEquals(98, stats.coalesced());
+        assertEquals(2, stats.written());
+
+        buffer.flush(); // 쌓인 것이 없으면 DB 에 가지 않음
+        verify(repository, times(1)).findLiveByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("조회 결과에 버퍼 값을 덮어씀")
+    public void testOverlay() {
+        buffer.offer(1, new Position(70f, 80f, 45f));
+
+        List<PostDecorationResponseDTO> result = buffer.overlay(List.of(
+                PostDecorationResponseDTO.builder().decorationId(1).posX(0f).posY(0f).rotation(0f).build(),
+                PostDecorationResponseDTO.builder().decorationId(2).posX(5f).posY(5f).rotation(0f).build()));
+
+        assertEquals(70f, result.get(0).getPosX());
+        assertEquals(45f, result.get(0).getRotation());
+        assertEquals(5f, result.get(1).getPosX());
+    }
+
+    @Test
+    @DisplayName("반영 실패 시 다음 주기에 다시 시도 (그 사이 온 새 값이 우선)")
+    public void testRetryOnFailure() {
+        when(repository.findLiveByIdIn(any())).thenThrow(new IllegalStateException("DB down"));
+        buffer.offer(1, new Position(1f, 1f, 0f));
+
+        buffer.flush();
+
+        assertEquals(1f, buffer.get(1).posX());
+        assertEquals(1, buffer.stats().failedFlushes());
+    }
+
+    @Test
+    @DisplayName("반영 중에 discard 된 값은 반영이 실패해도 되살리지 않음")
+    public void testDiscardDuringFailedFlush() {
+        buffer.offer(1, new Position(1f, 1f, 0f));
+        buffer.offer(2, new Position(2f, 2f, 0f));
+        when(repository.findLiveByIdIn(any())).thenAnswer(invocation -> {
+            buffer.discard(1); // 반영 도중 일괄 저장 등으로 새 값이 커밋됨
+            assertNull(buffer.get(1));
+            throw new IllegalStateException("optimistic lock");
+        });
+
+        buffer.flush();
+
+        assertNull(buffer.get(1));
+        assertEquals(2f, buffer.get(2).posX()); // discard 되지 않은 값은 다시 시도
+
+        reset(repository);
+        PostDecorationEntity b = decoration(2);
+        when(repository.findLiveByIdIn(any())).thenReturn(List.of(b));
+        buffer.flush();
+        verify(repository).findLiveByIdIn(argThat(ids -> {
+            var it = ids.iterator();
+            return it.next().equals(2) && !it.hasNext();
+        }));
+        assertEquals(2f, b.getPosX());
+    }
+
+    @Test
+    @DisplayName("discard 이후 새로 들어온 값은 그대로 반영")
+    public void testOfferAfterDiscard() {
+        buffer.discard(1);
+        buffer.offer(1, new Position(3f, 3f, 0f));
+
+        assertEquals(3f, buffer.get(1).posX());
+    }
+
+    @Test
+    @DisplayName("일괄 저장이 롤백되면 드래그 값 유지, 커밋되면 저장 전에 온 값만 버림")
+    public void testDiscardAfterCommit() {
+        buffer.offer(1, new Position(1f, 1f, 0f));
+        buffer.offer(2, new Position(2f, 2f, 0f));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.discardAfterCommit(Set.of(1, 2));
+            assertEquals(1f, buffer.get(1).posX()); // 커밋 전에는 그대로
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1f, buffer.get(1).posX());
+        assertEquals(2f, buffer.get(2).posX());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.discardAfterCommit(Set.of(1, 2));
+            buffer.offer(2, new Position(5f, 5f, 0f)); // 저장하는 사이 새로 온 드래그
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertNull(buffer.get(1));
+        assertEquals(5f, buffer.get(2).posX());
+    }
+
+    @Test
+    @DisplayName("작성자 ID 는 한 번만 조회")
+    public void testOwnerCache() {
+        when(repository.findOwnerId(1)).thenReturn(Optional.of(9));
+        when(repository.findOwnerId(404)).thenReturn(Optional.empty());
+
+        assertEquals(9, buffer.ownerOf(1));
+        assertEquals(9, buffer.ownerOf(1));
+        verify(repository, times(1)).findOwnerId(1);
+        assertThrows(IllegalArgumentException.class, () -> buffer.ownerOf(404));
+    }
+}
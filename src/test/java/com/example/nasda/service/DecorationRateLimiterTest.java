@@ -0,0 +1,73 @@
+package com.example.nasda.service;
+
+import com.example.nasda.service.sticker.DecorationRateLimiter;
+import com.example.nasda.service.sticker.DecorationRateLimiter.RejectedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecorationRateLimiterTest {
+
+    @Test
+    @DisplayName("새 스티커마다 토큰 하나, 다 쓰면 거절되고 시간이 지나면 다시 참")
+    public void testTokenBucket() throws Exception {
+        DecorationRateLimiter limiter = new DecorationRateLimiter(5, 50.0, 30); // 5개, 초당 50개
+
+        limiter.checkSave(1, 3, 3);
+        limiter.checkAdd(1, 3);
+        limiter.checkAdd(1, 4);
+        RejectedException e = assertThrows(RejectedException.class, () -> limiter.checkAdd(1, 5));
+        assertEquals(DecorationRateLimiter.Rejection.RATE, e.getReason());
+
+        limiter.checkAdd(2, 0); // 다른 사용자는 따로
+
+        Thread.sleep(100); // 약 5개 다시 참
+        limiter.checkSave(1, 2, 7);
+        assertEquals(1, limiter.stats().rejectedByRate());
+    }
+
+    @Test
+    @DisplayName("이미지당 개수 한도는 토큰을 쓰기 전에 거절, 이동/비우기만 하는 저장도 요청 하나로 셈")
+    public void testImageQuota() {
+        DecorationRateLimiter limiter = new DecorationRateLimiter(2, 0.0001, 3);
+
+        assertEquals(DecorationRateLimiter.Rejection.IMAGE_QUOTA,
+                assertThrows(RejectedException.class, () -> limiter.checkSave(1, 4, 4)).getReason());
+        assertEquals(DecorationRateLimiter.Rejection.IMAGE_QUOTA,
+                assertThrows(RejectedException.class, () -> limiter.checkAdd(1, 3)).getReason());
+
+        limiter.checkSave(1, 0, 3); // 이동만
+        limiter.checkSave(1, 0, 0); // 비우기
+        assertThrows(RejectedException.class, () -> limiter.checkSave(1, 0, 0));
+        assertEquals(2, limiter.stats().rejectedByQuota());
+    }
+
+    @Test
+    @DisplayName("동시에 몰려도 버킷 크기보다 많이 허용하지 않음")
+    public void testConcurrentAcquire() throws Exception {
+        DecorationRateLimiter limiter = new DecorationRateLimiter(100, 0.0001, 1000);
+        AtomicInteger ok = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            pool.execute(() -> {
+                try {
+                    limiter.checkAdd(1, 0);
+                    ok.incrementAndGet();
+                } catch (RejectedException ignored) {
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, ok.get());
+
+        limiter.sweep(); // 비어 있는 버킷은 남김
+        assertEquals(1, limiter.stats().trackedUsers());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.nasda.service;
+
+import com.example.nasda.service.sticker.DecorationWriteRetry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecorationWriteRetryTest {
+
+    @Test
+    @DisplayName("version 충돌 / 데드락은 다시 시도해서 성공, 경합 횟수를 셈")
+    public void testRetryOnContention() {
+        DecorationWriteRetry retry = new DecorationWriteRetry(4, 1, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.call("save", () -> switch (attempts.incrementAndGet()) {
+            case 1 -> throw new ObjectOptimisticLockingFailureException("PostDecorationEntity", 1);
+            case 2 -> throw new CannotAcquireLockException("Deadlock found when trying to get lock");
+            default -> "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        DecorationWriteRetry.Stats stats = retry.stats();
+        assertEquals(2, stats.retries());
+        assertEquals(1, stats.optimisticConflicts());
+        assertEquals(1, stats.lockFailures());
+        assertEquals(0, stats.exhausted());
+    }
+
+    @Test
+    @DisplayName("재시도를 다 쓰면 경합 예외를 그대로 던지고, 경합이 아닌 오류는 바로 던짐")
+    public void testGiveUp() {
+        DecorationWriteRetry retry = new DecorationWriteRetry(3, 1, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(CannotAcquireLockException.class, () -> retry.run("save", () -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("Lock wait timeout exceeded");
+        }));
+        assertEquals(3, attempts.get());
+        assertEquals(1, retry.stats().exhausted());
+
+        attempts.set(0);
+        assertThrows(DataIntegrityViolationException.class, () -> retry.run("save", () -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate");
+        }));
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.nasda.service;
+
+import com.example.nasda.service.image.HotImageCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotImageCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private Path write(String name, int size) throws Exception {
+        Path p = dir.resolve(name);
+        Files.write(p, new byte[size]);
+        return p;
+    }
+
+    private ByteBuffer get(HotImageCache cache, Path p) throws Exception {
+        return cache.get(p.getFileName().toString(), p, Files.readAttributes(p, BasicFileAttributes.class));
+    }
+
+    @Test
+    @DisplayName("두 번째 요청부터 캐시 적중, 파일이 바뀌면 다시 적재")
+    public void testHitAndMtimeValidation() throws Exception {
+        HotImageCache cache = new HotImageCache(1024, 512);
+        Path a = write("a.jpg", 100);
+
+        assertNotNull(get(cache, a));
+        assertEquals(100, get(cache, a).remaining());
+        assertEquals(1, cache.stats().hits());
+
+        Files.write(a, new byte[120]);
+        Files.setLastModifiedTime(a, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        assertEquals(120, get(cache, a).remaining());
+        assertEquals(2, cache.stats().misses());
+        assertEquals(120, cache.stats().usedBytes());
+    }
+
+    @Test
+    @DisplayName("용량이 찼을 때 한 번 요청된 이미지는 인기 이미지를 밀어내지 못함")
+    public void testFrequencyAdmission() throws Exception {
+        HotImageCache cache = new HotImageCache(300, 300);
+        Path hot = write("hot.jpg", 200);
+        Path cold = write("cold.jpg", 200);
+
+        for (int i = 0; i < 5; i++) get(cache, hot);
+
+        assertNull(get(cache, cold));       // 입장 거부 → 디스크에서 서빙
+        assertNotNull(get(cache, hot));     // 여전히 캐시 적중
+        assertEquals(1, cache.stats().rejected());
+        assertEquals(200, cache.stats().usedBytes());
+    }
+
+    @Test
+    @DisplayName("최대 항목 크기를 넘는 파일은 캐시하지 않음")
+    public void testTooLarge() throws Exception {
+        HotImageCache cache = new HotImageCache(4096, 100);
+        assertNull(get(cache, write("big.jpg", 200)));
+        assertEquals(0, cache.stats().entries());
+    }
+
+    @Test
+    @DisplayName("용량이 찼을 때 자주 요청된 새 이미지는 빈도가 낮은 항목을 쫓아내고 들어옴 (사용량은 항목 합과 같음)")
+    public void testEvictionKeepsAccounting() throws Exception {
+        HotImageCache cache = new HotImageCache(1000, 100);
+        for (int i = 0; i < 10; i++) get(cache, write("cold" + i + ".jpg", 100));
+        assertEquals(10, cache.stats().entries());
+
+        Path hot = write("hot.jpg", 100);
+        for (int i = 0; i < 5; i++) get(cache, hot);
+        cache.invalidate("cold3.jpg");
+        cache.invalidate("cold3.jpg"); // 이미 없음 → 그대로
+
+        HotImageCache.Stats stats = cache.stats();
+        assertEquals(1, stats.evictions());
+        assertEquals(9, stats.entries());
+        assertEquals(900, stats.usedBytes());
+        assertEquals(0, stats.allocationFailures());
+        assertEquals(1, stats.rejected()); // 첫 요청은 빈도가 같아 거부, 두 번째에 들어옴
+        assertEquals(3, stats.hits());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.nasda.service;
+
+import com.example.nasda.service.image.BkTree;
+import com.example.nasda.service.image.ImageMetadata;
+import com.example.nasda.service.image.ImageMetadataExtractor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageMetadataExtractorTest {
+
+    private final ImageMetadataExtractor extractor = new ImageMetadataExtractor();
+
+    @Test
+    @DisplayName("가로/세로, 대표 색상, 미리보기 추출")
+    public void testExtract() throws Exception {
+        // 800x600 이미지, 대부분 빨간색 + 일부 파란색
+        BufferedImage img = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 800, 600);
+        g.setColor(Color.BLUE);
+        g.fillRect(0, 0, 100, 100);
+        g.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, "png", out);
+
+        ImageMetadata meta = extractor.extract(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(800, meta.width());
+        assertEquals(600, meta.height());
+        assertEquals("#ff0000", meta.dominantColor());
+        assertTrue(meta.placeholder().startsWith("data:image/png;base64,"));
+    }
+
+    @Test
+    @DisplayName("리사이즈/재인코딩한 같은 이미지는 dHash 거리가 가깝고, 다른 이미지는 멀다")
+    public void testPerceptualHash() throws Exception {
+        BufferedImage original = gradient(640, 480, false);
+        BufferedImage resized = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = resized.createGraphics();
+        g.drawImage(original, 0, 0, 320, 240, null);
+        g.dispose();
+
+        long a = extractor.extract(new ByteArrayInputStream(encode(original, "png"))).perceptualHash();
+        long b = extractor.extract(new ByteArrayInputStream(encode(resized, "jpg"))).perceptualHash();
+        long c = extractor.extract(new ByteArrayInputStream(encode(gradient(640, 480, true), "png"))).perceptualHash();
+
+        assertTrue(BkTree.distance(a, b) <= 6, "거리: " + BkTree.distance(a, b));
+        assertTrue(BkTree.distance(a, c) > 20, "거리: " + BkTree.distance(a, c));
+    }
+
+    // 가로 방향 물결 무늬 (reverse 면 좌우 반전)
+    private static BufferedImage gradient(int w, int h, boolean reverse) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int xx = reverse ? w - 1 - x : x;
+                int v = (int) (127 + 120 * Math.sin(xx / 37.0 + y / 53.0) * Math.cos(y / 41.0));
+                img.setRGB(x, y, new Color(v, v, 255 - v).getRGB());
+            }
+        }
+        return img;
+    }
+
+    private static byte[] encode(BufferedImage img, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, format, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    @DisplayName("이미지가 아닌 입력은 빈 메타데이터")
+    public void testNotImage() throws Exception {
+        ImageMetadata meta = extractor.extract(new ByteArrayInputStream("hello".getBytes()));
+        assertSame(ImageMetadata.EMPTY, meta);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.nasda.service;
+
+import com.example.nasda.service.storage.LocalImageStorage;
+import com.example.nasda.service.storage.PackImageStorage;
+import com.example.nasda.service.storage.StoredImage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackImageStorageTest {
+
+    @TempDir
+    Path tmp;
+
+    private PackImageStorage open(long segmentBytes) throws IOException {
+        return new PackImageStorage(tmp.resolve("pack").toString(), segmentBytes, 1024, 0.5, 0,
+                new LocalImageStorage(tmp.resolve("uploads").toString()));
+    }
+
+    private static void put(PackImageStorage pack, String key, byte[] data) throws IOException {
+        pack.put(key, new ByteArrayInputStream(data), data.length, "image/png");
+    }
+
+    private static byte[] read(PackImageStorage pack, String key) throws IOException {
+        try (StoredImage image = pack.get(key)) {
+            return image == null ? null : image.stream().readAllBytes();
+        }
+    }
+
+    private static byte[] bytes(int size, int seed) {
+        byte[] b = new byte[size];
+        Arrays.fill(b, (byte) seed);
+        return b;
+    }
+
+    @Test
+    @DisplayName("작은 이미지는 세그먼트에, 큰 이미지는 overflow 디렉터리에 저장")
+    public void testPutGetOverflow() throws IOException {
+        try (PackImageStorage pack = open(4096)) {
+            put(pack, "small.png", bytes(100, 1));
+            put(pack, "big.png", bytes(2000, 2));
+
+            assertArrayEquals(bytes(100, 1), read(pack, "small.png"));
+            assertArrayEquals(bytes(2000, 2), read(pack, "big.png"));
+            assertNull(pack.localPath("small.png"));
+            assertTrue(Files.exists(pack.localPath("big.png")));
+            assertNull(read(pack, "none.png"));
+
+            pack.delete("small.png");
+            pack.delete("big.png");
+            assertNull(read(pack, "small.png"));
+            assertNull(read(pack, "big.png"));
+        }
+    }
+
+    @Test
+    @DisplayName("재시작 시 봉인된 세그먼트 footer 와 쓰던 세그먼트로 인덱스 복원, 깨진 꼬리는 버림")
+    public void testReload() throws IOException {
+        try (PackImageStorage pack = open(1000)) {
+            for (int i = 0; i < 10; i++) put(pack, i + ".png", bytes(300, i));
+            pack.delete("3.png");
+            assertTrue(pack.stats().segments() > 1);
+        }
+
+        // 마지막(봉인 전) 세그먼트에 쓰다 만 레코드 흉내
+        Path last;
+        try (Stream<Path> files = Files.list(tmp.resolve("pack"))) {
+            last = files.sorted().reduce((a, b) -> b).orElseThrow();
+        }
+        try (FileChannel ch = FileChannel.open(last, StandardOpenOption.APPEND)) {
+            ch.write(ByteBuffer.wrap(new byte[]{0x4E, 0x50, 0x4B, 0x31, 0, 0}));
+        }
+
+        try (PackImageStorage pack = open(1000)) {
+            for (int i = 0; i < 10; i++) {
+                if (i == 3) assertNull(read(pack, "3.png"));
+                else assertArrayEquals(bytes(300, i), read(pack, i + ".png"));
+            }
+            put(pack, "new.png", bytes(10, 7)); // 잘린 위치부터 이어 쓰기
+            assertArrayEquals(bytes(10, 7), read(pack, "new.png"));
+        }
+    }
+
+    @Test
+    @DisplayName("삭제가 많은 세그먼트는 압축으로 회수되고 살아있는 이미지는 유지")
+    public void testCompaction() throws IOException {
+        List<String> keys = List.of("a", "b", "c", "d", "e", "f");
+        try (PackImageStorage pack = open(1000)) {
+            for (int i = 0; i < keys.size(); i++) put(pack, keys.get(i), bytes(300, i));
+            pack.delete("a");
+            pack.delete("b");
+            pack.delete("c");
+
+            long deadBefore = pack.stats().deadBytes();
+            pack.compact();
+
+            assertTrue(pack.stats().compactions() > 0);
+            assertTrue(pack.stats().deadBytes() < deadBefore);
+            for (int i = 3; i < keys.size(); i++) assertArrayEquals(bytes(300, i), read(pack, keys.get(i)));
+        }
+
+        // 압축 후 재시작해도 삭제한 이미지가 되살아나지 않음
+        try (PackImageStorage pack = open(1000)) {
+            assertNull(read(pack, "a"));
+            assertNull(read(pack, "b"));
+            assertNull(read(pack, "c"));
+            for (int i = 3; i < keys.size(); i++) assertArrayEquals(bytes(300, i), read(pack, keys.get(i)));
+        }
+    }
+}
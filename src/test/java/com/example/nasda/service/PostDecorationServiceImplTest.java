@@ -0,0 +1,71 @@
+package com.example.nasda.service;
+
+import com.example.nasda.dto.sticker.PostDecorationRequestDTO;
+import com.example.nasda.mapper.PostDecorationMapper;
+import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.repository.sticker.StickerRepository;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import com.example.nasda.service.sticker.DecorationPositionBuffer;
+import com.example.nasda.service.sticker.PostDecorationServiceImpl;
+import com.example.nasda.service.sticker.RecentStickerService;
+import com.example.nasda.service.sticker.StickerAssetMirror;
+import com.example.nasda.service.sticker.StickerUsageCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PostDecorationServiceImplTest {
+
+    private final PostDecorationRepository postDecorationRepository = mock(PostDecorationRepository.class);
+    private final DecorationLayoutService decorationLayoutService = mock(DecorationLayoutService.class);
+    private final DecorationPositionBuffer positionBuffer = new DecorationPositionBuffer(
+            postDecorationRepository, decorationLayoutService, mock(PlatformTransactionManager.class), 100);
+    private final PostDecorationServiceImpl service = new PostDecorationServiceImpl(
+            postDecorationRepository, mock(PostImageRepository.class), mock(StickerRepository.class),
+            mock(EntityManager.class), mock(PostDecorationMapper.class), positionBuffer, decorationLayoutService,
+            mock(StickerAssetMirror.class), mock(StickerUsageCounter.class), mock(RecentStickerService.class));
+
+    private static PostDecorationRequestDTO.DecorationItem moveTo(float x, float y) {
+        return PostDecorationRequestDTO.DecorationItem.builder().posX(x).posY(y).rotation(0f).build();
+    }
+
+    @Test
+    @DisplayName("삭제 표시된 게시글의 장식은 PUT 으로 옮길 수 없음 (작성자 조회에서 빠짐)")
+    public void testUpdateOnDeletedPost() {
+        when(postDecorationRepository.findOwnerId(5)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> service.updateDecoration(5, moveTo(10f, 10f), 2));
+        assertNull(positionBuffer.get(5));
+    }
+
+    @Test
+    @DisplayName("버퍼에 들어간 뒤 게시글이 삭제 표시되면 반영하지 않고 레이아웃도 다시 만들지 않음")
+    public void testFlushSkipsDeletedPost() {
+        when(postDecorationRepository.findOwnerId(5)).thenReturn(Optional.of(2));
+        service.updateDecoration(5, moveTo(10f, 10f), 2);
+        when(postDecorationRepository.findLiveByIdIn(any())).thenReturn(List.of()); // 그 사이 삭제 표시됨
+
+        positionBuffer.flush();
+
+        assertEquals(0, positionBuffer.stats().written());
+        verify(decorationLayoutService, never()).rebuildAfterCommit(any());
+    }
+
+    @Test
+    @DisplayName("삭제 표시된 게시글의 장식은 개별 삭제도 거절")
+    public void testDeleteOnDeletedPost() {
+        when(postDecorationRepository.findLiveById(5)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> service.deleteDecoration(5, 2));
+        verify(postDecorationRepository, never()).delete(any());
+    }
+}
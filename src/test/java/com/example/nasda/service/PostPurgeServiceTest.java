@@ -0,0 +1,98 @@
+package com.example.nasda.service;
+
+import com.example.nasda.repository.CommentRepository;
+import com.example.nasda.repository.PostImageRepository;
+import com.example.nasda.repository.PostRepository;
+import com.example.nasda.repository.sticker.PostDecorationRepository;
+import com.example.nasda.service.image.NearDuplicateIndex;
+import com.example.nasda.service.sticker.DecorationLayoutService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PostPurgeServiceTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final CommentRepository commentRepository = mock(CommentRepository.class);
+    private final PostImageRepository postImageRepository = mock(PostImageRepository.class);
+    private final PostDecorationRepository postDecorationRepository = mock(PostDecorationRepository.class);
+    private final DecorationLayoutService decorationLayoutService = mock(DecorationLayoutService.class);
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final NearDuplicateIndex nearDuplicateIndex = mock(NearDuplicateIndex.class);
+
+    private final PostPurgeService purgeService = new PostPurgeService(postRepository, commentRepository,
+            postImageRepository, postDecorationRepository, decorationLayoutService, fileStorageService,
+            nearDuplicateIndex, mock(PlatformTransactionManager.class), 20, 100);
+
+    private static PostImageRepository.ImageFileView image(int id, String url) {
+        return new PostImageRepository.ImageFileView() {
+            @Override
+            public Integer getImageId() {
+                return id;
+            }
+
+            @Override
+            public String getImageUrl() {
+                return url;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("FK 순서대로 batch-size 행씩 더 지울 게 없을 때까지 지우고, 이미지 파일은 행 삭제 뒤에 지움")
+    @SuppressWarnings("unchecked")
+    public void testPurgeInChunks() {
+        List<Integer> posts = List.of(1, 2);
+        when(postRepository.findDeletedPostIds(20)).thenReturn(posts);
+        when(commentRepository.deleteReportsChunk(posts, 100)).thenReturn(0);
+        when(commentRepository.deleteChunk(posts, 100)).thenReturn(100, 100, 30);
+        when(postRepository.deleteReportsChunk(posts, 100)).thenReturn(1);
+        when(postDecorationRepository.deleteChunkByPostIds(posts, 100)).thenReturn(100, 0);
+        when(postImageRepository.findFilesByPostIds(posts, 100))
+                .thenReturn(List.of(image(10, "/uploads/a.jpg"), image(11, "/uploads/b.jpg")), List.of());
+        when(postRepository.deleteMarked(posts)).thenReturn(2);
+
+        purgeService.purge();
+
+        verify(commentRepository, times(3)).deleteChunk(posts, 100);
+        verify(postDecorationRepository, times(2)).deleteChunkByPostIds(posts, 100);
+
+        InOrder order = inOrder(commentRepository, postRepository, postDecorationRepository,
+                decorationLayoutService, postImageRepository, fileStorageService);
+        order.verify(commentRepository).deleteReportsChunk(posts, 100);
+        order.verify(commentRepository, times(3)).deleteChunk(posts, 100);
+        order.verify(postRepository).deleteReportsChunk(posts, 100);
+        order.verify(postDecorationRepository, times(2)).deleteChunkByPostIds(posts, 100);
+        order.verify(decorationLayoutService).delete(List.of(10, 11));
+        order.verify(postImageRepository).deleteAllByIdInBatch(List.of(10, 11));
+        order.verify(fileStorageService).deleteByUrl("/uploads/a.jpg");
+        order.verify(postRepository).deleteMarked(posts);
+        verify(nearDuplicateIndex).remove(11);
+
+        PostPurgeService.Stats stats = purgeService.stats();
+        assertEquals(2, stats.purgedPosts());
+        assertEquals(230 + 1 + 100 + 2 + 2, stats.deletedRows());
+        assertEquals(2, stats.deletedFiles());
+    }
+
+    @Test
+    @DisplayName("중간에 실패하면 게시글 행은 남겨두고 다음 주기에 다시 시도")
+    public void testFailureKeepsPostForNextRun() {
+        when(postRepository.findDeletedPostIds(20)).thenReturn(List.of(1));
+        when(postDecorationRepository.deleteChunkByPostIds(anyList(), anyInt()))
+                .thenThrow(new IllegalStateException("Lock wait timeout"));
+
+        purgeService.purge();
+
+        verify(postRepository, never()).deleteMarked(anyList());
+        verifyNoInteractions(fileStorageService);
+        assertEquals(1, purgeService.stats().failedRuns());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.nasda.service;
+
+import com.example.nasda.domain.RecentStickerEntity;
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+import com.example.nasda.repository.sticker.RecentStickerRepository;
+import com.example.nasda.service.sticker.RecentStickerService;
+import com.example.nasda.service.sticker.StickerCatalog;
+import com.example.nasda.service.sticker.StickerSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class RecentStickerServiceTest {
+
+    private final RecentStickerRepository repository = mock(RecentStickerRepository.class);
+    private final StickerCatalog stickerCatalog = mock(StickerCatalog.class);
+
+    @BeforeEach
+    public void setUp() {
+        List<StickerResponseDTO> stickers = IntStream.rangeClosed(1, 9)
+                .mapToObj(i -> StickerResponseDTO.builder().stickerId(i).stickerName("s" + i).build()).toList();
+        when(stickerCatalog.snapshot()).thenReturn(new StickerCatalog.Snapshot("v1", "\"v1\"", new byte[0],
+                List.of(), stickers, Map.of(), Map.of(), StickerSearchIndex.of(stickers)));
+        when(repository.findById(anyInt())).thenReturn(Optional.empty());
+    }
+
+    // 사용자당 3개, 메모리에는 2명까지
+    private RecentStickerService service(boolean persist) {
+        return new RecentStickerService(repository, stickerCatalog, mock(PlatformTransactionManager.class), 3, 2, persist);
+    }
+
+    private static List<Integer> ids(List<StickerResponseDTO> stickers) {
+        return stickers.stream().map(StickerResponseDTO::getStickerId).toList();
+    }
+
+    @Test
+    @DisplayName("최근 붙인 스티커가 앞, 중복 없이 사용자당 N 개, 카탈로그에 없는 스티커 제외")
+    public void testMostRecentFirst() {
+        RecentStickerService service = service(false);
+        service.record(1, List.of(1, 2));
+        service.record(1, List.of(3, 1));
+        assertEquals(List.of(1, 3, 2), ids(service.recent(1)));
+
+        service.record(1, List.of(4, 42));
+        assertEquals(List.of(4, 1), ids(service.recent(1))); // 42 는 카탈로그에 없음, 2 는 밀려남
+        assertEquals(List.of(), service.recent(2));
+        assertEquals(List.of(), service.recent(null));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("바뀐 목록은 모아서 쓰고, 메모리에서 밀려난 사용자는 한 번만 DB 에서 읽음")
+    @SuppressWarnings("unchecked")
+    public void testWriteBehindAndLazyLoad() {
+        RecentStickerService service = service(true);
+        service.record(1, List.of(5, 6));
+        service.record(1, List.of(7));
+        service.flush();
+
+        ArgumentCaptor<List<RecentStickerEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(saved.capture());
+        assertEquals("7,6,5", saved.getValue().get(0).getStickerIds());
+        assertEquals(0, service.stats().pendingUsers());
+
+        service.flush(); // 바뀐 게 없으면 쓰지 않음
+        verify(repository, times(1)).saveAll(anyList());
+
+        // 사용자 1 이 LRU 에서 밀려난 뒤 다시 조회 → 테이블에서 한 번 읽음
+        clearInvocations(repository);
+        when(repository.findById(1)).thenReturn(Optional.of(
+                RecentStickerEntity.builder().userId(1).stickerIds("7,6,5").build()));
+        service.recent(2);
+        service.recent(3);
+        assertEquals(List.of(7, 6, 5), ids(service.recent(1)));
+        assertEquals(List.of(7, 6, 5), ids(service.recent(1)));
+        verify(repository, times(1)).findById(1);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.nasda.service;
+
+import com.example.nasda.service.storage.ImageStorage;
+import com.example.nasda.service.storage.LocalImageStorage;
+import com.example.nasda.service.storage.ReplicatingImageStorage;
+import com.example.nasda.service.storage.StoredImage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicatingImageStorageTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    @DisplayName("primary 에 동기 저장 후 replica 로 비동기 복제, 삭제도 전파")
+    public void testReplication() throws Exception {
+        LocalImageStorage primary = new LocalImageStorage(tmp.resolve("a").toString());
+        LocalImageStorage replica = new LocalImageStorage(tmp.resolve("b").toString());
+
+        try (ReplicatingImageStorage storage =
+                     new ReplicatingImageStorage(primary, List.of(primary, replica), 1, 100, 3, 10)) {
+            storage.put("x.png", new ByteArrayInputStream(new byte[]{1, 2, 3}), 3, "image/png");
+
+            assertTrue(Files.exists(primary.localPath("x.png")));
+            await(() -> Files.exists(replica.localPath("x.png")));
+            assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(replica.localPath("x.png")));
+            await(() -> storage.stats().replicated() == 1);
+
+            storage.delete("x.png");
+            assertFalse(Files.exists(primary.localPath("x.png")));
+            await(() -> !Files.exists(replica.localPath("x.png")));
+        }
+    }
+
+    @Test
+    @DisplayName("앞쪽 저장소에 없으면 뒤쪽에서 읽고 앞쪽을 채움(read-through)")
+    public void testReadThrough() throws Exception {
+        LocalImageStorage cache = new LocalImageStorage(tmp.resolve("cache").toString());
+        LocalImageStorage origin = new LocalImageStorage(tmp.resolve("origin").toString());
+        origin.put("y.jpg", new ByteArrayInputStream(new byte[]{9, 8}), 2, "image/jpeg");
+
+        try (ReplicatingImageStorage storage =
+                     new ReplicatingImageStorage(origin, List.of(cache, origin), 1, 100, 3, 10)) {
+            try (StoredImage image = storage.get("y.jpg")) {
+                assertNotNull(image);
+                assertArrayEquals(new byte[]{9, 8}, image.stream().readAllBytes());
+            }
+            await(() -> Files.exists(cache.localPath("y.jpg")));
+            assertEquals(1, storage.stats().readFallbacks());
+            assertNull(storage.get("none.jpg"));
+        }
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 primary 가 삭제되면 캐시 사본도 재검증 시 지워짐")
+    public void testStaleCacheDropped() throws Exception {
+        LocalImageStorage cache = new LocalImageStorage(tmp.resolve("node-cache").toString());
+        LocalImageStorage origin = new LocalImageStorage(tmp.resolve("shared").toString());
+        origin.put("d.png", new ByteArrayInputStream(new byte[]{4}), 1, "image/png");
+        cache.put("d.png", new ByteArrayInputStream(new byte[]{4}), 1, "image/png"); // 이 노드가 채워 둔 사본
+
+        try (ReplicatingImageStorage storage =
+                     new ReplicatingImageStorage(origin, List.of(cache, origin), 1, 100, 3, 10, 0, 100)) {
+            assertTrue(Files.exists(storage.localPath("d.png")));
+
+            origin.delete("d.png"); // 다른 노드가 삭제
+
+            assertFalse(Files.exists(storage.localPath("d.png")));
+            assertFalse(Files.exists(cache.localPath("d.png")));
+            assertNull(storage.get("d.png"));
+            assertEquals(1, storage.stats().staleEvictions());
+        }
+    }
+
+    @Test
+    @DisplayName("put(Path) 는 어느 저장소든 원본 파일을 그대로 둠")
+    public void testPutPathKeepsSource() throws Exception {
+        LocalImageStorage local = new LocalImageStorage(tmp.resolve("keep").toString());
+        Path source = Files.write(tmp.resolve("source.png"), new byte[]{1, 2});
+
+        local.put("k.png", source, "image/png");
+
+        assertTrue(Files.exists(source));
+        assertArrayEquals(new byte[]{1, 2}, Files.readAllBytes(local.localPath("k.png")));
+    }
+
+    @Test
+    @DisplayName("복제 실패 시 재시도, 한도를 넘으면 실패로 집계")
+    public void testRetry() throws Exception {
+        LocalImageStorage primary = new LocalImageStorage(tmp.resolve("p").toString());
+        FlakyStorage flaky = new FlakyStorage(2);
+        FlakyStorage broken = new FlakyStorage(Integer.MAX_VALUE);
+
+        try (ReplicatingImageStorage storage =
+                     new ReplicatingImageStorage(primary, List.of(primary, flaky, broken), 1, 100, 3, 5)) {
+            storage.put("z.png", new ByteArrayInputStream(new byte[]{7}), 1, "image/png");
+
+            await(() -> storage.stats().pendingReplications() == 0);
+            assertEquals(3, flaky.attempts.get());
+            assertEquals(1, flaky.stored.get());
+            assertEquals(3, broken.attempts.get());
+            assertEquals(1, storage.stats().replicationFailures());
+        }
+    }
+
+    @Test
+    @DisplayName("로컬 파일에서 복제해도 저장할 때 받은 content type 을 replica 에 넘김")
+    public void testReplicationKeepsContentType() throws Exception {
+        LocalImageStorage primary = new LocalImageStorage(tmp.resolve("ct").toString());
+        FlakyStorage replica = new FlakyStorage(0);
+
+        try (ReplicatingImageStorage storage =
+                     new ReplicatingImageStorage(primary, List.of(primary, replica), 1, 100, 3, 5)) {
+            storage.put("w", new ByteArrayInputStream(new byte[]{5}), 1, "image/webp"); // 확장자 없는 키
+            storage.put("v.png", new ByteArrayInputStream(new byte[]{6}), 1, null);
+
+            await(() -> storage.stats().replicated() == 2);
+            assertEquals("image/webp", replica.contentTypes.get("w"));
+            assertEquals("image/png", replica.contentTypes.get("v.png")); // 모르면 확장자로
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("시간 초과");
+            Thread.sleep(10);
+        }
+    }
+
+    // 처음 failures 번은 실패하는 저장소
+    private static class FlakyStorage implements ImageStorage {
+        private final int failures;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final AtomicInteger stored = new AtomicInteger();
+        private final Map<String, String> contentTypes = new ConcurrentHashMap<>();
+
+        FlakyStorage(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public String name() {
+            return "flaky";
+        }
+
+        @Override
+        public void put(String key, InputStream in, long size, String contentType) throws IOException {
+            if (attempts.incrementAndGet() <= failures) throw new IOException("일시 장애");
+            in.readAllBytes();
+            if (contentType != null) contentTypes.put(key, contentType);
+            stored.incrementAndGet();
+        }
+
+        @Override
+        public StoredImage get(String key) {
+            return null;
+        }
+
+        @Override
+        public void delete(String key) {
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.nasda.service;
+
+import com.example.nasda.config.StorageConfig;
+import com.example.nasda.service.storage.S3ImageStorage;
+import com.example.nasda.service.storage.StoredImage;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로컬 HTTP 서버로 만든 최소한의 S3(path-style) 대역에 대해 S3ImageStorage 동작 확인
+ */
+public class S3ImageStorageTest {
+
+    private HttpServer server;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final Map<String, String> contentTypes = new ConcurrentHashMap<>();
+    private S3ImageStorage storage;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        String endpoint = "http://127.0.0.1:" + server.getAddress().getPort();
+        storage = new S3ImageStorage(
+                StorageConfig.s3Client(endpoint, "us-east-1", "test", "test-secret", true),
+                "bucket", "images/");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        storage.close();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("S3 저장/조회/삭제, 없는 키는 null")
+    public void testPutGetDelete() throws IOException {
+        byte[] data = "png-bytes".getBytes(StandardCharsets.UTF_8);
+        storage.put("a.png", new ByteArrayInputStream(data), data.length, "image/png");
+
+        assertArrayEquals(data, objects.get("/bucket/images/a.png"));
+        assertEquals("image/png", contentTypes.get("/bucket/images/a.png"));
+
+        try (StoredImage image = storage.get("a.png")) {
+            assertNotNull(image);
+            assertEquals(data.length, image.size());
+            assertEquals("image/png", image.contentType());
+            assertArrayEquals(data, image.stream().readAllBytes());
+        }
+
+        storage.delete("a.png");
+        assertFalse(objects.containsKey("/bucket/images/a.png"));
+        assertNull(storage.get("a.png"));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String key = exchange.getRequestURI().getPath();
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> {
+                byte[] body = exchange.getRequestBody().readAllBytes();
+                objects.put(key, body);
+                String type = exchange.getRequestHeaders().getFirst("Content-Type");
+                if (type != null) contentTypes.put(key, type);
+                exchange.getResponseHeaders().add("ETag", "\"" + md5Hex(body) + "\""); // S3 와 동일하게 본문 MD5
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "GET" -> {
+                byte[] body = objects.get(key);
+                if (body == null) {
+                    byte[] error = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                            + "<Error><Code>NoSuchKey</Code><Message>not found</Message></Error>")
+                            .getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/xml");
+                    exchange.sendResponseHeaders(404, error.length);
+                    exchange.getResponseBody().write(error);
+                } else {
+                    exchange.getResponseHeaders().add("Content-Type", contentTypes.getOrDefault(key, "application/octet-stream"));
+                    exchange.sendResponseHeaders(200, body.length);
+                    exchange.getResponseBody().write(body);
+                }
+            }
+            case "DELETE" -> {
+                objects.remove(key);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+        exchange.close();
+    }
+
+    private static String md5Hex(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
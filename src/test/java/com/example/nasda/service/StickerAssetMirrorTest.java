@@ -0,0 +1,141 @@
+package com.example.nasda.service;
+
+import com.example.nasda.repository.sticker.StickerRepository;
+import com.example.nasda.service.sticker.StickerAssetMirror;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class StickerAssetMirrorTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3, 4};
+
+    @TempDir
+    Path tmp;
+
+    // 외부 스티커 서버 대신 쓰는 로컬 HTTP 서버
+    private HttpServer origin;
+    private final AtomicInteger requests = new AtomicInteger();
+    private String base;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        origin = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        origin.createContext("/emoji/", exchange -> {
+            requests.incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith("redirect.png")) {
+                exchange.getResponseHeaders().set("Location", "http://169.254.169.254/latest/meta-data/");
+                exchange.sendResponseHeaders(302, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = path.endsWith("text.png") ? "<html>".getBytes() : PNG;
+            exchange.getResponseHeaders().set("Content-Type", path.endsWith("text.png") ? "text/html" : "image/png");
+            exchange.sendResponseHeaders(path.endsWith("missing.png") ? 404 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        origin.start();
+        base = "http://127.0.0.1:" + origin.getAddress().getPort() + "/emoji/";
+    }
+
+    @AfterEach
+    public void tearDown() {
+        origin.stop(0);
+    }
+
+    private StickerAssetMirror mirror() throws Exception {
+        // 테스트 원본은 로컬 http 서버라서 127.0.0.1 만 허용하고 https 는 요구하지 않음
+        return new StickerAssetMirror(mock(StickerRepository.class), tmp.resolve("stickers").toString(), true, 1024, 2000,
+                List.of("127.0.0.1"), false, 60_000);
+    }
+
+    private static String filename(String publicUrl) {
+        return publicUrl.substring(StickerAssetMirror.URL_PREFIX.length());
+    }
+
+    @Test
+    @DisplayName("외부 URL 은 로컬 주소로 바뀌고, 원본에서는 한 번만 받음 (재시작 후에도)")
+    public void testFetchOnce() throws Exception {
+        StickerAssetMirror mirror = mirror();
+        String url = base + "Smiling%20Face.png";
+
+        String local = mirror.publicUrl(url);
+        assertTrue(local.startsWith("/sticker-assets/"));
+        assertTrue(local.endsWith(".png"));
+        assertEquals(local, mirror.publicUrl(url));
+        assertEquals("/images/sun.png", mirror.publicUrl("/images/sun.png")); // 로컬 이미지는 그대로
+
+        Path file = mirror.resolve(filename(local));
+        assertNotNull(file);
+        assertArrayEquals(PNG, Files.readAllBytes(file));
+        assertEquals(file, mirror.resolve(filename(local)));
+        assertEquals(1, requests.get());
+
+        StickerAssetMirror restarted = mirror();
+        assertEquals(file, restarted.fileFor(url));
+        assertEquals(1, requests.get());
+        mirror.shutdown();
+        restarted.shutdown();
+    }
+
+    @Test
+    @DisplayName("원본 실패/이미지가 아닌 응답/모르는 파일명은 null (호출자가 원본 URL 로 보냄)")
+    public void testFailures() throws Exception {
+        StickerAssetMirror mirror = mirror();
+        String missing = mirror.publicUrl(base + "missing.png");
+        String text = mirror.publicUrl(base + "text.png");
+
+        assertNull(mirror.resolve(filename(missing)));
+        assertNull(mirror.resolve(filename(text)));
+        assertEquals(base + "missing.png", mirror.remoteUrl(filename(missing)));
+        assertNull(mirror.resolve("0000.png"));
+        assertNull(mirror.resolve("../secret.png"));
+        assertTrue(mirror.stats().failures() >= 2);
+
+        // 실패한 파일은 한동안 원본에 다시 묻지 않음
+        int before = requests.get();
+        assertNull(mirror.resolve(filename(missing)));
+        assertEquals(before, requests.get());
+        mirror.shutdown();
+    }
+
+    @Test
+    @DisplayName("허용 호스트가 아니면 주소를 바꾸지 않고 서버에서 받지도 않음, 리다이렉트는 따라가지 않음")
+    public void testOnlyAllowedHosts() throws Exception {
+        StickerAssetMirror mirror = mirror();
+        String internal = "http://169.254.169.254/latest/meta-data/iam.png";
+        String localhost = "http://localhost:" + origin.getAddress().getPort() + "/emoji/a.png";
+
+        assertEquals(internal, mirror.publicUrl(internal));
+        assertEquals(localhost, mirror.publicUrl(localhost));
+        assertNull(mirror.fileFor(internal));
+        assertThrows(java.io.IOException.class, () -> mirror.open(localhost));
+        assertEquals(0, requests.get());
+
+        String redirect = mirror.publicUrl(base + "redirect.png");
+        assertNull(mirror.resolve(filename(redirect)));
+        assertEquals(1, requests.get());
+
+        StickerAssetMirror httpsOnly = new StickerAssetMirror(mock(StickerRepository.class), tmp.resolve("s2").toString(),
+                true, 1024, 2000, List.of("127.0.0.1"), true, 60_000);
+        assertEquals(base + "a.png", httpsOnly.publicUrl(base + "a.png"));
+        mirror.shutdown();
+        httpsOnly.shutdown();
+    }
+}
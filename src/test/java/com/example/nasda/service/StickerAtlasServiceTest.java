@@ -0,0 +1,155 @@
+package com.example.nasda.service;
+
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+import com.example.nasda.service.sticker.StickerAssetMirror;
+import com.example.nasda.service.sticker.StickerAtlasLayout;
+import com.example.nasda.service.sticker.StickerAtlasService;
+import com.example.nasda.service.sticker.StickerCatalog;
+import com.example.nasda.service.sticker.StickerSearchIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StickerAtlasServiceTest {
+
+    @TempDir
+    Path tmp;
+
+    private final StickerCatalog stickerCatalog = mock(StickerCatalog.class);
+    private final StickerAssetMirror stickerAssetMirror = mock(StickerAssetMirror.class);
+
+    private static StickerResponseDTO sticker(int id, String url) {
+        StickerResponseDTO dto = new StickerResponseDTO();
+        dto.setStickerId(id);
+        dto.setStickerImageUrl(url);
+        return dto;
+    }
+
+    private static byte[] png(int w, int h, Color color) throws Exception {
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, w, h);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private void snapshot(StickerAtlasLayout layout) {
+        when(stickerCatalog.snapshot()).thenReturn(new StickerCatalog.Snapshot("v", "\"v\"", new byte[0],
+                List.of(), List.of(), Map.of(), layout == null ? Map.of() : Map.of(layout.categoryId(), layout),
+                StickerSearchIndex.of(List.of())));
+    }
+
+    @Test
+    @DisplayName("배치는 카탈로그 순서대로 COLUMNS 개씩, 버전은 스티커 목록이 바뀔 때만 달라짐")
+    public void testLayout() {
+        List<StickerResponseDTO> stickers = IntStream.range(0, 10).mapToObj(i -> sticker(i, "/images/" + i + ".png")).toList();
+        StickerAtlasLayout layout = StickerAtlasLayout.of(1, stickers);
+
+        int cell = StickerAtlasLayout.CELL;
+        assertEquals(StickerAtlasLayout.COLUMNS * cell, layout.width());
+        assertEquals(2 * cell, layout.height());
+        assertArrayEquals(new int[]{0, 0}, layout.position(0));
+        assertArrayEquals(new int[]{2 * cell, cell}, layout.position(StickerAtlasLayout.COLUMNS + 2));
+        assertEquals("/api/sticker-atlas/1/" + layout.version() + ".png", layout.url());
+
+        assertEquals(layout.version(), StickerAtlasLayout.of(1, stickers).version());
+        assertNotEquals(layout.version(), StickerAtlasLayout.of(1, stickers.subList(0, 9)).version());
+    }
+
+    @Test
+    @DisplayName("요청 스레드는 그리지 않고 404(null), 백그라운드에서 칸마다 스티커를 그려 한 장으로 저장하고 같은 버전은 다시 그리지 않음")
+    public void testGenerate() throws Exception {
+        byte[] red = png(20, 20, Color.RED);
+        byte[] blue = png(40, 20, Color.BLUE);
+        when(stickerAssetMirror.openIfPresent("/images/red.png")).thenAnswer(inv -> new ByteArrayInputStream(red));
+        when(stickerAssetMirror.openIfPresent("/images/blue.png")).thenAnswer(inv -> new ByteArrayInputStream(blue));
+        StickerAtlasService service = new StickerAtlasService(stickerCatalog, stickerAssetMirror, tmp.toString(), 1);
+
+        StickerAtlasLayout layout = StickerAtlasLayout.of(3, List.of(sticker(1, "/images/red.png"), sticker(2, "/images/blue.png")));
+        assertNull(service.atlas(layout));
+        Path file = service.prepare(layout).get(5, TimeUnit.SECONDS);
+        BufferedImage atlas = ImageIO.read(file.toFile());
+
+        int cell = StickerAtlasLayout.CELL;
+        assertEquals(2 * cell, atlas.getWidth());
+        assertEquals(cell, atlas.getHeight());
+        assertEquals(Color.RED.getRGB(), atlas.getRGB(cell / 2, cell / 2));
+        assertEquals(Color.BLUE.getRGB(), atlas.getRGB(cell + cell / 2, cell / 2));
+        assertEquals(0, atlas.getRGB(cell + cell / 2, 2) >>> 24); // 가로로 긴 스티커는 위아래가 투명
+
+        assertEquals(file, service.atlas(layout));
+        verify(stickerAssetMirror, times(1)).openIfPresent("/images/red.png");
+        verify(stickerAssetMirror, never()).open(anyString()); // 원본 받기는 미러 몫
+        assertEquals(1, service.stats().generated());
+        assertEquals(1, service.stats().hits());
+    }
+
+    @Test
+    @DisplayName("미러에 아직 없는 스티커가 있으면 그리지 않고 미룸, 받아진 뒤 요청에서 그림")
+    public void testWaitForMirror() throws Exception {
+        byte[] red = png(20, 20, Color.RED);
+        when(stickerAssetMirror.openIfPresent("/images/red.png")).thenAnswer(inv -> new ByteArrayInputStream(red));
+        when(stickerAssetMirror.openIfPresent("https://cdn.test/a.png")).thenReturn(null);
+        StickerAtlasService service = new StickerAtlasService(stickerCatalog, stickerAssetMirror, tmp.toString(), 1);
+
+        StickerAtlasLayout layout = StickerAtlasLayout.of(3, List.of(sticker(1, "/images/red.png"), sticker(2, "https://cdn.test/a.png")));
+        assertNull(service.prepare(layout).get(5, TimeUnit.SECONDS));
+        assertEquals(1, service.stats().waitingForMirror());
+        assertEquals(0, service.stats().failures());
+
+        when(stickerAssetMirror.openIfPresent("https://cdn.test/a.png")).thenAnswer(inv -> new ByteArrayInputStream(red));
+        assertNotNull(service.prepare(layout).get(5, TimeUnit.SECONDS));
+        assertNotNull(service.atlas(layout));
+    }
+
+    @Test
+    @DisplayName("카테고리가 바뀌면 새 버전을 그리고 예전 버전 파일을 지움, 스티커 하나라도 못 읽으면 실패")
+    public void testRebuildAndFailure() throws Exception {
+        byte[] red = png(20, 20, Color.RED);
+        when(stickerAssetMirror.openIfPresent(anyString())).thenAnswer(inv -> new ByteArrayInputStream(red));
+        StickerAtlasService service = new StickerAtlasService(stickerCatalog, stickerAssetMirror, tmp.toString(), 1);
+
+        StickerAtlasLayout v1 = StickerAtlasLayout.of(3, List.of(sticker(1, "/images/a.png")));
+        Path old = service.prepare(v1).get(5, TimeUnit.SECONDS);
+
+        StickerAtlasLayout v2 = StickerAtlasLayout.of(3, List.of(sticker(1, "/images/a.png"), sticker(2, "/images/b.png")));
+        snapshot(v2);
+        service.rebuild(3);
+        assertFalse(Files.exists(old));
+        assertNotNull(service.prepare(v2).get(5, TimeUnit.SECONDS)); // 그리는 중이면 같은 작업을 기다림
+        assertEquals(2, service.stats().generated());
+
+        // 마지막 스티커 삭제 → 파일 정리만
+        snapshot(null);
+        service.rebuild(3);
+        try (var files = Files.list(tmp)) {
+            assertEquals(0, files.count());
+        }
+
+        when(stickerAssetMirror.openIfPresent("/images/broken.png")).thenAnswer(inv -> new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        StickerAtlasLayout broken = StickerAtlasLayout.of(4, List.of(sticker(5, "/images/broken.png")));
+        assertThrows(ExecutionException.class, () -> service.prepare(broken).get(5, TimeUnit.SECONDS));
+        assertEquals(1, service.stats().failures());
+    }
+}
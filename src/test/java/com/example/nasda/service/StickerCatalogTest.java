@@ -0,0 +1,131 @@
+package com.example.nasda.service;
+
+import com.example.nasda.domain.StickerCategoryEntity;
+import com.example.nasda.domain.StickerEntity;
+import com.example.nasda.mapper.StickerMapper;
+import com.example.nasda.repository.sticker.StickerCategoryRepository;
+import com.example.nasda.repository.sticker.StickerRepository;
+import com.example.nasda.service.sticker.StickerAssetMirror;
+import com.example.nasda.service.sticker.StickerAtlasLayout;
+import com.example.nasda.service.sticker.StickerCatalog;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StickerCatalogTest {
+
+    private final StickerCategoryRepository categoryRepository = mock(StickerCategoryRepository.class);
+    private final StickerRepository stickerRepository = mock(StickerRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StickerMapper stickerMapper = Mappers.getMapper(StickerMapper.class);
+    private final StickerAssetMirror stickerAssetMirror = mock(StickerAssetMirror.class);
+
+    {
+        when(stickerAssetMirror.publicUrl(anyString())).thenAnswer(inv -> inv.getArgument(0));
+        when(stickerRepository.findChangeMarker()).thenAnswer(inv -> marker(this.stickers.size(),
+                this.stickers.stream().mapToInt(StickerEntity::getStickerId).max().orElse(0)));
+        when(categoryRepository.findChangeMarker()).thenReturn(marker(2, 2));
+    }
+
+    private final StickerCategoryEntity emotion = StickerCategoryEntity.builder().stickerCategoryId(1).name("감정").build();
+    private final StickerCategoryEntity animal = StickerCategoryEntity.builder().stickerCategoryId(2).name("동물").build();
+    private final List<StickerEntity> stickers = new ArrayList<>(List.of(
+            sticker(10, emotion, "smile"),
+            sticker(11, animal, "cat"),
+            sticker(12, emotion, "cry")
+    ));
+
+    private static StickerRepository.ChangeMarkerView marker(long count, int maxId) {
+        return new StickerRepository.ChangeMarkerView() {
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public Integer getMaxId() {
+                return maxId;
+            }
+        };
+    }
+
+    private static StickerEntity sticker(int id, StickerCategoryEntity category, String name) {
+        return StickerEntity.builder().stickerId(id).stickerCategory(category)
+                .stickerName(name).stickerImageUrl("/images/" + name + ".png").build();
+    }
+
+    @Test
+    @DisplayName("카테고리별 묶음, 미리 직렬화된 JSON, 첫 조회 이후 DB 조회 없음")
+    public void testSnapshot() throws Exception {
+        when(categoryRepository.findAll()).thenReturn(List.of(animal, emotion));
+        when(stickerRepository.findAllWithCategory()).thenReturn(stickers);
+        StickerCatalog catalog = new StickerCatalog(categoryRepository, stickerRepository, objectMapper, stickerMapper, stickerAssetMirror);
+
+        StickerCatalog.Snapshot snapshot = catalog.snapshot();
+        assertEquals(List.of(10, 12), snapshot.stickersOf(1).stream().map(s -> s.getStickerId()).toList());
+        assertEquals("감정", snapshot.stickersOf(1).get(0).getCategoryName());
+        assertEquals(List.of(), snapshot.stickersOf(99));
+        assertEquals("\"" + snapshot.version() + "\"", snapshot.etag());
+
+        JsonNode json = objectMapper.readTree(snapshot.json());
+        assertEquals(snapshot.version(), json.get("version").asText());
+        assertEquals(1, json.get("categories").get(0).get("stickerCategoryId").asInt());
+        assertEquals(2, json.get("categories").get(0).get("stickers").size());
+
+        // 탭마다 스프라이트 아틀라스 주소 + 스티커별 칸 좌표
+        JsonNode category = json.get("categories").get(0);
+        assertEquals(snapshot.atlasOf(1).url(), category.get("atlas").get("url").asText());
+        assertEquals(StickerAtlasLayout.CELL, category.get("stickers").get(1).get("sprite").get(0).asInt());
+
+        catalog.snapshot();
+        catalog.version();
+        verify(stickerRepository, times(1)).findAllWithCategory();
+    }
+
+    @Test
+    @DisplayName("버전은 내용 해시: 같은 내용이면 같고, 스티커가 바뀌면 달라짐")
+    public void testVersion() {
+        when(categoryRepository.findAll()).thenReturn(List.of(emotion, animal));
+        when(stickerRepository.findAllWithCategory()).thenAnswer(inv -> List.copyOf(stickers));
+        StickerCatalog catalog = new StickerCatalog(categoryRepository, stickerRepository, objectMapper, stickerMapper, stickerAssetMirror);
+
+        String v1 = catalog.version();
+        assertEquals(v1, catalog.rebuild().version());
+        assertEquals(v1, new StickerCatalog(categoryRepository, stickerRepository, objectMapper, stickerMapper, stickerAssetMirror).version());
+
+        stickers.add(sticker(13, animal, "dog"));
+        StickerCatalog.Snapshot rebuilt = catalog.rebuild();
+        assertNotEquals(v1, rebuilt.version());
+        assertEquals(2, rebuilt.stickersOf(2).size());
+    }
+
+    @Test
+    @DisplayName("다른 서버의 생성/삭제는 개수 + 가장 큰 ID 가 바뀌었을 때만 다시 만듦")
+    public void testRefreshIfStale() {
+        when(categoryRepository.findAll()).thenReturn(List.of(emotion, animal));
+        when(stickerRepository.findAllWithCategory()).thenAnswer(inv -> List.copyOf(stickers));
+        StickerCatalog catalog = new StickerCatalog(categoryRepository, stickerRepository, objectMapper, stickerMapper, stickerAssetMirror);
+
+        catalog.refreshIfStale(); // 아직 만들지 않았으면 아무것도 안 함
+        verify(stickerRepository, never()).findAllWithCategory();
+
+        String v1 = catalog.version();
+        catalog.refreshIfStale();
+        verify(stickerRepository, times(1)).findAllWithCategory(); // 그대로면 집계만
+
+        stickers.remove(0);
+        stickers.add(sticker(13, animal, "dog")); // 하나 지우고 하나 추가 (개수는 같음)
+        catalog.refreshIfStale();
+        verify(stickerRepository, times(2)).findAllWithCategory();
+        assertNotEquals(v1, catalog.version());
+    }
+}
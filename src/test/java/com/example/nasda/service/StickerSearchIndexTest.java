@@ -0,0 +1,49 @@
+package com.example.nasda.service;
+
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+import com.example.nasda.service.sticker.StickerSearchIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StickerSearchIndexTest {
+
+    private static StickerResponseDTO sticker(int id, String name, String category) {
+        return StickerResponseDTO.builder().stickerId(id).stickerName(name).categoryName(category)
+                .stickerImageUrl("/images/" + id + ".png").build();
+    }
+
+    private final StickerSearchIndex index = StickerSearchIndex.of(List.of(
+            sticker(1, "Smiling Sun", "날씨"),
+            sticker(2, "Sun", "날씨"),
+            sticker(3, "Sunflower", "꽃"),
+            sticker(4, "Happy sunny-day", "감정"),
+            sticker(5, "웃는 고양이", "동물"),
+            sticker(6, "고양이", "동물")
+    ));
+
+    private static List<Integer> ids(List<StickerResponseDTO> result) {
+        return result.stream().map(StickerResponseDTO::getStickerId).toList();
+    }
+
+    @Test
+    @DisplayName("이름 일치 > 이름 접두어 > 단어 일치 > 단어 접두어, 카테고리 구분 없음")
+    public void testRanking() {
+        assertEquals(List.of(2, 3, 1, 4), ids(index.search("sun", 10)));
+        assertEquals(List.of(6, 5), ids(index.search("고양", 10)));
+        assertEquals(List.of(2, 3), ids(index.search("SUN", 2)));
+    }
+
+    @Test
+    @DisplayName("여러 단어는 모두 맞아야 하고, 빈 검색어나 없는 단어는 빈 결과")
+    public void testAllWordsMustMatch() {
+        assertEquals(List.of(1), ids(index.search("smi sun", 10)));
+        assertEquals(List.of(4), ids(index.search("day happy", 10)));
+        assertEquals(List.of(), ids(index.search("sun cat", 10)));
+        assertEquals(List.of(), ids(index.search("  ", 10)));
+        assertEquals(List.of(), ids(index.search("zzz", 10)));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.nasda.service;
+
+import com.example.nasda.domain.StickerUsageEntity;
+import com.example.nasda.dto.sticker.StickerResponseDTO;
+import com.example.nasda.repository.sticker.StickerUsageRepository;
+import com.example.nasda.service.sticker.StickerCatalog;
+import com.example.nasda.service.sticker.StickerSearchIndex;
+import com.example.nasda.service.sticker.StickerUsageCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StickerUsageCounterTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    private final StickerUsageRepository repository = mock(StickerUsageRepository.class);
+    private final StickerCatalog stickerCatalog = mock(StickerCatalog.class);
+    private final Map<Integer, StickerUsageEntity> table = new HashMap<>();
+    private StickerUsageCounter counter;
+
+    @BeforeEach
+    public void setUp() {
+        // 가짜 sticker_usage_stats 테이블 (upsert 는 SQL 과 같은 식으로)
+        when(repository.addUsage(anyInt(), anyLong(), anyLong(), anyDouble())).thenAnswer(inv -> {
+            Integer id = inv.getArgument(0);
+            long n = inv.getArgument(1);
+            long now = inv.getArgument(2);
+            double halfLife = inv.getArgument(3);
+            StickerUsageEntity row = table.get(id);
+            table.put(id, row == null
+                    ? StickerUsageEntity.builder().stickerId(id).uses(n).score((double) n).scoredAt(now).build()
+                    : StickerUsageEntity.builder().stickerId(id).uses(row.getUses() + n)
+                            .score(row.getScore() * Math.pow(0.5, Math.max(0, now - row.getScoredAt()) / halfLife) + n)
+                            .scoredAt(Math.max(row.getScoredAt(), now)).build());
+            return 1;
+        });
+        when(repository.findAll()).thenAnswer(inv -> new ArrayList<>(table.values()));
+
+        List<StickerResponseDTO> stickers = IntStream.rangeClosed(1, 4)
+                .mapToObj(i -> StickerResponseDTO.builder().stickerId(i).stickerName("s" + i).build()).toList();
+        when(stickerCatalog.snapshot()).thenReturn(new StickerCatalog.Snapshot("v1", "\"v1\"", new byte[0],
+                List.of(), stickers, Map.of(), Map.of(), StickerSearchIndex.of(stickers)));
+
+        counter = new StickerUsageCounter(repository, stickerCatalog, mock(PlatformTransactionManager.class), 24, 3);
+    }
+
+    private static List<Integer> ids(List<StickerResponseDTO> stickers) {
+        return stickers.stream().map(StickerResponseDTO::getStickerId).toList();
+    }
+
+    @Test
+    @DisplayName("사용 수는 메모리에서 세고, 반영 때 늘어난 만큼만 테이블에 더함")
+    public void testFlushAddsDeltas() {
+        counter.record(List.of(1, 2, 2));
+        counter.flush();
+        assertEquals(1L, table.get(1).getUses());
+        assertEquals(2L, table.get(2).getUses());
+        assertEquals(List.of(2, 1), ids(counter.popular(10)));
+
+        counter.record(List.of(1, 1, 1));
+        assertEquals(3, counter.stats().pending());
+        counter.flush();
+        assertEquals(4L, table.get(1).getUses());
+        assertEquals(2L, table.get(2).getUses());
+        assertEquals(0, counter.stats().pending());
+        assertEquals(List.of(1, 2), ids(counter.popular(10)));
+
+        // 바뀐 게 없으면 쓰지 않음 (스티커 1, 2 → 1)
+        counter.flush();
+        verify(repository, times(3)).addUsage(anyInt(), anyLong(), anyLong(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("오래된 점수는 반감기마다 절반: 최근에 쓰인 스티커가 위, 상위 K 개만, 지워진 스티커 제외")
+    public void testDecayedRanking() {
+        long now = System.currentTimeMillis();
+        table.put(1, StickerUsageEntity.builder().stickerId(1).uses(100L).score(100.0).scoredAt(now - 24 * HOUR * 5).build()); // ≈ 3
+        table.put(2, StickerUsageEntity.builder().stickerId(2).uses(10L).score(10.0).scoredAt(now).build());
+        table.put(3, StickerUsageEntity.builder().stickerId(3).uses(5L).score(5.0).scoredAt(now).build());
+        table.put(4, StickerUsageEntity.builder().stickerId(4).uses(1L).score(1.0).scoredAt(now).build());
+        table.put(99, StickerUsageEntity.builder().stickerId(99).uses(50L).score(50.0).scoredAt(now).build()); // 카탈로그에 없음
+
+        counter.flush();
+
+        assertEquals(List.of(2, 3), ids(counter.popular(10))); // 상위 3 = [99, 2, 3] 에서 99 제외
+        assertEquals(List.of(2), ids(counter.popular(1)));
+        assertEquals(3, counter.stats().ranked());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.nasda.service;
+
+import com.example.nasda.service.upload.UploadAdmissionService;
+import com.example.nasda.service.upload.UploadAdmissionService.Rejection;
+import com.example.nasda.service.upload.UploadAdmissionService.RejectedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UploadAdmissionServiceTest {
+
+    @Test
+    @DisplayName("전체 in-flight 바이트 예산 초과 시 거절, 반납 후 다시 입장")
+    public void testGlobalBudget() {
+        UploadAdmissionService admission = new UploadAdmissionService(100, 5, 0);
+
+        UploadAdmissionService.Permit a = admission.acquire("u1", 60);
+        RejectedException e = assertThrows(RejectedException.class, () -> admission.acquire("u2", 60));
+        assertEquals(Rejection.GLOBAL_BUDGET, e.getReason());
+        assertEquals(60, admission.stats().rejectedBytes());
+
+        a.close();
+        a.close(); // 중복 반납은 무시
+        admission.acquire("u2", 60).close();
+        assertEquals(0, admission.stats().inFlightBytes());
+    }
+
+    @Test
+    @DisplayName("유저별 동시 업로드 수 제한")
+    public void testPerUserConcurrency() {
+        UploadAdmissionService admission = new UploadAdmissionService(1000, 1, 0);
+
+        UploadAdmissionService.Permit a = admission.acquire("u1", 10);
+        RejectedException e = assertThrows(RejectedException.class, () -> admission.acquire("u1", 10));
+        assertEquals(Rejection.USER_CONCURRENCY, e.getReason());
+
+        admission.acquire("u2", 10).close(); // 다른 유저는 영향 없음
+        a.close();
+        admission.acquire("u1", 10).close();
+        assertEquals(0, admission.stats().activeUploaders());
+    }
+
+    @Test
+    @DisplayName("대기 시간 안에 예산이 반납되면 입장")
+    public void testWaitForRelease() throws Exception {
+        UploadAdmissionService admission = new UploadAdmissionService(100, 5, 2000);
+        UploadAdmissionService.Permit a = admission.acquire("u1", 100);
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            a.close();
+        });
+        releaser.start();
+
+        admission.acquire("u2", 100).close();
+        releaser.join();
+        assertEquals(0, admission.stats().queuedBytes());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.nasda.service.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackSegmentTest {
+
+    @TempDir
+    Path tmp;
+
+    private static byte[] bytes(int size, int seed) {
+        byte[] b = new byte[size];
+        Arrays.fill(b, (byte) seed);
+        return b;
+    }
+
+    private static byte[] toArray(ByteBuffer buf) {
+        byte[] b = new byte[buf.remaining()];
+        buf.get(b);
+        return b;
+    }
+
+    @Test
+    @DisplayName("압축으로 채널이 닫힌 뒤에도 봉인된 세그먼트는 읽을 수 있음 (한 번도 읽지 않은 세그먼트 포함)")
+    public void testReadAfterClose() throws IOException {
+        Path file = tmp.resolve("000000000001.pack");
+        PackSegment written = PackSegment.create(1, file);
+        long offset = written.append(PackSegment.PUT, "a.png", bytes(300, 1));
+        written.seal();
+        written.close(); // seal 직후 읽은 적 없이 닫힘
+        assertArrayEquals(bytes(300, 1), toArray(written.read(offset, 300)));
+
+        // 시작 시 footer 로 연 세그먼트: 압축 전에 위치를 찾고 압축 후에 읽는 경우
+        PackSegment loaded = PackSegment.open(1, file);
+        PackSegment.Entry e = loaded.entries().get(0);
+        loaded.close();
+        assertArrayEquals(bytes(300, 1), toArray(loaded.read(e.dataOffset(), e.dataLen())));
+    }
+}